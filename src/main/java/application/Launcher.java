@@ -1,12 +1,20 @@
 package application;
 
+import application.headless.HeadlessOptions;
+import application.headless.HeadlessRunner;
+
 /**
  * Java FX modules are not part of JDK anymore. Thus, we need to start our application from a class that does not extend
  * javafx.application.Application.
+ * Started with {@value HeadlessOptions#HEADLESS_FLAG} argument, it runs configs from the command line without GUI.
  */
 public class Launcher {
 
     public static void main(String[] args) {
+        if (HeadlessOptions.isHeadlessRequested(args)) {
+            HeadlessRunner.main(args);
+            return;
+        }
         Main.main(args);
     }
 }
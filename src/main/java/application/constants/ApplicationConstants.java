@@ -17,8 +17,17 @@ public class ApplicationConstants {
     public static final String GLOBAL_CSS_FILE_NAME = "fx_global.css";
     public static final String VERSION_PROPERTIES_FILE_NAME = "/version.properties";
     public static final String DEFAULT_FETCH_TIMEOUT = "5000";
+    public static final String DEFAULT_COMMIT_INTERVAL_MS = "5000";
+    public static final String DEFAULT_BROWSE_LATEST_COUNT = "100";
     public static final String DEFAULT_CONSUMER_GROUP_ID = "kmt-cg";
     public static final String DEFAULT_MESSAGE_KEY = "kmt-msg-key";
+    public static final int DEFAULT_MAX_IN_FLIGHT_MESSAGES = 1000;
+    public static final int DEFAULT_PRODUCER_IDLE_TIMEOUT_SECONDS = 300;
+    public static final int DEFAULT_LISTENER_OUTPUT_MAX_RECORDS = 100_000;
+    public static final int DEFAULT_LISTENER_OUTPUT_MAX_MEGABYTES = 64;
+    public static final int DEFAULT_SEND_LOG_SAMPLE_INTERVAL = 1000;
+    public static final int SEND_LOG_SUMMARY_INTERVAL_MS = 5000;
+    public static final int DEFAULT_KEY_SKEW_PERCENT = 100;
     public static final int HOSTNAME_REACHABLE_TIMEOUT_MS = 2000; // warning, less than 2000 seconds causes timeouts
 
     public static final long FUTURE_GET_TIMEOUT_MS = 5000L;
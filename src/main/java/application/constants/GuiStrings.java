@@ -6,6 +6,11 @@ public class GuiStrings {
     public static final String SENDER_MSG_TAB_NAME = "Send msg";
     public static final String LISTENER_MSG_TAB_NAME = "Receive msg";
     public static final String GROOVY_SCRIPTING_TAB_NAME = "Execute script before sending message";
+    public static final String RUN_STATISTICS_TAB_NAME = "Last run statistics";
+    public static final String PRODUCER_TUNING_TAB_NAME = "Producer tuning";
+    public static final String DATA_FILE_TAB_NAME = "Data file";
+    public static final String REPLAY_FILE_TAB_NAME = "Replay file";
+    public static final String KEY_DISTRIBUTION_TAB_NAME = "Key distribution";
     public static final String BEFORE_FIRST_MSGS_SHARED_SCRIPT_TAB_NAME = "Before FIRST message [shared]";
     public static final String BEFORE_EACH_MSGS_SCRIPT_TAB = "Before EACH message";
     public static final String BEFORE_FIRST_MSGS_SCRIPT_TAB_NAME = "Before FIRST message";
@@ -21,7 +26,12 @@ public class GuiStrings {
             + BEFORE_EACH_MSGS_SCRIPT_TAB + "' tab\n\r\n\rExample:\n\r1. Set " + REPEAT_COUNT_LABEL_TEXT
             + " to 3\n\r2. In '" + BEFORE_FIRST_MSGS_SCRIPT_TAB_NAME + "' tab write:\n\r    cat_age = 10;\n\r3. In '"
             + BEFORE_EACH_MSGS_SCRIPT_TAB + "' tab write\n\r    cat_age++\n\r4. Click '" + SEND_BUTTON_TEXT
-            + "' button\n\r5. Notice that each message has value for '" + VAR_NAME + "' incremented.";
+            + "' button\n\r5. Notice that each message has value for '" + VAR_NAME + "' incremented."
+            + "\n\r\n\rBuilt-in placeholders (message body using only these is sent without groovy evaluation):"
+            + "\n\r    ${kmt.counter}, ${kmt.messageIndex}, ${kmt.uuid}, ${kmt.epochMillis}, ${kmt.randomInt(min, max)}"
+            + "\n\r    ${row.column_name} - field of current record of '" + DATA_FILE_TAB_NAME + "'"
+            + "\n\r\n\rBinary content: assign byte[] to 'msgBytes' variable in a script, message body is not used then,"
+            + "\n\re.g.  msgBytes = kmt.fileBytes('/path/to/payload.bin')";
 
     public static final String BEFORE_FIRST_MSG_TAB_TOOLTIP = "This script (in groovy) will be executed only once just"
             + " before sending first message.\n\rYou can setup/define variable/classes that will be used later during"
@@ -33,6 +43,58 @@ public class GuiStrings {
             + BEFORE_FIRST_MSGS_SCRIPT_TAB_NAME + "' tab\n\re.g.\n\rmessage_id++\n\r\n\rYou can refer to this variable"
             + " in message body by typing ${message_id}.";
 
+    public static final String GENERATOR_THREADS_TOOLTIP = "Number of threads generating message content.\n\r"
+            + "Each thread runs '" + BEFORE_FIRST_MSGS_SHARED_SCRIPT_TAB_NAME + "' and '" + BEFORE_FIRST_MSGS_SCRIPT_TAB_NAME
+            + "' scripts in its own script context,\n\rso variables modified in '" + BEFORE_EACH_MSGS_SCRIPT_TAB
+            + "' are not shared between threads.\n\rUse ${kmt.messageIndex} for values that depend on message position."
+            + "\n\rMessages are always sent in message index order.";
+    public static final String PRODUCER_SHARDS_TOOLTIP = "Number of kafka producers sending in parallel, "
+            + "each one on its own thread.\n\rMessage indexes are split into one contiguous range per producer, "
+            + "so messages are no longer sent in index order.\n\r"
+            + "Target rate is split between producers, 'Max in flight' applies to each producer separately.";
+    public static final String SEND_LOGGING_MODE_TOOLTIP = "Which sent messages are logged (with their content).\n\r"
+            + "Periodic summary logs only counts, rates, bytes, errors and partitions of sent messages.\n\r"
+            + "Summary of the whole run is logged in every mode.";
+    public static final String SEND_LOG_SAMPLE_INTERVAL_TOOLTIP = "Only every N-th message is logged.";
+    public static final String RUN_DURATION_TOOLTIP = "Send messages for given number of seconds ('Repeat count' is ignored).\n\r"
+            + "0 means 'send Repeat count messages'.";
+    public static final String DATA_FILE_TOOLTIP = "CSV/TSV (first line is header) or JSONL file, one record per message.\n\r"
+            + "Record is available as ${row.column_name} in message body and as 'row' map in '"
+            + BEFORE_EACH_MSGS_SCRIPT_TAB + "' script.\n\r"
+            + "File is streamed, so it can be of any size. Sending stops after last record (or after 'Repeat count'"
+            + " messages, whichever comes first).";
+    public static final String DATA_FILE_LOOP_TOOLTIP = "Start again from the first record after the last one,"
+            + " so that 'Repeat count' or run duration limits sending.";
+    public static final String REPLAY_FILE_TOOLTIP = "File of ready messages (e.g. dump of real traffic) sent as they are,"
+            + " message body and scripts are not used.\n\r"
+            + "File is streamed, so it can be of any size. Sending stops after last message of the file"
+            + " ('Repeat count' is ignored).";
+    public static final String REPLAY_KEY_DELIMITER_TOOLTIP = "Message is split into key and value at first occurrence"
+            + " of delimiter (\\t means tab).\n\r"
+            + "Messages without delimiter are sent with the key of this sender config (if enabled).\n\r"
+            + "Not used for listener output, key of received record is sent then.";
+    public static final String REPLAY_SPEED_TOOLTIP = "Messages of timestamped replay file (epoch millis, tab, message"
+            + " per line or output saved from listener)\n\rare sent with their original relative timing,"
+            + " scaled by this factor. 'max' ignores timestamps.";
+    public static final String KEY_DISTRIBUTION_TOOLTIP = "Spreads messages over partitions of topic instead of"
+            + " sending all of them with the same key.\n\r"
+            + "One key per partition ('Message key' followed by a number) is computed from partition count of topic"
+            + " when sending starts,\n\rthen each message gets the key of partition picked uniformly at random,"
+            + " in round robin or with zipf skew (partition 0 is the hottest).\n\r"
+            + "Used only when message key is enabled, key of replayed message takes precedence.";
+    public static final String KEY_SKEW_PERCENT_TOOLTIP = "Zipf exponent in percent, partition of rank k gets"
+            + " weight 1/k^s.\n\r"
+            + "0 means uniform, 100 (s = 1.0) sends about 1/3 of messages to the hottest of 10 partitions,"
+            + " higher values make it hotter.";
+    public static final String KEY_PREVIEW_TEMPLATE_TOOLTIP = "Key template evaluated for sample message indexes"
+            + " 0..N-1 like message body template (with scripts of this sender),\n\r"
+            + "e.g. user-${kmt.randomInt(1, 1000)} or order-${kmt.messageIndex % 500}.\n\r"
+            + "Preview shows how many keys land on each partition of topic. Empty means 'Message key'.";
+    public static final String IDEMPOTENCE_TOOLTIP = "Idempotent producer requires 'acks' = all "
+            + "and 'max.in.flight.requests.per.connection' <= 5.";
+    public static final String TARGET_RATE_TOOLTIP = "Target sending rate in messages or bytes (key + content) per second.\n\r"
+            + "0 means 'send as fast as possible'.";
+
     public static final String BEFORE_FIRST_MSG_SHARED_TAB_TOOLTIP =
             "This script is shared across all senders.\n\rYou can set some 'global' variables here that will be"
                     + " accessible from all scripts for all senders.\n\rScripts are executed in order:\n\r\n\r1. "
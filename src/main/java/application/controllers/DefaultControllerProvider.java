@@ -17,10 +17,9 @@ import application.customfxwidgets.topicconfig.TopicConfigView;
 import application.displaybehaviour.ModelConfigObjectsGuiInformer;
 import application.kafka.cluster.ClusterStatusChecker;
 import application.kafka.cluster.KafkaClusterProxies;
+import application.kafka.cluster.KafkaClusterProxy;
 import application.kafka.listener.Listeners;
 import application.kafka.sender.KafkaMessageSender;
-import application.logging.CyclicStringBuffer;
-import application.logging.FixedNumberRecordsCountLogger;
 import application.logging.Logger;
 import application.model.ModelConfigObject;
 import application.model.modelobjects.KafkaBrokerConfig;
@@ -29,8 +28,10 @@ import application.model.modelobjects.KafkaSenderConfig;
 import application.model.modelobjects.KafkaTopicConfig;
 import application.persistence.ApplicationSettings;
 import application.root.Restartables;
+import application.scripting.CompiledScriptCache;
 import application.scripting.GroovyScriptEvaluator;
 import application.scripting.MessageTemplateSender;
+import application.scripting.ScriptEvaluationExecutor;
 import application.scripting.codearea.SyntaxHighlightingCodeAreaConfigurator;
 import application.utils.AppUtils;
 import application.utils.UserInteractor;
@@ -49,19 +50,25 @@ public class DefaultControllerProvider implements ControllerProvider {
     private KafkaClusterProxies kafkaClusterProxies;
     private ApplicationSettings applicationSettings;
     private Restartables restartables;
+    private CompiledScriptCache compiledScriptCache;
+    private ScriptEvaluationExecutor scriptEvaluationExecutor;
 
     public DefaultControllerProvider(ModelConfigObjectsGuiInformer guiInformer,
                                      ClusterStatusChecker statusChecker,
                                      SyntaxHighlightingCodeAreaConfigurator syntaxHighlightConfigurator,
                                      KafkaClusterProxies kafkaClusterProxies,
                                      ApplicationSettings applicationSettings,
-                                     Restartables restartables) {
+                                     Restartables restartables,
+                                     CompiledScriptCache compiledScriptCache,
+                                     ScriptEvaluationExecutor scriptEvaluationExecutor) {
         this.guiInformer = guiInformer;
         this.statusChecker = statusChecker;
         this.syntaxHighlightConfigurator = syntaxHighlightConfigurator;
         this.kafkaClusterProxies = kafkaClusterProxies;
         this.applicationSettings = applicationSettings;
         this.restartables = restartables;
+        this.compiledScriptCache = compiledScriptCache;
+        this.scriptEvaluationExecutor = scriptEvaluationExecutor;
     }
 
 
@@ -99,8 +106,6 @@ public class DefaultControllerProvider implements ControllerProvider {
 
         return getControllerFor(config, listenersControllers, () -> {
             try {
-                final FixedNumberRecordsCountLogger fixedRecordsLogger = new FixedNumberRecordsCountLogger(new CyclicStringBuffer());
-                restartables.register(fixedRecordsLogger);
                 return new ListenerConfigView(config,
                                               parentPane,
                                               guiInformer,
@@ -108,7 +113,7 @@ public class DefaultControllerProvider implements ControllerProvider {
                                               refreshCallback,
                                               topicConfigs,
                                               toFileSaver,
-                                              fixedRecordsLogger);
+                                              applicationSettings.appSettings());
             } catch (IOException e) {
                 Logger.error(e);
                 return null;
@@ -147,8 +152,11 @@ public class DefaultControllerProvider implements ControllerProvider {
 
         return getControllerFor(config, messageControllers, () -> {
             try {
+                final GroovyScriptEvaluator scriptEvaluator = new GroovyScriptEvaluator(compiledScriptCache,
+                                                                                        scriptEvaluationExecutor);
                 final MessageTemplateSender msgTemplateEvaluator = new MessageTemplateSender(sender,
-                                                                                             new GroovyScriptEvaluator());
+                                                                                             scriptEvaluator,
+                                                                                             this::partitionsForTopic);
 
                 final CodeArea beforeAllCodeAreaShared = new CodeArea();
                 final VirtualizedScrollPane<StyleClassedTextArea> beforeAllMessagesSharedScriptScrollPane =
@@ -220,4 +228,14 @@ public class DefaultControllerProvider implements ControllerProvider {
 
         return config.getUuid();
     }
+
+    // cluster state known from last broker status check, broker is not connected here
+    private int partitionsForTopic(KafkaTopicConfig topicConfig) {
+        final KafkaBrokerConfig brokerConfig = topicConfig.getRelatedConfig();
+        if (brokerConfig == null) {
+            return -1;
+        }
+        final KafkaClusterProxy kafkaClusterProxy = kafkaClusterProxies.get(brokerConfig.getHostInfo());
+        return kafkaClusterProxy == null ? -1 : kafkaClusterProxy.partitionsForTopic(topicConfig.getTopicName());
+    }
 }
@@ -1,9 +1,11 @@
 package application.customfxwidgets.listenerconfig;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
-import javax.swing.JTextArea;
+import java.util.stream.Collectors;
 
 import application.customfxwidgets.CustomFxWidgetsLoader;
 import application.customfxwidgets.Displayable;
@@ -14,16 +16,21 @@ import application.displaybehaviour.ModelConfigObjectsGuiInformer;
 import application.kafka.listener.AssignedPartitionsInfo;
 import application.kafka.listener.Listener;
 import application.kafka.listener.Listeners;
-import application.logging.FixedNumberRecordsCountLogger;
+import application.kafka.listener.ReceivedRecord;
+import application.kafka.listener.ReceivedRecordsQueue;
+import application.model.BrowseStartPosition;
 import application.model.KafkaOffsetResetType;
+import application.model.ListenerCommitStrategy;
 import application.model.modelobjects.KafkaListenerConfig;
 import application.model.modelobjects.KafkaTopicConfig;
-import application.root.SwingTextAreaWrapper;
+import application.persistence.GlobalSettings;
 import application.utils.ConfigNameGenerator;
 import application.utils.GuiUtils;
 import application.utils.ValidatorUtils;
 import application.utils.gui.FXNodeBlinker;
+import javafx.animation.AnimationTimer;
 import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
 import javafx.beans.binding.BooleanBinding;
 import javafx.beans.binding.StringExpression;
 import javafx.beans.property.ReadOnlyStringWrapper;
@@ -37,12 +44,16 @@ import javafx.scene.control.CheckBox;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.ContextMenu;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
 import javafx.scene.control.MenuItem;
+import javafx.scene.control.SelectionMode;
 import javafx.scene.control.SeparatorMenuItem;
 import javafx.scene.control.TextField;
-import javafx.scene.control.TitledPane;
 import javafx.scene.control.ToggleButton;
 import javafx.scene.control.skin.TextFieldSkin;
+import javafx.scene.input.Clipboard;
+import javafx.scene.input.ClipboardContent;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.paint.Color;
 
@@ -58,12 +69,16 @@ public class ListenerConfigView extends AnchorPane implements Displayable {
     private final ModelConfigObjectsGuiInformer guiInformer;
     private final PartitionAssignmentChangeHandler partitionAssignmentHandler;
     private final MenuItem generateNameMenuItem = new MenuItem("Generate name");
+    private final MenuItem copyRecordsMenuItem = new MenuItem("Copy");
+    private final MenuItem saveRecordsToFileMenuItem = new MenuItem("Save to file...");
+    private final ReceivedRecordsRingBuffer receivedRecords;
+    private final List<ReceivedRecord> drainedRecords = new ArrayList<>();
     @FXML
     private TextField listenerNameTextField;
     @FXML
     private ComboBox<KafkaTopicConfig> topicConfigComboBox;
-    //@FXML
-    //private TextArea outputTextArea;
+    @FXML
+    private ListView<ReceivedRecord> receivedRecordsListView;
     @FXML
     private Button stopButton;
     @FXML
@@ -75,6 +90,18 @@ public class ListenerConfigView extends AnchorPane implements Displayable {
     @FXML
     private ComboBox<KafkaOffsetResetType> offsetResetComboBox;
     @FXML
+    private ComboBox<ListenerCommitStrategy> commitStrategyComboBox;
+    @FXML
+    private TextField commitIntervalTextField;
+    @FXML
+    private CheckBox browseModeCheckBox;
+    @FXML
+    private ComboBox<BrowseStartPosition> browseStartPositionComboBox;
+    @FXML
+    private TextField browseLatestCountTextField;
+    @FXML
+    private TextField browseStartTimestampTextField;
+    @FXML
     private ToggleButton detachPaneButton;
     @FXML
     private TextField receiveMsgLimitTextField;
@@ -84,14 +111,11 @@ public class ListenerConfigView extends AnchorPane implements Displayable {
     private Label assignedPartitionsLabel;
     @FXML
     private Label receivedTotalMsgLabel;
-    @FXML
-    private TitledPane outputTitlePane;
     private KafkaListenerConfig config;
     private Listeners activeConsumers;
     private Runnable refreshCallback;
     private ObservableList<KafkaTopicConfig> topicConfigs;
     private ToFileSaver toFileSaver;
-    private FixedNumberRecordsCountLogger fixedRecordsLogger;
     private int totalReceivedMsgCounter = ZERO_RECEIVED_MSGS;
 
 
@@ -102,11 +126,11 @@ public class ListenerConfigView extends AnchorPane implements Displayable {
                               Runnable refreshCallback,
                               ObservableList<KafkaTopicConfig> topicConfigs,
                               ToFileSaver toFileSaver,
-                              FixedNumberRecordsCountLogger fixedRecordsLogger) throws IOException {
+                              GlobalSettings globalSettings) throws IOException {
         this.parentPane = parentPane;
         this.guiInformer = guiInformer;
         this.toFileSaver = toFileSaver;
-        this.fixedRecordsLogger = fixedRecordsLogger;
+        receivedRecords = createReceivedRecordsBuffer(globalSettings);
         partitionAssignmentHandler = new PartitionAssignmentChangeHandler(
                 new FXNodeBlinker(Color.BLACK), config);
 
@@ -126,6 +150,8 @@ public class ListenerConfigView extends AnchorPane implements Displayable {
                 guiInformer);
         configureTopicConfigComboBox();
         configureOffsetResetComboBox();
+        configureCommitControls();
+        configureBrowseControls();
         configureMessageNameTextField();
         configureConsumerGroupField();
         configureFetchTimeoutField();
@@ -147,10 +173,9 @@ public class ListenerConfigView extends AnchorPane implements Displayable {
 
     @FXML
     private void initialize() {
-        configureFixedRecordLogger();
+        configureReceivedRecordsListView();
         configureDisplayBehaviour();
         configureToFileSaver();
-        addAdditionalOptionsToTextAreaPopupMenu();
         resetTotalReceivedLabeltext();
         configurePartitionsAssignmentsChangedLabel();
         configureNameGenerator();
@@ -180,12 +205,30 @@ public class ListenerConfigView extends AnchorPane implements Displayable {
         partitionAssignmentHandler.updatePartitionsAssignmentLabelFor(AssignedPartitionsInfo.invalid());
     }
 
-    private void configureFixedRecordLogger() {
-        final SwingTextAreaWrapper logTextArea = new SwingTextAreaWrapper(new JTextArea());
-        outputTitlePane.setContent(logTextArea.asNode());
-        fixedRecordsLogger.setLogTextArea(logTextArea);
-        //fixedRecordsLogger.setLogTextArea(new FxTextAreaWrapper(outputTextArea));
-        fixedRecordsLogger.start();
+    // list view is virtualized, only rows that are visible get formatted
+    private void configureReceivedRecordsListView() {
+        receivedRecordsListView.setItems(receivedRecords);
+        receivedRecordsListView.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        receivedRecordsListView.setCellFactory(listView -> new ListCell<ReceivedRecord>() {
+            @Override
+            protected void updateItem(ReceivedRecord record, boolean empty) {
+                super.updateItem(record, empty);
+                setText(empty || record == null ? null : record.format());
+            }
+        });
+        copyRecordsMenuItem.setOnAction(event -> copySelectedRecordsToClipboard());
+        receivedRecordsListView.setContextMenu(new ContextMenu(copyRecordsMenuItem,
+                                                               new SeparatorMenuItem(),
+                                                               saveRecordsToFileMenuItem));
+    }
+
+    private void copySelectedRecordsToClipboard() {
+        final String text = receivedRecordsListView.getSelectionModel().getSelectedItems().stream()
+            .map(ReceivedRecord::format)
+            .collect(Collectors.joining(System.lineSeparator()));
+        final ClipboardContent content = new ClipboardContent();
+        content.putString(text);
+        Clipboard.getSystemClipboard().setContent(content);
     }
 
     private void configureDisplayBehaviour() {
@@ -193,21 +236,8 @@ public class ListenerConfigView extends AnchorPane implements Displayable {
     }
 
     private void configureToFileSaver() {
-        toFileSaver.setContentSupplier(() -> fixedRecordsLogger.getText());
-        fixedRecordsLogger.setSaveToFilePopupAction(toFileSaver::saveContentToFile);
-    }
-
-    private void addAdditionalOptionsToTextAreaPopupMenu() {
-
-        //        TextAreaSkin customContextSkin = new TextAreaSkin(outputTextArea) {
-        //            @Override
-        //            public void populateContextMenu(ContextMenu contextMenu) {
-        //                super.populateContextMenu(contextMenu);
-        //                contextMenu.getItems().add(0, new SeparatorMenuItem());
-        //                contextMenu.getItems().add(0, saveToFilePopupMenuItem);
-        //            }
-        //        };
-        //        outputTextArea.setSkin(customContextSkin);
+        toFileSaver.setContentSupplier(receivedRecords::formatAll);
+        saveRecordsToFileMenuItem.setOnAction(event -> toFileSaver.saveContentToFile());
     }
 
     private void configureReceiveMsgLimitControls() {
@@ -225,10 +255,25 @@ public class ListenerConfigView extends AnchorPane implements Displayable {
 
     private void configureGuiControlDisableStateBasedOnStartButtonState() {
         final BooleanBinding disabledProperty = stopButton.disableProperty().not();
-        consumerGroupTextField.disableProperty().bind(disabledProperty);
+        // consumer group settings do not apply to browse mode, it starts from browse start position instead
+        final BooleanBinding groupSettingsDisabled = disabledProperty.or(config.browseModeEnabledProperty());
+        consumerGroupTextField.disableProperty().bind(groupSettingsDisabled);
         fetchTimeoutTextField.disableProperty().bind(disabledProperty);
         topicConfigComboBox.disableProperty().bind(disabledProperty);
-        offsetResetComboBox.disableProperty().bind(disabledProperty);
+        offsetResetComboBox.disableProperty().bind(groupSettingsDisabled);
+        commitStrategyComboBox.disableProperty().bind(groupSettingsDisabled);
+        commitIntervalTextField.disableProperty().bind(groupSettingsDisabled.or(
+            Bindings.createBooleanBinding(() -> !config.getCommitStrategy().usesCommitInterval(),
+                                          config.commitStrategyProperty())));
+        final BooleanBinding browseSettingsDisabled = disabledProperty.or(config.browseModeEnabledProperty().not());
+        browseModeCheckBox.disableProperty().bind(disabledProperty);
+        browseStartPositionComboBox.disableProperty().bind(browseSettingsDisabled);
+        browseLatestCountTextField.disableProperty().bind(browseSettingsDisabled.or(
+            Bindings.createBooleanBinding(() -> config.getBrowseStartPosition() != BrowseStartPosition.LATEST_N,
+                                          config.browseStartPositionProperty())));
+        browseStartTimestampTextField.disableProperty().bind(browseSettingsDisabled.or(
+            Bindings.createBooleanBinding(() -> config.getBrowseStartPosition() != BrowseStartPosition.TIMESTAMP,
+                                          config.browseStartPositionProperty())));
         listenerNameTextField.disableProperty().bind(disabledProperty);
     }
 
@@ -248,7 +293,7 @@ public class ListenerConfigView extends AnchorPane implements Displayable {
 
     private void setKafkaListenerBinding() {
         getActiveListenersForConfig().ifPresent(listener -> {
-            listener.loggedTextProperty().addListener((observableValue, s, t1) -> appendTextScrolledToBottom(t1));
+            startDrainingReceivedRecords(listener.receivedRecordsQueue());
             listener.assignedPartitionsProperty().addListener(this::partitionsAssignmentChanged);
             startButton.disableProperty().bind(listener.isRunningProperty());
             stopButton.disableProperty().bind(listener.isRunningProperty().not());
@@ -263,19 +308,40 @@ public class ListenerConfigView extends AnchorPane implements Displayable {
     }
 
 
-    private void appendTextScrolledToBottom(String textToAppend) {
-        appendLogToTextArea(textToAppend);
-        incrementReceivedMsgCount();
+    // limits come from settings file, invalid ones are replaced by defaults
+    private static ReceivedRecordsRingBuffer createReceivedRecordsBuffer(GlobalSettings globalSettings) {
+        final int maxRecords = globalSettings.getListenerOutputMaxRecords();
+        final int maxMegabytes = globalSettings.getListenerOutputMaxMegabytes();
+        return new ReceivedRecordsRingBuffer(maxRecords > 0 ? maxRecords : ReceivedRecordsRingBuffer.DEFAULT_CAPACITY,
+                                             maxMegabytes > 0
+                                                 ? maxMegabytes * 1024L * 1024L
+                                                 : ReceivedRecordsRingBuffer.DEFAULT_MAX_BYTES);
     }
 
-
-    private void appendLogToTextArea(String textToAppend) {
-        fixedRecordsLogger.appendText(textToAppend);
+    // records are drained on FX thread once per frame, so label is updated at most once per frame too
+    private void startDrainingReceivedRecords(ReceivedRecordsQueue<ReceivedRecord> receivedRecordsQueue) {
+        receivedRecordsQueue.attachDrainer();
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                drainReceivedRecords(receivedRecordsQueue);
+            }
+        }.start();
     }
 
-    private void incrementReceivedMsgCount() {
-        totalReceivedMsgCounter++;
-        updateReceivedMsgLabel();
+    private void drainReceivedRecords(ReceivedRecordsQueue<ReceivedRecord> receivedRecordsQueue) {
+        final int drainedCount = receivedRecordsQueue.drainTo(drainedRecords::addAll);
+        if (drainedCount == ZERO_RECEIVED_MSGS) {
+            return;
+        }
+        receivedRecords.appendAll(drainedRecords);
+        drainedRecords.clear();
+        // output follows new records unless user selected some of them
+        if (receivedRecordsListView.getSelectionModel().isEmpty()) {
+            receivedRecordsListView.scrollTo(receivedRecords.size() - 1);
+        }
+        totalReceivedMsgCounter += drainedCount;
+        receivedTotalMsgLabel.setText(String.format(TOTAL_RECEIVED_PREFIX, totalReceivedMsgCounter));
     }
 
     private void updateReceivedMsgLabel() {
@@ -307,6 +373,30 @@ public class ListenerConfigView extends AnchorPane implements Displayable {
         offsetResetComboBox.valueProperty().bindBidirectional(config.offsetResetConfigProperty());
     }
 
+    private void configureCommitControls() {
+        commitStrategyComboBox.setItems(FXCollections.observableArrayList(Arrays.asList(ListenerCommitStrategy.values())));
+        commitStrategyComboBox.valueProperty().bindBidirectional(config.commitStrategyProperty());
+        commitIntervalTextField.textProperty().set(config.getCommitIntervalMs());
+        GuiUtils.configureTextFieldToAcceptOnlyValidData(commitIntervalTextField,
+                config::setCommitIntervalMs,
+                ValidatorUtils::isTimeoutInMsValid);
+    }
+
+    private void configureBrowseControls() {
+        browseModeCheckBox.setSelected(config.getBrowseModeEnabled());
+        browseModeCheckBox.selectedProperty().bindBidirectional(config.browseModeEnabledProperty());
+        browseStartPositionComboBox.setItems(FXCollections.observableArrayList(Arrays.asList(BrowseStartPosition.values())));
+        browseStartPositionComboBox.valueProperty().bindBidirectional(config.browseStartPositionProperty());
+        browseLatestCountTextField.textProperty().set(config.getBrowseLatestCount());
+        GuiUtils.configureTextFieldToAcceptOnlyValidData(browseLatestCountTextField,
+                config::setBrowseLatestCount,
+                ValidatorUtils::isValidGraterThanZeroInteger);
+        browseStartTimestampTextField.textProperty().set(config.getBrowseStartTimestamp());
+        GuiUtils.configureTextFieldToAcceptOnlyValidData(browseStartTimestampTextField,
+                config::setBrowseStartTimestamp,
+                ValidatorUtils::isTimestampValid);
+    }
+
     private void configureTopicConfigComboBox() {
         topicConfigComboBox.setItems(topicConfigs);
     }
@@ -314,7 +404,7 @@ public class ListenerConfigView extends AnchorPane implements Displayable {
     @FXML
     private void clearButtonOnAction() {
         getActiveListenersForConfig().ifPresent(listener -> {
-            fixedRecordsLogger.clear();
+            receivedRecords.clearRecords();
             if (!startButton.isDisable()) {
                 resetTotalReceivedLabeltext();
             }
@@ -0,0 +1,158 @@
+package application.customfxwidgets.listenerconfig;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import application.constants.ApplicationConstants;
+import application.kafka.listener.ReceivedRecord;
+import javafx.collections.ObservableListBase;
+
+/**
+ * Bounded ring buffer of raw records displayed by a listener view, oldest record first.
+ * It is limited both by number of records (capacity) and by their estimated size in bytes, appending evicts
+ * the oldest records when any limit is exceeded. The newest record is always kept, even if it alone exceeds
+ * the size limit. Storage grows with the number of records up to capacity.
+ * It is an observable list, so a virtualized list view formats only rows that are visible;
+ * every append is reported as a single change.
+ * Used only on FX thread.
+ */
+public final class ReceivedRecordsRingBuffer extends ObservableListBase<ReceivedRecord> {
+    public static final int DEFAULT_CAPACITY = ApplicationConstants.DEFAULT_LISTENER_OUTPUT_MAX_RECORDS;
+    public static final long DEFAULT_MAX_BYTES = ApplicationConstants.DEFAULT_LISTENER_OUTPUT_MAX_MEGABYTES * 1024L * 1024L;
+    private static final int INITIAL_STORAGE_SIZE = 1024;
+    private final int capacity;
+    private final long maxBytes;
+    private ReceivedRecord[] records;
+    private int first;
+    private int size;
+    private long bytes;
+
+    public ReceivedRecordsRingBuffer() {
+        this(DEFAULT_CAPACITY, DEFAULT_MAX_BYTES);
+    }
+
+    public ReceivedRecordsRingBuffer(int capacity, long maxBytes) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than zero but is " + capacity);
+        }
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Max bytes must be greater than zero but is " + maxBytes);
+        }
+        this.capacity = capacity;
+        this.maxBytes = maxBytes;
+        records = new ReceivedRecord[Math.min(capacity, INITIAL_STORAGE_SIZE)];
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long maxBytes() {
+        return maxBytes;
+    }
+
+    // sum of estimated sizes of buffered records
+    public long sizeInBytes() {
+        return bytes;
+    }
+
+    @Override
+    public ReceivedRecord get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format("Index: %d, size: %d", index, size));
+        }
+        return records[physicalIndex(index)];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // records added and evicted by the same append are never reported as added
+    public void appendAll(List<ReceivedRecord> newRecords) {
+        if (newRecords.isEmpty()) {
+            return;
+        }
+        // only the newest records of a batch fitting into limits are added
+        int addedCount = 0;
+        long addedBytes = 0;
+        for (int i = newRecords.size() - 1; i >= 0 && addedCount < capacity; i--) {
+            final long recordBytes = newRecords.get(i).estimatedSizeInBytes();
+            if (addedCount > 0 && addedBytes + recordBytes > maxBytes) {
+                break;
+            }
+            addedCount++;
+            addedBytes += recordBytes;
+        }
+        int evictedCount = 0;
+        while (evictedCount < size && (size - evictedCount + addedCount > capacity || bytes + addedBytes > maxBytes)) {
+            bytes -= get(evictedCount).estimatedSizeInBytes();
+            evictedCount++;
+        }
+        final List<ReceivedRecord> evicted = new ArrayList<>(subList(0, evictedCount));
+        // evicted records must not stay reachable from storage until their slots are reused
+        for (int i = 0; i < evictedCount; i++) {
+            records[physicalIndex(i)] = null;
+        }
+        first = physicalIndex(evictedCount);
+        size -= evictedCount;
+        ensureStorageFor(size + addedCount);
+        for (ReceivedRecord record : newRecords.subList(newRecords.size() - addedCount, newRecords.size())) {
+            records[physicalIndex(size)] = record;
+            size++;
+        }
+        bytes += addedBytes;
+
+        beginChange();
+        if (!evicted.isEmpty()) {
+            nextRemove(0, evicted);
+        }
+        nextAdd(size - addedCount, size);
+        endChange();
+    }
+
+    public void clearRecords() {
+        if (size == 0) {
+            return;
+        }
+        final List<ReceivedRecord> removed = new ArrayList<>(this);
+        first = 0;
+        size = 0;
+        bytes = 0;
+        records = new ReceivedRecord[Math.min(capacity, INITIAL_STORAGE_SIZE)];
+        beginChange();
+        nextRemove(0, removed);
+        endChange();
+    }
+
+    // all buffered records as text, e.g. for saving to file
+    public String formatAll() {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            builder.append(get(i).format()).append(System.lineSeparator());
+        }
+        return builder.toString();
+    }
+
+    // storage is reordered when grown, so that the oldest record is at its beginning
+    private void ensureStorageFor(int requiredSize) {
+        if (requiredSize <= records.length) {
+            return;
+        }
+        int newLength = records.length;
+        while (newLength < requiredSize) {
+            newLength = (int) Math.min(capacity, newLength * 2L);
+        }
+        final ReceivedRecord[] grown = new ReceivedRecord[newLength];
+        for (int i = 0; i < size; i++) {
+            grown[i] = records[physicalIndex(i)];
+        }
+        records = grown;
+        first = 0;
+    }
+
+    private int physicalIndex(int index) {
+        return (first + index) % records.length;
+    }
+}
@@ -12,6 +12,8 @@ import application.model.modelobjects.KafkaSenderConfig;
 import application.model.modelobjects.KafkaTopicConfig;
 import application.persistence.ApplicationSettings;
 import application.root.Restartables;
+import application.scripting.CompiledScriptCache;
+import application.scripting.ScriptEvaluationExecutor;
 import application.scripting.codearea.SyntaxHighlightingCodeAreaConfigurator;
 import javafx.scene.control.ListView;
 import javafx.scene.control.TabPane;
@@ -22,17 +24,23 @@ public class DefaultControllerRepositoryFactory implements ControllerRepositoryF
     private KafkaClusterProxies kafkaClusterProxies;
     private ApplicationSettings applicationSettings;
     private Restartables restartables;
+    private CompiledScriptCache compiledScriptCache;
+    private ScriptEvaluationExecutor scriptEvaluationExecutor;
 
     public DefaultControllerRepositoryFactory(ClusterStatusChecker statusChecker,
                                               SyntaxHighlightingCodeAreaConfigurator syntaxHighlightingConfigurator,
                                               KafkaClusterProxies kafkaClusterProxies,
                                               ApplicationSettings applicationSettings,
-                                              Restartables restartables) {
+                                              Restartables restartables,
+                                              CompiledScriptCache compiledScriptCache,
+                                              ScriptEvaluationExecutor scriptEvaluationExecutor) {
         this.statusChecker = statusChecker;
         this.syntaxHighlightingConfigurator = syntaxHighlightingConfigurator;
         this.kafkaClusterProxies = kafkaClusterProxies;
         this.applicationSettings = applicationSettings;
         this.restartables = restartables;
+        this.compiledScriptCache = compiledScriptCache;
+        this.scriptEvaluationExecutor = scriptEvaluationExecutor;
     }
 
     @Override
@@ -52,7 +60,9 @@ public class DefaultControllerRepositoryFactory implements ControllerRepositoryF
                                              syntaxHighlightingConfigurator,
                                              kafkaClusterProxies,
                                              applicationSettings,
-                                             restartables);
+                                             restartables,
+                                             compiledScriptCache,
+                                             scriptEvaluationExecutor);
 
     }
 }
@@ -1,8 +1,14 @@
 package application.customfxwidgets.senderconfig;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicReference;
 
 import application.root.Executable;
 import javafx.beans.property.BooleanProperty;
@@ -13,6 +19,7 @@ public class MessageSenderTaskExecutor {
     private final ExecutorService executorService;
     private FutureTask<Void> futureTask;
     private Thread executorThread;
+    private volatile List<Thread> shardThreads = Collections.emptyList();
 
     public MessageSenderTaskExecutor(BooleanProperty startButtonDisabledProperty,
                                      BooleanProperty stopButtonDisabledProperty) {
@@ -44,7 +51,59 @@ public class MessageSenderTaskExecutor {
         stopTask();
     }
 
+    // Runs all shards of the current task, each one on its own thread, and waits until all of them finish.
+    // When any shard fails, remaining ones are interrupted and the first failure is rethrown.
+    // Called from the task thread, stop() interrupts shards together with the task.
+    public void runShards(List<Callable<Void>> shards) throws Exception {
+        final AtomicReference<Exception> firstFailure = new AtomicReference<>();
+        final List<FutureTask<Void>> shardTasks = new ArrayList<>();
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < shards.size(); i++) {
+            final Callable<Void> shard = shards.get(i);
+            final FutureTask<Void> shardTask = new FutureTask<>(() -> {
+                try {
+                    return shard.call();
+                } catch (Exception e) {
+                    if (firstFailure.compareAndSet(null, e)) {
+                        interruptShards();
+                    }
+                    throw e;
+                }
+            });
+            shardTasks.add(shardTask);
+            threads.add(new Thread(shardTask, "KMT-Thread-MessageSenderShard-" + i));
+        }
+        shardThreads = threads;
+        try {
+            threads.forEach(Thread::start);
+            for (FutureTask<Void> shardTask : shardTasks) {
+                awaitShard(shardTask);
+            }
+        } catch (InterruptedException e) {
+            interruptShards();
+            throw e;
+        } finally {
+            shardThreads = Collections.emptyList();
+        }
+        if (firstFailure.get() != null) {
+            throw firstFailure.get();
+        }
+    }
+
+    private static void awaitShard(FutureTask<Void> shardTask) throws InterruptedException {
+        try {
+            shardTask.get();
+        } catch (ExecutionException e) {
+            // already recorded as first failure or caused by interruption after it
+        }
+    }
+
+    private void interruptShards() {
+        shardThreads.forEach(Thread::interrupt);
+    }
+
     private void stopTask() {
+        interruptShards();
         if (executorThread != null) {
             executorThread.interrupt();
         }
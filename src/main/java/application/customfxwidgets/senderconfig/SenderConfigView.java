@@ -1,8 +1,14 @@
 package application.customfxwidgets.senderconfig;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
 
 import org.apache.commons.lang3.time.DurationFormatUtils;
 import org.controlsfx.control.StatusBar;
@@ -18,8 +24,18 @@ import application.displaybehaviour.DisplayBehaviour;
 import application.displaybehaviour.ModelConfigObjectsGuiInformer;
 import application.kafka.cluster.KafkaClusterProxies;
 import application.kafka.cluster.KafkaClusterProxy;
+import application.kafka.sender.SendStatistics;
 import application.logging.Logger;
+import application.model.KeyDistribution;
+import application.model.ProducerAcks;
+import application.model.ProducerCompressionType;
+import application.model.ProducerTuningPreset;
+import application.model.ReplayFileFormat;
+import application.model.ReplaySpeed;
+import application.model.SendLoggingMode;
+import application.model.SendRateUnit;
 import application.model.modelobjects.KafkaBrokerConfig;
+import application.model.modelobjects.KafkaProducerTuning;
 import application.model.modelobjects.KafkaSenderConfig;
 import application.model.modelobjects.KafkaTopicConfig;
 import application.persistence.ApplicationSettings;
@@ -30,18 +46,30 @@ import application.utils.TooltipCreator;
 import application.utils.ValidationStatus;
 import application.utils.Validations;
 import application.utils.ValidatorUtils;
+import application.utils.ThrowableUtils;
 import application.utils.kafka.KafkaPartitionUtils;
+import application.utils.kafka.PartitionHistogram;
+import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
 import javafx.beans.binding.StringExpression;
+import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.StringProperty;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
+import javafx.scene.chart.BarChart;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.XYChart;
 import javafx.scene.control.Button;
 import javafx.scene.control.CheckBox;
+import javafx.scene.control.Label;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.ContextMenu;
+import javafx.scene.control.MenuButton;
 import javafx.scene.control.MenuItem;
 import javafx.scene.control.SeparatorMenuItem;
 import javafx.scene.control.Spinner;
@@ -51,6 +79,7 @@ import javafx.scene.control.TitledPane;
 import javafx.scene.control.ToggleButton;
 import javafx.scene.control.skin.TextFieldSkin;
 import javafx.scene.layout.AnchorPane;
+import javafx.stage.FileChooser;
 
 
 public class SenderConfigView extends AnchorPane implements Displayable {
@@ -58,6 +87,29 @@ public class SenderConfigView extends AnchorPane implements Displayable {
     private static final String FXML_FILE = "SenderConfigView.fxml";
     private static final int MIN_REPEAT_COUNT = 1;
     private static final int MAX_REPEAT_COUNT = 100_000_000;
+    private static final int MIN_MAX_IN_FLIGHT_MESSAGES = 1;
+    private static final int MAX_MAX_IN_FLIGHT_MESSAGES = 100_000;
+    private static final int MIN_GENERATOR_THREAD_COUNT = 1;
+    private static final int MAX_GENERATOR_THREAD_COUNT = 64;
+    private static final int MIN_PRODUCER_SHARD_COUNT = 1;
+    private static final int MAX_PRODUCER_SHARD_COUNT = 32;
+    private static final int MIN_SEND_LOG_SAMPLE_INTERVAL = 1;
+    private static final int MAX_SEND_LOG_SAMPLE_INTERVAL = 100_000_000;
+    private static final int MIN_KEY_SKEW_PERCENT = 0;
+    private static final int MAX_KEY_SKEW_PERCENT = 500;
+    private static final int DEFAULT_KEY_PREVIEW_SAMPLE_COUNT = 100_000;
+    private static final int MIN_KEY_PREVIEW_SAMPLE_COUNT = 1;
+    private static final int MAX_KEY_PREVIEW_SAMPLE_COUNT = 100_000_000;
+    private static final int MIN_TARGET_RATE = 0;
+    private static final int MAX_TARGET_RATE = 1_000_000_000;
+    private static final int MIN_RUN_DURATION_SECONDS = 0;
+    private static final int MAX_RUN_DURATION_SECONDS = 7 * 24 * 3600;
+    private static final int MAX_LINGER_MS = 60_000;
+    private static final int MAX_BATCH_SIZE = 64 * 1024 * 1024;
+    private static final int MIN_BUFFER_MEMORY = 1024;
+    private static final int MAX_BUFFER_MEMORY = Integer.MAX_VALUE;
+    private static final int MIN_MAX_IN_FLIGHT_REQUESTS = 1;
+    private static final int MAX_MAX_IN_FLIGHT_REQUESTS = 100;
     public static final int MESSAGE_FADE_MS = 5000;
     private final DisplayBehaviour displayBehaviour;
     private final TopicConfigComboBoxConfigurator comboBoxConfigurator;
@@ -78,6 +130,8 @@ public class SenderConfigView extends AnchorPane implements Displayable {
     private KafkaClusterProxies kafkaClusterProxies;
     private ApplicationSettings applicationSettings;
     private StatusBarNotifier statusBarNotifier;
+    private SendStatistics lastRunStatistics;
+    private final IntegerProperty keyPreviewSampleCount = new SimpleIntegerProperty(DEFAULT_KEY_PREVIEW_SAMPLE_COUNT);
     @FXML
     private TextField messageNameTextField;
     @FXML
@@ -91,6 +145,84 @@ public class SenderConfigView extends AnchorPane implements Displayable {
     @FXML
     private Spinner<Integer> repeatCountSpinner;
     @FXML
+    private Spinner<Integer> maxInFlightMessagesSpinner;
+    @FXML
+    private Spinner<Integer> generatorThreadCountSpinner;
+    @FXML
+    private Spinner<Integer> producerShardCountSpinner;
+    @FXML
+    private ComboBox<SendLoggingMode> sendLoggingModeComboBox;
+    @FXML
+    private Spinner<Integer> sendLogSampleIntervalSpinner;
+    @FXML
+    private Spinner<Integer> targetRateSpinner;
+    @FXML
+    private ComboBox<SendRateUnit> targetRateUnitComboBox;
+    @FXML
+    private Spinner<Integer> runDurationSpinner;
+    @FXML
+    private Tab producerTuningTab;
+    @FXML
+    private MenuButton producerTuningPresetMenuButton;
+    @FXML
+    private Spinner<Integer> lingerMsSpinner;
+    @FXML
+    private Spinner<Integer> batchSizeSpinner;
+    @FXML
+    private ComboBox<ProducerCompressionType> compressionTypeComboBox;
+    @FXML
+    private ComboBox<ProducerAcks> acksComboBox;
+    @FXML
+    private Spinner<Integer> bufferMemorySpinner;
+    @FXML
+    private Spinner<Integer> maxInFlightRequestsSpinner;
+    @FXML
+    private CheckBox idempotenceCheckBox;
+    @FXML
+    private Tab dataFileTab;
+    @FXML
+    private TextField dataFilePathTextField;
+    @FXML
+    private Button browseDataFileButton;
+    @FXML
+    private CheckBox dataFileLoopCheckBox;
+    @FXML
+    private Tab replayFileTab;
+    @FXML
+    private TextField replayFilePathTextField;
+    @FXML
+    private Button browseReplayFileButton;
+    @FXML
+    private ComboBox<ReplayFileFormat> replayFileFormatComboBox;
+    @FXML
+    private TextField replayKeyDelimiterTextField;
+    @FXML
+    private ComboBox<ReplaySpeed> replaySpeedComboBox;
+    @FXML
+    private Tab keyDistributionTab;
+    @FXML
+    private ComboBox<KeyDistribution> keyDistributionComboBox;
+    @FXML
+    private Spinner<Integer> keySkewPercentSpinner;
+    @FXML
+    private TextField keyPreviewTemplateTextField;
+    @FXML
+    private Spinner<Integer> keyPreviewSampleCountSpinner;
+    @FXML
+    private Button keyPreviewButton;
+    @FXML
+    private Label keyPreviewSummaryLabel;
+    @FXML
+    private BarChart<String, Number> keyPreviewChart;
+    @FXML
+    private Tab runStatisticsTab;
+    @FXML
+    private Label latencySummaryLabel;
+    @FXML
+    private LineChart<Number, Number> throughputChart;
+    @FXML
+    private Button exportRunStatisticsButton;
+    @FXML
     private AnchorPane beforeAllTabAnchorPane;
     @FXML
     private AnchorPane beforeAllSharedTabAnchorPane;
@@ -172,10 +304,20 @@ public class SenderConfigView extends AnchorPane implements Displayable {
         configureMessageContentTextArea();
         configureTopicComboBox();
         configureRepeatCountSpinner();
+        configureMaxInFlightMessagesSpinner();
+        configureGeneratorThreadCountSpinner();
+        configureProducerShardCountSpinner();
+        configureTargetRateControls();
+        configureRunDurationSpinner();
+        configureProducerTuningControls();
+        configureDataFileControls();
+        configureReplayFileControls();
         configureMessageKeyCheckbox();
+        configureKeyDistributionControls();
         configureScriptsTextAreas();
         configureMessageKeyTextField();
         configureSimulationSendingCheckBox();
+        configureSendLoggingControls();
         createProgressNotifier();
         GuiUtils.configureComboBoxToClearSelectedValueIfItsPreviousValueWasRemoved(topicConfigComboBox);
         comboBoxConfigurator = new TopicConfigComboBoxConfigurator<>(topicConfigComboBox, config);
@@ -205,6 +347,14 @@ public class SenderConfigView extends AnchorPane implements Displayable {
                 GuiStrings.MESSAGE_DEFINITION_TOOL_TIP));
 
         scriptingTab.setText(GuiStrings.GROOVY_SCRIPTING_TAB_NAME);
+        runStatisticsTab.setText(GuiStrings.RUN_STATISTICS_TAB_NAME);
+        producerTuningTab.setText(GuiStrings.PRODUCER_TUNING_TAB_NAME);
+        dataFileTab.setText(GuiStrings.DATA_FILE_TAB_NAME);
+        dataFileTab.setTooltip(TooltipCreator.createFrom(GuiStrings.DATA_FILE_TOOLTIP));
+        replayFileTab.setText(GuiStrings.REPLAY_FILE_TAB_NAME);
+        replayFileTab.setTooltip(TooltipCreator.createFrom(GuiStrings.REPLAY_FILE_TOOLTIP));
+        keyDistributionTab.setText(GuiStrings.KEY_DISTRIBUTION_TAB_NAME);
+        keyDistributionTab.setTooltip(TooltipCreator.createFrom(GuiStrings.KEY_DISTRIBUTION_TOOLTIP));
 
         beforeAllMsgSharedScriptTab.setText(GuiStrings.BEFORE_FIRST_MSGS_SHARED_SCRIPT_TAB_NAME);
         beforeAllMsgSharedScriptTab.setTooltip(
@@ -298,6 +448,106 @@ public class SenderConfigView extends AnchorPane implements Displayable {
                 MAX_REPEAT_COUNT);
     }
 
+    private void configureMaxInFlightMessagesSpinner() {
+        ValidatorUtils.configureSpinner(maxInFlightMessagesSpinner, config.maxInFlightMessagesProperty(),
+                MIN_MAX_IN_FLIGHT_MESSAGES, MAX_MAX_IN_FLIGHT_MESSAGES);
+    }
+
+    private void configureGeneratorThreadCountSpinner() {
+        ValidatorUtils.configureSpinner(generatorThreadCountSpinner, config.generatorThreadCountProperty(),
+                MIN_GENERATOR_THREAD_COUNT, MAX_GENERATOR_THREAD_COUNT);
+        generatorThreadCountSpinner.setTooltip(TooltipCreator.createFrom(GuiStrings.GENERATOR_THREADS_TOOLTIP));
+    }
+
+    private void configureProducerShardCountSpinner() {
+        ValidatorUtils.configureSpinner(producerShardCountSpinner, config.producerShardCountProperty(),
+                MIN_PRODUCER_SHARD_COUNT, MAX_PRODUCER_SHARD_COUNT);
+        producerShardCountSpinner.setTooltip(TooltipCreator.createFrom(GuiStrings.PRODUCER_SHARDS_TOOLTIP));
+    }
+
+    private void configureSendLoggingControls() {
+        sendLoggingModeComboBox.setItems(FXCollections.observableArrayList(Arrays.asList(SendLoggingMode.values())));
+        sendLoggingModeComboBox.valueProperty().bindBidirectional(config.sendLoggingModeProperty());
+        sendLoggingModeComboBox.setTooltip(TooltipCreator.createFrom(GuiStrings.SEND_LOGGING_MODE_TOOLTIP));
+        ValidatorUtils.configureSpinner(sendLogSampleIntervalSpinner, config.sendLogSampleIntervalProperty(),
+                MIN_SEND_LOG_SAMPLE_INTERVAL, MAX_SEND_LOG_SAMPLE_INTERVAL);
+        sendLogSampleIntervalSpinner.setTooltip(TooltipCreator.createFrom(GuiStrings.SEND_LOG_SAMPLE_INTERVAL_TOOLTIP));
+        sendLogSampleIntervalSpinner.disableProperty().bind(
+                config.sendLoggingModeProperty().isNotEqualTo(SendLoggingMode.SAMPLED));
+    }
+
+    private void configureTargetRateControls() {
+        ValidatorUtils.configureSpinner(targetRateSpinner, config.targetRateProperty(),
+                MIN_TARGET_RATE, MAX_TARGET_RATE);
+        targetRateSpinner.setTooltip(TooltipCreator.createFrom(GuiStrings.TARGET_RATE_TOOLTIP));
+        targetRateUnitComboBox.setItems(FXCollections.observableArrayList(Arrays.asList(SendRateUnit.values())));
+        targetRateUnitComboBox.valueProperty().bindBidirectional(config.targetRateUnitProperty());
+    }
+
+    private void configureRunDurationSpinner() {
+        ValidatorUtils.configureSpinner(runDurationSpinner, config.runDurationSecondsProperty(),
+                MIN_RUN_DURATION_SECONDS, MAX_RUN_DURATION_SECONDS);
+        runDurationSpinner.setTooltip(TooltipCreator.createFrom(GuiStrings.RUN_DURATION_TOOLTIP));
+        repeatCountSpinner.disableProperty().bind(config.runDurationSecondsProperty().greaterThan(0));
+    }
+
+    private void configureProducerTuningControls() {
+        final KafkaProducerTuning tuning = config.getProducerTuning();
+        ValidatorUtils.configureSpinner(lingerMsSpinner, tuning.lingerMsProperty(), 0, MAX_LINGER_MS);
+        ValidatorUtils.configureSpinner(batchSizeSpinner, tuning.batchSizeProperty(), 0, MAX_BATCH_SIZE);
+        ValidatorUtils.configureSpinner(bufferMemorySpinner, tuning.bufferMemoryProperty(),
+                MIN_BUFFER_MEMORY, MAX_BUFFER_MEMORY);
+        ValidatorUtils.configureSpinner(maxInFlightRequestsSpinner, tuning.maxInFlightRequestsPerConnectionProperty(),
+                MIN_MAX_IN_FLIGHT_REQUESTS, MAX_MAX_IN_FLIGHT_REQUESTS);
+
+        compressionTypeComboBox.setItems(FXCollections.observableArrayList(
+                Arrays.asList(ProducerCompressionType.values())));
+        compressionTypeComboBox.valueProperty().bindBidirectional(tuning.compressionTypeProperty());
+        acksComboBox.setItems(FXCollections.observableArrayList(Arrays.asList(ProducerAcks.values())));
+        acksComboBox.valueProperty().bindBidirectional(tuning.acksProperty());
+        idempotenceCheckBox.selectedProperty().bindBidirectional(tuning.idempotenceEnabledProperty());
+        idempotenceCheckBox.setTooltip(TooltipCreator.createFrom(GuiStrings.IDEMPOTENCE_TOOLTIP));
+
+        producerTuningPresetMenuButton.getItems().clear();
+        for (ProducerTuningPreset preset : ProducerTuningPreset.values()) {
+            final MenuItem item = new MenuItem(preset.value());
+            item.setOnAction(event -> applyProducerTuningPreset(preset));
+            producerTuningPresetMenuButton.getItems().add(item);
+        }
+    }
+
+    private void configureDataFileControls() {
+        dataFilePathTextField.textProperty().bindBidirectional(config.dataFilePathProperty());
+        dataFilePathTextField.setTooltip(TooltipCreator.createFrom(GuiStrings.DATA_FILE_TOOLTIP));
+        dataFileLoopCheckBox.selectedProperty().bindBidirectional(config.dataFileLoopEnabledProperty());
+        dataFileLoopCheckBox.setTooltip(TooltipCreator.createFrom(GuiStrings.DATA_FILE_LOOP_TOOLTIP));
+    }
+
+    private void configureReplayFileControls() {
+        replayFilePathTextField.textProperty().bindBidirectional(config.replayFilePathProperty());
+        replayFilePathTextField.setTooltip(TooltipCreator.createFrom(GuiStrings.REPLAY_FILE_TOOLTIP));
+        replayFileFormatComboBox.setItems(FXCollections.observableArrayList(
+                Arrays.asList(ReplayFileFormat.values())));
+        replayFileFormatComboBox.valueProperty().bindBidirectional(config.replayFileFormatProperty());
+        replayKeyDelimiterTextField.textProperty().bindBidirectional(config.replayKeyDelimiterProperty());
+        replayKeyDelimiterTextField.setTooltip(TooltipCreator.createFrom(GuiStrings.REPLAY_KEY_DELIMITER_TOOLTIP));
+        replaySpeedComboBox.setItems(FXCollections.observableArrayList(Arrays.asList(ReplaySpeed.values())));
+        replaySpeedComboBox.valueProperty().bindBidirectional(config.replaySpeedProperty());
+        replaySpeedComboBox.setTooltip(TooltipCreator.createFrom(GuiStrings.REPLAY_SPEED_TOOLTIP));
+        replaySpeedComboBox.disableProperty().bind(Bindings.createBooleanBinding(
+                () -> !config.getReplayFileFormat().hasTimestamps(), config.replayFileFormatProperty()));
+    }
+
+    // spinners are not bound to model properties, so they must be refreshed explicitly
+    private void applyProducerTuningPreset(ProducerTuningPreset preset) {
+        final KafkaProducerTuning tuning = config.getProducerTuning();
+        preset.applyTo(tuning);
+        lingerMsSpinner.getValueFactory().setValue(tuning.getLingerMs());
+        batchSizeSpinner.getValueFactory().setValue(tuning.getBatchSize());
+        bufferMemorySpinner.getValueFactory().setValue(tuning.getBufferMemory());
+        maxInFlightRequestsSpinner.getValueFactory().setValue(tuning.getMaxInFlightRequestsPerConnection());
+    }
+
     private void configureMessageNameTextField() {
         messageNameTextField.setText(config.getName());
 
@@ -365,6 +615,58 @@ public class SenderConfigView extends AnchorPane implements Displayable {
         messageKeyTextField.disableProperty().bind(messageKeyCheckBox.selectedProperty().not());
     }
 
+    private void configureKeyDistributionControls() {
+        keyDistributionComboBox.setItems(FXCollections.observableArrayList(Arrays.asList(KeyDistribution.values())));
+        keyDistributionComboBox.valueProperty().bindBidirectional(config.keyDistributionProperty());
+        keyDistributionComboBox.setTooltip(TooltipCreator.createFrom(GuiStrings.KEY_DISTRIBUTION_TOOLTIP));
+        keyDistributionComboBox.disableProperty().bind(messageKeyCheckBox.selectedProperty().not());
+        ValidatorUtils.configureSpinner(keySkewPercentSpinner, config.keySkewPercentProperty(),
+                MIN_KEY_SKEW_PERCENT, MAX_KEY_SKEW_PERCENT);
+        keySkewPercentSpinner.setTooltip(TooltipCreator.createFrom(GuiStrings.KEY_SKEW_PERCENT_TOOLTIP));
+        keySkewPercentSpinner.disableProperty().bind(messageKeyCheckBox.selectedProperty().not()
+                .or(config.keyDistributionProperty().isNotEqualTo(KeyDistribution.ZIPF)));
+        keyPreviewTemplateTextField.setTooltip(TooltipCreator.createFrom(GuiStrings.KEY_PREVIEW_TEMPLATE_TOOLTIP));
+        ValidatorUtils.configureSpinner(keyPreviewSampleCountSpinner, keyPreviewSampleCount,
+                MIN_KEY_PREVIEW_SAMPLE_COUNT, MAX_KEY_PREVIEW_SAMPLE_COUNT);
+    }
+
+    @FXML
+    private void onKeyPreviewButtonClicked() {
+        final String keyTemplate = keyPreviewTemplateTextField.getText().isEmpty()
+                ? config.getMessageKey()
+                : keyPreviewTemplateTextField.getText();
+        final int sampleCount = keyPreviewSampleCount.get();
+        final String sharedScript = applicationSettings.appSettings().getRunBeforeFirstMessageSharedScriptContent();
+        keyPreviewButton.setDisable(true);
+        keyPreviewSummaryLabel.setText(String.format("Evaluating %d keys...", sampleCount));
+        new Thread(() -> {
+            try {
+                final PartitionHistogram histogram = msgTemplateSender.previewKeyPartitions(config,
+                        sharedScript,
+                        keyTemplate,
+                        sampleCount);
+                Logger.info(String.format("Key partition preview of '%s' (%s)", keyTemplate, histogram.summary()));
+                Platform.runLater(() -> displayKeyPreview(histogram));
+            } catch (Exception e) {
+                Logger.trace(ThrowableUtils.getFullStackTrace(e));
+                final String message = ThrowableUtils.getMessageWithRootCause(e);
+                Logger.error(String.format("Key partition preview failed: %s", message));
+                Platform.runLater(() -> keyPreviewSummaryLabel.setText("Preview failed: " + message));
+            } finally {
+                Platform.runLater(() -> keyPreviewButton.setDisable(false));
+            }
+        }, "KMT-Thread-KeyPartitionPreview").start();
+    }
+
+    private void displayKeyPreview(PartitionHistogram histogram) {
+        keyPreviewSummaryLabel.setText(histogram.summary());
+        final XYChart.Series<String, Number> series = new XYChart.Series<>();
+        for (int partition = 0; partition < histogram.getPartitionCount(); partition++) {
+            series.getData().add(new XYChart.Data<>(String.valueOf(partition), histogram.getCount(partition)));
+        }
+        keyPreviewChart.getData().setAll(Collections.singletonList(series));
+    }
+
     @FXML
     private void onSendButtonClicked() {
 
@@ -388,17 +690,71 @@ public class SenderConfigView extends AnchorPane implements Displayable {
 
     private void sendMessageTask() {
         final Instant now = Instant.now();
-        msgTemplateSender.send(config,
+        final SendStatistics statistics = msgTemplateSender.send(config,
                 statusBarNotifier,
                 applicationSettings.appSettings().getRunBeforeFirstMessageSharedScriptContent(),
-                sendingSimulationModeCheckBox.isSelected());
+                sendingSimulationModeCheckBox.isSelected(),
+                taskExecutor::runShards);
         final Instant now1 = Instant.now();
         final Duration between = Duration.between(now, now1);
         Logger.info(String.format("Sending messages duration: %s",
                 DurationFormatUtils.formatDuration(between.toMillis(), "HH:mm:ss", true)));
+        Platform.runLater(() -> displayRunStatistics(statistics));
+    }
+
+    private void displayRunStatistics(SendStatistics statistics) {
+        lastRunStatistics = statistics;
+        latencySummaryLabel.setText("Send-to-acknowledgement latency: " + statistics.latencySummary());
 
+        final XYChart.Series<Number, Number> series = new XYChart.Series<>();
+        final long[] throughput = statistics.getThroughputPerSecond();
+        for (int second = 0; second < throughput.length; second++) {
+            series.getData().add(new XYChart.Data<>(second, throughput[second]));
+        }
+        throughputChart.getData().setAll(Collections.singletonList(series));
+        exportRunStatisticsButton.setDisable(false);
     }
 
+    @FXML
+    private void onExportRunStatisticsButtonClicked() {
+        if (lastRunStatistics == null) {
+            return;
+        }
+        final FileChooser fileChooser = new FileChooser();
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV files (*.csv)", "*.csv"));
+        final File file = fileChooser.showSaveDialog(exportRunStatisticsButton.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            writer.write(lastRunStatistics.throughputToCsv());
+            Logger.info(String.format("Run statistics saved to '%s'", file.getAbsolutePath()));
+        } catch (IOException e) {
+            Logger.error(String.format("Saving run statistics to '%s' failed", file.getAbsolutePath()), e);
+        }
+    }
+
+    @FXML
+    private void onBrowseDataFileButtonClicked() {
+        final FileChooser fileChooser = new FileChooser();
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("Data files (*.csv, *.tsv, *.jsonl, *.ndjson)",
+                                                "*.csv", "*.tsv", "*.jsonl", "*.ndjson"),
+                new FileChooser.ExtensionFilter("All files", "*.*"));
+        final File file = fileChooser.showOpenDialog(browseDataFileButton.getScene().getWindow());
+        if (file != null) {
+            config.setDataFilePath(file.getAbsolutePath());
+        }
+    }
+
+    @FXML
+    private void onBrowseReplayFileButtonClicked() {
+        final FileChooser fileChooser = new FileChooser();
+        final File file = fileChooser.showOpenDialog(browseReplayFileButton.getScene().getWindow());
+        if (file != null) {
+            config.setReplayFilePath(file.getAbsolutePath());
+        }
+    }
 
     @FXML
     private void onStopSendingButtonClicked() {
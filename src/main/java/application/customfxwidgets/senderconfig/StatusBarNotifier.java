@@ -1,21 +1,39 @@
 package application.customfxwidgets.senderconfig;
 
-import java.util.Locale;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.controlsfx.control.StatusBar;
 
 import application.globals.Timers;
+import application.kafka.sender.SendProgressNotifier;
+import application.kafka.sender.SendProgressState;
 import javafx.application.Platform;
 import javafx.beans.property.DoubleProperty;
 import javafx.collections.ObservableList;
 import javafx.scene.Node;
-
-public class StatusBarNotifier {
-    public static final double PERCENTAGE_MAX = 100.0;
+import javafx.scene.control.Label;
+
+/**
+ * Displays progress of sending run in status bar. Sending threads only publish progress into
+ * {@link SendProgressState}, status bar is repainted at fixed frame rate (at most one pending repaint
+ * on FX thread), so GUI work does not grow with send rate. Frames of a run still queued on FX thread when
+ * the run is cleared are dropped, so they cannot overwrite cleared progress.
+ */
+public class StatusBarNotifier implements SendProgressNotifier {
+    private static final long FRAME_INTERVAL_MS = 50;
     private DoubleProperty doubleProperty;
     private StatusBar statusBar;
+    private final Label sendRateLabel = new Label();
+    private final SendProgressState progressState = new SendProgressState();
+    private final AtomicBoolean repaintPending = new AtomicBoolean();
+    private final Timer repaintTimer = Timers.newTimer("KMT-Thread-StatusBarNotifier-Repaint");
+    // repaint task and the fields below are changed only under repaintTimer lock
+    private TimerTask repaintTask;
+    private volatile boolean repainting;
+    // incremented when repainting stops, frames of previous runs are not painted
+    private volatile long runGeneration;
     private Timer timer = createTimer();
 
 
@@ -28,28 +46,115 @@ public class StatusBarNotifier {
         return Timers.newTimer("KMT-Thread-StatusBarNotifier");
     }
 
-    // count is 1-based
+    @Override
     public void setMsgSentProgress(int count, int total) {
-        displayProgressOnProgressBar((float) count / (float) total);
-        double percentage = percentage(count, total);
-        displayMessageToStatusBar(String.format(Locale.ENGLISH, "Sent messages: %d/%d (%06.3f)%%", count, total, percentage));
+        progressState.setMsgSentProgress(count, total);
+        startRepaintingIfNeeded();
+    }
+
+    @Override
+    public void setTimedMsgSentProgress(int count, long elapsedMs, long durationMs) {
+        progressState.setTimedMsgSentProgress(count, elapsedMs, durationMs);
+        startRepaintingIfNeeded();
     }
 
+    @Override
+    public void setReplayProgress(int count, long bytesRead, long fileSize) {
+        progressState.setReplayProgress(count, bytesRead, fileSize);
+        startRepaintingIfNeeded();
+    }
+
+    // last frame of the run stays displayed
+    @Override
     public void clearMsgSentProgress() {
+        final boolean wasRepainting = stopRepainting();
+        if (wasRepainting) {
+            final SendProgressState.Frame lastFrame = progressState.takeFrame(System.nanoTime());
+            Platform.runLater(() -> paintFrame(lastFrame));
+        }
+        progressState.clearMsgSentProgress();
         displayProgressOnProgressBar(0.0);
     }
 
+    @Override
+    public void setSendRate(double achievedRate, long targetRate, String unit) {
+        progressState.setSendRate(achievedRate, targetRate, unit);
+    }
+
+    // breakdown is displayed only when sending with more than one producer shard
+    @Override
+    public void setShardSendRates(double[] achievedRates, String unit) {
+        progressState.setShardSendRates(achievedRates, unit);
+    }
+
+    @Override
+    public void setFailedCount(long failedCount) {
+        progressState.setFailedCount(failedCount);
+    }
+
+    // called for every progress update, lock is taken only when repainting is not running yet
+    private void startRepaintingIfNeeded() {
+        if (repainting) {
+            return;
+        }
+        synchronized (repaintTimer) {
+            if (repainting) {
+                return;
+            }
+            final long generation = runGeneration;
+            repaintTask = new TimerTask() {
+                @Override
+                public void run() {
+                    repaint(generation);
+                }
+            };
+            repaintTimer.scheduleAtFixedRate(repaintTask, 0, FRAME_INTERVAL_MS);
+            repainting = true;
+        }
+    }
+
+    // cancelled task can still be running, its frame is dropped on FX thread
+    private boolean stopRepainting() {
+        synchronized (repaintTimer) {
+            if (!repainting) {
+                return false;
+            }
+            repaintTask.cancel();
+            repaintTask = null;
+            runGeneration++;
+            repainting = false;
+            return true;
+        }
+    }
+
+    // frame is skipped when FX thread has not painted the previous one yet
+    private void repaint(long generation) {
+        if (!repaintPending.compareAndSet(false, true)) {
+            return;
+        }
+        final SendProgressState.Frame frame = progressState.takeFrame(System.nanoTime());
+        Platform.runLater(() -> {
+            repaintPending.set(false);
+            if (generation == runGeneration) {
+                paintFrame(frame);
+            }
+        });
+    }
+
+    private void paintFrame(SendProgressState.Frame frame) {
+        doubleProperty.set(frame.getFraction());
+        statusBar.textProperty().set(frame.describe());
+        sendRateLabel.setText(frame.getRatesText());
+    }
+
     private void resetStatusBarOnConstruction() {
         statusBar.getLeftItems().clear();
         final ObservableList<Node> rightItems = statusBar.getRightItems();
         rightItems.clear();
+        rightItems.add(sendRateLabel);
         doubleProperty = statusBar.progressProperty();
     }
 
-    private double percentage(int count, int total) {
-        return (count * PERCENTAGE_MAX / total);
-    }
-
     private void displayMessageToStatusBar(String message) {
         Platform.runLater(() -> statusBar.textProperty().set(message));
     }
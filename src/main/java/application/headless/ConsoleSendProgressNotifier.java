@@ -0,0 +1,105 @@
+package application.headless;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import application.kafka.sender.SendProgressNotifier;
+
+/**
+ * Keeps the latest progress of a sending run, so that it can be printed periodically in headless mode.
+ */
+public class ConsoleSendProgressNotifier implements SendProgressNotifier {
+    private final AtomicInteger sentCount = new AtomicInteger();
+    private volatile int totalCount;
+    private volatile long replayedBytes;
+    private volatile long replayFileSize;
+    private volatile double achievedRate;
+    private volatile long targetRate;
+    private volatile String rateUnit;
+    private volatile double[] shardRates = new double[0];
+    private volatile long failedCount;
+
+    public ConsoleSendProgressNotifier(String rateUnit) {
+        this.rateUnit = rateUnit;
+    }
+
+    // shards report their progress concurrently, so the counts may come out of order
+    @Override
+    public void setMsgSentProgress(int count, int total) {
+        totalCount = total;
+        sentCount.accumulateAndGet(count, Math::max);
+    }
+
+    @Override
+    public void setTimedMsgSentProgress(int count, long elapsedMs, long durationMs) {
+        totalCount = 0;
+        sentCount.accumulateAndGet(count, Math::max);
+    }
+
+    @Override
+    public void setReplayProgress(int count, long bytesRead, long fileSize) {
+        totalCount = 0;
+        replayFileSize = fileSize;
+        replayedBytes = bytesRead;
+        sentCount.accumulateAndGet(count, Math::max);
+    }
+
+    // progress of finished run stays available for final stats
+    @Override
+    public void clearMsgSentProgress() {
+    }
+
+    @Override
+    public void setSendRate(double achievedRate, long targetRate, String unit) {
+        this.targetRate = targetRate;
+        this.rateUnit = unit;
+        this.achievedRate = achievedRate;
+    }
+
+    @Override
+    public void setShardSendRates(double[] achievedRates, String unit) {
+        shardRates = achievedRates.clone();
+    }
+
+    @Override
+    public void setFailedCount(long failedCount) {
+        this.failedCount = failedCount;
+    }
+
+    public int getSentCount() {
+        return sentCount.get();
+    }
+
+    public String describe() {
+        final StringBuilder sb = new StringBuilder();
+        final int total = totalCount;
+        if (total > 0) {
+            sb.append(String.format(Locale.ENGLISH, "sent: %d/%d", sentCount.get(), total));
+        } else {
+            sb.append(String.format(Locale.ENGLISH, "sent: %d", sentCount.get()));
+        }
+        final long fileSize = replayFileSize;
+        if (fileSize > 0) {
+            sb.append(String.format(Locale.ENGLISH, ", replayed bytes: %d/%d", replayedBytes, fileSize));
+        }
+        final long target = targetRate;
+        if (target > 0) {
+            sb.append(String.format(Locale.ENGLISH, ", rate: %.1f / %d %s", achievedRate, target, rateUnit));
+        } else {
+            sb.append(String.format(Locale.ENGLISH, ", rate: %.1f %s", achievedRate, rateUnit));
+        }
+        final double[] rates = shardRates;
+        if (rates.length > 1) {
+            sb.append(Arrays.stream(rates)
+                          .mapToObj(rate -> String.format(Locale.ENGLISH, "%.1f", rate))
+                          .collect(Collectors.joining(" | ", " (shards: ", ")")));
+        }
+        final long failed = failedCount;
+        if (failed > 0) {
+            sb.append(String.format(Locale.ENGLISH, ", errors: %d", failed));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,91 @@
+package application.headless;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import application.exceptions.KafkaToolError;
+import application.model.DataModel;
+import application.model.ModelConfigObject;
+import application.model.ModelObjectCollection;
+import application.model.RelatedConfigHolder;
+import application.model.modelobjects.KafkaBrokerConfig;
+import application.model.modelobjects.KafkaListenerConfig;
+import application.model.modelobjects.KafkaSenderConfig;
+import application.model.modelobjects.KafkaTopicConfig;
+
+/**
+ * Finds configs given by name on headless mode command line. Topic/broker configs given with --topic/--broker
+ * replace the ones selected in found sender/listener configs (loaded model only, configuration file is not changed).
+ */
+public final class HeadlessConfigResolver {
+    private final DataModel dataModel;
+
+    public HeadlessConfigResolver(DataModel dataModel) {
+        this.dataModel = dataModel;
+    }
+
+    public List<KafkaSenderConfig> resolveSenderConfigs(HeadlessOptions options) throws KafkaToolError {
+        return resolve(dataModel.getSenderConfigs(), options.getSenderNames(), options, "sender");
+    }
+
+    public List<KafkaListenerConfig> resolveListenerConfigs(HeadlessOptions options) throws KafkaToolError {
+        return resolve(dataModel.getListenerConfigs(), options.getListenerNames(), options, "listener");
+    }
+
+    private <T extends ModelConfigObject & RelatedConfigHolder<KafkaTopicConfig>> List<T> resolve(
+        ModelObjectCollection<T> configs,
+        List<String> names,
+        HeadlessOptions options,
+        String configKind) throws KafkaToolError {
+
+        final List<T> resolved = new ArrayList<>();
+        for (String name : names) {
+            final T config = findByName(configs, name, configKind);
+            if (options.getTopicConfigName() != null) {
+                config.setRelatedConfig(findByName(dataModel.getTopicConfigs(), options.getTopicConfigName(), "topic"));
+            }
+            checkTopicConfig(config.getRelatedConfig(), options, configKind, name);
+            resolved.add(config);
+        }
+        return resolved;
+    }
+
+    private void checkTopicConfig(KafkaTopicConfig topicConfig,
+                                  HeadlessOptions options,
+                                  String configKind,
+                                  String configName) throws KafkaToolError {
+        if (topicConfig == null) {
+            throw new KafkaToolError(String.format("No topic config selected for %s config '%s'",
+                                                   configKind, configName));
+        }
+        if (options.getBrokerConfigName() != null) {
+            topicConfig.setRelatedConfig(findByName(dataModel.getBrokerConfigs(),
+                                                    options.getBrokerConfigName(),
+                                                    "broker"));
+        }
+        final KafkaBrokerConfig brokerConfig = topicConfig.getRelatedConfig();
+        if (brokerConfig == null) {
+            throw new KafkaToolError(String.format("No broker config selected for topic config '%s' (used by %s config '%s')",
+                                                   topicConfig.getName(), configKind, configName));
+        }
+    }
+
+    private static <T extends ModelConfigObject> T findByName(ModelObjectCollection<T> configs,
+                                                              String name,
+                                                              String configKind) throws KafkaToolError {
+        final List<T> found = configs.getObservables()
+            .stream()
+            .filter(config -> name.equals(config.getName()))
+            .collect(Collectors.toList());
+        if (found.isEmpty()) {
+            throw new KafkaToolError(String.format("Could not find %s config '%s', available ones: %s",
+                                                   configKind, name, configs.getNames()));
+        }
+        if (found.size() > 1) {
+            throw new KafkaToolError(String.format("Name of %s config '%s' is ambiguous, %d configs have it",
+                                                   configKind, name, found.size()));
+        }
+        return found.get(0);
+    }
+}
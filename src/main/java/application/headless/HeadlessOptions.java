@@ -0,0 +1,180 @@
+package application.headless;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import application.constants.ApplicationConstants;
+import application.exceptions.KafkaToolError;
+import application.logging.LogLevel;
+
+/**
+ * Command line options of headless mode (application started with {@value #HEADLESS_FLAG} argument).
+ */
+public final class HeadlessOptions {
+    public static final String HEADLESS_FLAG = "--headless";
+    private static final long DEFAULT_STATS_INTERVAL_SECONDS = 1;
+    private static final String USAGE = String.join(System.lineSeparator(),
+        "Usage: " + HEADLESS_FLAG + " [options]",
+        "  --config <file>             configuration file (default: " + defaultConfigFile() + ")",
+        "  --send <name>               sender config to run, can be repeated",
+        "  --listen <name>             listener config to run, can be repeated",
+        "  --topic <name>              topic config used instead of the ones selected in sender/listener configs",
+        "  --broker <name>             broker config used instead of the ones selected in topic configs",
+        "  --duration <seconds>        stop after given time, senders that still run are stopped too",
+        "                              (default: listeners run until senders finish or their message limit is reached)",
+        "  --stats-interval <seconds>  how often stats are printed (default: " + DEFAULT_STATS_INTERVAL_SECONDS + ")",
+        "  --simulate                  sending simulation mode, messages are not sent to broker",
+        "  --log-level <level>         trace, debug, info, warn or error (default: from configuration file)",
+        "  --help                      print this help");
+
+    private Path configFile = defaultConfigFile();
+    private final List<String> senderNames = new ArrayList<>();
+    private final List<String> listenerNames = new ArrayList<>();
+    private String topicConfigName;
+    private String brokerConfigName;
+    private long durationSeconds;
+    private long statsIntervalSeconds = DEFAULT_STATS_INTERVAL_SECONDS;
+    private boolean simulationModeEnabled;
+    private LogLevel logLevel;
+    private boolean helpRequested;
+
+    private HeadlessOptions() {
+    }
+
+    public static boolean isHeadlessRequested(String[] args) {
+        return Arrays.asList(args).contains(HEADLESS_FLAG);
+    }
+
+    public static String usage() {
+        return USAGE;
+    }
+
+    public static HeadlessOptions parse(String[] args) throws KafkaToolError {
+        final HeadlessOptions options = new HeadlessOptions();
+        for (int i = 0; i < args.length; i++) {
+            final String arg = args[i];
+            switch (arg) {
+                case HEADLESS_FLAG:
+                    break;
+                case "--help":
+                    options.helpRequested = true;
+                    break;
+                case "--simulate":
+                    options.simulationModeEnabled = true;
+                    break;
+                case "--config":
+                    options.configFile = Paths.get(valueOf(args, ++i, arg));
+                    break;
+                case "--send":
+                    options.senderNames.add(valueOf(args, ++i, arg));
+                    break;
+                case "--listen":
+                    options.listenerNames.add(valueOf(args, ++i, arg));
+                    break;
+                case "--topic":
+                    options.topicConfigName = valueOf(args, ++i, arg);
+                    break;
+                case "--broker":
+                    options.brokerConfigName = valueOf(args, ++i, arg);
+                    break;
+                case "--duration":
+                    options.durationSeconds = secondsOf(args, ++i, arg, 0);
+                    break;
+                case "--stats-interval":
+                    options.statsIntervalSeconds = secondsOf(args, ++i, arg, 1);
+                    break;
+                case "--log-level":
+                    options.logLevel = logLevelOf(valueOf(args, ++i, arg));
+                    break;
+                default:
+                    throw new KafkaToolError(String.format("Unknown option '%s'", arg));
+            }
+        }
+        if (!options.helpRequested && options.senderNames.isEmpty() && options.listenerNames.isEmpty()) {
+            throw new KafkaToolError("Nothing to run, at least one --send or --listen option is required");
+        }
+        return options;
+    }
+
+    public Path getConfigFile() {
+        return configFile;
+    }
+
+    public List<String> getSenderNames() {
+        return Collections.unmodifiableList(senderNames);
+    }
+
+    public List<String> getListenerNames() {
+        return Collections.unmodifiableList(listenerNames);
+    }
+
+    // null when topic configs selected in sender/listener configs are used
+    public String getTopicConfigName() {
+        return topicConfigName;
+    }
+
+    // null when broker configs selected in topic configs are used
+    public String getBrokerConfigName() {
+        return brokerConfigName;
+    }
+
+    // 0 means run is not limited by time
+    public long getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public long getStatsIntervalSeconds() {
+        return statsIntervalSeconds;
+    }
+
+    public boolean isSimulationModeEnabled() {
+        return simulationModeEnabled;
+    }
+
+    // null when log level from configuration file is used
+    public LogLevel getLogLevel() {
+        return logLevel;
+    }
+
+    public boolean isHelpRequested() {
+        return helpRequested;
+    }
+
+    private static Path defaultConfigFile() {
+        return Paths.get(ApplicationConstants.CONFIG_FILE_DIR, ApplicationConstants.CONFIG_FILE_NAME);
+    }
+
+    private static String valueOf(String[] args, int index, String option) throws KafkaToolError {
+        if (index >= args.length || args[index].startsWith("--")) {
+            throw new KafkaToolError(String.format("Missing value of option '%s'", option));
+        }
+        return args[index];
+    }
+
+    private static long secondsOf(String[] args, int index, String option, long min) throws KafkaToolError {
+        final String value = valueOf(args, index, option);
+        try {
+            final long seconds = Long.parseLong(value);
+            if (seconds >= min) {
+                return seconds;
+            }
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        throw new KafkaToolError(String.format("Invalid value '%s' of option '%s', number of seconds >= %d expected",
+                                               value, option, min));
+    }
+
+    private static LogLevel logLevelOf(String value) throws KafkaToolError {
+        try {
+            return LogLevel.valueOf(value.toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            throw new KafkaToolError(String.format("Unknown log level '%s'", value));
+        }
+    }
+}
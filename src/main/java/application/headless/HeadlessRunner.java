@@ -0,0 +1,343 @@
+package application.headless;
+
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import application.customfxwidgets.senderconfig.MessageSenderTaskExecutor;
+import application.exceptions.KafkaToolError;
+import application.kafka.cluster.KafkaClusterProxies;
+import application.kafka.listener.KafkaListeners;
+import application.kafka.listener.Listener;
+import application.kafka.sender.DefaultKafkaMessageSender;
+import application.kafka.sender.SendStatistics;
+import application.logging.DefaultLogger;
+import application.logging.Logger;
+import application.model.DataModel;
+import application.model.DefaultModelDataProxy;
+import application.model.FromPojoConverter;
+import application.model.ModelDataProxy;
+import application.model.modelobjects.KafkaListenerConfig;
+import application.model.modelobjects.KafkaSenderConfig;
+import application.model.modelobjects.KafkaTopicConfig;
+import application.persistence.GlobalSettings;
+import application.persistence.GuiSettings;
+import application.persistence.XmlFileConfig;
+import application.scripting.CompiledScriptCache;
+import application.scripting.GroovyScriptEvaluator;
+import application.scripting.MessageTemplateSender;
+import application.scripting.ScriptEvaluationExecutor;
+import application.utils.ThrowableUtils;
+import application.utils.kafka.KafkaProducers;
+import javafx.beans.property.SimpleBooleanProperty;
+
+/**
+ * Runs sender and listener configs from configuration file without GUI. Stats are printed to stdout,
+ * application logs go to stderr. Exit status is {@value #SUCCESS_EXIT_STATUS} when everything succeeded,
+ * {@value #FAILURE_EXIT_STATUS} when any sender failed or listener did not start and
+ * {@value #USAGE_EXIT_STATUS} for invalid command line or configs that could not be found.
+ */
+public class HeadlessRunner {
+    public static final int SUCCESS_EXIT_STATUS = 0;
+    public static final int FAILURE_EXIT_STATUS = 1;
+    public static final int USAGE_EXIT_STATUS = 2;
+    private static final long WAIT_STEP_MS = 100;
+    private static final long LISTENER_START_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final long LISTENER_STOP_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final HeadlessOptions options;
+    private final PrintStream out;
+    private final KafkaListeners listeners = new KafkaListeners();
+    private final KafkaClusterProxies clusterProxies = new KafkaClusterProxies();
+    private final List<SenderRun> senderRuns = new ArrayList<>();
+    private final List<ListenerRun> listenerRuns = new ArrayList<>();
+    private final long startNanos = System.nanoTime();
+
+    public HeadlessRunner(HeadlessOptions options, PrintStream out) {
+        this.options = options;
+        this.out = out;
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    public static int run(String[] args) {
+        final HeadlessOptions options;
+        try {
+            options = HeadlessOptions.parse(args);
+        } catch (KafkaToolError e) {
+            System.err.println(e.getMessage());
+            System.err.println(HeadlessOptions.usage());
+            return USAGE_EXIT_STATUS;
+        }
+        if (options.isHelpRequested()) {
+            System.out.println(HeadlessOptions.usage());
+            return SUCCESS_EXIT_STATUS;
+        }
+        Logger.registerLogger(new DefaultLogger());
+        return new HeadlessRunner(options, System.out).run();
+    }
+
+    public int run() {
+        final DataModel dataModel = new DataModel();
+        final GlobalSettings globalSettings = new GlobalSettings();
+        final List<KafkaSenderConfig> senderConfigs;
+        final List<KafkaListenerConfig> listenerConfigs;
+        try {
+            loadConfigFile(dataModel, globalSettings);
+            final HeadlessConfigResolver resolver = new HeadlessConfigResolver(dataModel);
+            senderConfigs = resolver.resolveSenderConfigs(options);
+            listenerConfigs = resolver.resolveListenerConfigs(options);
+        } catch (KafkaToolError e) {
+            Logger.error(e.getMessage());
+            return USAGE_EXIT_STATUS;
+        }
+        Logger.setLogLevel(options.getLogLevel() != null ? options.getLogLevel() : globalSettings.getLogLevel());
+        KafkaProducers.setIdleTimeout(Duration.ofSeconds(globalSettings.getProducerIdleTimeoutSeconds()));
+
+        final ScriptEvaluationExecutor scriptEvaluationExecutor = new ScriptEvaluationExecutor();
+        final CompiledScriptCache compiledScriptCache = new CompiledScriptCache();
+        final ScheduledExecutorService statsPrinter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "KMT-Thread-HeadlessStatsPrinter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Ctrl+C still lets consumers leave their groups
+        final Thread shutdownHook = new Thread(listeners::stopAll, "KMT-Thread-HeadlessShutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+        try {
+            listenerConfigs.forEach(this::startListener);
+            senderConfigs.forEach(config -> startSender(config,
+                                                        new GroovyScriptEvaluator(compiledScriptCache,
+                                                                                  scriptEvaluationExecutor),
+                                                        globalSettings.getRunBeforeFirstMessageSharedScriptContent()));
+            final long statsIntervalSeconds = options.getStatsIntervalSeconds();
+            statsPrinter.scheduleAtFixedRate(this::printStats, statsIntervalSeconds, statsIntervalSeconds,
+                                             TimeUnit.SECONDS);
+            awaitRunEnd();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stopSenders();
+        } finally {
+            statsPrinter.shutdownNow();
+            stopListeners();
+            KafkaProducers.close();
+            scriptEvaluationExecutor.shutdown();
+            removeShutdownHook(shutdownHook);
+        }
+        return printSummary();
+    }
+
+    private void loadConfigFile(DataModel dataModel, GlobalSettings globalSettings) throws KafkaToolError {
+        final Path configFile = options.getConfigFile();
+        // configuration file would be created otherwise
+        if (!Files.isRegularFile(configFile)) {
+            throw new KafkaToolError(String.format("Configuration file '%s' does not exist", configFile));
+        }
+        final ModelDataProxy modelDataProxy = new DefaultModelDataProxy(dataModel);
+        new XmlFileConfig(modelDataProxy,
+                          new FromPojoConverter(modelDataProxy),
+                          new GuiSettings(),
+                          globalSettings,
+                          configFile).load();
+    }
+
+    private void startListener(KafkaListenerConfig config) {
+        final ListenerRun run = new ListenerRun(listeners.getListener(config));
+        listenerRuns.add(run);
+        run.listener.start();
+    }
+
+    private void startSender(KafkaSenderConfig config, GroovyScriptEvaluator scriptEvaluator, String sharedScript) {
+        final SenderRun run = new SenderRun(config);
+        final MessageTemplateSender templateSender = new MessageTemplateSender(new DefaultKafkaMessageSender(),
+                                                                               scriptEvaluator,
+                                                                               this::partitionsForTopic);
+        run.thread = new Thread(() -> templateSender.send(config,
+                                                          run.notifier,
+                                                          sharedScript,
+                                                          options.isSimulationModeEnabled(),
+                                                          run.shardExecutor::runShards,
+                                                          run.statistics),
+                                "KMT-Thread-HeadlessSender:" + config.getName());
+        senderRuns.add(run);
+        run.thread.start();
+    }
+
+    // there is no broker status check without GUI, so cluster state is read when sender needs it
+    private synchronized int partitionsForTopic(KafkaTopicConfig topicConfig) throws Exception {
+        return clusterProxies.getRefreshed(topicConfig.getRelatedConfig().getHostInfo())
+            .partitionsForTopic(topicConfig.getTopicName());
+    }
+
+    // senders run until they finish (or time given with --duration is over),
+    // listeners until time is over, senders finish or they stop on their own (received messages limit)
+    private void awaitRunEnd() throws InterruptedException {
+        final long durationSeconds = options.getDurationSeconds();
+        final long deadlineNanos = durationSeconds > 0
+            ? startNanos + TimeUnit.SECONDS.toNanos(durationSeconds)
+            : Long.MAX_VALUE;
+        awaitUntil(() -> senderRuns.stream().noneMatch(SenderRun::isRunning), deadlineNanos);
+        if (senderRuns.stream().anyMatch(SenderRun::isRunning)) {
+            Logger.info("Run duration is over, stopping senders.");
+            stopSenders();
+        }
+        if (durationSeconds > 0 || senderRuns.isEmpty()) {
+            awaitUntil(() -> listenerRuns.stream().allMatch(ListenerRun::isFinished), deadlineNanos);
+        }
+    }
+
+    private void stopSenders() {
+        senderRuns.forEach(SenderRun::stop);
+        for (SenderRun run : senderRuns) {
+            try {
+                run.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void stopListeners() {
+        listeners.stopAll();
+        try {
+            awaitUntil(() -> listenerRuns.stream().noneMatch(run -> run.listener.isRunningProperty().get()),
+                       System.nanoTime() + LISTENER_STOP_TIMEOUT_NANOS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitUntil(BooleanSupplier condition, long deadlineNanos) throws InterruptedException {
+        while (!condition.getAsBoolean() && System.nanoTime() - deadlineNanos < 0) {
+            Thread.sleep(WAIT_STEP_MS);
+        }
+    }
+
+    private static void removeShutdownHook(Thread shutdownHook) {
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException ignored) {
+            // JVM is already shutting down
+        }
+    }
+
+    private void printStats() {
+        final String elapsed = String.format(Locale.ENGLISH, "[%8.1f s]", elapsedSeconds());
+        senderRuns.forEach(run -> out.println(String.format("%s sender '%s' %s, latency (%s)",
+                                                            elapsed,
+                                                            run.config.getName(),
+                                                            run.notifier.describe(),
+                                                            run.statistics.latencySummary())));
+        listenerRuns.forEach(run -> out.println(String.format(Locale.ENGLISH,
+                                                              "%s listener '%s' received: %d, rate: %.1f msg/s",
+                                                              elapsed,
+                                                              run.listener.getListenerConfig().getName(),
+                                                              run.listener.getReceivedMessagesCount(),
+                                                              run.takeReceiveRate())));
+        out.flush();
+    }
+
+    private int printSummary() {
+        int exitStatus = SUCCESS_EXIT_STATUS;
+        final double elapsedSeconds = elapsedSeconds();
+        out.println(String.format(Locale.ENGLISH, "Summary after %.1f s:", elapsedSeconds));
+        for (SenderRun run : senderRuns) {
+            final Exception failure = run.statistics.getFailure();
+            out.println(String.format("  sender '%s' %s, latency (%s), status: %s",
+                                      run.config.getName(),
+                                      run.notifier.describe(),
+                                      run.statistics.latencySummary(),
+                                      failure == null ? "ok" : "failed, " + ThrowableUtils.getMessageWithRootCause(failure)));
+            if (failure != null) {
+                exitStatus = FAILURE_EXIT_STATUS;
+            }
+        }
+        for (ListenerRun run : listenerRuns) {
+            final int receivedCount = run.listener.getReceivedMessagesCount();
+            out.println(String.format(Locale.ENGLISH, "  listener '%s' received: %d, average rate: %.1f msg/s, status: %s",
+                                      run.listener.getListenerConfig().getName(),
+                                      receivedCount,
+                                      elapsedSeconds > 0 ? receivedCount / elapsedSeconds : 0.0,
+                                      run.wasStarted ? "ok" : "not started"));
+            if (!run.wasStarted) {
+                exitStatus = FAILURE_EXIT_STATUS;
+            }
+        }
+        out.flush();
+        return exitStatus;
+    }
+
+    private double elapsedSeconds() {
+        return (System.nanoTime() - startNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private static final class SenderRun {
+        private final KafkaSenderConfig config;
+        private final ConsoleSendProgressNotifier notifier;
+        private final SendStatistics statistics = new SendStatistics();
+        private final MessageSenderTaskExecutor shardExecutor =
+            new MessageSenderTaskExecutor(new SimpleBooleanProperty(), new SimpleBooleanProperty());
+        private Thread thread;
+
+        SenderRun(KafkaSenderConfig config) {
+            this.config = config;
+            notifier = new ConsoleSendProgressNotifier(config.getTargetRateUnit().value());
+        }
+
+        boolean isRunning() {
+            return thread.isAlive();
+        }
+
+        void stop() {
+            shardExecutor.stop();
+            thread.interrupt();
+        }
+    }
+
+    private static final class ListenerRun {
+        private final Listener listener;
+        private final long startNanos = System.nanoTime();
+        private volatile boolean wasStarted;
+        private int lastReceivedCount;
+        private long lastRateNanos = startNanos;
+
+        ListenerRun(Listener listener) {
+            this.listener = listener;
+            listener.isRunningProperty().addListener((observable, wasRunning, isRunning) -> {
+                if (isRunning) {
+                    wasStarted = true;
+                }
+            });
+        }
+
+        // listener that could not start within timeout is treated as finished
+        boolean isFinished() {
+            if (listener.isRunningProperty().get()) {
+                return false;
+            }
+            return wasStarted || System.nanoTime() - startNanos > LISTENER_START_TIMEOUT_NANOS;
+        }
+
+        // called from stats printer thread only
+        double takeReceiveRate() {
+            final int receivedCount = listener.getReceivedMessagesCount();
+            final long nowNanos = System.nanoTime();
+            final double seconds = (nowNanos - lastRateNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+            final double rate = seconds > 0 ? (receivedCount - lastReceivedCount) / seconds : 0.0;
+            lastReceivedCount = receivedCount;
+            lastRateNanos = nowNanos;
+            return rate;
+        }
+    }
+}
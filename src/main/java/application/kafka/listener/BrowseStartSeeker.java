@@ -0,0 +1,127 @@
+package application.kafka.listener;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+
+import application.exceptions.KafkaToolError;
+import application.model.BrowseStartPosition;
+import application.utils.TimestampUtils;
+
+/**
+ * Assigns all partitions of a topic to a consumer without consumer group and seeks each of them
+ * to the {@link BrowseStartPosition} of browse mode. Nothing is committed and no rebalance is waited for,
+ * offsets are looked up with a single request per position kind.
+ */
+public final class BrowseStartSeeker {
+    private final Duration requestTimeout;
+
+    public BrowseStartSeeker(Duration requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+
+    // returns start offset of every assigned partition, in partition order
+    public Map<TopicPartition, Long> assignAndSeek(Consumer<?, ?> consumer,
+                                                   String topicName,
+                                                   BrowseStartPosition startPosition,
+                                                   int latestCount,
+                                                   String startTimestamp) throws KafkaToolError {
+        final List<TopicPartition> partitions = partitionsOf(consumer, topicName);
+        final Map<TopicPartition, Long> startOffsets = startOffsets(consumer, partitions, startPosition,
+                                                                    latestCount, startTimestamp);
+        consumer.assign(partitions);
+        startOffsets.forEach(consumer::seek);
+        return startOffsets;
+    }
+
+    public static String describe(Map<TopicPartition, Long> startOffsets) {
+        final StringJoiner joiner = new StringJoiner(", ");
+        startOffsets.forEach((partition, offset) -> joiner.add(partition.partition() + ": " + offset));
+        return joiner.toString();
+    }
+
+    private List<TopicPartition> partitionsOf(Consumer<?, ?> consumer, String topicName) throws KafkaToolError {
+        final List<PartitionInfo> partitionInfos = consumer.partitionsFor(topicName, requestTimeout);
+        if (partitionInfos == null || partitionInfos.isEmpty()) {
+            throw new KafkaToolError(String.format("Topic '%s' has no partitions to browse", topicName));
+        }
+        final List<TopicPartition> partitions = new ArrayList<>();
+        for (PartitionInfo info : partitionInfos) {
+            partitions.add(new TopicPartition(info.topic(), info.partition()));
+        }
+        partitions.sort(Comparator.comparingInt(TopicPartition::partition));
+        return partitions;
+    }
+
+    private Map<TopicPartition, Long> startOffsets(Consumer<?, ?> consumer,
+                                                   List<TopicPartition> partitions,
+                                                   BrowseStartPosition startPosition,
+                                                   int latestCount,
+                                                   String startTimestamp) throws KafkaToolError {
+        switch (startPosition) {
+            case LATEST:
+                return inPartitionOrder(partitions, consumer.endOffsets(partitions, requestTimeout));
+            case LATEST_N:
+                return latestOffsets(consumer, partitions, latestCount);
+            case TIMESTAMP:
+                return offsetsForTimestamp(consumer, partitions, startTimestamp);
+            case EARLIEST:
+            default:
+                return inPartitionOrder(partitions, consumer.beginningOffsets(partitions, requestTimeout));
+        }
+    }
+
+    // partition with fewer records than requested is read from its beginning
+    private Map<TopicPartition, Long> latestOffsets(Consumer<?, ?> consumer,
+                                                    List<TopicPartition> partitions,
+                                                    int latestCount) {
+        final Map<TopicPartition, Long> beginningOffsets = consumer.beginningOffsets(partitions, requestTimeout);
+        final Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions, requestTimeout);
+        final Map<TopicPartition, Long> offsets = new HashMap<>();
+        for (TopicPartition partition : partitions) {
+            final long end = endOffsets.get(partition);
+            offsets.put(partition, Math.max(beginningOffsets.get(partition), end - latestCount));
+        }
+        return inPartitionOrder(partitions, offsets);
+    }
+
+    // partition without records at or after timestamp is read from its end, i.e. only new records
+    private Map<TopicPartition, Long> offsetsForTimestamp(Consumer<?, ?> consumer,
+                                                          List<TopicPartition> partitions,
+                                                          String startTimestamp) throws KafkaToolError {
+        final long timestampMs;
+        try {
+            timestampMs = TimestampUtils.epochMiliFromUserTimestamp(startTimestamp);
+        } catch (DateTimeParseException e) {
+            throw new KafkaToolError(String.format("Invalid browse start timestamp '%s'", startTimestamp), e);
+        }
+        final Map<TopicPartition, Long> timestamps = new HashMap<>();
+        partitions.forEach(partition -> timestamps.put(partition, timestampMs));
+        final Map<TopicPartition, OffsetAndTimestamp> found = consumer.offsetsForTimes(timestamps, requestTimeout);
+        final Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions, requestTimeout);
+        final Map<TopicPartition, Long> offsets = new HashMap<>();
+        for (TopicPartition partition : partitions) {
+            final OffsetAndTimestamp offset = found.get(partition);
+            offsets.put(partition, offset != null ? offset.offset() : endOffsets.get(partition));
+        }
+        return inPartitionOrder(partitions, offsets);
+    }
+
+    private static Map<TopicPartition, Long> inPartitionOrder(List<TopicPartition> partitions,
+                                                              Map<TopicPartition, Long> offsets) {
+        final Map<TopicPartition, Long> ordered = new LinkedHashMap<>();
+        partitions.forEach(partition -> ordered.put(partition, offsets.get(partition)));
+        return ordered;
+    }
+}
@@ -3,6 +3,7 @@ package application.kafka.listener;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.common.TopicPartition;
@@ -13,16 +14,27 @@ public class ConsumerPartitionsRebalanceListener implements ConsumerRebalanceLis
 
     private final String topicName;
     private ObjectProperty<AssignedPartitionsInfo> partitionsProperty;
+    private final Consumer<Collection<TopicPartition>> revokedPartitionsHandler;
 
 
     public ConsumerPartitionsRebalanceListener(String topicName,
                                                ObjectProperty<AssignedPartitionsInfo> partitionsProperty) {
+        this(topicName, partitionsProperty, partitions -> {
+        });
+    }
+
+    // revoked partitions handler is called on polling thread, before partitions are reassigned
+    public ConsumerPartitionsRebalanceListener(String topicName,
+                                               ObjectProperty<AssignedPartitionsInfo> partitionsProperty,
+                                               Consumer<Collection<TopicPartition>> revokedPartitionsHandler) {
         this.topicName = topicName;
 
         this.partitionsProperty = partitionsProperty;
+        this.revokedPartitionsHandler = revokedPartitionsHandler;
     }
 
     public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        revokedPartitionsHandler.accept(partitions);
         updatePartitionList(partitions, AssignmentChangeReason.REVOKE);
     }
 
@@ -2,10 +2,11 @@ package application.kafka.listener;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
-import java.util.concurrent.FutureTask;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.kafka.clients.consumer.Consumer;
@@ -13,51 +14,48 @@ import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
-import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.errors.WakeupException;
-import org.apache.kafka.common.serialization.StringDeserializer;
-
-import com.google.common.collect.Lists;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 
+import application.exceptions.KafkaToolError;
 import application.logging.Logger;
+import application.model.ListenerCommitStrategy;
 import application.model.modelobjects.KafkaBrokerConfig;
 import application.model.modelobjects.KafkaListenerConfig;
 import application.model.modelobjects.KafkaTopicConfig;
 import application.utils.AppUtils;
 import application.utils.HostInfo;
-import application.utils.TimestampUtils;
 import application.utils.kafka.KafkaBrokerHostInfo;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleObjectProperty;
-import javafx.beans.property.SimpleStringProperty;
-import javafx.beans.property.StringProperty;
 
 import static application.utils.PropertiesUtils.prettyProperties;
-import static application.utils.TimestampUtils.timestampFromEpochMili;
-import static java.lang.Thread.sleep;
 
 public class DefaultKafkaListener implements Listener {
 
     public static final int REPEAT_RATE_MS = 500;
-    private static final int ADDITIONAL_WAIT_DURATION_BEFORE_WAKEUP_MS = 2000;
-    private final StringProperty loggedText = new SimpleStringProperty();
+    private static final Duration BROWSE_SEEK_TIMEOUT = Duration.ofSeconds(10);
+    private final ReceivedRecordsQueue<ReceivedRecord> receivedRecordsQueue = new ReceivedRecordsQueue<>();
     private final KafkaListenerConfig listenerConfig;
+    private final PollWatchdog pollWatchdog;
     private final BooleanProperty isRunning = new SimpleBooleanProperty(false);
     private final ObjectProperty<AssignedPartitionsInfo> assignedPartitions = new SimpleObjectProperty<>();
 
     private final AtomicBoolean shouldBeRunning = new AtomicBoolean(false);
     private KafkaBrokerHostInfo brokerHost;
-    private Consumer<String, String> consumer;
-    private FutureTask<Void> wakeUpTask;
+    private Consumer<byte[], byte[]> consumer;
+    private OffsetCommitter offsetCommitter;
+    private PollWatchdog.Watch pollWatch;
     private Thread fetchThread;
-    private int receivedMessagesCount = 0;
+    private volatile int receivedMessagesCount = 0;
     private int receivedMessageLimit = 0;
 
-    public DefaultKafkaListener(KafkaListenerConfig listenerConfig) {
+    public DefaultKafkaListener(KafkaListenerConfig listenerConfig, PollWatchdog pollWatchdog) {
         this.listenerConfig = listenerConfig;
+        this.pollWatchdog = pollWatchdog;
     }
 
     @Override
@@ -66,8 +64,8 @@ public class DefaultKafkaListener implements Listener {
     }
 
     @Override
-    public StringProperty loggedTextProperty() {
-        return loggedText;
+    public ReceivedRecordsQueue<ReceivedRecord> receivedRecordsQueue() {
+        return receivedRecordsQueue;
     }
 
     @Override
@@ -80,6 +78,11 @@ public class DefaultKafkaListener implements Listener {
         return assignedPartitions;
     }
 
+    @Override
+    public int getReceivedMessagesCount() {
+        return receivedMessagesCount;
+    }
+
     @Override
     public void start() {
         try {
@@ -98,20 +101,49 @@ public class DefaultKafkaListener implements Listener {
         }
     }
 
-    private void appendLog(String text) {
-        loggedText.set(text);
-    }
-
-    private Consumer<String, String> setUpConsumer() {
+    private Consumer<byte[], byte[]> setUpConsumer() throws KafkaToolError {
         Logger.trace("Preparing consumer");
         final String topicName = listenerConfig.getRelatedConfig().getTopicName();
-        final Consumer<String, String> consumer = createConsumer(brokerHost);
+        final Consumer<byte[], byte[]> consumer = createConsumer(brokerHost);
+        if (listenerConfig.getBrowseModeEnabled()) {
+            return assignForBrowsing(consumer, topicName);
+        }
         final List<String> topics = Collections.singletonList(topicName);
         Logger.trace(String.format("Subscribing for topics '%s'", topics));
-        consumer.subscribe(topics, new ConsumerPartitionsRebalanceListener(topicName, assignedPartitions));
+        consumer.subscribe(topics, new ConsumerPartitionsRebalanceListener(topicName, assignedPartitions,
+                                                                           this::commitRevokedPartitions));
         return consumer;
     }
 
+    // partitions are assigned directly, so there is no group join nor rebalance to wait for
+    private Consumer<byte[], byte[]> assignForBrowsing(Consumer<byte[], byte[]> consumer,
+                                                       String topicName) throws KafkaToolError {
+        try {
+            final Map<TopicPartition, Long> startOffsets =
+                new BrowseStartSeeker(BROWSE_SEEK_TIMEOUT).assignAndSeek(consumer,
+                                                                         topicName,
+                                                                         listenerConfig.getBrowseStartPosition(),
+                                                                         Integer.parseInt(listenerConfig.getBrowseLatestCount()),
+                                                                         listenerConfig.getBrowseStartTimestamp());
+            Logger.info(String.format("Browsing topic '%s' without consumer group, start position '%s', "
+                                          + "start offsets per partition [%s]",
+                                      topicName,
+                                      listenerConfig.getBrowseStartPosition(),
+                                      BrowseStartSeeker.describe(startOffsets)));
+            final List<Integer> partitions = new ArrayList<>();
+            startOffsets.keySet().forEach(partition -> partitions.add(partition.partition()));
+            assignedPartitions.set(AssignedPartitionsInfo.fromPartitionList(partitions, AssignmentChangeReason.ASSIGN));
+            return consumer;
+        } catch (KafkaToolError | RuntimeException e) {
+            AppUtils.runAndSwallowExceptions(consumer::close);
+            throw e;
+        }
+    }
+
+    private String consumerGroupDescription() {
+        return listenerConfig.getBrowseModeEnabled() ? "none, browse mode" : listenerConfig.getConsumerGroup();
+    }
+
     private void fetch() {
         if (!canUseTopicConfigForListener()) {
             Logger.error("Could not start consumer. Topic config is invalid.");
@@ -128,33 +160,40 @@ public class DefaultKafkaListener implements Listener {
             Logger.trace("Closing consumer due to wakeup()");
             closeConsumer();
 
+        } catch (KafkaToolError e) {
+            Logger.error(String.format("Could not start consumer '%s': %s", listenerConfig.getName(), e.getMessage()));
         } catch (Throwable t) {
             Logger.error("Exception for fetch()", t);
         } finally {
             if (isRunning.get()) {
                 Logger.info(String.format("Consumer stopped (topic:%s, consumer group:%s)", topicConfig.getTopicName(),
-                        listenerConfig.getConsumerGroup()));
+                        consumerGroupDescription()));
             }
+            stopWatchingPolls();
             shouldBeRunning.set(false);
             isRunning.set(false);
         }
     }
 
-    private void tryFetch(KafkaTopicConfig topicConfig) {
+    private void tryFetch(KafkaTopicConfig topicConfig) throws KafkaToolError {
         final KafkaBrokerConfig brokerConfig = topicConfig.getRelatedConfig();
 
         Logger.info(String.format("Starting consumer '%s',  consumer group '%s'",
                 listenerConfig.getName(),
-                listenerConfig.getConsumerGroup()));
+                consumerGroupDescription()));
 
         this.brokerHost = brokerConfig.getHostInfo();
+        offsetCommitter = new OffsetCommitter(effectiveCommitStrategy(),
+                                              Long.parseLong(listenerConfig.getCommitIntervalMs()),
+                                              System.nanoTime());
         consumer = setUpConsumer();
+        pollWatch = pollWatchdog.watch(listenerConfig.getName(), this::wakeUpConsumer);
 
         shouldBeRunning.set(true);
         isRunning.set(true);
 
         Logger.info(String.format("Consumer started (topic:%s, consumer group:%s)", topicConfig.getTopicName(),
-                listenerConfig.getConsumerGroup()));
+                consumerGroupDescription()));
         final long pollTimeout = Long.parseLong(listenerConfig.getPollTimeout());
 
         while (shouldBeRunning.get()) {
@@ -165,6 +204,7 @@ public class DefaultKafkaListener implements Listener {
     }
 
     private void closeConsumer() {
+        AppUtils.runAndSwallowExceptions(this::commitPendingOffsets);
         AppUtils.runAndSwallowExceptions(() -> {
             if (consumer != null) {
                 consumer.unsubscribe();
@@ -174,37 +214,70 @@ public class DefaultKafkaListener implements Listener {
         });
     }
 
+    // without consumer group there is nowhere to commit to
+    private ListenerCommitStrategy effectiveCommitStrategy() {
+        return listenerConfig.getBrowseModeEnabled() ? ListenerCommitStrategy.NONE : listenerConfig.getCommitStrategy();
+    }
+
     private boolean canUseTopicConfigForListener() {
         final KafkaTopicConfig topicConfig = listenerConfig.getRelatedConfig();
         return topicConfig != null && topicConfig.getRelatedConfig() != null;
     }
 
-    private Consumer<String, String> createConsumer(HostInfo hostname) {
+    private Consumer<byte[], byte[]> createConsumer(HostInfo hostname) {
         final Properties config = createConsumerProperties(hostname);
         return new KafkaConsumer<>(config);
     }
 
-    private void consume(Consumer<String, String> consumer, long pollTimeout) {
-        startWakeUpTask(pollTimeout);
-        final ConsumerRecords<String, String> records = consumer.poll(Duration.ofMillis(pollTimeout));
-        cancelWakeupTask();
-
+    private void consume(Consumer<byte[], byte[]> consumer, long pollTimeout) {
+        pollWatch.pollStarted(pollTimeout);
+        final ConsumerRecords<byte[], byte[]> records;
+        try {
+            records = consumer.poll(Duration.ofMillis(pollTimeout));
+        } finally {
+            pollWatch.pollFinished();
+        }
 
-        final ArrayList<ConsumerRecord<String, String>> consumerRecords = Lists.newArrayList(records);
-        final String topicName = listenerConfig.getRelatedConfig().getTopicName();
 
-        for (ConsumerRecord<String, String> record : consumerRecords) {
+        final boolean isLogged = receivedRecordsQueue.isDrainerAttached();
+        final List<ReceivedRecord> loggedRecords = isLogged ? new ArrayList<>(records.count()) : Collections.emptyList();
+        final long receivedAtMs = System.currentTimeMillis();
+        for (ConsumerRecord<byte[], byte[]> record : records) {
             if (wasReceivedMsgLimitReached(receivedMessagesCount)) {
                 shouldBeRunning.set(false);
-                return;
+                break;
             }
 
             receivedMessagesCount++;
-            logConsumerRecord(record);
-            final TopicPartition topicPartition = new TopicPartition(topicName,
-                    record.partition());
-            final OffsetAndMetadata offsetAndMetadata = new OffsetAndMetadata(record.offset() + 1);
-            consumer.commitSync(Collections.singletonMap(topicPartition, offsetAndMetadata));
+            if (isLogged) {
+                loggedRecords.add(ReceivedRecord.from(record, receivedAtMs));
+            }
+            offsetCommitter.recordReceived(record);
+        }
+        receivedRecordsQueue.publish(loggedRecords);
+        offsetCommitter.onPollBatchReceived(consumer, System.nanoTime());
+    }
+
+    private void commitRevokedPartitions(Collection<TopicPartition> partitions) {
+        if (offsetCommitter != null && consumer != null) {
+            offsetCommitter.onPartitionsRevoked(consumer, partitions);
+        }
+    }
+
+    private void commitPendingOffsets() {
+        if (offsetCommitter == null || consumer == null) {
+            return;
+        }
+        try {
+            offsetCommitter.commitPendingBeforeClose(consumer);
+        } catch (WakeupException e) {
+            // wakeup requested when stopping could still be pending, it is cleared by the first blocking call
+            offsetCommitter.commitPendingBeforeClose(consumer);
+        } finally {
+            Logger.info(String.format("Offset commits of consumer '%s' (%s)",
+                                      listenerConfig.getName(),
+                                      offsetCommitter.summary()));
+            offsetCommitter = null;
         }
     }
 
@@ -216,38 +289,17 @@ public class DefaultKafkaListener implements Listener {
         return false;
     }
 
-    private void logConsumerRecord(ConsumerRecord<String, String> record) {
-        appendLog(prepareConsumerRecordToBeLogged(record));
-    }
-
 
-    private void startWakeUpTask(long pollTimeout) {
-        wakeUpTask = scheduleWakeupTask(pollTimeout);
-    }
-
-    private void cancelWakeupTask() {
-        if (wakeUpTask == null) {
+    private void stopWatchingPolls() {
+        if (pollWatch == null) {
             return;
         }
-        wakeUpTask.cancel(true);
-        wakeUpTask = null;
-    }
-
-    private FutureTask<Void> scheduleWakeupTask(long pollTimeoutMs) {
-        FutureTask<Void> task = new FutureTask<>(() -> {
-            final long wakeUpDurationMs = pollTimeoutMs + ADDITIONAL_WAIT_DURATION_BEFORE_WAKEUP_MS;
-            sleep(wakeUpDurationMs);
-            Logger.warn(String.format("Waking up consumer (after %d ms), " +
-                            "because consumer::poll() did not respond win its %d ms timeout. " +
-                            "(+%d additional ms timeout)"
-                    , wakeUpDurationMs, pollTimeoutMs,
-                    ADDITIONAL_WAIT_DURATION_BEFORE_WAKEUP_MS));
-            wakeUpConsumer();
-            return null;
-        });
-        // todo: consider thread pool
-        new Thread(task, "KMT-Thread-Consumer-Poll-WakeUp").start();
-        return task;
+        if (pollWatch.getStuckPollCount() > 0) {
+            Logger.warn(String.format("Consumer '%s' was woken up %d time(s) because of stuck poll",
+                                      listenerConfig.getName(), pollWatch.getStuckPollCount()));
+        }
+        pollWatch.close();
+        pollWatch = null;
     }
 
     private void wakeUpConsumer() {
@@ -258,16 +310,6 @@ public class DefaultKafkaListener implements Listener {
         });
     }
 
-    private String prepareConsumerRecordToBeLogged(ConsumerRecord<String, String> record) {
-        return String.format("[%s] ConsumerRecord: (%s, key=%s, partition=%d, offset=%d)%nvalue '%s'%n",
-                TimestampUtils.nowTimeTimestamp(),
-                timestampFromEpochMili(record.timestamp()),
-                record.key(),
-                record.partition(),
-                record.offset(),
-                record.value());
-    }
-
     private void tryStart() {
         stop();
         fetchThread = new Thread(this::fetch, buildThreadNameForDebugging());
@@ -281,18 +323,23 @@ public class DefaultKafkaListener implements Listener {
     private void tryStop() {
 
         shouldBeRunning.set(false);
-        cancelWakeupTask();
         wakeUpConsumer();
     }
 
     private Properties createConsumerProperties(HostInfo hostInfo) {
         final Properties config = new Properties();
         config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, hostInfo.toHostPortString());
-        config.put(ConsumerConfig.GROUP_ID_CONFIG, listenerConfig.getConsumerGroup());
+        if (!listenerConfig.getBrowseModeEnabled()) {
+            config.put(ConsumerConfig.GROUP_ID_CONFIG, listenerConfig.getConsumerGroup());
+        }
         config.put(ConsumerConfig.CLIENT_ID_CONFIG, listenerConfig.getName());
-        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "true");
-        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
-        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+        final ListenerCommitStrategy commitStrategy = effectiveCommitStrategy();
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, String.valueOf(commitStrategy.isAutoCommit()));
+        if (commitStrategy.isAutoCommit()) {
+            config.put(ConsumerConfig.AUTO_COMMIT_INTERVAL_MS_CONFIG, listenerConfig.getCommitIntervalMs());
+        }
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
         config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, listenerConfig.getOffsetResetConfig().value());
         Logger.trace("Consumer properties:\n" + prettyProperties(config));
 
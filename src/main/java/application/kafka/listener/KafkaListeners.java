@@ -8,6 +8,8 @@ import application.model.modelobjects.KafkaListenerConfig;
 public class KafkaListeners implements Listeners {
 
     private final Set<Listener> listeners = new HashSet<>();
+    // shared by all listeners, so that polls are watched by one thread
+    private final PollWatchdog pollWatchdog = new PollWatchdog();
 
 
     private Listener getByListenerConfigUuid(String uuid) {
@@ -24,7 +26,7 @@ public class KafkaListeners implements Listeners {
     public Listener getListener(KafkaListenerConfig listenerConfig) {
         Listener listener = getByListenerConfigUuid(listenerConfig.getUuid());
         if (null == listener) {
-            listener = new DefaultKafkaListener(listenerConfig);
+            listener = new DefaultKafkaListener(listenerConfig, pollWatchdog);
             listeners.add(listener);
         }
         return listener;
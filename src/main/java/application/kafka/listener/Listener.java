@@ -3,17 +3,20 @@ package application.kafka.listener;
 import application.model.modelobjects.KafkaListenerConfig;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
-import javafx.beans.property.StringProperty;
 
 public interface Listener {
     KafkaListenerConfig getListenerConfig();
 
-    StringProperty loggedTextProperty();
+    // raw records, queued once per poll batch
+    ReceivedRecordsQueue<ReceivedRecord> receivedRecordsQueue();
 
     BooleanProperty isRunningProperty();
 
     ObjectProperty<AssignedPartitionsInfo> assignedPartitionsProperty();
 
+    // number of records received since the listener was started last time
+    int getReceivedMessagesCount();
+
     void start();
 
     void stop();
@@ -0,0 +1,211 @@
+package application.kafka.listener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.InterruptException;
+import org.apache.kafka.common.errors.WakeupException;
+
+import application.kafka.sender.LatencyHistogram;
+import application.logging.Logger;
+import application.model.ListenerCommitStrategy;
+
+/**
+ * Commits offsets of records consumed by a listener, as selected by its {@link ListenerCommitStrategy}.
+ * Only offsets of records that were actually received are committed, so records left in a poll batch after
+ * reaching receive limit are delivered again to the next consumer of the group.
+ * Latency of every commit request is counted for each partition it contains.
+ * Used only by the polling thread of the listener, consumer calls async commit callbacks on that thread too.
+ */
+public final class OffsetCommitter {
+    private static final Duration SYNC_COMMIT_TIMEOUT = Duration.ofSeconds(5);
+    private static final double NANOS_IN_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    private final ListenerCommitStrategy strategy;
+    private final long commitIntervalNanos;
+    private final Map<TopicPartition, OffsetAndMetadata> pendingOffsets = new HashMap<>();
+    private final Map<TopicPartition, PartitionCommitLatency> latencyPerPartition =
+        new TreeMap<>(Comparator.comparing(TopicPartition::topic).thenComparingInt(TopicPartition::partition));
+    private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+    private long commitCount;
+    private long failedCommitCount;
+    private long lastCommitNanos;
+
+    public OffsetCommitter(ListenerCommitStrategy strategy, long commitIntervalMs, long nowNanos) {
+        this.strategy = strategy;
+        commitIntervalNanos = TimeUnit.MILLISECONDS.toNanos(commitIntervalMs);
+        lastCommitNanos = nowNanos;
+    }
+
+    public ListenerCommitStrategy getStrategy() {
+        return strategy;
+    }
+
+    public void recordReceived(ConsumerRecord<?, ?> record) {
+        if (!isCommittingExplicitly()) {
+            return;
+        }
+        pendingOffsets.put(new TopicPartition(record.topic(), record.partition()),
+                           new OffsetAndMetadata(record.offset() + 1));
+    }
+
+    // called when records of a poll batch are received (or receiving stopped in the middle of it)
+    public void onPollBatchReceived(Consumer<?, ?> consumer, long nowNanos) {
+        switch (strategy) {
+            case PER_BATCH_SYNC:
+                commitPendingSync(consumer);
+                break;
+            case PER_BATCH_ASYNC:
+                commitPendingAsync(consumer);
+                break;
+            case PERIODIC:
+                if (nowNanos - lastCommitNanos >= commitIntervalNanos) {
+                    lastCommitNanos = nowNanos;
+                    commitPendingAsync(consumer);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    // offsets of revoked partitions must be committed before their new owner starts to consume them
+    public void onPartitionsRevoked(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        final Map<TopicPartition, OffsetAndMetadata> revokedOffsets = new HashMap<>();
+        for (TopicPartition partition : partitions) {
+            final OffsetAndMetadata offset = pendingOffsets.remove(partition);
+            if (offset != null) {
+                revokedOffsets.put(partition, offset);
+            }
+        }
+        commitSync(consumer, revokedOffsets);
+    }
+
+    public void commitPendingBeforeClose(Consumer<?, ?> consumer) {
+        commitPendingSync(consumer);
+    }
+
+    public long getCommitCount() {
+        return commitCount;
+    }
+
+    public long getFailedCommitCount() {
+        return failedCommitCount;
+    }
+
+    public long getPendingOffset(TopicPartition partition) {
+        final OffsetAndMetadata offset = pendingOffsets.get(partition);
+        return offset == null ? -1L : offset.offset();
+    }
+
+    public String summary() {
+        if (!isCommittingExplicitly()) {
+            return String.format("strategy: %s, no explicit commits", strategy);
+        }
+        final StringJoiner partitions = new StringJoiner(", ");
+        latencyPerPartition.forEach((partition, latency) -> partitions.add(
+            String.format(Locale.ENGLISH, "%d (commits: %d, avg: %.3f ms, max: %.3f ms)",
+                          partition.partition(),
+                          latency.count,
+                          toMillis(latency.totalNanos) / latency.count,
+                          toMillis(latency.maxNanos))));
+        return String.format(Locale.ENGLISH,
+                             "strategy: %s, commits: %d, failed: %d, latency p50: %.3f ms, p99: %.3f ms, "
+                                 + "max: %.3f ms, partitions: [%s]",
+                             strategy,
+                             commitCount,
+                             failedCommitCount,
+                             toMillis(latencyHistogram.getValueAtPercentile(50.0)),
+                             toMillis(latencyHistogram.getValueAtPercentile(99.0)),
+                             toMillis(latencyHistogram.getMax()),
+                             partitions);
+    }
+
+    private boolean isCommittingExplicitly() {
+        return strategy != ListenerCommitStrategy.AUTO && strategy != ListenerCommitStrategy.NONE;
+    }
+
+    private void commitPendingSync(Consumer<?, ?> consumer) {
+        if (!isCommittingExplicitly() || pendingOffsets.isEmpty()) {
+            return;
+        }
+        if (commitSync(consumer, pendingOffsets)) {
+            pendingOffsets.clear();
+        }
+    }
+
+    // pending offsets are handed over at once, failed commit is superseded by the next one
+    private void commitPendingAsync(Consumer<?, ?> consumer) {
+        if (pendingOffsets.isEmpty()) {
+            return;
+        }
+        final Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>(pendingOffsets);
+        pendingOffsets.clear();
+        final long startNanos = System.nanoTime();
+        consumer.commitAsync(offsets, (committedOffsets, exception) -> {
+            if (exception != null) {
+                onCommitFailed(exception);
+            } else {
+                onCommitted(committedOffsets.keySet(), System.nanoTime() - startNanos);
+            }
+        });
+    }
+
+    // wakeup and interrupt stop the listener, so they are not treated as commit failures
+    private boolean commitSync(Consumer<?, ?> consumer, Map<TopicPartition, OffsetAndMetadata> offsets) {
+        if (offsets.isEmpty()) {
+            return true;
+        }
+        final long startNanos = System.nanoTime();
+        try {
+            consumer.commitSync(offsets, SYNC_COMMIT_TIMEOUT);
+        } catch (WakeupException | InterruptException e) {
+            throw e;
+        } catch (KafkaException e) {
+            onCommitFailed(e);
+            return false;
+        }
+        onCommitted(offsets.keySet(), System.nanoTime() - startNanos);
+        return true;
+    }
+
+    private void onCommitted(Collection<TopicPartition> partitions, long latencyNanos) {
+        commitCount++;
+        latencyHistogram.record(latencyNanos);
+        for (TopicPartition partition : partitions) {
+            latencyPerPartition.computeIfAbsent(partition, p -> new PartitionCommitLatency()).record(latencyNanos);
+        }
+    }
+
+    private void onCommitFailed(Exception exception) {
+        failedCommitCount++;
+        Logger.warn(String.format("Offset commit failed (%s): %s", strategy, exception.getMessage()));
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / NANOS_IN_MILLI;
+    }
+
+    private static final class PartitionCommitLatency {
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+
+        void record(long latencyNanos) {
+            count++;
+            totalNanos += latencyNanos;
+            maxNanos = Math.max(maxNanos, latencyNanos);
+        }
+    }
+}
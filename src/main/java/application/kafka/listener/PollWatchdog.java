@@ -0,0 +1,132 @@
+package application.kafka.listener;
+
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import application.logging.Logger;
+import application.utils.AppUtils;
+
+/**
+ * Single background thread watching poll deadlines of all running listeners.
+ * Listener marks start and end of every poll on its {@link Watch}, which are just volatile writes,
+ * and a poll not finished within its timeout (+ additional grace time) is reported and only its consumer is woken up.
+ * Scheduler thread is started with the first watched listener.
+ */
+public final class PollWatchdog {
+    public static final long ADDITIONAL_WAIT_DURATION_BEFORE_WAKEUP_MS = 2000L;
+    private static final long CHECK_PERIOD_MS = 200L;
+    private static final long NO_DEADLINE = Long.MIN_VALUE;
+    private final Set<Watch> watches = new CopyOnWriteArraySet<>();
+    private final LongSupplier nanoTime;
+    private ScheduledExecutorService scheduler;
+
+    public PollWatchdog() {
+        this(System::nanoTime);
+    }
+
+    // time source is replaceable for testing
+    public PollWatchdog(LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+    }
+
+    public Watch watch(String listenerName, Runnable wakeUpAction) {
+        final Watch watch = new Watch(listenerName, wakeUpAction);
+        watches.add(watch);
+        startSchedulerIfNeeded();
+        return watch;
+    }
+
+    public int getWatchedCount() {
+        return watches.size();
+    }
+
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    // wakes up consumers of all polls that passed their deadlines, each poll at most once
+    public void checkDeadlines() {
+        final long nowNanos = nanoTime.getAsLong();
+        for (Watch watch : watches) {
+            final long deadlineNanos = watch.deadlineNanos.get();
+            if (deadlineNanos == NO_DEADLINE || nowNanos - deadlineNanos < 0) {
+                continue;
+            }
+            // poll could finish (and next one start) in the meantime, it must not be woken up then
+            if (watch.deadlineNanos.compareAndSet(deadlineNanos, NO_DEADLINE)) {
+                watch.wakeUp(nowNanos - deadlineNanos);
+            }
+        }
+    }
+
+    private synchronized void startSchedulerIfNeeded() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "KMT-Thread-Consumer-Poll-Watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> AppUtils.runAndSwallowExceptions(this::checkDeadlines),
+                                         CHECK_PERIOD_MS,
+                                         CHECK_PERIOD_MS,
+                                         TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Poll deadline of one listener, used only by its polling thread (and by the watchdog).
+     */
+    public final class Watch implements AutoCloseable {
+        private final String listenerName;
+        private final Runnable wakeUpAction;
+        private final AtomicLong deadlineNanos = new AtomicLong(NO_DEADLINE);
+        private final AtomicLong stuckPollCount = new AtomicLong();
+        private volatile long pollTimeoutMs;
+
+        private Watch(String listenerName, Runnable wakeUpAction) {
+            this.listenerName = listenerName;
+            this.wakeUpAction = wakeUpAction;
+        }
+
+        public void pollStarted(long pollTimeoutMs) {
+            this.pollTimeoutMs = pollTimeoutMs;
+            deadlineNanos.set(nanoTime.getAsLong()
+                                  + TimeUnit.MILLISECONDS.toNanos(pollTimeoutMs + ADDITIONAL_WAIT_DURATION_BEFORE_WAKEUP_MS));
+        }
+
+        public void pollFinished() {
+            deadlineNanos.set(NO_DEADLINE);
+        }
+
+        public long getStuckPollCount() {
+            return stuckPollCount.get();
+        }
+
+        @Override
+        public void close() {
+            pollFinished();
+            watches.remove(this);
+        }
+
+        private void wakeUp(long overdueNanos) {
+            stuckPollCount.incrementAndGet();
+            final long wakeUpDurationMs = pollTimeoutMs + ADDITIONAL_WAIT_DURATION_BEFORE_WAKEUP_MS
+                + TimeUnit.NANOSECONDS.toMillis(overdueNanos);
+            Logger.warn(String.format("Waking up consumer '%s' (after %d ms), " +
+                                          "because consumer::poll() did not respond win its %d ms timeout. " +
+                                          "(+%d additional ms timeout)",
+                                      listenerName, wakeUpDurationMs, pollTimeoutMs,
+                                      ADDITIONAL_WAIT_DURATION_BEFORE_WAKEUP_MS));
+            wakeUpAction.run();
+        }
+    }
+}
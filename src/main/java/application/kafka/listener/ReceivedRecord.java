@@ -0,0 +1,128 @@
+package application.kafka.listener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.StringJoiner;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+
+import static application.utils.TimestampUtils.timeTimestampFromEpochMili;
+import static application.utils.TimestampUtils.timestampFromEpochMili;
+
+/**
+ * Raw record received by a listener, kept as it came from the consumer (no copying of key, value and headers).
+ * Text is built only when the record is displayed or saved, bytes are decoded as UTF-8 like by string deserializer.
+ */
+public final class ReceivedRecord {
+    private static final Header[] NO_HEADERS = new Header[0];
+    // object headers, fields and array headers, roughly
+    private static final int RECORD_OVERHEAD_BYTES = 96;
+    private static final int HEADER_OVERHEAD_BYTES = 64;
+    private final int partition;
+    private final long offset;
+    private final long timestamp;
+    private final long receivedAtMs;
+    private final byte[] key;
+    private final byte[] value;
+    private final Header[] headers;
+
+    public ReceivedRecord(int partition,
+                          long offset,
+                          long timestamp,
+                          long receivedAtMs,
+                          byte[] key,
+                          byte[] value,
+                          Header[] headers) {
+        this.partition = partition;
+        this.offset = offset;
+        this.timestamp = timestamp;
+        this.receivedAtMs = receivedAtMs;
+        this.key = key;
+        this.value = value;
+        this.headers = headers == null ? NO_HEADERS : headers;
+    }
+
+    public static ReceivedRecord from(ConsumerRecord<byte[], byte[]> record, long receivedAtMs) {
+        final Header[] headers = record.headers().toArray();
+        return new ReceivedRecord(record.partition(),
+                                  record.offset(),
+                                  record.timestamp(),
+                                  receivedAtMs,
+                                  record.key(),
+                                  record.value(),
+                                  headers.length == 0 ? NO_HEADERS : headers);
+    }
+
+    public int getPartition() {
+        return partition;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public long getReceivedAtMs() {
+        return receivedAtMs;
+    }
+
+    public String getKey() {
+        return decode(key);
+    }
+
+    public String getValue() {
+        return decode(value);
+    }
+
+    public Header[] getHeaders() {
+        return headers.clone();
+    }
+
+    // heap taken by the record, used to limit memory of kept records
+    public long estimatedSizeInBytes() {
+        long size = RECORD_OVERHEAD_BYTES + lengthOf(key) + lengthOf(value);
+        for (Header header : headers) {
+            size += HEADER_OVERHEAD_BYTES + header.key().length() + lengthOf(header.value());
+        }
+        return size;
+    }
+
+    // record as displayed in a row of listener output
+    public String format() {
+        return String.format("[%s] ConsumerRecord: (%s, key=%s, partition=%d, offset=%d%s)%nvalue '%s'",
+                             timeTimestampFromEpochMili(receivedAtMs),
+                             timestampFromEpochMili(timestamp),
+                             getKey(),
+                             partition,
+                             offset,
+                             formatHeaders(),
+                             getValue());
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+
+    private String formatHeaders() {
+        if (headers.length == 0) {
+            return "";
+        }
+        final StringJoiner joiner = new StringJoiner(", ", ", headers=[", "]");
+        for (Header header : headers) {
+            joiner.add(header.key() + "=" + decode(header.value()));
+        }
+        return joiner.toString();
+    }
+
+    private static int lengthOf(byte[] bytes) {
+        return bytes == null ? 0 : bytes.length;
+    }
+
+    private static String decode(byte[] bytes) {
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+}
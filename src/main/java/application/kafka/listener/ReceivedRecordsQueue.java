@@ -0,0 +1,90 @@
+package application.kafka.listener;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free queue delivering records received by a listener to its view, one poll batch per entry.
+ * There is a single publisher (polling thread of the listener) and a single drainer (FX thread of the view).
+ * When the queue is full, publisher waits for the drainer instead of dropping records, so the view sees
+ * every record exactly once. Without attached drainer (e.g. headless run) batches are not queued at all.
+ */
+public final class ReceivedRecordsQueue<T> {
+    public static final int DEFAULT_CAPACITY = 1024;
+    private static final long FULL_QUEUE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private final AtomicReferenceArray<List<T>> batches;
+    private final int mask;
+    // head is written only by drainer, tail only by publisher
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private volatile boolean drainerAttached;
+
+    public ReceivedRecordsQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // capacity (in batches) is rounded up to power of two
+    public ReceivedRecordsQueue(int capacity) {
+        final int size = capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        batches = new AtomicReferenceArray<>(size);
+        mask = size - 1;
+    }
+
+    public void attachDrainer() {
+        drainerAttached = true;
+    }
+
+    public void detachDrainer() {
+        drainerAttached = false;
+    }
+
+    public boolean isDrainerAttached() {
+        return drainerAttached;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    // returns false when batch was not queued (empty batch, no drainer, or publisher interrupted while waiting)
+    public boolean publish(List<T> batch) {
+        if (batch.isEmpty() || !drainerAttached) {
+            return false;
+        }
+        final long currentTail = tail.get();
+        while (currentTail - head.get() > mask) {
+            if (!drainerAttached || Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+            LockSupport.parkNanos(FULL_QUEUE_WAIT_NANOS);
+        }
+        batches.lazySet((int) currentTail & mask, batch);
+        tail.lazySet(currentTail + 1);
+        return true;
+    }
+
+    // hands over all queued batches in publishing order, returns number of records in them
+    public int drainTo(Consumer<List<T>> sink) {
+        long currentHead = head.get();
+        final long currentTail = tail.get();
+        int recordCount = 0;
+        while (currentHead < currentTail) {
+            final int index = (int) currentHead & mask;
+            final List<T> batch = batches.get(index);
+            batches.lazySet(index, null);
+            currentHead++;
+            head.lazySet(currentHead);
+            recordCount += batch.size();
+            sink.accept(batch);
+        }
+        return recordCount;
+    }
+}
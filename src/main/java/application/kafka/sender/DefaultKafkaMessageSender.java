@@ -1,61 +1,146 @@
 package application.kafka.sender;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Properties;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 
-import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.errors.InterruptException;
+import org.apache.kafka.common.errors.RetriableException;
+import org.apache.kafka.common.header.Header;
 
+import application.exceptions.KafkaToolError;
 import application.logging.Logger;
 import application.model.MessageOnTopicDto;
+import application.model.modelobjects.KafkaProducerTuning;
 import application.utils.HostInfo;
+import application.utils.kafka.KafkaProducerPool;
 import application.utils.kafka.KafkaProducers;
 
 public final class DefaultKafkaMessageSender implements KafkaMessageSender {
-    public static final String KAFKA_STRING_SERIALIZER_CLASS_NAME = "org.apache.kafka.common.serialization.StringSerializer";
+    public static final String KAFKA_BYTE_ARRAY_SERIALIZER_CLASS_NAME = "org.apache.kafka.common.serialization.ByteArraySerializer";
     private static final int KAFKA_SENDER_SEND_TIMEOUT_MS = 3000;
+    private static final int KAFKA_SENDER_AWAIT_PENDING_TIMEOUT_MS = 30000;
     private static final int KAFKA_PRODUCER_MAX_BLOCK_MS = 1501;
-    private KafkaProducer<String, String> producer;
+    private static final String SHARD_CLIENT_ID_PREFIX = "kafka-message-tool-shard-";
+    private final String clientId;
+    private KafkaProducerPool.Lease<byte[], byte[]> producerLease;
+    private Producer<byte[], byte[]> producer;
+    private SimulatedProducer simulatedProducer;
+    private KafkaProducerTuning producerTuning = new KafkaProducerTuning();
 
     public DefaultKafkaMessageSender() {
+        this(null);
+    }
+
+    // null client id means the one generated by kafka producer
+    private DefaultKafkaMessageSender(String clientId) {
+        this.clientId = clientId;
+    }
+
+    @Override
+    public KafkaMessageSender createShardSender(int shardIndex) {
+        return new DefaultKafkaMessageSender(SHARD_CLIENT_ID_PREFIX + shardIndex);
     }
 
     @Override
     public void initiateFreshConnection(HostInfo info,
+                                        KafkaProducerTuning producerTuning,
                                         boolean isSimulationModeEnabled) {
+        this.producerTuning = producerTuning;
         if (isSimulationModeEnabled) {
+            simulatedProducer = new SimulatedProducer(producerTuning);
             return;
         }
-        producer = getProducer(info);
+        Logger.info(String.format("Producer tuning: %s", producerTuning));
+        final KafkaProducerPool.Lease<byte[], byte[]> previousLease = producerLease;
+        producerLease = KafkaProducers.acquireProducerForProperties(getKafkaProducerConfig(info, producerTuning, clientId));
+        producer = producerLease.producer();
+        if (previousLease != null) {
+            previousLease.close();
+        }
+    }
+
+    @Override
+    public void releaseConnection() {
+        if (producerLease != null) {
+            producerLease.close();
+        }
+        producerLease = null;
+        producer = null;
+        simulatedProducer = null;
     }
 
 
     @Override
-    public void sendMessages(MessageOnTopicDto msgsToTopic) {
-        trySendMessages(msgsToTopic);
+    public void sendMessages(MessageOnTopicDto msgsToTopic, InFlightMessagesWindow inFlightWindow) {
+        trySendMessages(msgsToTopic, inFlightWindow);
     }
 
+    @Override
+    public void awaitPendingMessages(InFlightMessagesWindow inFlightWindow) throws Exception {
+        if (producer != null) {
+            producer.flush();
+        }
+        if (simulatedProducer != null) {
+            simulatedProducer.flush(inFlightWindow.getStatistics().getSimulationBenchmark());
+        }
+        if (!inFlightWindow.awaitCompletion(KAFKA_SENDER_AWAIT_PENDING_TIMEOUT_MS)) {
+            throw new KafkaToolError(String.format("Could not get acknowledgement for %d message(s) within %d ms.",
+                    inFlightWindow.getInFlightCount(),
+                    KAFKA_SENDER_AWAIT_PENDING_TIMEOUT_MS));
+        }
+        final Exception failure = inFlightWindow.getFirstFailure();
+        if (failure != null) {
+            final ExecutionException e = new ExecutionException(failure);
+            printMostAppropriateDebugBasedOnExcepionType(e);
+            invalidateProducerIfBroken(e);
+            throw new KafkaToolError(String.format("Sending of %d message(s) failed.", inFlightWindow.getFailedCount()),
+                    failure);
+        }
+    }
 
-    private void trySendMessages(MessageOnTopicDto msgToBeSent) {
+    private void trySendMessages(MessageOnTopicDto msgToBeSent, InFlightMessagesWindow inFlightWindow) {
 
         try {
             refreshProducerIfNeeded(msgToBeSent.getBrokerHostInfo(),
                     msgToBeSent.shouldSimulateSending());
-            sendMessagesToTopic(msgToBeSent);
-            Logger.info(String.format("Message [%d/%d] sent.", msgToBeSent.getMsgNum(),
-                    msgToBeSent.getTotalMsgCount()));
+            throwIfAnyPreviousMessageFailed(inFlightWindow);
+            sendMessagesToTopic(msgToBeSent, inFlightWindow);
         } catch (Exception e) {
             printMostAppropriateDebugBasedOnExcepionType(e);
+            invalidateProducerIfBroken(e);
             throw new RuntimeException(e);
         }
 
     }
 
+    // pooled producer that failed with non-retriable error is closed, so that the next run gets a fresh one
+    private void invalidateProducerIfBroken(Exception e) {
+        final Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+        if (producerLease == null
+                || cause instanceof RetriableException
+                || cause instanceof InterruptedException
+                || cause instanceof InterruptException) {
+            return;
+        }
+        Logger.debug(String.format("Kafka producer failed with non-retriable error (%s), it will not be reused",
+                cause.getClass().getSimpleName()));
+        producerLease.invalidate();
+        producerLease = null;
+        producer = null;
+    }
+
+    private void throwIfAnyPreviousMessageFailed(InFlightMessagesWindow inFlightWindow) throws ExecutionException {
+        final Exception failure = inFlightWindow.getFirstFailure();
+        if (failure != null) {
+            throw new ExecutionException(failure);
+        }
+    }
+
     private void printMostAppropriateDebugBasedOnExcepionType(Exception e) {
         final Throwable cause = e.getCause();
         if (cause instanceof org.apache.kafka.common.errors.TimeoutException) {
@@ -70,74 +155,123 @@ public final class DefaultKafkaMessageSender implements KafkaMessageSender {
         }
     }
 
-    private void sendMessagesToTopic(MessageOnTopicDto messageOnTopic)
+    private void sendMessagesToTopic(MessageOnTopicDto messageOnTopic,
+                                     InFlightMessagesWindow inFlightWindow)
             throws InterruptedException,
-            ExecutionException,
-            TimeoutException {
+            ExecutionException {
 
 
-        final String message = messageOnTopic.getMessage();
+        final byte[] message = messageOnTopic.getMessage();
         final int msgCount = messageOnTopic.getMsgNum();
         final int totalMsgCount = messageOnTopic.getTotalMsgCount();
         final String topicName = messageOnTopic.getTopicName();
-        final String key = messageOnTopic.getMessageKey();
+        final byte[] key = messageOnTopic.getMessageKey();
+
 
+        final ProducerRecord<byte[], byte[]> record = createRecord(topicName, key, message,
+                messageOnTopic.getHeaders());
+        final SendLogger sendLogger = inFlightWindow.getSendLogger();
+        final boolean shouldLogMessage = sendLogger.shouldLogMessage(msgCount);
+        if (shouldLogMessage) {
+            Logger.info(String.format("%sSending message %s (in flight: %d/%d, %d bytes)%nmessage content= '%s'",
+                    messageOnTopic.shouldSimulateSending() ? "(simulation) " : "",
+                    formatMsgNumber(msgCount, totalMsgCount),
+                    inFlightWindow.getInFlightCount(),
+                    inFlightWindow.getMaxInFlightMessages(),
+                    message.length,
+                    new String(message, StandardCharsets.UTF_8)));
+        }
+        sendLogger.recordSent(message.length + (key != null ? key.length : 0));
 
-        final ProducerRecord<String, String> record = createRecord(topicName, key, message);
-        Logger.info(String.format("%sSending message %d/%d (timeout ms: %d)%nmessage content= '%s'",
-                messageOnTopic.shouldSimulateSending() ? "(simulation) " : "",
-                msgCount,
-                totalMsgCount,
-                KAFKA_SENDER_SEND_TIMEOUT_MS,
-                message));
+        if (messageOnTopic.shouldSimulateSending()) {
+            simulatedProducer.send(record, inFlightWindow.getStatistics().getSimulationBenchmark());
+            inFlightWindow.getStatistics().recordSimulatedSend();
+            return;
+        }
 
-        if (!messageOnTopic.shouldSimulateSending()) {
-            final Future<RecordMetadata> futureResult = producer.send(record);
-            final RecordMetadata recordMetadata = futureResult.get(KAFKA_SENDER_SEND_TIMEOUT_MS, TimeUnit.MILLISECONDS);
-            logSentOffset(recordMetadata);
+        if (!inFlightWindow.tryAcquire(KAFKA_SENDER_SEND_TIMEOUT_MS)) {
+            throw new ExecutionException(new org.apache.kafka.common.errors.TimeoutException(
+                    String.format("No acknowledgement for %d in flight message(s) within %d ms",
+                            inFlightWindow.getInFlightCount(),
+                            KAFKA_SENDER_SEND_TIMEOUT_MS)));
+        }
+        try {
+            final long sendStartNanos = System.nanoTime();
+            producer.send(record, (recordMetadata, exception) -> {
+                if (exception == null) {
+                    inFlightWindow.getStatistics().recordAcknowledged(System.nanoTime() - sendStartNanos);
+                    sendLogger.recordAcknowledged(recordMetadata.partition());
+                }
+                inFlightWindow.onCompletion(exception);
+                if (exception == null && shouldLogMessage) {
+                    logSentOffset(recordMetadata, msgCount, totalMsgCount);
+                }
+            });
+        } catch (RuntimeException e) {
+            // callback is not called when send() throws
+            inFlightWindow.onCompletion(e);
+            throw e;
         }
     }
 
-    private void logSentOffset(RecordMetadata recordMetadata) {
+    private void logSentOffset(RecordMetadata recordMetadata, int msgCount, int totalMsgCount) {
         String offset = "absent in record metadata";
         if (recordMetadata.hasOffset()) {
             offset = String.valueOf(recordMetadata.offset());
         }
-        Logger.info(String.format("Record sent: topic='%s', partition=%s, offset=%s",
+        Logger.info(String.format("Message [%s] sent: topic='%s', partition=%s, offset=%s",
+                formatMsgNumber(msgCount, totalMsgCount),
                 recordMetadata.topic(),
                 recordMetadata.partition(),
                 offset));
     }
 
+    // total message count is not known up front when sending for given duration
+    private static String formatMsgNumber(int msgCount, int totalMsgCount) {
+        if (totalMsgCount <= 0) {
+            return String.valueOf(msgCount);
+        }
+        return msgCount + "/" + totalMsgCount;
+    }
+
     private void refreshProducerIfNeeded(HostInfo brokerHostInfo,
                                          boolean isSimulationModeEnabled) {
-        if (producer == null) {
-            initiateFreshConnection(brokerHostInfo, isSimulationModeEnabled);
+        if (isSimulationModeEnabled ? simulatedProducer == null : producer == null) {
+            initiateFreshConnection(brokerHostInfo, producerTuning, isSimulationModeEnabled);
         }
     }
 
-    private ProducerRecord<String, String> createRecord(String topicName,
-                                                        String key,
-                                                        String content) {
+    private ProducerRecord<byte[], byte[]> createRecord(String topicName,
+                                                        byte[] key,
+                                                        byte[] content,
+                                                        Iterable<Header> headers) {
         return new ProducerRecord<>(topicName,
+                null,
                 key,
-                content);
+                content,
+                headers);
     }
 
-    private Properties getKafkaProducerConfig(HostInfo hostInfo) {
+    private static Properties getKafkaProducerConfig(HostInfo hostInfo, KafkaProducerTuning tuning, String clientId) {
         final Properties properties = new Properties();
+        // producers are pooled by their properties, different client ids make sure shards get separate producers
+        if (clientId != null) {
+            properties.put(ProducerConfig.CLIENT_ID_CONFIG, clientId);
+        }
 
         properties.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, hostInfo.toHostPortString());
-        properties.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, KAFKA_STRING_SERIALIZER_CLASS_NAME);
-        properties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, KAFKA_STRING_SERIALIZER_CLASS_NAME);
-        properties.put(ProducerConfig.ACKS_CONFIG, "all");
+        properties.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, KAFKA_BYTE_ARRAY_SERIALIZER_CLASS_NAME);
+        properties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, KAFKA_BYTE_ARRAY_SERIALIZER_CLASS_NAME);
         properties.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, String.valueOf(KAFKA_PRODUCER_MAX_BLOCK_MS));
+        properties.put(ProducerConfig.ACKS_CONFIG, tuning.getAcks().value());
+        properties.put(ProducerConfig.LINGER_MS_CONFIG, String.valueOf(tuning.getLingerMs()));
+        properties.put(ProducerConfig.BATCH_SIZE_CONFIG, String.valueOf(tuning.getBatchSize()));
+        properties.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, tuning.getCompressionType().value());
+        properties.put(ProducerConfig.BUFFER_MEMORY_CONFIG, String.valueOf(tuning.getBufferMemory()));
+        properties.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION,
+                       String.valueOf(tuning.getMaxInFlightRequestsPerConnection()));
+        properties.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, String.valueOf(tuning.isIdempotenceEnabled()));
         return properties;
     }
 
-    private KafkaProducer<String, String> getProducer(HostInfo hostInfo) {
-        final Properties props = getKafkaProducerConfig(hostInfo);
-        return KafkaProducers.getProducerForProperties(props);
-    }
-
 }
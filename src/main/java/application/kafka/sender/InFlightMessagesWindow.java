@@ -0,0 +1,89 @@
+package application.kafka.sender;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bounds number of records that were handed over to kafka producer but not acknowledged by broker yet.
+ * Keeps aggregated counters of acknowledged/failed records, {@link SendStatistics} and {@link SendLogger}
+ * for a single sending run.
+ */
+public final class InFlightMessagesWindow {
+    private final int maxInFlightMessages;
+    private final Semaphore permits;
+    private final AtomicLong acknowledgedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicReference<Exception> firstFailure = new AtomicReference<>();
+    private final SendStatistics statistics;
+    private final SendLogger sendLogger;
+
+    public InFlightMessagesWindow(int maxInFlightMessages) {
+        this(maxInFlightMessages, new SendStatistics());
+    }
+
+    public InFlightMessagesWindow(int maxInFlightMessages, SendStatistics statistics) {
+        this(maxInFlightMessages, statistics, SendLogger.perMessage());
+    }
+
+    public InFlightMessagesWindow(int maxInFlightMessages, SendStatistics statistics, SendLogger sendLogger) {
+        this.maxInFlightMessages = Math.max(1, maxInFlightMessages);
+        this.statistics = statistics;
+        this.sendLogger = sendLogger;
+        permits = new Semaphore(this.maxInFlightMessages);
+    }
+
+    public boolean tryAcquire(long timeoutMs) throws InterruptedException {
+        return permits.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    // can be called from kafka producer i/o thread
+    public void onCompletion(Exception exception) {
+        if (exception == null) {
+            acknowledgedCount.incrementAndGet();
+        } else {
+            failedCount.incrementAndGet();
+            firstFailure.compareAndSet(null, exception);
+            statistics.recordFailedSend();
+            sendLogger.recordFailed(exception);
+        }
+        permits.release();
+    }
+
+    public boolean awaitCompletion(long timeoutMs) throws InterruptedException {
+        if (!permits.tryAcquire(maxInFlightMessages, timeoutMs, TimeUnit.MILLISECONDS)) {
+            return false;
+        }
+        permits.release(maxInFlightMessages);
+        return true;
+    }
+
+    public Exception getFirstFailure() {
+        return firstFailure.get();
+    }
+
+    public long getAcknowledgedCount() {
+        return acknowledgedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public int getInFlightCount() {
+        return maxInFlightMessages - permits.availablePermits();
+    }
+
+    public int getMaxInFlightMessages() {
+        return maxInFlightMessages;
+    }
+
+    public SendStatistics getStatistics() {
+        return statistics;
+    }
+
+    public SendLogger getSendLogger() {
+        return sendLogger;
+    }
+}
@@ -1,10 +1,19 @@
 package application.kafka.sender;
 
 import application.model.MessageOnTopicDto;
+import application.model.modelobjects.KafkaProducerTuning;
 import application.utils.HostInfo;
 
 public interface KafkaMessageSender {
-    void initiateFreshConnection(HostInfo info, boolean isSimulationModeEnabled);
+    void initiateFreshConnection(HostInfo info, KafkaProducerTuning producerTuning, boolean isSimulationModeEnabled);
 
-    void sendMessages(MessageOnTopicDto msgToTopic);
+    void sendMessages(MessageOnTopicDto msgToTopic, InFlightMessagesWindow inFlightWindow);
+
+    void awaitPendingMessages(InFlightMessagesWindow inFlightWindow) throws Exception;
+
+    // new sender with its own producer (separate client id), so producer shards do not share connection
+    KafkaMessageSender createShardSender(int shardIndex);
+
+    // returns producer to the pool, it stays connected and can be reused by next initiateFreshConnection()
+    void releaseConnection();
 }
@@ -0,0 +1,99 @@
+package application.kafka.sender;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+import application.model.KeyDistribution;
+import application.utils.kafka.PartitionKeySet;
+
+/**
+ * Picks key of each message from precomputed {@link PartitionKeySet}, so that messages are spread over
+ * partitions with given {@link KeyDistribution}. Round robin follows message index, so it holds for all
+ * producer shards together. Zipf distribution makes partition 0 the hottest one: partition of rank k (counting
+ * from 1) gets weight 1/k^s. Thread safe, shared by all producer shards of a sending run.
+ */
+public final class PartitionKeySelector {
+    private final KeyDistribution distribution;
+    private final PartitionKeySet keySet;
+    private final double zipfExponent;
+    // zipf only, cumulative probability of partitions 0..i
+    private final double[] cumulativeProbabilities;
+
+    private PartitionKeySelector(KeyDistribution distribution,
+                                 PartitionKeySet keySet,
+                                 double zipfExponent,
+                                 double[] cumulativeProbabilities) {
+        this.distribution = distribution;
+        this.keySet = keySet;
+        this.zipfExponent = zipfExponent;
+        this.cumulativeProbabilities = cumulativeProbabilities;
+    }
+
+    public static PartitionKeySelector create(KeyDistribution distribution, PartitionKeySet keySet, int skewPercent) {
+        if (!distribution.isOverPartitions()) {
+            throw new IllegalArgumentException("Key distribution over partitions expected but is " + distribution);
+        }
+        final double zipfExponent = skewPercent / 100.0;
+        return new PartitionKeySelector(distribution,
+                                        keySet,
+                                        zipfExponent,
+                                        distribution == KeyDistribution.ZIPF
+                                            ? zipfCumulativeProbabilities(keySet.getPartitionCount(), zipfExponent)
+                                            : null);
+    }
+
+    public byte[] keyFor(int messageIndex) {
+        return keySet.keyForPartition(partitionFor(messageIndex));
+    }
+
+    public int partitionFor(int messageIndex) {
+        final int partitionCount = keySet.getPartitionCount();
+        switch (distribution) {
+            case ROUND_ROBIN:
+                return messageIndex % partitionCount;
+            case ZIPF:
+                return zipfPartition(ThreadLocalRandom.current().nextDouble());
+            default:
+                return ThreadLocalRandom.current().nextInt(partitionCount);
+        }
+    }
+
+    // share of messages expected to go to given partition
+    public double probabilityOf(int partition) {
+        if (cumulativeProbabilities == null) {
+            return 1.0 / keySet.getPartitionCount();
+        }
+        return cumulativeProbabilities[partition] - (partition == 0 ? 0.0 : cumulativeProbabilities[partition - 1]);
+    }
+
+    public String describe() {
+        final int partitionCount = keySet.getPartitionCount();
+        final String skew = distribution == KeyDistribution.ZIPF
+            ? String.format(Locale.ENGLISH, ", zipf exponent: %.2f, hottest partition share: %.1f %%",
+                            zipfExponent, probabilityOf(0) * 100.0)
+            : "";
+        return String.format("%s over %d partitions%s, keys: '%s'..'%s'",
+                             distribution, partitionCount, skew,
+                             keySet.keyTextForPartition(0), keySet.keyTextForPartition(partitionCount - 1));
+    }
+
+    int zipfPartition(double uniformSample) {
+        final int index = Arrays.binarySearch(cumulativeProbabilities, uniformSample);
+        final int partition = index >= 0 ? index + 1 : -index - 1;
+        return Math.min(partition, cumulativeProbabilities.length - 1);
+    }
+
+    private static double[] zipfCumulativeProbabilities(int partitionCount, double exponent) {
+        final double[] cumulative = new double[partitionCount];
+        double sum = 0.0;
+        for (int i = 0; i < partitionCount; i++) {
+            sum += 1.0 / Math.pow(i + 1, exponent);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < partitionCount; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+}
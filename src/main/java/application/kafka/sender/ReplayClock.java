@@ -0,0 +1,76 @@
+package application.kafka.sender;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import application.exceptions.ExecutionStopRequested;
+
+/**
+ * Sends replayed messages with their original relative timing, scaled by speed factor.
+ * Send time of every message is computed from the timestamp and send time of the first one (absolute schedule),
+ * so oversleeping of a single wait does not accumulate as drift. Messages that are already late
+ * (e.g. out of order timestamps or producer slower than original traffic) are sent immediately.
+ * Shared by all producer shards of a sending run.
+ */
+public final class ReplayClock {
+    private static final long LATE_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private final double nanosPerTimestampMilli;
+    private volatile boolean started;
+    private long firstTimestampMs;
+    private long startNanos;
+    private final LongAdder scheduledCount = new LongAdder();
+    private final LongAdder lateCount = new LongAdder();
+    private final LongAdder totalLagNanos = new LongAdder();
+    private final AtomicLong maxLagNanos = new AtomicLong();
+
+    public ReplayClock(double speedFactor) {
+        if (speedFactor <= 0.0) {
+            throw new IllegalArgumentException("Speed factor must be greater than zero but is " + speedFactor);
+        }
+        nanosPerTimestampMilli = TimeUnit.MILLISECONDS.toNanos(1) / speedFactor;
+    }
+
+    // first message is sent right away and starts the schedule
+    public void awaitSendTime(long timestampMs) throws ExecutionStopRequested {
+        if (!started) {
+            start(timestampMs);
+        }
+        final long offsetNanos = Math.max(0L, (long) ((timestampMs - firstTimestampMs) * nanosPerTimestampMilli));
+        final long sendAtNanos = startNanos + offsetNanos;
+        SendRatePacer.waitUntil(sendAtNanos);
+        recordLag(System.nanoTime() - sendAtNanos);
+    }
+
+    // lag is the delay of actual send time after the scheduled one
+    public String lagSummary() {
+        final long count = scheduledCount.sum();
+        if (count == 0) {
+            return "no timed messages";
+        }
+        return String.format(Locale.ENGLISH, "timed messages: %d, avg lag: %.3f ms, max lag: %.3f ms, late > 1 ms: %d",
+                             count,
+                             totalLagNanos.sum() / (double) count / TimeUnit.MILLISECONDS.toNanos(1),
+                             maxLagNanos.get() / (double) TimeUnit.MILLISECONDS.toNanos(1),
+                             lateCount.sum());
+    }
+
+    private synchronized void start(long timestampMs) {
+        if (started) {
+            return;
+        }
+        firstTimestampMs = timestampMs;
+        startNanos = System.nanoTime();
+        started = true;
+    }
+
+    private void recordLag(long lagNanos) {
+        scheduledCount.increment();
+        totalLagNanos.add(lagNanos);
+        maxLagNanos.accumulateAndGet(lagNanos, Math::max);
+        if (lagNanos > LATE_THRESHOLD_NANOS) {
+            lateCount.increment();
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package application.kafka.sender;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+
+import application.exceptions.KafkaToolError;
+import application.model.ReplayFileFormat;
+import application.utils.MappedFileReader;
+import application.utils.TimestampUtils;
+
+/**
+ * File of ready (pre-rendered) messages sent as they are, without message template evaluation.
+ * File is memory mapped and streamed, never loaded as a whole. Each message can carry its key,
+ * separated from value by the first occurrence of key delimiter.
+ * Messages of {@link ReplayFileFormat#hasTimestamps() timestamped} formats also carry their original timestamp:
+ * epoch millis followed by tab at the start of each line, or timestamp of record in output saved from listener
+ * (where key and headers are taken from the record too).
+ * One instance is shared by all producer shards of a sending run, messages are handed out in file order.
+ */
+public final class ReplayFile implements AutoCloseable {
+    public static final long NO_TIMESTAMP = -1L;
+    private static final String ESCAPED_TAB = "\\t";
+    private static final byte TAB = '\t';
+    private static final byte LF = '\n';
+    private static final int MAX_MESSAGE_TEXT_IN_ERROR = 200;
+    // see ReceivedRecord.format()
+    private static final Pattern LISTENER_RECORD_HEADER = Pattern.compile("^\\[[^]]*] ConsumerRecord: \\(");
+    private static final Pattern LISTENER_RECORD_HEADER_FIELDS = Pattern.compile(
+        "^\\[[^]]*] ConsumerRecord: \\((\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}\\.\\d{3}), key=(.*), "
+            + "partition=-?\\d+, offset=-?\\d+(?:, headers=\\[(.*)])?\\)$");
+    private static final String LISTENER_HEADERS_SEPARATOR = ", ";
+    private static final String LISTENER_HEADER_KEY_SEPARATOR = "=";
+    private static final String LISTENER_NULL_HEADER_VALUE = "null";
+    private static final String LISTENER_VALUE_PREFIX = "value '";
+    private static final String LISTENER_VALUE_SUFFIX = "'";
+    private static final String LISTENER_NULL_KEY = "null";
+    private static final int LISTENER_HEADER_PREFIX_LENGTH = 64;
+
+    private final Path path;
+    private final ReplayFileFormat format;
+    private final byte[] keyDelimiter;
+    private final MappedFileReader reader;
+    private long recordCount;
+    // read without lock for progress reporting
+    private volatile long bytesRead;
+    // first line of the next listener record, already read when looking for the end of previous one
+    private byte[] nextListenerRecordHeader;
+
+    public static final class Record {
+        private final byte[] key;
+        private final byte[] value;
+        private final long timestamp;
+        private final List<Header> headers;
+
+        Record(byte[] key, byte[] value, long timestamp) {
+            this(key, value, timestamp, Collections.emptyList());
+        }
+
+        Record(byte[] key, byte[] value, long timestamp, List<Header> headers) {
+            this.key = key;
+            this.value = value;
+            this.timestamp = timestamp;
+            this.headers = headers;
+        }
+
+        // null when replay file has no key delimiter or message does not contain it
+        public byte[] getKey() {
+            return key;
+        }
+
+        public byte[] getValue() {
+            return value;
+        }
+
+        // epoch millis, NO_TIMESTAMP when format of replay file has no timestamps
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public boolean hasTimestamp() {
+            return timestamp != NO_TIMESTAMP;
+        }
+
+        // empty unless replay file is output saved from listener and record had headers
+        public List<Header> getHeaders() {
+            return headers;
+        }
+    }
+
+    private ReplayFile(Path path, ReplayFileFormat format, byte[] keyDelimiter, MappedFileReader reader) {
+        this.path = path;
+        this.format = format;
+        this.keyDelimiter = keyDelimiter;
+        this.reader = reader;
+    }
+
+    // "\t" in key delimiter means tab character, so that it can be typed into text field
+    public static ReplayFile open(String filePath, ReplayFileFormat format, String keyDelimiter) throws KafkaToolError {
+        final Path path = Paths.get(filePath.trim());
+        if (!Files.isRegularFile(path)) {
+            throw new KafkaToolError(String.format("Replay file '%s' does not exist", path));
+        }
+        final byte[] delimiter = keyDelimiter.replace(ESCAPED_TAB, "\t").getBytes(StandardCharsets.UTF_8);
+        try {
+            return new ReplayFile(path, format, delimiter, new MappedFileReader(path, false));
+        } catch (IOException e) {
+            throw new KafkaToolError(String.format("Could not read replay file '%s'", path), e);
+        }
+    }
+
+    // returns null after the last message, message is parsed on the calling thread
+    public Record next() throws KafkaToolError {
+        final byte[] message = nextMessage();
+        if (message == null) {
+            return null;
+        }
+        switch (format) {
+            case TIMESTAMPED_LINES:
+                return parseTimestamped(message);
+            case LISTENER_OUTPUT:
+                return parseListenerRecord(message);
+            default:
+                return split(message, NO_TIMESTAMP);
+        }
+    }
+
+    public ReplayFileFormat getFormat() {
+        return format;
+    }
+
+    public synchronized long getRecordCount() {
+        return recordCount;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public long getFileSize() {
+        return reader.getFileSize();
+    }
+
+    public String describe() {
+        return String.format("'%s' (%s, %d bytes%s)", path, format, reader.getFileSize(),
+                             keyDelimiter.length == 0 ? "" : ", key delimiter: '"
+                                 + new String(keyDelimiter, StandardCharsets.UTF_8) + "'");
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (IOException ignored) {
+            // nothing more can be done
+        }
+    }
+
+    private synchronized byte[] nextMessage() throws KafkaToolError {
+        final byte[] message;
+        try {
+            message = readMessage();
+        } catch (IOException e) {
+            throw new KafkaToolError(String.format("Could not read replay file '%s'", path), e);
+        }
+        bytesRead = reader.getPosition();
+        if (message != null) {
+            recordCount++;
+        }
+        return message;
+    }
+
+    private byte[] readMessage() throws IOException {
+        switch (format) {
+            case LENGTH_PREFIXED:
+                return reader.nextLengthPrefixed();
+            case LISTENER_OUTPUT:
+                return readListenerRecord();
+            default:
+                return reader.nextLine();
+        }
+    }
+
+    // listener record spans several lines (value can contain new lines), it ends where the next one starts
+    private byte[] readListenerRecord() throws IOException {
+        byte[] header = nextListenerRecordHeader;
+        nextListenerRecordHeader = null;
+        if (header == null) {
+            header = reader.nextLine();
+            while (header != null && !isListenerRecordHeader(header)) {
+                header = reader.nextLine();
+            }
+            if (header == null) {
+                return null;
+            }
+        }
+        byte[] record = header;
+        byte[] line;
+        while ((line = reader.nextLine()) != null) {
+            if (isListenerRecordHeader(line)) {
+                nextListenerRecordHeader = line;
+                break;
+            }
+            record = joinLines(record, line);
+        }
+        return record;
+    }
+
+    private Record parseTimestamped(byte[] message) throws KafkaToolError {
+        final int tabIndex = indexOf(message, new byte[]{TAB});
+        final long timestamp = tabIndex > 0 ? parseEpochMillis(message, tabIndex) : NO_TIMESTAMP;
+        if (timestamp == NO_TIMESTAMP) {
+            throw new KafkaToolError(String.format("Message %s of replay file '%s' does not start with epoch millis"
+                                                       + " timestamp followed by tab", abbreviated(message), path));
+        }
+        return split(Arrays.copyOfRange(message, tabIndex + 1, message.length), timestamp);
+    }
+
+    // header line with timestamp, key and optional headers, then value in quotes (possibly spanning several lines)
+    private Record parseListenerRecord(byte[] message) throws KafkaToolError {
+        final String text = new String(message, StandardCharsets.UTF_8);
+        final int headerEnd = text.indexOf(LF);
+        final Matcher header = LISTENER_RECORD_HEADER_FIELDS.matcher(headerEnd < 0 ? text : text.substring(0, headerEnd));
+        final String value = headerEnd < 0 ? "" : StringUtils.stripEnd(text.substring(headerEnd + 1), "\n");
+        if (!header.matches() || !value.startsWith(LISTENER_VALUE_PREFIX) || !value.endsWith(LISTENER_VALUE_SUFFIX)
+            || value.length() < LISTENER_VALUE_PREFIX.length() + LISTENER_VALUE_SUFFIX.length()) {
+            throw new KafkaToolError(String.format("Invalid listener record %s in replay file '%s'",
+                                                   abbreviated(message), path));
+        }
+        final long timestamp;
+        try {
+            timestamp = TimestampUtils.epochMiliFromTimestamp(header.group(1));
+        } catch (DateTimeParseException e) {
+            throw new KafkaToolError(String.format("Invalid timestamp of listener record %s in replay file '%s'",
+                                                   abbreviated(message), path), e);
+        }
+        final String key = header.group(2);
+        return new Record(LISTENER_NULL_KEY.equals(key) ? null : key.getBytes(StandardCharsets.UTF_8),
+                          value.substring(LISTENER_VALUE_PREFIX.length(), value.length() - LISTENER_VALUE_SUFFIX.length())
+                              .getBytes(StandardCharsets.UTF_8),
+                          timestamp,
+                          parseListenerRecordHeaders(header.group(3)));
+    }
+
+    // headers are saved as "key=value, key=value", header value containing ", " is split like two headers
+    private static List<Header> parseListenerRecordHeaders(String headers) {
+        if (StringUtils.isEmpty(headers)) {
+            return Collections.emptyList();
+        }
+        final List<Header> parsed = new ArrayList<>();
+        for (String header : headers.split(LISTENER_HEADERS_SEPARATOR)) {
+            final String key = StringUtils.substringBefore(header, LISTENER_HEADER_KEY_SEPARATOR);
+            final String value = StringUtils.substringAfter(header, LISTENER_HEADER_KEY_SEPARATOR);
+            parsed.add(new RecordHeader(key, LISTENER_NULL_HEADER_VALUE.equals(value)
+                ? null
+                : value.getBytes(StandardCharsets.UTF_8)));
+        }
+        return parsed;
+    }
+
+    private Record split(byte[] message, long timestamp) {
+        final int delimiterIndex = indexOf(message, keyDelimiter);
+        if (delimiterIndex < 0) {
+            return new Record(null, message, timestamp);
+        }
+        return new Record(Arrays.copyOfRange(message, 0, delimiterIndex),
+                          Arrays.copyOfRange(message, delimiterIndex + keyDelimiter.length, message.length),
+                          timestamp);
+    }
+
+    private static long parseEpochMillis(byte[] message, int end) {
+        long value = 0;
+        for (int i = 0; i < end; i++) {
+            final int digit = message[i] - '0';
+            if (digit < 0 || digit > 9 || value > (Long.MAX_VALUE - digit) / 10) {
+                return NO_TIMESTAMP;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static boolean isListenerRecordHeader(byte[] line) {
+        if (line.length == 0 || line[0] != '[') {
+            return false;
+        }
+        final String prefix = new String(line, 0, Math.min(line.length, LISTENER_HEADER_PREFIX_LENGTH),
+                                         StandardCharsets.UTF_8);
+        return LISTENER_RECORD_HEADER.matcher(prefix).find();
+    }
+
+    private static byte[] joinLines(byte[] first, byte[] second) {
+        final byte[] joined = new byte[first.length + 1 + second.length];
+        System.arraycopy(first, 0, joined, 0, first.length);
+        joined[first.length] = LF;
+        System.arraycopy(second, 0, joined, first.length + 1, second.length);
+        return joined;
+    }
+
+    private static String abbreviated(byte[] message) {
+        return "'" + StringUtils.abbreviate(new String(message, StandardCharsets.UTF_8), MAX_MESSAGE_TEXT_IN_ERROR) + "'";
+    }
+
+    private static int indexOf(byte[] message, byte[] delimiter) {
+        if (delimiter.length == 0) {
+            return -1;
+        }
+        for (int i = 0; i <= message.length - delimiter.length; i++) {
+            if (matchesAt(message, i, delimiter)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean matchesAt(byte[] message, int offset, byte[] delimiter) {
+        for (int j = 0; j < delimiter.length; j++) {
+            if (message[offset + j] != delimiter[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
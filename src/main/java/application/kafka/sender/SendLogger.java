@@ -0,0 +1,116 @@
+package application.kafka.sender;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import application.logging.LogLevel;
+import application.logging.Logger;
+import application.model.SendLoggingMode;
+
+/**
+ * Decides which sent messages of a single sending run are logged and aggregates counters for run summaries:
+ * sent messages and bytes, acknowledgements per partition and failures per exception type.
+ * Callers check {@link #shouldLogMessage(int)} before formatting anything message specific.
+ * Shared by all producer shards of the run, so it is thread safe.
+ */
+public final class SendLogger {
+    private final SendLoggingMode mode;
+    private final int sampleInterval;
+    private final long summaryIntervalNanos;
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong lastSummaryNanos = new AtomicLong(startNanos);
+    private final LongAdder sentCount = new LongAdder();
+    private final LongAdder sentBytes = new LongAdder();
+    private final LongAdder acknowledgedCount = new LongAdder();
+    private final Map<Integer, LongAdder> acknowledgedPerPartition = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> failuresPerType = new ConcurrentHashMap<>();
+
+    public SendLogger(SendLoggingMode mode, int sampleInterval, long summaryIntervalMs) {
+        this.mode = mode;
+        this.sampleInterval = Math.max(1, sampleInterval);
+        summaryIntervalNanos = TimeUnit.MILLISECONDS.toNanos(summaryIntervalMs);
+    }
+
+    public static SendLogger perMessage() {
+        return new SendLogger(SendLoggingMode.PER_MESSAGE, 1, 0);
+    }
+
+    // msgNum is 1-based, the first message is always logged when sampling
+    public boolean shouldLogMessage(int msgNum) {
+        switch (mode) {
+            case PER_MESSAGE:
+                return Logger.isEnabled(LogLevel.INFO);
+            case SAMPLED:
+                return (msgNum - 1) % sampleInterval == 0 && Logger.isEnabled(LogLevel.INFO);
+            default:
+                return false;
+        }
+    }
+
+    public void recordSent(int bytes) {
+        sentCount.increment();
+        sentBytes.add(bytes);
+        if (mode == SendLoggingMode.SUMMARY) {
+            logSummaryIfDue();
+        }
+    }
+
+    // can be called from kafka producer i/o thread
+    public void recordAcknowledged(int partition) {
+        acknowledgedCount.increment();
+        acknowledgedPerPartition.computeIfAbsent(partition, p -> new LongAdder()).increment();
+    }
+
+    // can be called from kafka producer i/o thread
+    public void recordFailed(Exception exception) {
+        failuresPerType.computeIfAbsent(exception.getClass().getSimpleName(), t -> new LongAdder()).increment();
+    }
+
+    public void logFinalSummary() {
+        if (Logger.isEnabled(LogLevel.INFO)) {
+            Logger.info(String.format("Sending summary: %s", summary()));
+        }
+    }
+
+    public String summary() {
+        final double elapsedSeconds = Math.max(1, System.nanoTime() - startNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        final long sent = sentCount.sum();
+        final long bytes = sentBytes.sum();
+        return String.format(Locale.ENGLISH,
+                             "sent: %d (%.1f msg/s), bytes: %d (%.1f B/s), acknowledged: %d, failed: %d %s, partitions: %s",
+                             sent,
+                             sent / elapsedSeconds,
+                             bytes,
+                             bytes / elapsedSeconds,
+                             acknowledgedCount.sum(),
+                             sumOf(failuresPerType),
+                             sorted(failuresPerType),
+                             sorted(acknowledgedPerPartition));
+    }
+
+    private void logSummaryIfDue() {
+        final long nowNanos = System.nanoTime();
+        final long lastNanos = lastSummaryNanos.get();
+        // only one of the shards logs summary of given period
+        if (nowNanos - lastNanos >= summaryIntervalNanos
+            && lastSummaryNanos.compareAndSet(lastNanos, nowNanos)
+            && Logger.isEnabled(LogLevel.INFO)) {
+            Logger.info(String.format("Sending progress: %s", summary()));
+        }
+    }
+
+    private static long sumOf(Map<?, LongAdder> counters) {
+        return counters.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    private static <K> Map<K, Long> sorted(Map<K, LongAdder> counters) {
+        final Map<K, Long> result = new TreeMap<>();
+        counters.forEach((key, counter) -> result.put(key, counter.sum()));
+        return result;
+    }
+}
@@ -0,0 +1,25 @@
+package application.kafka.sender;
+
+/**
+ * Receives progress of a sending run. Called from sending threads, implementations must be thread safe.
+ */
+public interface SendProgressNotifier {
+
+    // count is 1-based
+    void setMsgSentProgress(int count, int total);
+
+    void setTimedMsgSentProgress(int count, long elapsedMs, long durationMs);
+
+    // replay file is sent until its end, so progress is measured in bytes of the file
+    void setReplayProgress(int count, long bytesRead, long fileSize);
+
+    void clearMsgSentProgress();
+
+    // targetRate 0 means no rate limit
+    void setSendRate(double achievedRate, long targetRate, String unit);
+
+    void setShardSendRates(double[] achievedRates, String unit);
+
+    // messages not acknowledged by broker so far
+    void setFailedCount(long failedCount);
+}
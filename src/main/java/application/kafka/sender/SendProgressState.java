@@ -0,0 +1,225 @@
+package application.kafka.sender;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Latest progress of a sending run. Sending threads only publish into atomic/volatile fields (no display work
+ * per message), the display reads it once per frame with {@link #takeFrame(long)}. Frames carry exponentially
+ * smoothed send rate and estimated time to finish, computed from the progress between consecutive frames.
+ */
+public final class SendProgressState implements SendProgressNotifier {
+    private static final double PERCENTAGE_MAX = 100.0;
+    private static final double SMOOTHING_TIME_CONSTANT_SECONDS = 2.0;
+    private static final double NANOS_IN_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private enum Kind {
+        COUNT,
+        TIMED,
+        REPLAY
+    }
+
+    private final AtomicInteger sentCount = new AtomicInteger();
+    private volatile Kind kind = Kind.COUNT;
+    private volatile int totalCount;
+    private volatile long elapsedMs;
+    private volatile long durationMs;
+    private volatile long bytesRead;
+    private volatile long fileSize;
+    private volatile long failedCount;
+    private volatile double achievedRate;
+    private volatile long targetRate;
+    private volatile String rateUnit = "";
+    private volatile double[] shardRates = new double[0];
+    // read and written only by the thread taking frames
+    private long lastFrameNanos;
+    private int lastFrameCount;
+    private double lastFrameFraction;
+    private double smoothedRate;
+    private double smoothedFractionRate;
+    private boolean hasPreviousFrame;
+
+    // shards report their progress concurrently, so the counts may come out of order
+    @Override
+    public void setMsgSentProgress(int count, int total) {
+        kind = Kind.COUNT;
+        totalCount = total;
+        sentCount.accumulateAndGet(count, Math::max);
+    }
+
+    @Override
+    public void setTimedMsgSentProgress(int count, long elapsedMs, long durationMs) {
+        kind = Kind.TIMED;
+        this.elapsedMs = elapsedMs;
+        this.durationMs = durationMs;
+        sentCount.accumulateAndGet(count, Math::max);
+    }
+
+    @Override
+    public void setReplayProgress(int count, long bytesRead, long fileSize) {
+        kind = Kind.REPLAY;
+        this.bytesRead = bytesRead;
+        this.fileSize = fileSize;
+        sentCount.accumulateAndGet(count, Math::max);
+    }
+
+    // next run starts from zero
+    @Override
+    public synchronized void clearMsgSentProgress() {
+        sentCount.set(0);
+        failedCount = 0;
+        hasPreviousFrame = false;
+    }
+
+    @Override
+    public void setSendRate(double achievedRate, long targetRate, String unit) {
+        this.achievedRate = achievedRate;
+        this.targetRate = targetRate;
+        this.rateUnit = unit;
+    }
+
+    @Override
+    public void setShardSendRates(double[] achievedRates, String unit) {
+        shardRates = achievedRates.clone();
+    }
+
+    @Override
+    public void setFailedCount(long failedCount) {
+        this.failedCount = failedCount;
+    }
+
+    public synchronized Frame takeFrame(long nowNanos) {
+        final int count = sentCount.get();
+        final double fraction = progressFraction();
+        if (hasPreviousFrame && nowNanos > lastFrameNanos) {
+            final double seconds = (nowNanos - lastFrameNanos) / NANOS_IN_SECOND;
+            final double alpha = 1.0 - Math.exp(-seconds / SMOOTHING_TIME_CONSTANT_SECONDS);
+            smoothedRate += alpha * ((count - lastFrameCount) / seconds - smoothedRate);
+            smoothedFractionRate += alpha * ((fraction - lastFrameFraction) / seconds - smoothedFractionRate);
+        } else if (!hasPreviousFrame) {
+            smoothedRate = 0.0;
+            smoothedFractionRate = 0.0;
+            hasPreviousFrame = true;
+        }
+        lastFrameNanos = nowNanos;
+        lastFrameCount = count;
+        lastFrameFraction = fraction;
+        return new Frame(describeProgress(count), fraction, smoothedRate, etaSeconds(fraction), failedCount,
+                         describeRates());
+    }
+
+    private double progressFraction() {
+        switch (kind) {
+            case TIMED:
+                return durationMs == 0 ? 1.0 : Math.min(1.0, (double) elapsedMs / durationMs);
+            case REPLAY:
+                return fileSize == 0 ? 1.0 : (double) bytesRead / fileSize;
+            default:
+                return totalCount == 0 ? 0.0 : (double) sentCount.get() / totalCount;
+        }
+    }
+
+    // negative when it cannot be estimated yet
+    private double etaSeconds(double fraction) {
+        if (fraction >= 1.0) {
+            return 0.0;
+        }
+        if (kind == Kind.TIMED) {
+            return (durationMs - elapsedMs) / 1000.0;
+        }
+        return smoothedFractionRate > 0.0 ? (1.0 - fraction) / smoothedFractionRate : -1.0;
+    }
+
+    private String describeProgress(int count) {
+        switch (kind) {
+            case TIMED:
+                return String.format(Locale.ENGLISH, "Sent messages: %d (%d/%d s)",
+                                     count,
+                                     TimeUnit.MILLISECONDS.toSeconds(elapsedMs),
+                                     TimeUnit.MILLISECONDS.toSeconds(durationMs));
+            case REPLAY:
+                final long size = fileSize;
+                return String.format(Locale.ENGLISH, "Sent messages: %d, replayed bytes: %d/%d (%06.3f)%%",
+                                     count, bytesRead, size, size == 0 ? PERCENTAGE_MAX : bytesRead * PERCENTAGE_MAX / size);
+            default:
+                final int total = totalCount;
+                return String.format(Locale.ENGLISH, "Sent messages: %d/%d (%06.3f)%%",
+                                     count, total, total == 0 ? 0.0 : count * PERCENTAGE_MAX / total);
+        }
+    }
+
+    private String describeRates() {
+        final String rate = targetRate > 0
+            ? String.format(Locale.ENGLISH, "Rate: %.1f / %d %s", achievedRate, targetRate, rateUnit)
+            : String.format(Locale.ENGLISH, "Rate: %.1f %s", achievedRate, rateUnit);
+        final double[] rates = shardRates;
+        if (rates.length <= 1) {
+            return rate;
+        }
+        return Arrays.stream(rates)
+            .mapToObj(shardRate -> String.format(Locale.ENGLISH, "%.1f", shardRate))
+            .collect(Collectors.joining(" | ", "Shards: ", " " + rateUnit + "   " + rate));
+    }
+
+    public static final class Frame {
+        private final String progressText;
+        private final double fraction;
+        private final double smoothedRate;
+        private final double etaSeconds;
+        private final long failedCount;
+        private final String ratesText;
+
+        Frame(String progressText,
+              double fraction,
+              double smoothedRate,
+              double etaSeconds,
+              long failedCount,
+              String ratesText) {
+            this.progressText = progressText;
+            this.fraction = fraction;
+            this.smoothedRate = smoothedRate;
+            this.etaSeconds = etaSeconds;
+            this.failedCount = failedCount;
+            this.ratesText = ratesText;
+        }
+
+        // 0.0 - 1.0
+        public double getFraction() {
+            return fraction;
+        }
+
+        // sent messages per second
+        public double getSmoothedRate() {
+            return smoothedRate;
+        }
+
+        public double getEtaSeconds() {
+            return etaSeconds;
+        }
+
+        public long getFailedCount() {
+            return failedCount;
+        }
+
+        public String getRatesText() {
+            return ratesText;
+        }
+
+        public String describe() {
+            return String.format(Locale.ENGLISH, "%s, %.1f msg/s, ETA: %s, errors: %d",
+                                 progressText, smoothedRate, formatEta(etaSeconds), failedCount);
+        }
+
+        private static String formatEta(double seconds) {
+            if (seconds < 0.0) {
+                return "-";
+            }
+            final long totalSeconds = (long) Math.ceil(seconds);
+            return String.format(Locale.ENGLISH, "%02d:%02d:%02d",
+                                 totalSeconds / 3600, totalSeconds / 60 % 60, totalSeconds % 60);
+        }
+    }
+}
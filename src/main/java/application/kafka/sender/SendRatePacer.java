@@ -0,0 +1,77 @@
+package application.kafka.sender;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import application.exceptions.ExecutionStopRequested;
+
+/**
+ * Token bucket pacing the sending loop to a target rate (permits per second, where permit is a message or a byte).
+ * Send times are taken from an absolute schedule (start time + permits already granted / rate), so oversleeping
+ * of a single wait is compensated by following sends instead of accumulating as drift over long runs.
+ * Unused credit (e.g. after the loop was stalled) is capped at {@link #MAX_BURST_NANOS} worth of permits.
+ * Target rate of 0 means 'unlimited' - permits are only counted, so achieved rate can still be reported.
+ */
+public final class SendRatePacer {
+    private static final long MAX_BURST_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long SPIN_THRESHOLD_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private final long targetRate;
+    private final double nanosPerPermit;
+    private final long startNanos;
+    private double scheduledNanos;
+    // written only by the sending thread, read also when rates of all producer shards are displayed
+    private volatile long grantedPermits;
+
+    public SendRatePacer(long targetRate) {
+        this.targetRate = Math.max(0, targetRate);
+        nanosPerPermit = this.targetRate == 0 ? 0.0 : (double) TimeUnit.SECONDS.toNanos(1) / this.targetRate;
+        startNanos = System.nanoTime();
+    }
+
+    public void acquire(long permits) throws ExecutionStopRequested {
+        if (!isLimited()) {
+            grantedPermits += permits;
+            return;
+        }
+        final double nowNanos = System.nanoTime() - startNanos;
+        if (scheduledNanos < nowNanos - MAX_BURST_NANOS) {
+            scheduledNanos = nowNanos - MAX_BURST_NANOS;
+        }
+        final long sendAtNanos = startNanos + (long) scheduledNanos;
+        scheduledNanos += permits * nanosPerPermit;
+        grantedPermits += permits;
+        waitUntil(sendAtNanos);
+    }
+
+    public double getAchievedRate() {
+        final long elapsedNanos = System.nanoTime() - startNanos;
+        if (elapsedNanos <= 0) {
+            return 0.0;
+        }
+        return grantedPermits * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    public long getTargetRate() {
+        return targetRate;
+    }
+
+    public boolean isLimited() {
+        return targetRate > 0;
+    }
+
+    // parks until shortly before deadline and spins for the rest, so that wake up latency does not delay sends
+    static void waitUntil(long deadlineNanos) throws ExecutionStopRequested {
+        long remainingNanos = deadlineNanos - System.nanoTime();
+        while (remainingNanos > 0) {
+            if (Thread.interrupted()) {
+                throw new ExecutionStopRequested(new InterruptedException());
+            }
+            if (remainingNanos > SPIN_THRESHOLD_NANOS) {
+                LockSupport.parkNanos(remainingNanos - SPIN_THRESHOLD_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+            remainingNanos = deadlineNanos - System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package application.kafka.sender;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of a single sending run: send-to-acknowledgement latency histogram and number of
+ * acknowledged messages in consecutive 1 second buckets (counted from the start of the run).
+ * In simulation mode there are no acknowledgements, so simulated sends are counted instead,
+ * and cost of preparing messages is measured by {@link SimulationBenchmark}.
+ */
+public final class SendStatistics {
+    private static final double NANOS_IN_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final String CSV_HEADER = "second,messages";
+    private volatile long startNanos = System.nanoTime();
+    private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+    private final Map<Integer, LongAdder> messagesPerSecond = new ConcurrentHashMap<>();
+    private final AtomicReference<Exception> failure = new AtomicReference<>();
+    private final LongAdder failedSendCount = new LongAdder();
+    private final SimulationBenchmark simulationBenchmark = new SimulationBenchmark();
+
+    // 1 second buckets are counted from this moment
+    public void markStart() {
+        startNanos = System.nanoTime();
+        simulationBenchmark.markStart();
+    }
+
+    // can be called from kafka producer i/o thread
+    public void recordAcknowledged(long latencyNanos) {
+        latencyHistogram.record(latencyNanos);
+        countInCurrentSecond();
+    }
+
+    public void recordSimulatedSend() {
+        countInCurrentSecond();
+    }
+
+    // can be called from kafka producer i/o thread
+    public void recordFailedSend() {
+        failedSendCount.increment();
+    }
+
+    public long getFailedSendCount() {
+        return failedSendCount.sum();
+    }
+
+    // run was aborted by an error, only the first one is kept
+    public void markFailed(Exception e) {
+        failure.compareAndSet(null, e);
+    }
+
+    public boolean isFailed() {
+        return failure.get() != null;
+    }
+
+    public Exception getFailure() {
+        return failure.get();
+    }
+
+    // filled only in simulation mode
+    public SimulationBenchmark getSimulationBenchmark() {
+        return simulationBenchmark;
+    }
+
+    public LatencyHistogram getLatencyHistogram() {
+        return latencyHistogram;
+    }
+
+    public long[] getThroughputPerSecond() {
+        final int bucketCount = messagesPerSecond.keySet().stream().mapToInt(Integer::intValue).max().orElse(-1) + 1;
+        final long[] throughput = new long[bucketCount];
+        messagesPerSecond.forEach((second, count) -> throughput[second] = count.sum());
+        return throughput;
+    }
+
+    public String latencySummary() {
+        if (latencyHistogram.getCount() == 0) {
+            return "no acknowledged messages";
+        }
+        return String.format(Locale.ENGLISH,
+                             "count: %d, p50: %.3f ms, p90: %.3f ms, p99: %.3f ms, p99.9: %.3f ms, max: %.3f ms",
+                             latencyHistogram.getCount(),
+                             toMillis(latencyHistogram.getValueAtPercentile(50.0)),
+                             toMillis(latencyHistogram.getValueAtPercentile(90.0)),
+                             toMillis(latencyHistogram.getValueAtPercentile(99.0)),
+                             toMillis(latencyHistogram.getValueAtPercentile(99.9)),
+                             toMillis(latencyHistogram.getMax()));
+    }
+
+    public String throughputToCsv() {
+        final StringBuilder sb = new StringBuilder(CSV_HEADER).append(System.lineSeparator());
+        final long[] throughput = getThroughputPerSecond();
+        for (int second = 0; second < throughput.length; second++) {
+            sb.append(second).append(',').append(throughput[second]).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    private void countInCurrentSecond() {
+        final int second = (int) TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startNanos);
+        messagesPerSecond.computeIfAbsent(second, s -> new LongAdder()).increment();
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / NANOS_IN_MILLI;
+    }
+}
@@ -0,0 +1,82 @@
+package application.kafka.sender;
+
+import java.nio.ByteBuffer;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.record.AbstractRecords;
+import org.apache.kafka.common.record.CompressionType;
+import org.apache.kafka.common.record.MemoryRecords;
+import org.apache.kafka.common.record.MemoryRecordsBuilder;
+import org.apache.kafka.common.record.RecordBatch;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+
+import application.model.modelobjects.KafkaProducerTuning;
+
+/**
+ * Stand-in for kafka producer in simulation mode: records are serialized and appended to record batches
+ * of configured size and compression type like in the real producer, but batches are never sent.
+ * Batch is closed (and compressed) when it is full or when pending messages are flushed, linger time is not waited for.
+ * All records go to a single batch, as partition is not known without broker.
+ * Not thread safe, each producer shard needs its own instance.
+ */
+final class SimulatedProducer {
+    private static final long BASE_OFFSET = 0L;
+    private final Serializer<byte[]> serializer = new ByteArraySerializer();
+    private final CompressionType compressionType;
+    private final int batchSize;
+    private final ByteBuffer batchBuffer;
+    private MemoryRecordsBuilder batch;
+
+    SimulatedProducer(KafkaProducerTuning producerTuning) {
+        compressionType = CompressionType.forName(producerTuning.getCompressionType().value());
+        batchSize = Math.max(1, producerTuning.getBatchSize());
+        batchBuffer = ByteBuffer.allocate(batchSize);
+    }
+
+    void send(ProducerRecord<byte[], byte[]> record, SimulationBenchmark benchmark) {
+        final long serializationStartNanos = System.nanoTime();
+        final Header[] headers = record.headers().toArray();
+        final byte[] key = serializer.serialize(record.topic(), record.headers(), record.key());
+        final byte[] value = serializer.serialize(record.topic(), record.headers(), record.value());
+        final long timestamp = record.timestamp() == null ? System.currentTimeMillis() : record.timestamp();
+        final int estimatedSize = AbstractRecords.estimateSizeInBytesUpperBound(RecordBatch.CURRENT_MAGIC_VALUE,
+                                                                                compressionType, key, value, headers);
+        final long batchingStartNanos = System.nanoTime();
+        benchmark.record(SimulationBenchmark.Phase.SERIALIZATION, batchingStartNanos - serializationStartNanos);
+
+        if (batch != null && !batch.hasRoomFor(timestamp, key, value, headers)) {
+            closeBatch(benchmark);
+        }
+        if (batch == null) {
+            batch = newBatch(estimatedSize);
+        }
+        batch.append(timestamp, key, value, headers);
+        benchmark.record(SimulationBenchmark.Phase.BATCHING, System.nanoTime() - batchingStartNanos);
+        benchmark.recordMessage(value.length + (key != null ? key.length : 0));
+    }
+
+    void flush(SimulationBenchmark benchmark) {
+        if (batch == null) {
+            return;
+        }
+        final long batchingStartNanos = System.nanoTime();
+        closeBatch(benchmark);
+        benchmark.record(SimulationBenchmark.Phase.BATCHING, System.nanoTime() - batchingStartNanos);
+    }
+
+    private void closeBatch(SimulationBenchmark benchmark) {
+        final MemoryRecords records = batch.build();
+        benchmark.recordBatch(records.sizeInBytes());
+        batch = null;
+    }
+
+    // like the producer, a record larger than batch size gets a batch of its own size
+    private MemoryRecordsBuilder newBatch(int estimatedSize) {
+        final ByteBuffer buffer = estimatedSize > batchSize ? ByteBuffer.allocate(estimatedSize) : batchBuffer;
+        buffer.clear();
+        return MemoryRecords.builder(buffer, compressionType, TimestampType.CREATE_TIME, BASE_OFFSET);
+    }
+}
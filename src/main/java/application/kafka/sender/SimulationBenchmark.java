@@ -0,0 +1,180 @@
+package application.kafka.sender;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import application.utils.ThreadAllocation;
+
+/**
+ * Dry-run benchmark of a sending run in simulation mode: everything but network i/o is done for every message
+ * (template evaluation, serialization, appending to record batches of producer), and time spent in each
+ * {@link Phase} is summed up. Heap allocation is counted per thread ({@link ThreadAllocation}) by the sending
+ * and generating threads themselves, over their whole sending loops.
+ * Ops/s are measured from the first message, so that one-time preparation (e.g. script compilation) does not lower them.
+ * Shared by all producer shards and generator threads of the run, so it is thread safe.
+ */
+public final class SimulationBenchmark {
+    private static final double NANOS_IN_MICRO = TimeUnit.MICROSECONDS.toNanos(1);
+    private static final double NANOS_IN_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final double NANOS_IN_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    public enum Phase {
+        SHARED_SCRIPT("shared script", false),
+        BEFORE_ALL_SCRIPT("before all script", false),
+        DATA_FILE_RECORD("data file record", true),
+        BEFORE_EACH_SCRIPT("before each script", true),
+        TEMPLATE_RENDERING("template rendering", true),
+        SERIALIZATION("serialization", true),
+        BATCHING("batching", true);
+
+        private final String value;
+        private final boolean perMessage;
+
+        Phase(String value, boolean perMessage) {
+            this.value = value;
+            this.perMessage = perMessage;
+        }
+
+        public String value() {
+            return value;
+        }
+
+        // phases run once per generator are reported as total time, not as time per message
+        public boolean isPerMessage() {
+            return perMessage;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+
+    private final Map<Phase, LongAdder> phaseNanos = new EnumMap<>(Phase.class);
+    private final LongAdder messageCount = new LongAdder();
+    private final LongAdder messageBytes = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder batchBytes = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final AtomicLong firstMessageNanos = new AtomicLong();
+    private volatile long endNanos;
+
+    public SimulationBenchmark() {
+        for (Phase phase : Phase.values()) {
+            phaseNanos.put(phase, new LongAdder());
+        }
+    }
+
+    public void markStart() {
+        firstMessageNanos.set(0L);
+        endNanos = 0L;
+    }
+
+    // ops/s are computed up to this moment, summary taken while sending is still running uses current time
+    public void markEnd() {
+        endNanos = System.nanoTime();
+    }
+
+    public void record(Phase phase, long nanos) {
+        phaseNanos.get(phase).add(nanos);
+    }
+
+    // bytes are key + value of the message
+    public void recordMessage(int bytes) {
+        if (firstMessageNanos.get() == 0L) {
+            firstMessageNanos.compareAndSet(0L, System.nanoTime());
+        }
+        messageCount.increment();
+        messageBytes.add(bytes);
+    }
+
+    // bytes are size of the closed (possibly compressed) batch
+    public void recordBatch(int bytes) {
+        batchCount.increment();
+        batchBytes.add(bytes);
+    }
+
+    public void recordAllocatedBytes(long bytes) {
+        allocatedBytes.add(bytes);
+    }
+
+    public long getMessageCount() {
+        return messageCount.sum();
+    }
+
+    public long getBatchCount() {
+        return batchCount.sum();
+    }
+
+    public long getPhaseNanos(Phase phase) {
+        return phaseNanos.get(phase).sum();
+    }
+
+    public double getOpsPerSecond() {
+        final long elapsedNanos = getElapsedNanos();
+        return elapsedNanos <= 0 ? 0.0 : getMessageCount() * NANOS_IN_SECOND / elapsedNanos;
+    }
+
+    public double getAverageNanosPerMessage(Phase phase) {
+        final long count = getMessageCount();
+        return count == 0 ? 0.0 : getPhaseNanos(phase) / (double) count;
+    }
+
+    // negative when JVM does not count allocations of threads
+    public double getAllocatedBytesPerMessage() {
+        final long count = getMessageCount();
+        if (!ThreadAllocation.isSupported()) {
+            return -1.0;
+        }
+        return count == 0 ? 0.0 : allocatedBytes.sum() / (double) count;
+    }
+
+    public String summary() {
+        final long count = getMessageCount();
+        final long batches = getBatchCount();
+        final double allocatedPerMessage = getAllocatedBytesPerMessage();
+        return String.format(Locale.ENGLISH,
+                             "messages: %d, elapsed: %.3f s, ops/s: %.1f, avg message: %.1f B, "
+                                 + "batches: %d (avg %.1f messages, %.1f B), allocated per message: %s",
+                             count,
+                             getElapsedNanos() / NANOS_IN_SECOND,
+                             getOpsPerSecond(),
+                             count == 0 ? 0.0 : messageBytes.sum() / (double) count,
+                             batches,
+                             batches == 0 ? 0.0 : count / (double) batches,
+                             batches == 0 ? 0.0 : batchBytes.sum() / (double) batches,
+                             allocatedPerMessage < 0 ? "not measured by JVM"
+                                 : String.format(Locale.ENGLISH, "%.1f B", allocatedPerMessage));
+    }
+
+    // phases that did not run (e.g. blank scripts) are left out
+    public String phasesSummary() {
+        final List<String> phases = new ArrayList<>();
+        for (Phase phase : Phase.values()) {
+            final long nanos = getPhaseNanos(phase);
+            if (nanos == 0) {
+                continue;
+            }
+            phases.add(phase.isPerMessage()
+                           ? String.format(Locale.ENGLISH, "%s: %.3f us/msg", phase,
+                                           getAverageNanosPerMessage(phase) / NANOS_IN_MICRO)
+                           : String.format(Locale.ENGLISH, "%s: %.3f ms total", phase, nanos / NANOS_IN_MILLI));
+        }
+        return phases.isEmpty() ? "no timed phases" : String.join(", ", phases);
+    }
+
+    private long getElapsedNanos() {
+        final long start = firstMessageNanos.get();
+        if (start == 0L) {
+            return 0L;
+        }
+        final long end = endNanos;
+        return (end == 0L ? System.nanoTime() : end) - start;
+    }
+}
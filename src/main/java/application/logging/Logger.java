@@ -156,6 +156,11 @@ public class Logger {
         });
     }
 
+    // lets callers skip building messages that would be dropped anyway
+    public static boolean isEnabled(LogLevel level) {
+        return !currentLevel.isGreaterThan(level);
+    }
+
     public static void setLogLevel(LogLevel newLevel) {
         if (newLevel != currentLevel) {
             logInfo(String.format("Setting log level to:%s (from:%s) ", newLevel.name(), currentLevel.name()));
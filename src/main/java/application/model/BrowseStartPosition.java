@@ -0,0 +1,24 @@
+package application.model;
+
+// where listener in browse mode starts reading each partition
+public enum BrowseStartPosition {
+    EARLIEST("earliest"),
+    LATEST("latest"),
+    LATEST_N("latest N per partition"),
+    TIMESTAMP("timestamp");
+
+    private final String value;
+
+    BrowseStartPosition(String value) {
+        this.value = value;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -7,10 +7,12 @@ import org.apache.commons.lang3.StringUtils;
 import application.constants.ApplicationConstants;
 import application.model.modelobjects.KafkaBrokerConfig;
 import application.model.modelobjects.KafkaListenerConfig;
+import application.model.modelobjects.KafkaProducerTuning;
 import application.model.modelobjects.KafkaSenderConfig;
 import application.model.modelobjects.KafkaTopicConfig;
 import application.model.pojos.BrokerConfigPojo;
 import application.model.pojos.ListenerConfigPojo;
+import application.model.pojos.ProducerTuningPojo;
 import application.model.pojos.SenderConfigPojo;
 import application.model.pojos.TopicConfigPojo;
 
@@ -18,7 +20,23 @@ public class FromPojoConverter {
 
     public static final String DEFAULT_POLL_TIMEOUT = "2000";
     public static final KafkaOffsetResetType DEFAULT_OFFSET_RESET_TYPE = KafkaOffsetResetType.EARLIEST;
+    private static final ListenerCommitStrategy DEFAULT_COMMIT_STRATEGY = ListenerCommitStrategy.PER_BATCH_SYNC;
+    private static final String DEFAULT_COMMIT_INTERVAL_MS = ApplicationConstants.DEFAULT_COMMIT_INTERVAL_MS;
+    private static final BrowseStartPosition DEFAULT_BROWSE_START_POSITION = BrowseStartPosition.EARLIEST;
+    private static final String DEFAULT_BROWSE_LATEST_COUNT = ApplicationConstants.DEFAULT_BROWSE_LATEST_COUNT;
     private static final int DEFAULT_REPEAT_COUNT = 1;
+    private static final int DEFAULT_MAX_IN_FLIGHT_MESSAGES = ApplicationConstants.DEFAULT_MAX_IN_FLIGHT_MESSAGES;
+    private static final int DEFAULT_GENERATOR_THREAD_COUNT = 1;
+    private static final int DEFAULT_PRODUCER_SHARD_COUNT = 1;
+    private static final SendLoggingMode DEFAULT_SEND_LOGGING_MODE = SendLoggingMode.PER_MESSAGE;
+    private static final ReplayFileFormat DEFAULT_REPLAY_FILE_FORMAT = ReplayFileFormat.LINES;
+    private static final ReplaySpeed DEFAULT_REPLAY_SPEED = ReplaySpeed.X1;
+    private static final KeyDistribution DEFAULT_KEY_DISTRIBUTION = KeyDistribution.FIXED;
+    private static final int DEFAULT_KEY_SKEW_PERCENT = ApplicationConstants.DEFAULT_KEY_SKEW_PERCENT;
+    private static final int DEFAULT_SEND_LOG_SAMPLE_INTERVAL = ApplicationConstants.DEFAULT_SEND_LOG_SAMPLE_INTERVAL;
+    private static final int DEFAULT_TARGET_RATE = 0;
+    private static final SendRateUnit DEFAULT_TARGET_RATE_UNIT = SendRateUnit.MESSAGES_PER_SECOND;
+    private static final int DEFAULT_RUN_DURATION_SECONDS = 0;
     private static final String EMPTY_STRING = "";
     private ModelDataProxy modelProxy;
 
@@ -69,6 +87,67 @@ public class FromPojoConverter {
             c.setRepeatCount(getUnsignedIntegerAsStringOrDefault(pojo.getRepeatCount(),
                                                                  DEFAULT_REPEAT_COUNT));
         }
+        if (StringUtils.isNotBlank(pojo.getMaxInFlightMessages())) {
+            c.setMaxInFlightMessages(getUnsignedIntegerAsStringOrDefault(pojo.getMaxInFlightMessages(),
+                                                                         DEFAULT_MAX_IN_FLIGHT_MESSAGES));
+        }
+        if (StringUtils.isNotBlank(pojo.getGeneratorThreadCount())) {
+            c.setGeneratorThreadCount(getUnsignedIntegerAsStringOrDefault(pojo.getGeneratorThreadCount(),
+                                                                          DEFAULT_GENERATOR_THREAD_COUNT));
+        }
+        if (StringUtils.isNotBlank(pojo.getProducerShardCount())) {
+            c.setProducerShardCount(getUnsignedIntegerAsStringOrDefault(pojo.getProducerShardCount(),
+                                                                        DEFAULT_PRODUCER_SHARD_COUNT));
+        }
+        if (StringUtils.isNotBlank(pojo.getSendLoggingMode())) {
+            c.setSendLoggingMode(getEnumValueOrDefault(SendLoggingMode.class,
+                                                       pojo.getSendLoggingMode(),
+                                                       DEFAULT_SEND_LOGGING_MODE));
+        }
+        if (StringUtils.isNotBlank(pojo.getSendLogSampleInterval())) {
+            c.setSendLogSampleInterval(getUnsignedIntegerAsStringOrDefault(pojo.getSendLogSampleInterval(),
+                                                                           DEFAULT_SEND_LOG_SAMPLE_INTERVAL));
+        }
+        if (StringUtils.isNotBlank(pojo.getDataFilePath())) {
+            c.setDataFilePath(pojo.getDataFilePath());
+        }
+        c.setDataFileLoopEnabled(pojo.isDataFileLoopEnabled());
+        if (StringUtils.isNotBlank(pojo.getReplayFilePath())) {
+            c.setReplayFilePath(pojo.getReplayFilePath());
+        }
+        if (StringUtils.isNotBlank(pojo.getReplayFileFormat())) {
+            c.setReplayFileFormat(getEnumValueOrDefault(ReplayFileFormat.class,
+                                                        pojo.getReplayFileFormat(),
+                                                        DEFAULT_REPLAY_FILE_FORMAT));
+        }
+        // delimiter can be whitespace, e.g. space
+        if (StringUtils.isNotEmpty(pojo.getReplayKeyDelimiter())) {
+            c.setReplayKeyDelimiter(pojo.getReplayKeyDelimiter());
+        }
+        if (StringUtils.isNotBlank(pojo.getReplaySpeed())) {
+            c.setReplaySpeed(getEnumValueOrDefault(ReplaySpeed.class, pojo.getReplaySpeed(), DEFAULT_REPLAY_SPEED));
+        }
+        if (StringUtils.isNotBlank(pojo.getKeyDistribution())) {
+            c.setKeyDistribution(getEnumValueOrDefault(KeyDistribution.class,
+                                                       pojo.getKeyDistribution(),
+                                                       DEFAULT_KEY_DISTRIBUTION));
+        }
+        if (StringUtils.isNotBlank(pojo.getKeySkewPercent())) {
+            c.setKeySkewPercent(getUnsignedIntegerAsStringOrDefault(pojo.getKeySkewPercent(), DEFAULT_KEY_SKEW_PERCENT));
+        }
+        if (StringUtils.isNotBlank(pojo.getTargetRate())) {
+            c.setTargetRate(getUnsignedIntegerAsStringOrDefault(pojo.getTargetRate(), DEFAULT_TARGET_RATE));
+        }
+        if (StringUtils.isNotBlank(pojo.getTargetRateUnit())) {
+            c.setTargetRateUnit(getRateUnitOrDefaultIfInvalidValue(pojo));
+        }
+        if (StringUtils.isNotBlank(pojo.getRunDurationSeconds())) {
+            c.setRunDurationSeconds(getUnsignedIntegerAsStringOrDefault(pojo.getRunDurationSeconds(),
+                                                                        DEFAULT_RUN_DURATION_SECONDS));
+        }
+        if (pojo.getProducerTuning() != null) {
+            fillFromPojo(c.getProducerTuning(), pojo.getProducerTuning());
+        }
         if (StringUtils.isNotBlank(pojo.getTopicConfigUuid())) {
             final String topicConfigUuid = pojo.getTopicConfigUuid();
             modelProxy.getTopicConfigByUuid(topicConfigUuid)
@@ -118,6 +197,28 @@ public class FromPojoConverter {
         }
 
         c.setReceivedMsgLimitEnabled(pojo.getReceivedMsgLimitEnabled());
+        if (StringUtils.isNotBlank(pojo.getCommitStrategy())) {
+            c.setCommitStrategy(getEnumValueOrDefault(ListenerCommitStrategy.class,
+                                                      pojo.getCommitStrategy(),
+                                                      DEFAULT_COMMIT_STRATEGY));
+        }
+        if (StringUtils.isNotBlank(pojo.getCommitIntervalMs())) {
+            c.setCommitIntervalMs(getUnsignedIntegerValueAsStringOrDefault(pojo.getCommitIntervalMs(),
+                                                                           DEFAULT_COMMIT_INTERVAL_MS));
+        }
+        c.setBrowseModeEnabled(pojo.getBrowseModeEnabled());
+        if (StringUtils.isNotBlank(pojo.getBrowseStartPosition())) {
+            c.setBrowseStartPosition(getEnumValueOrDefault(BrowseStartPosition.class,
+                                                           pojo.getBrowseStartPosition(),
+                                                           DEFAULT_BROWSE_START_POSITION));
+        }
+        if (StringUtils.isNotBlank(pojo.getBrowseLatestCount())) {
+            c.setBrowseLatestCount(getUnsignedIntegerValueAsStringOrDefault(pojo.getBrowseLatestCount(),
+                                                                            DEFAULT_BROWSE_LATEST_COUNT));
+        }
+        if (StringUtils.isNotBlank(pojo.getBrowseStartTimestamp())) {
+            c.setBrowseStartTimestamp(pojo.getBrowseStartTimestamp());
+        }
 
         return c;
     }
@@ -145,6 +246,52 @@ public class FromPojoConverter {
         return c;
     }
 
+    // values missing in pojo are left as they are (default preset for new configs)
+    private void fillFromPojo(KafkaProducerTuning tuning, ProducerTuningPojo pojo) {
+        if (StringUtils.isNotBlank(pojo.getLingerMs())) {
+            tuning.setLingerMs(getUnsignedIntegerAsStringOrDefault(pojo.getLingerMs(), tuning.getLingerMs()));
+        }
+        if (StringUtils.isNotBlank(pojo.getBatchSize())) {
+            tuning.setBatchSize(getUnsignedIntegerAsStringOrDefault(pojo.getBatchSize(), tuning.getBatchSize()));
+        }
+        if (StringUtils.isNotBlank(pojo.getCompressionType())) {
+            tuning.setCompressionType(getEnumValueOrDefault(ProducerCompressionType.class,
+                                                            pojo.getCompressionType(),
+                                                            tuning.getCompressionType()));
+        }
+        if (StringUtils.isNotBlank(pojo.getAcks())) {
+            tuning.setAcks(getEnumValueOrDefault(ProducerAcks.class, pojo.getAcks(), tuning.getAcks()));
+        }
+        if (StringUtils.isNotBlank(pojo.getBufferMemory())) {
+            tuning.setBufferMemory(getUnsignedIntegerAsStringOrDefault(pojo.getBufferMemory(),
+                                                                       tuning.getBufferMemory()));
+        }
+        if (StringUtils.isNotBlank(pojo.getMaxInFlightRequestsPerConnection())) {
+            tuning.setMaxInFlightRequestsPerConnection(
+                getUnsignedIntegerAsStringOrDefault(pojo.getMaxInFlightRequestsPerConnection(),
+                                                    tuning.getMaxInFlightRequestsPerConnection()));
+        }
+        if (StringUtils.isNotBlank(pojo.getIdempotenceEnabled())) {
+            tuning.setIdempotenceEnabled(Boolean.parseBoolean(pojo.getIdempotenceEnabled()));
+        }
+    }
+
+    private static <T extends Enum<T>> T getEnumValueOrDefault(Class<T> enumClass, String value, T defaultValue) {
+        try {
+            return Enum.valueOf(enumClass, value.toUpperCase());
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    private SendRateUnit getRateUnitOrDefaultIfInvalidValue(SenderConfigPojo pojo) {
+        try {
+            return SendRateUnit.valueOf(pojo.getTargetRateUnit().toUpperCase());
+        } catch (Exception e) {
+            return DEFAULT_TARGET_RATE_UNIT;
+        }
+    }
+
     private KafkaOffsetResetType getResetTypeOfDefaultIfInvalidValue(ListenerConfigPojo pojo) {
         try {
             return KafkaOffsetResetType.valueOf(pojo.getOffsetResetConfig().toUpperCase());
@@ -184,6 +331,12 @@ public class FromPojoConverter {
         c.setUuid(UUID.randomUUID().toString());
         c.setReceivedMsgLimitEnabled(false);
         c.setReceivedMsgLimitCount("1");
+        c.setCommitStrategy(DEFAULT_COMMIT_STRATEGY);
+        c.setCommitIntervalMs(DEFAULT_COMMIT_INTERVAL_MS);
+        c.setBrowseModeEnabled(false);
+        c.setBrowseStartPosition(DEFAULT_BROWSE_START_POSITION);
+        c.setBrowseLatestCount(DEFAULT_BROWSE_LATEST_COUNT);
+        c.setBrowseStartTimestamp(EMPTY_STRING);
     }
 
     private void setSenderConfigDefaults(KafkaSenderConfig c) {
@@ -191,6 +344,23 @@ public class FromPojoConverter {
         c.setMessageKeyEnabled(false);
         c.setMsgContentTemplate(EMPTY_STRING);
         c.setRepeatCount(DEFAULT_REPEAT_COUNT);
+        c.setMaxInFlightMessages(DEFAULT_MAX_IN_FLIGHT_MESSAGES);
+        c.setGeneratorThreadCount(DEFAULT_GENERATOR_THREAD_COUNT);
+        c.setProducerShardCount(DEFAULT_PRODUCER_SHARD_COUNT);
+        c.setSendLoggingMode(DEFAULT_SEND_LOGGING_MODE);
+        c.setSendLogSampleInterval(DEFAULT_SEND_LOG_SAMPLE_INTERVAL);
+        c.setDataFilePath(EMPTY_STRING);
+        c.setDataFileLoopEnabled(false);
+        c.setReplayFilePath(EMPTY_STRING);
+        c.setReplayFileFormat(DEFAULT_REPLAY_FILE_FORMAT);
+        c.setReplayKeyDelimiter(EMPTY_STRING);
+        c.setReplaySpeed(DEFAULT_REPLAY_SPEED);
+        c.setKeyDistribution(DEFAULT_KEY_DISTRIBUTION);
+        c.setKeySkewPercent(DEFAULT_KEY_SKEW_PERCENT);
+        c.setTargetRate(DEFAULT_TARGET_RATE);
+        c.setTargetRateUnit(DEFAULT_TARGET_RATE_UNIT);
+        c.setRunDurationSeconds(DEFAULT_RUN_DURATION_SECONDS);
+        ProducerTuningPreset.DEFAULT.applyTo(c.getProducerTuning());
         c.setName(ApplicationConstants.DEFAULT_SENDER_CONFIG_NAME);
         c.setUuid(UUID.randomUUID().toString());
         c.setRunBeforeAllMessagesScript(EMPTY_STRING);
@@ -0,0 +1,28 @@
+package application.model;
+
+public enum KeyDistribution {
+    FIXED("fixed key"),
+    UNIFORM("uniform over partitions"),
+    ROUND_ROBIN("round robin over partitions"),
+    ZIPF("skewed over partitions (zipf)");
+
+    private final String value;
+
+    KeyDistribution(String value) {
+        this.value = value;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    // keys are computed from partition count of topic
+    public boolean isOverPartitions() {
+        return this != FIXED;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -0,0 +1,35 @@
+package application.model;
+
+// when consumed offsets of listener are committed to its consumer group
+public enum ListenerCommitStrategy {
+    PER_BATCH_SYNC("per poll batch (sync)"),
+    PER_BATCH_ASYNC("per poll batch (async)"),
+    PERIODIC("periodic (async)"),
+    AUTO("auto commit only"),
+    NONE("none");
+
+    private final String value;
+
+    ListenerCommitStrategy(String value) {
+        this.value = value;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    // only kafka consumer commits, in its own interval
+    public boolean isAutoCommit() {
+        return this == AUTO;
+    }
+
+    // commit interval of periodic and auto commit
+    public boolean usesCommitInterval() {
+        return this == PERIODIC || this == AUTO;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -1,5 +1,9 @@
 package application.model;
 
+import java.util.Collections;
+
+import org.apache.kafka.common.header.Header;
+
 import application.model.modelobjects.KafkaBrokerConfig;
 import application.model.modelobjects.KafkaSenderConfig;
 import application.model.modelobjects.KafkaTopicConfig;
@@ -7,11 +11,12 @@ import application.utils.HostInfo;
 
 public final class MessageOnTopicDto {
     private final HostInfo brokerHostInfo;
-    private final String msgKey;
+    private final byte[] msgKey;
     private final String topicName;
-    private final String message;
+    private final byte[] message;
     private final boolean shouldSimulateSending;
     private final int msgNum;
+    private final Iterable<Header> headers;
 
     public int getMsgNum() {
         return msgNum;
@@ -25,12 +30,13 @@ public final class MessageOnTopicDto {
 
 
     private MessageOnTopicDto(HostInfo brokerHostInfo,
-                              String msgKey,
+                              byte[] msgKey,
                               String topicName,
-                              String message,
+                              byte[] message,
                               boolean shouldSimulateSending,
                               int msgNum,
-                              int totalMsgCount) {
+                              int totalMsgCount,
+                              Iterable<Header> headers) {
 
         this.brokerHostInfo = brokerHostInfo;
         this.msgKey = msgKey;
@@ -39,21 +45,33 @@ public final class MessageOnTopicDto {
         this.shouldSimulateSending = shouldSimulateSending;
         this.msgNum = msgNum;
         this.totalMsgCount = totalMsgCount;
+        this.headers = headers;
     }
 
     public boolean shouldSimulateSending() {
         return shouldSimulateSending;
     }
 
+    // key and content are already serialized, the same arrays can be reused for many messages
     public static MessageOnTopicDto from(KafkaSenderConfig config,
-                                         String message,
+                                         byte[] msgKey,
+                                         byte[] message,
                                          boolean shouldSimulateSending,
                                          int msgNum,
                                          int totalMsgCount) {
+        return from(config, msgKey, message, shouldSimulateSending, msgNum, totalMsgCount, Collections.emptyList());
+    }
+
+    public static MessageOnTopicDto from(KafkaSenderConfig config,
+                                         byte[] msgKey,
+                                         byte[] message,
+                                         boolean shouldSimulateSending,
+                                         int msgNum,
+                                         int totalMsgCount,
+                                         Iterable<Header> headers) {
 
         final KafkaTopicConfig topicConfig = config.getRelatedConfig();
         final KafkaBrokerConfig brokerConfig = topicConfig.getRelatedConfig();
-        String msgKey = config.isMessageKeyEnabled() ? config.getMessageKey() : null;
 
         return new MessageOnTopicDto(brokerConfig.getHostInfo(),
                                      msgKey,
@@ -61,14 +79,15 @@ public final class MessageOnTopicDto {
                                      message,
                                      shouldSimulateSending,
                                      msgNum,
-                                     totalMsgCount);
+                                     totalMsgCount,
+                                     headers);
     }
 
     public HostInfo getBrokerHostInfo() {
         return brokerHostInfo;
     }
 
-    public String getMessageKey() {
+    public byte[] getMessageKey() {
         return msgKey;
     }
 
@@ -76,7 +95,11 @@ public final class MessageOnTopicDto {
         return topicName;
     }
 
-    public String getMessage() {
+    public byte[] getMessage() {
         return message;
     }
+
+    public Iterable<Header> getHeaders() {
+        return headers;
+    }
 }
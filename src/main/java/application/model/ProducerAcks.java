@@ -0,0 +1,22 @@
+package application.model;
+
+public enum ProducerAcks {
+    ALL("all"),
+    LEADER("1"),
+    NONE("0");
+
+    private final String value;
+
+    ProducerAcks(String value) {
+        this.value = value;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
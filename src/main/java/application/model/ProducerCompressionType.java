@@ -0,0 +1,24 @@
+package application.model;
+
+public enum ProducerCompressionType {
+    NONE("none"),
+    GZIP("gzip"),
+    SNAPPY("snappy"),
+    LZ4("lz4"),
+    ZSTD("zstd");
+
+    private final String value;
+
+    ProducerCompressionType(String value) {
+        this.value = value;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -0,0 +1,60 @@
+package application.model;
+
+import application.model.modelobjects.KafkaProducerTuning;
+
+/**
+ * Built-in producer tuning profiles.
+ * DEFAULT matches kafka producer defaults (with acks=all), THROUGHPUT trades latency for bigger, compressed batches,
+ * LATENCY sends every record immediately and acknowledges it by partition leader only.
+ */
+public enum ProducerTuningPreset {
+    DEFAULT("default", 0, 16_384, ProducerCompressionType.NONE, ProducerAcks.ALL, 33_554_432, 5, true),
+    THROUGHPUT("throughput", 20, 262_144, ProducerCompressionType.LZ4, ProducerAcks.LEADER, 67_108_864, 5, false),
+    LATENCY("latency", 0, 16_384, ProducerCompressionType.NONE, ProducerAcks.LEADER, 33_554_432, 5, false);
+
+    private final String value;
+    private final int lingerMs;
+    private final int batchSize;
+    private final ProducerCompressionType compressionType;
+    private final ProducerAcks acks;
+    private final int bufferMemory;
+    private final int maxInFlightRequestsPerConnection;
+    private final boolean idempotenceEnabled;
+
+    ProducerTuningPreset(String value,
+                         int lingerMs,
+                         int batchSize,
+                         ProducerCompressionType compressionType,
+                         ProducerAcks acks,
+                         int bufferMemory,
+                         int maxInFlightRequestsPerConnection,
+                         boolean idempotenceEnabled) {
+        this.value = value;
+        this.lingerMs = lingerMs;
+        this.batchSize = batchSize;
+        this.compressionType = compressionType;
+        this.acks = acks;
+        this.bufferMemory = bufferMemory;
+        this.maxInFlightRequestsPerConnection = maxInFlightRequestsPerConnection;
+        this.idempotenceEnabled = idempotenceEnabled;
+    }
+
+    public void applyTo(KafkaProducerTuning tuning) {
+        tuning.setLingerMs(lingerMs);
+        tuning.setBatchSize(batchSize);
+        tuning.setCompressionType(compressionType);
+        tuning.setAcks(acks);
+        tuning.setBufferMemory(bufferMemory);
+        tuning.setMaxInFlightRequestsPerConnection(maxInFlightRequestsPerConnection);
+        tuning.setIdempotenceEnabled(idempotenceEnabled);
+    }
+
+    public String value() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
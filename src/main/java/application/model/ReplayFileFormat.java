@@ -0,0 +1,28 @@
+package application.model;
+
+public enum ReplayFileFormat {
+    LINES("one message per line"),
+    LENGTH_PREFIXED("4 byte length prefixed messages"),
+    TIMESTAMPED_LINES("epoch millis, tab, message per line"),
+    LISTENER_OUTPUT("output saved from listener");
+
+    private final String value;
+
+    ReplayFileFormat(String value) {
+        this.value = value;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    // messages of such file can be sent with their original timing
+    public boolean hasTimestamps() {
+        return this == TIMESTAMPED_LINES || this == LISTENER_OUTPUT;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -0,0 +1,37 @@
+package application.model;
+
+public enum ReplaySpeed {
+    X0_5("0.5x", 0.5),
+    X1("1x", 1.0),
+    X2("2x", 2.0),
+    X5("5x", 5.0),
+    X10("10x", 10.0),
+    X100("100x", 100.0),
+    MAX("max (ignore timestamps)", 0.0);
+
+    private final String value;
+    private final double factor;
+
+    ReplaySpeed(String value, double factor) {
+        this.value = value;
+        this.factor = factor;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    // how many times faster than original timing, 0 means 'as fast as possible'
+    public double factor() {
+        return factor;
+    }
+
+    public boolean isTimed() {
+        return factor > 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
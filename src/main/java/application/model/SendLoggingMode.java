@@ -0,0 +1,22 @@
+package application.model;
+
+public enum SendLoggingMode {
+    PER_MESSAGE("every message"),
+    SAMPLED("every N-th message"),
+    SUMMARY("periodic summary");
+
+    private final String value;
+
+    SendLoggingMode(String value) {
+        this.value = value;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -0,0 +1,21 @@
+package application.model;
+
+public enum SendRateUnit {
+    MESSAGES_PER_SECOND("msg/s"),
+    BYTES_PER_SECOND("B/s");
+
+    private final String value;
+
+    SendRateUnit(String value) {
+        this.value = value;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
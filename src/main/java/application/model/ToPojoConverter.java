@@ -2,10 +2,12 @@ package application.model;
 
 import application.model.modelobjects.KafkaBrokerConfig;
 import application.model.modelobjects.KafkaListenerConfig;
+import application.model.modelobjects.KafkaProducerTuning;
 import application.model.modelobjects.KafkaSenderConfig;
 import application.model.modelobjects.KafkaTopicConfig;
 import application.model.pojos.BrokerConfigPojo;
 import application.model.pojos.ListenerConfigPojo;
+import application.model.pojos.ProducerTuningPojo;
 import application.model.pojos.SenderConfigPojo;
 import application.model.pojos.TopicConfigPojo;
 
@@ -27,6 +29,23 @@ public class ToPojoConverter {
         pojo.setConfigName(config.getName());
         pojo.setTopicConfigUuid(config.getTopicConfigUuid());
         pojo.setRepeatCount(config.getRepeatCount().toString());
+        pojo.setMaxInFlightMessages(config.getMaxInFlightMessages().toString());
+        pojo.setGeneratorThreadCount(config.getGeneratorThreadCount().toString());
+        pojo.setProducerShardCount(config.getProducerShardCount().toString());
+        pojo.setSendLoggingMode(config.getSendLoggingMode().name().toLowerCase());
+        pojo.setSendLogSampleInterval(config.getSendLogSampleInterval().toString());
+        pojo.setDataFilePath(config.getDataFilePath());
+        pojo.setDataFileLoopEnabled(config.isDataFileLoopEnabled());
+        pojo.setReplayFilePath(config.getReplayFilePath());
+        pojo.setReplayFileFormat(config.getReplayFileFormat().name().toLowerCase());
+        pojo.setReplayKeyDelimiter(config.getReplayKeyDelimiter());
+        pojo.setReplaySpeed(config.getReplaySpeed().name().toLowerCase());
+        pojo.setKeyDistribution(config.getKeyDistribution().name().toLowerCase());
+        pojo.setKeySkewPercent(config.getKeySkewPercent().toString());
+        pojo.setTargetRate(config.getTargetRate().toString());
+        pojo.setTargetRateUnit(config.getTargetRateUnit().name().toLowerCase());
+        pojo.setRunDurationSeconds(config.getRunDurationSeconds().toString());
+        pojo.setProducerTuning(toPojoFrom(config.getProducerTuning()));
         pojo.setRunBeforeEachMessageScript(config.getRunBeforeEachMessageScript());
         pojo.setRunBeforeAllMessagesScript(config.getRunBeforeAllMessagesScript());
         pojo.setUuid(config.getUuid());
@@ -34,6 +53,18 @@ public class ToPojoConverter {
         return pojo;
     }
 
+    public static ProducerTuningPojo toPojoFrom(KafkaProducerTuning tuning) {
+        final ProducerTuningPojo pojo = new ProducerTuningPojo();
+        pojo.setLingerMs(tuning.getLingerMs().toString());
+        pojo.setBatchSize(tuning.getBatchSize().toString());
+        pojo.setCompressionType(tuning.getCompressionType().name().toLowerCase());
+        pojo.setAcks(tuning.getAcks().name().toLowerCase());
+        pojo.setBufferMemory(tuning.getBufferMemory().toString());
+        pojo.setMaxInFlightRequestsPerConnection(tuning.getMaxInFlightRequestsPerConnection().toString());
+        pojo.setIdempotenceEnabled(String.valueOf(tuning.isIdempotenceEnabled()));
+        return pojo;
+    }
+
     public static TopicConfigPojo toPojoFrom(KafkaTopicConfig config) {
         TopicConfigPojo pojo = new TopicConfigPojo();
         pojo.setBrokerUuid(config.getBrokerUuid());
@@ -53,6 +84,12 @@ public class ToPojoConverter {
         pojo.setUuid(config.getUuid());
         pojo.setReceivedMsgLimitEnabled(config.getReceivedMsgLimitEnabled());
         pojo.setReceivedMsgLimitCount(config.getReceivedMsgLimitCount());
+        pojo.setCommitStrategy(config.getCommitStrategy().name().toLowerCase());
+        pojo.setCommitIntervalMs(config.getCommitIntervalMs());
+        pojo.setBrowseModeEnabled(config.getBrowseModeEnabled());
+        pojo.setBrowseStartPosition(config.getBrowseStartPosition().name().toLowerCase());
+        pojo.setBrowseLatestCount(config.getBrowseLatestCount());
+        pojo.setBrowseStartTimestamp(config.getBrowseStartTimestamp());
         return pojo;
     }
 }
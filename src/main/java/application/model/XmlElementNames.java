@@ -27,6 +27,30 @@ public class XmlElementNames {
     public static final String MESSAGE_KEY_ENABLED = "MessageKeyEnabled";
     public static final String MESSAGE_KEY = "MessageKey";
     public static final String REPEAT_COUNT = "RepeatCount";
+    public static final String MAX_IN_FLIGHT_MESSAGES = "MaxInFlightMessages";
+    public static final String GENERATOR_THREAD_COUNT = "GeneratorThreadCount";
+    public static final String PRODUCER_SHARD_COUNT = "ProducerShardCount";
+    public static final String SEND_LOGGING_MODE = "SendLoggingMode";
+    public static final String SEND_LOG_SAMPLE_INTERVAL = "SendLogSampleInterval";
+    public static final String DATA_FILE_PATH = "DataFilePath";
+    public static final String DATA_FILE_LOOP_ENABLED = "DataFileLoopEnabled";
+    public static final String REPLAY_FILE_PATH = "ReplayFilePath";
+    public static final String REPLAY_FILE_FORMAT = "ReplayFileFormat";
+    public static final String REPLAY_KEY_DELIMITER = "ReplayKeyDelimiter";
+    public static final String REPLAY_SPEED = "ReplaySpeed";
+    public static final String KEY_DISTRIBUTION = "KeyDistribution";
+    public static final String KEY_SKEW_PERCENT = "KeySkewPercent";
+    public static final String TARGET_RATE = "TargetRate";
+    public static final String TARGET_RATE_UNIT = "TargetRateUnit";
+    public static final String RUN_DURATION_SECONDS = "RunDurationSeconds";
+    public static final String PRODUCER_TUNING = "ProducerTuning";
+    public static final String LINGER_MS = "LingerMs";
+    public static final String BATCH_SIZE = "BatchSize";
+    public static final String COMPRESSION_TYPE = "CompressionType";
+    public static final String ACKS = "Acks";
+    public static final String BUFFER_MEMORY = "BufferMemory";
+    public static final String MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION = "MaxInFlightRequestsPerConnection";
+    public static final String IDEMPOTENCE_ENABLED = "IdempotenceEnabled";
     public static final String CONSUMER_GROUP = "ConsumerGroup";
     public static final String POLL_TIMEOUT = "PollTimeout";
     public static final String OFFSET_CONFIG_PROPERTY = "OffsetConfigProperty";
@@ -44,8 +68,17 @@ public class XmlElementNames {
     public static final String UPPER_SPLIT_PANE_DIVIDER_POSITION = "UpperSplitPaneDividerPosition";
     public static final String GLOBAL_SETTINGS = "GlobalApplicationSettings";
     public static final String GLOBAL_LOG_LEVEL = "GlobalLogLevel";
+    public static final String PRODUCER_IDLE_TIMEOUT_SECONDS = "ProducerIdleTimeoutSeconds";
+    public static final String LISTENER_OUTPUT_MAX_RECORDS = "ListenerOutputMaxRecords";
+    public static final String LISTENER_OUTPUT_MAX_MEGABYTES = "ListenerOutputMaxMegabytes";
     public static final String BEFORE_FIST_MESSAGE_SHARED_SCRIPT_CONTENT = "ExecuteBeforeFirstMessageSharedScript";
 
     public static final String RECEIVED_MSG_LIMIT_ENABLED = "ReceivedMsgLimitEnabled";
     public static final String RECEIVED_MSG_LIMIT_COUNT = "ReceivedMsgLimitCount";
+    public static final String COMMIT_STRATEGY = "CommitStrategy";
+    public static final String COMMIT_INTERVAL_MS = "CommitIntervalMs";
+    public static final String BROWSE_MODE_ENABLED = "BrowseModeEnabled";
+    public static final String BROWSE_START_POSITION = "BrowseStartPosition";
+    public static final String BROWSE_LATEST_COUNT = "BrowseLatestCount";
+    public static final String BROWSE_START_TIMESTAMP = "BrowseStartTimestamp";
 }
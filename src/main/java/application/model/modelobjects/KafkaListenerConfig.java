@@ -2,7 +2,9 @@ package application.model.modelobjects;
 
 import java.util.UUID;
 
+import application.model.BrowseStartPosition;
 import application.model.KafkaOffsetResetType;
+import application.model.ListenerCommitStrategy;
 import application.model.ModelConfigObject;
 import application.model.RelatedConfigHolder;
 import javafx.beans.property.BooleanProperty;
@@ -12,6 +14,8 @@ import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 
+import static application.constants.ApplicationConstants.DEFAULT_BROWSE_LATEST_COUNT;
+import static application.constants.ApplicationConstants.DEFAULT_COMMIT_INTERVAL_MS;
 import static application.constants.ApplicationConstants.DEFAULT_CONSUMER_GROUP_ID;
 import static application.constants.ApplicationConstants.DEFAULT_FETCH_TIMEOUT;
 
@@ -25,6 +29,17 @@ public class KafkaListenerConfig implements ModelConfigObject, RelatedConfigHold
     private final ObjectProperty<KafkaOffsetResetType> offsetResetConfig = new SimpleObjectProperty<>(KafkaOffsetResetType.EARLIEST);
     private final BooleanProperty receivedMsgLimitEnabled = new SimpleBooleanProperty(false);
     private final StringProperty receivedMsgLimitCount = new SimpleStringProperty("1");
+    private final ObjectProperty<ListenerCommitStrategy> commitStrategy =
+        new SimpleObjectProperty<>(ListenerCommitStrategy.PER_BATCH_SYNC);
+    // used by periodic and auto commit strategies
+    private final StringProperty commitIntervalMs = new SimpleStringProperty(DEFAULT_COMMIT_INTERVAL_MS);
+    // browse mode reads assigned partitions without consumer group, so it never commits nor triggers rebalance
+    private final BooleanProperty browseModeEnabled = new SimpleBooleanProperty(false);
+    private final ObjectProperty<BrowseStartPosition> browseStartPosition =
+        new SimpleObjectProperty<>(BrowseStartPosition.EARLIEST);
+    private final StringProperty browseLatestCount = new SimpleStringProperty(DEFAULT_BROWSE_LATEST_COUNT);
+    // epoch millis or local date time, see TimestampUtils.epochMiliFromUserTimestamp()
+    private final StringProperty browseStartTimestamp = new SimpleStringProperty("");
 
     public KafkaListenerConfig(String s) {
         name.setValue(s);
@@ -50,6 +65,78 @@ public class KafkaListenerConfig implements ModelConfigObject, RelatedConfigHold
         return offsetResetConfig;
     }
 
+    public ListenerCommitStrategy getCommitStrategy() {
+        return commitStrategy.get();
+    }
+
+    public void setCommitStrategy(ListenerCommitStrategy commitStrategy) {
+        this.commitStrategy.set(commitStrategy);
+    }
+
+    public ObjectProperty<ListenerCommitStrategy> commitStrategyProperty() {
+        return commitStrategy;
+    }
+
+    public String getCommitIntervalMs() {
+        return commitIntervalMs.get();
+    }
+
+    public void setCommitIntervalMs(String commitIntervalMs) {
+        this.commitIntervalMs.set(commitIntervalMs);
+    }
+
+    public StringProperty commitIntervalMsProperty() {
+        return commitIntervalMs;
+    }
+
+    public boolean getBrowseModeEnabled() {
+        return browseModeEnabled.get();
+    }
+
+    public void setBrowseModeEnabled(boolean value) {
+        browseModeEnabled.set(value);
+    }
+
+    public BooleanProperty browseModeEnabledProperty() {
+        return browseModeEnabled;
+    }
+
+    public BrowseStartPosition getBrowseStartPosition() {
+        return browseStartPosition.get();
+    }
+
+    public void setBrowseStartPosition(BrowseStartPosition browseStartPosition) {
+        this.browseStartPosition.set(browseStartPosition);
+    }
+
+    public ObjectProperty<BrowseStartPosition> browseStartPositionProperty() {
+        return browseStartPosition;
+    }
+
+    public String getBrowseLatestCount() {
+        return browseLatestCount.get();
+    }
+
+    public void setBrowseLatestCount(String browseLatestCount) {
+        this.browseLatestCount.set(browseLatestCount);
+    }
+
+    public StringProperty browseLatestCountProperty() {
+        return browseLatestCount;
+    }
+
+    public String getBrowseStartTimestamp() {
+        return browseStartTimestamp.get();
+    }
+
+    public void setBrowseStartTimestamp(String browseStartTimestamp) {
+        this.browseStartTimestamp.set(browseStartTimestamp);
+    }
+
+    public StringProperty browseStartTimestampProperty() {
+        return browseStartTimestamp;
+    }
+
     public String getConsumerGroup() {
         return consumerGroup.get();
     }
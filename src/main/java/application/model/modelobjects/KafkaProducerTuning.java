@@ -0,0 +1,126 @@
+package application.model.modelobjects;
+
+import application.model.ProducerAcks;
+import application.model.ProducerCompressionType;
+import application.model.ProducerTuningPreset;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleObjectProperty;
+
+/**
+ * Kafka producer properties (batching, linger, compression, acks) used when sending messages of a sender config.
+ */
+public class KafkaProducerTuning {
+
+    private final IntegerProperty lingerMs = new SimpleIntegerProperty();
+    private final IntegerProperty batchSize = new SimpleIntegerProperty();
+    private final ObjectProperty<ProducerCompressionType> compressionType = new SimpleObjectProperty<>();
+    private final ObjectProperty<ProducerAcks> acks = new SimpleObjectProperty<>();
+    private final IntegerProperty bufferMemory = new SimpleIntegerProperty();
+    private final IntegerProperty maxInFlightRequestsPerConnection = new SimpleIntegerProperty();
+    private final BooleanProperty idempotenceEnabled = new SimpleBooleanProperty();
+
+    public KafkaProducerTuning() {
+        ProducerTuningPreset.DEFAULT.applyTo(this);
+    }
+
+    public IntegerProperty lingerMsProperty() {
+        return lingerMs;
+    }
+
+    public Integer getLingerMs() {
+        return lingerMs.get();
+    }
+
+    public void setLingerMs(Integer lingerMs) {
+        this.lingerMs.set(lingerMs);
+    }
+
+    public IntegerProperty batchSizeProperty() {
+        return batchSize;
+    }
+
+    public Integer getBatchSize() {
+        return batchSize.get();
+    }
+
+    public void setBatchSize(Integer batchSize) {
+        this.batchSize.set(batchSize);
+    }
+
+    public ObjectProperty<ProducerCompressionType> compressionTypeProperty() {
+        return compressionType;
+    }
+
+    public ProducerCompressionType getCompressionType() {
+        return compressionType.get();
+    }
+
+    public void setCompressionType(ProducerCompressionType compressionType) {
+        this.compressionType.set(compressionType);
+    }
+
+    public ObjectProperty<ProducerAcks> acksProperty() {
+        return acks;
+    }
+
+    public ProducerAcks getAcks() {
+        return acks.get();
+    }
+
+    public void setAcks(ProducerAcks acks) {
+        this.acks.set(acks);
+    }
+
+    public IntegerProperty bufferMemoryProperty() {
+        return bufferMemory;
+    }
+
+    public Integer getBufferMemory() {
+        return bufferMemory.get();
+    }
+
+    public void setBufferMemory(Integer bufferMemory) {
+        this.bufferMemory.set(bufferMemory);
+    }
+
+    public IntegerProperty maxInFlightRequestsPerConnectionProperty() {
+        return maxInFlightRequestsPerConnection;
+    }
+
+    public Integer getMaxInFlightRequestsPerConnection() {
+        return maxInFlightRequestsPerConnection.get();
+    }
+
+    public void setMaxInFlightRequestsPerConnection(Integer maxInFlightRequestsPerConnection) {
+        this.maxInFlightRequestsPerConnection.set(maxInFlightRequestsPerConnection);
+    }
+
+    public BooleanProperty idempotenceEnabledProperty() {
+        return idempotenceEnabled;
+    }
+
+    public boolean isIdempotenceEnabled() {
+        return idempotenceEnabled.get();
+    }
+
+    public void setIdempotenceEnabled(boolean idempotenceEnabled) {
+        this.idempotenceEnabled.set(idempotenceEnabled);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("linger.ms=%d, batch.size=%d, compression.type=%s, acks=%s, buffer.memory=%d, "
+                                 + "max.in.flight.requests.per.connection=%d, enable.idempotence=%s",
+                             getLingerMs(),
+                             getBatchSize(),
+                             getCompressionType(),
+                             getAcks(),
+                             getBufferMemory(),
+                             getMaxInFlightRequestsPerConnection(),
+                             isIdempotenceEnabled());
+    }
+}
@@ -5,6 +5,11 @@ import java.util.UUID;
 import application.constants.ApplicationConstants;
 import application.model.ModelConfigObject;
 import application.model.RelatedConfigHolder;
+import application.model.KeyDistribution;
+import application.model.ReplayFileFormat;
+import application.model.ReplaySpeed;
+import application.model.SendLoggingMode;
+import application.model.SendRateUnit;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
@@ -25,7 +30,30 @@ public class KafkaSenderConfig implements ModelConfigObject, RelatedConfigHolder
     private final StringProperty runBeforeAllMessagesScript = new SimpleStringProperty("");
     private final StringProperty runBeforeEachMessageScript = new SimpleStringProperty("");
     private final IntegerProperty repeatCount = new SimpleIntegerProperty(1);
+    private final IntegerProperty maxInFlightMessages =
+            new SimpleIntegerProperty(ApplicationConstants.DEFAULT_MAX_IN_FLIGHT_MESSAGES);
+    private final IntegerProperty generatorThreadCount = new SimpleIntegerProperty(1);
+    private final IntegerProperty producerShardCount = new SimpleIntegerProperty(1);
+    private final IntegerProperty targetRate = new SimpleIntegerProperty(0);
+    private final IntegerProperty runDurationSeconds = new SimpleIntegerProperty(0);
+    private final KafkaProducerTuning producerTuning = new KafkaProducerTuning();
+    private final ObjectProperty<SendRateUnit> targetRateUnit =
+            new SimpleObjectProperty<>(SendRateUnit.MESSAGES_PER_SECOND);
+    private final ObjectProperty<SendLoggingMode> sendLoggingMode =
+            new SimpleObjectProperty<>(SendLoggingMode.PER_MESSAGE);
+    private final IntegerProperty sendLogSampleInterval =
+            new SimpleIntegerProperty(ApplicationConstants.DEFAULT_SEND_LOG_SAMPLE_INTERVAL);
+    private final StringProperty dataFilePath = new SimpleStringProperty("");
+    private final BooleanProperty dataFileLoopEnabled = new SimpleBooleanProperty(false);
+    private final StringProperty replayFilePath = new SimpleStringProperty("");
+    private final ObjectProperty<ReplayFileFormat> replayFileFormat =
+            new SimpleObjectProperty<>(ReplayFileFormat.LINES);
+    private final StringProperty replayKeyDelimiter = new SimpleStringProperty("");
+    private final ObjectProperty<ReplaySpeed> replaySpeed = new SimpleObjectProperty<>(ReplaySpeed.X1);
     private final StringProperty messageKey = new SimpleStringProperty(ApplicationConstants.DEFAULT_MESSAGE_KEY);
+    private final ObjectProperty<KeyDistribution> keyDistribution = new SimpleObjectProperty<>(KeyDistribution.FIXED);
+    private final IntegerProperty keySkewPercent =
+            new SimpleIntegerProperty(ApplicationConstants.DEFAULT_KEY_SKEW_PERCENT);
     private final BooleanProperty sendingSimulationModeEnabledProperty = new SimpleBooleanProperty(false);
 
 
@@ -155,6 +183,229 @@ public class KafkaSenderConfig implements ModelConfigObject, RelatedConfigHolder
         this.repeatCount.set(repeatCount);
     }
 
+    public IntegerProperty maxInFlightMessagesProperty() {
+        return maxInFlightMessages;
+    }
+
+    public Integer getMaxInFlightMessages() {
+        return maxInFlightMessages.get();
+    }
+
+    public void setMaxInFlightMessages(Integer maxInFlightMessages) {
+        this.maxInFlightMessages.set(maxInFlightMessages);
+    }
+
+    public IntegerProperty generatorThreadCountProperty() {
+        return generatorThreadCount;
+    }
+
+    public Integer getGeneratorThreadCount() {
+        return generatorThreadCount.get();
+    }
+
+    public void setGeneratorThreadCount(Integer generatorThreadCount) {
+        this.generatorThreadCount.set(generatorThreadCount);
+    }
+
+    // number of producers sending in parallel, each one on its own thread
+    public IntegerProperty producerShardCountProperty() {
+        return producerShardCount;
+    }
+
+    public Integer getProducerShardCount() {
+        return producerShardCount.get();
+    }
+
+    public void setProducerShardCount(Integer producerShardCount) {
+        this.producerShardCount.set(producerShardCount);
+    }
+
+    public ObjectProperty<SendLoggingMode> sendLoggingModeProperty() {
+        return sendLoggingMode;
+    }
+
+    public SendLoggingMode getSendLoggingMode() {
+        return sendLoggingMode.get();
+    }
+
+    public void setSendLoggingMode(SendLoggingMode sendLoggingMode) {
+        this.sendLoggingMode.set(sendLoggingMode);
+    }
+
+    // used by SendLoggingMode.SAMPLED, every N-th message is logged
+    public IntegerProperty sendLogSampleIntervalProperty() {
+        return sendLogSampleInterval;
+    }
+
+    public Integer getSendLogSampleInterval() {
+        return sendLogSampleInterval.get();
+    }
+
+    public void setSendLogSampleInterval(Integer sendLogSampleInterval) {
+        this.sendLogSampleInterval.set(sendLogSampleInterval);
+    }
+
+    // csv/tsv/jsonl file, its records are bound to 'row' variable of message template one by one, empty means no data file
+    public StringProperty dataFilePathProperty() {
+        return dataFilePath;
+    }
+
+    public String getDataFilePath() {
+        return dataFilePath.get();
+    }
+
+    public void setDataFilePath(String dataFilePath) {
+        this.dataFilePath.set(dataFilePath);
+    }
+
+    public boolean isDataFileEnabled() {
+        return !dataFilePath.get().trim().isEmpty();
+    }
+
+    // when disabled, sending ends with the last record of data file
+    public BooleanProperty dataFileLoopEnabledProperty() {
+        return dataFileLoopEnabled;
+    }
+
+    public boolean isDataFileLoopEnabled() {
+        return dataFileLoopEnabled.get();
+    }
+
+    public void setDataFileLoopEnabled(boolean dataFileLoopEnabled) {
+        this.dataFileLoopEnabled.set(dataFileLoopEnabled);
+    }
+
+    // file of ready messages sent instead of message template, empty means no replay file
+    public StringProperty replayFilePathProperty() {
+        return replayFilePath;
+    }
+
+    public String getReplayFilePath() {
+        return replayFilePath.get();
+    }
+
+    public void setReplayFilePath(String replayFilePath) {
+        this.replayFilePath.set(replayFilePath);
+    }
+
+    public boolean isReplayFileEnabled() {
+        return !replayFilePath.get().trim().isEmpty();
+    }
+
+    public ObjectProperty<ReplayFileFormat> replayFileFormatProperty() {
+        return replayFileFormat;
+    }
+
+    public ReplayFileFormat getReplayFileFormat() {
+        return replayFileFormat.get();
+    }
+
+    public void setReplayFileFormat(ReplayFileFormat replayFileFormat) {
+        this.replayFileFormat.set(replayFileFormat);
+    }
+
+    // splits replayed message into key and value at its first occurrence, empty means 'no key in replay file'
+    public StringProperty replayKeyDelimiterProperty() {
+        return replayKeyDelimiter;
+    }
+
+    public String getReplayKeyDelimiter() {
+        return replayKeyDelimiter.get();
+    }
+
+    public void setReplayKeyDelimiter(String replayKeyDelimiter) {
+        this.replayKeyDelimiter.set(replayKeyDelimiter);
+    }
+
+    // used only by replay file formats with timestamps
+    public ObjectProperty<ReplaySpeed> replaySpeedProperty() {
+        return replaySpeed;
+    }
+
+    public ReplaySpeed getReplaySpeed() {
+        return replaySpeed.get();
+    }
+
+    public void setReplaySpeed(ReplaySpeed replaySpeed) {
+        this.replaySpeed.set(replaySpeed);
+    }
+
+    // used only when message key is enabled, message key is then prefix of computed keys
+    public ObjectProperty<KeyDistribution> keyDistributionProperty() {
+        return keyDistribution;
+    }
+
+    public KeyDistribution getKeyDistribution() {
+        return keyDistribution.get();
+    }
+
+    public void setKeyDistribution(KeyDistribution keyDistribution) {
+        this.keyDistribution.set(keyDistribution);
+    }
+
+    public boolean isKeyDistributionOverPartitions() {
+        return isMessageKeyEnabled() && getKeyDistribution().isOverPartitions();
+    }
+
+    // zipf exponent in percent (100 means s = 1.0), used only by zipf key distribution
+    public IntegerProperty keySkewPercentProperty() {
+        return keySkewPercent;
+    }
+
+    public Integer getKeySkewPercent() {
+        return keySkewPercent.get();
+    }
+
+    public void setKeySkewPercent(Integer keySkewPercent) {
+        this.keySkewPercent.set(keySkewPercent);
+    }
+
+    // 0 means 'send as fast as possible'
+    public IntegerProperty targetRateProperty() {
+        return targetRate;
+    }
+
+    public Integer getTargetRate() {
+        return targetRate.get();
+    }
+
+    public void setTargetRate(Integer targetRate) {
+        this.targetRate.set(targetRate);
+    }
+
+    // 0 means 'send repeat count messages', otherwise repeat count is ignored
+    public IntegerProperty runDurationSecondsProperty() {
+        return runDurationSeconds;
+    }
+
+    public Integer getRunDurationSeconds() {
+        return runDurationSeconds.get();
+    }
+
+    public void setRunDurationSeconds(Integer runDurationSeconds) {
+        this.runDurationSeconds.set(runDurationSeconds);
+    }
+
+    public boolean isRunDurationEnabled() {
+        return runDurationSeconds.get() > 0;
+    }
+
+    public KafkaProducerTuning getProducerTuning() {
+        return producerTuning;
+    }
+
+    public ObjectProperty<SendRateUnit> targetRateUnitProperty() {
+        return targetRateUnit;
+    }
+
+    public SendRateUnit getTargetRateUnit() {
+        return targetRateUnit.get();
+    }
+
+    public void setTargetRateUnit(SendRateUnit targetRateUnit) {
+        this.targetRateUnit.set(targetRateUnit);
+    }
+
     public StringProperty runBeforeAllMessagesScriptProperty() {
         return runBeforeAllMessagesScript;
     }
@@ -17,6 +17,12 @@ public class ListenerConfigPojo implements Copyable<ListenerConfigPojo> {
     private String offsetResetConfig;
     private String receivedMsgLimitCount;
     private boolean receivedMsgLimitEnabled;
+    private String commitStrategy;
+    private String commitIntervalMs;
+    private boolean browseModeEnabled;
+    private String browseStartPosition;
+    private String browseLatestCount;
+    private String browseStartTimestamp;
 
     @XmlElement(name = XmlElementNames.CONFIG_NAME)
     public String getConfigName() {
@@ -86,6 +92,12 @@ public class ListenerConfigPojo implements Copyable<ListenerConfigPojo> {
         p.setOffsetResetConfig(getOffsetResetConfig());
         p.setReceivedMsgLimitCount(getReceivedMsgLimitCount());
         p.setReceivedMsgLimitEnabled(getReceivedMsgLimitEnabled());
+        p.setCommitStrategy(getCommitStrategy());
+        p.setCommitIntervalMs(getCommitIntervalMs());
+        p.setBrowseModeEnabled(getBrowseModeEnabled());
+        p.setBrowseStartPosition(getBrowseStartPosition());
+        p.setBrowseLatestCount(getBrowseLatestCount());
+        p.setBrowseStartTimestamp(getBrowseStartTimestamp());
         return p;
     }
 
@@ -107,4 +119,58 @@ public class ListenerConfigPojo implements Copyable<ListenerConfigPojo> {
     public String getReceivedMsgLimitCount() {
         return receivedMsgLimitCount;
     }
+
+    @XmlElement(name = XmlElementNames.COMMIT_STRATEGY)
+    public String getCommitStrategy() {
+        return commitStrategy;
+    }
+
+    public void setCommitStrategy(String commitStrategy) {
+        this.commitStrategy = commitStrategy;
+    }
+
+    @XmlElement(name = XmlElementNames.COMMIT_INTERVAL_MS)
+    public String getCommitIntervalMs() {
+        return commitIntervalMs;
+    }
+
+    public void setCommitIntervalMs(String commitIntervalMs) {
+        this.commitIntervalMs = commitIntervalMs;
+    }
+
+    @XmlElement(name = XmlElementNames.BROWSE_MODE_ENABLED)
+    public boolean getBrowseModeEnabled() {
+        return browseModeEnabled;
+    }
+
+    public void setBrowseModeEnabled(boolean browseModeEnabled) {
+        this.browseModeEnabled = browseModeEnabled;
+    }
+
+    @XmlElement(name = XmlElementNames.BROWSE_START_POSITION)
+    public String getBrowseStartPosition() {
+        return browseStartPosition;
+    }
+
+    public void setBrowseStartPosition(String browseStartPosition) {
+        this.browseStartPosition = browseStartPosition;
+    }
+
+    @XmlElement(name = XmlElementNames.BROWSE_LATEST_COUNT)
+    public String getBrowseLatestCount() {
+        return browseLatestCount;
+    }
+
+    public void setBrowseLatestCount(String browseLatestCount) {
+        this.browseLatestCount = browseLatestCount;
+    }
+
+    @XmlElement(name = XmlElementNames.BROWSE_START_TIMESTAMP)
+    public String getBrowseStartTimestamp() {
+        return browseStartTimestamp;
+    }
+
+    public void setBrowseStartTimestamp(String browseStartTimestamp) {
+        this.browseStartTimestamp = browseStartTimestamp;
+    }
 }
@@ -0,0 +1,94 @@
+package application.model.pojos;
+
+import application.model.XmlElementNames;
+import jakarta.xml.bind.annotation.XmlElement;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+@EqualsAndHashCode
+@ToString
+public class ProducerTuningPojo implements Copyable<ProducerTuningPojo> {
+    private String lingerMs;
+    private String batchSize;
+    private String compressionType;
+    private String acks;
+    private String bufferMemory;
+    private String maxInFlightRequestsPerConnection;
+    private String idempotenceEnabled;
+
+    @XmlElement(name = XmlElementNames.LINGER_MS)
+    public String getLingerMs() {
+        return lingerMs;
+    }
+
+    public void setLingerMs(String lingerMs) {
+        this.lingerMs = lingerMs;
+    }
+
+    @XmlElement(name = XmlElementNames.BATCH_SIZE)
+    public String getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(String batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @XmlElement(name = XmlElementNames.COMPRESSION_TYPE)
+    public String getCompressionType() {
+        return compressionType;
+    }
+
+    public void setCompressionType(String compressionType) {
+        this.compressionType = compressionType;
+    }
+
+    @XmlElement(name = XmlElementNames.ACKS)
+    public String getAcks() {
+        return acks;
+    }
+
+    public void setAcks(String acks) {
+        this.acks = acks;
+    }
+
+    @XmlElement(name = XmlElementNames.BUFFER_MEMORY)
+    public String getBufferMemory() {
+        return bufferMemory;
+    }
+
+    public void setBufferMemory(String bufferMemory) {
+        this.bufferMemory = bufferMemory;
+    }
+
+    @XmlElement(name = XmlElementNames.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION)
+    public String getMaxInFlightRequestsPerConnection() {
+        return maxInFlightRequestsPerConnection;
+    }
+
+    public void setMaxInFlightRequestsPerConnection(String maxInFlightRequestsPerConnection) {
+        this.maxInFlightRequestsPerConnection = maxInFlightRequestsPerConnection;
+    }
+
+    @XmlElement(name = XmlElementNames.IDEMPOTENCE_ENABLED)
+    public String getIdempotenceEnabled() {
+        return idempotenceEnabled;
+    }
+
+    public void setIdempotenceEnabled(String idempotenceEnabled) {
+        this.idempotenceEnabled = idempotenceEnabled;
+    }
+
+    @Override
+    public ProducerTuningPojo copyOfMine() {
+        final ProducerTuningPojo p = new ProducerTuningPojo();
+        p.setLingerMs(getLingerMs());
+        p.setBatchSize(getBatchSize());
+        p.setCompressionType(getCompressionType());
+        p.setAcks(getAcks());
+        p.setBufferMemory(getBufferMemory());
+        p.setMaxInFlightRequestsPerConnection(getMaxInFlightRequestsPerConnection());
+        p.setIdempotenceEnabled(getIdempotenceEnabled());
+        return p;
+    }
+}
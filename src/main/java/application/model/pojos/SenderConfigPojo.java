@@ -23,6 +23,23 @@ public class SenderConfigPojo implements Copyable<SenderConfigPojo> {
     private boolean messageKeyEnabled;
     private String topicConfigUuid;
     private String repeatCount;
+    private String maxInFlightMessages;
+    private String generatorThreadCount;
+    private String producerShardCount;
+    private String sendLoggingMode;
+    private String sendLogSampleInterval;
+    private String dataFilePath;
+    private boolean dataFileLoopEnabled;
+    private String replayFilePath;
+    private String replayFileFormat;
+    private String replayKeyDelimiter;
+    private String replaySpeed;
+    private String keyDistribution;
+    private String keySkewPercent;
+    private String targetRate;
+    private String targetRateUnit;
+    private String runDurationSeconds;
+    private ProducerTuningPojo producerTuning;
     private String runBeforeAllMessagesScript;
     private String runBeforeEachMessageScript;
     private boolean sendingSimulationModeEnabled;
@@ -90,6 +107,159 @@ public class SenderConfigPojo implements Copyable<SenderConfigPojo> {
         this.repeatCount = repeatCount;
     }
 
+    @XmlElement(name = XmlElementNames.MAX_IN_FLIGHT_MESSAGES)
+    public String getMaxInFlightMessages() {
+        return this.maxInFlightMessages;
+    }
+
+    public void setMaxInFlightMessages(String maxInFlightMessages) {
+        this.maxInFlightMessages = maxInFlightMessages;
+    }
+
+    @XmlElement(name = XmlElementNames.GENERATOR_THREAD_COUNT)
+    public String getGeneratorThreadCount() {
+        return this.generatorThreadCount;
+    }
+
+    public void setGeneratorThreadCount(String generatorThreadCount) {
+        this.generatorThreadCount = generatorThreadCount;
+    }
+
+    @XmlElement(name = XmlElementNames.PRODUCER_SHARD_COUNT)
+    public String getProducerShardCount() {
+        return this.producerShardCount;
+    }
+
+    public void setProducerShardCount(String producerShardCount) {
+        this.producerShardCount = producerShardCount;
+    }
+
+    @XmlElement(name = XmlElementNames.SEND_LOGGING_MODE)
+    public String getSendLoggingMode() {
+        return this.sendLoggingMode;
+    }
+
+    public void setSendLoggingMode(String sendLoggingMode) {
+        this.sendLoggingMode = sendLoggingMode;
+    }
+
+    @XmlElement(name = XmlElementNames.SEND_LOG_SAMPLE_INTERVAL)
+    public String getSendLogSampleInterval() {
+        return this.sendLogSampleInterval;
+    }
+
+    public void setSendLogSampleInterval(String sendLogSampleInterval) {
+        this.sendLogSampleInterval = sendLogSampleInterval;
+    }
+
+    @XmlElement(name = XmlElementNames.DATA_FILE_PATH)
+    public String getDataFilePath() {
+        return this.dataFilePath;
+    }
+
+    public void setDataFilePath(String dataFilePath) {
+        this.dataFilePath = dataFilePath;
+    }
+
+    @XmlElement(name = XmlElementNames.DATA_FILE_LOOP_ENABLED)
+    public boolean isDataFileLoopEnabled() {
+        return this.dataFileLoopEnabled;
+    }
+
+    public void setDataFileLoopEnabled(boolean dataFileLoopEnabled) {
+        this.dataFileLoopEnabled = dataFileLoopEnabled;
+    }
+
+    @XmlElement(name = XmlElementNames.REPLAY_FILE_PATH)
+    public String getReplayFilePath() {
+        return this.replayFilePath;
+    }
+
+    public void setReplayFilePath(String replayFilePath) {
+        this.replayFilePath = replayFilePath;
+    }
+
+    @XmlElement(name = XmlElementNames.REPLAY_FILE_FORMAT)
+    public String getReplayFileFormat() {
+        return this.replayFileFormat;
+    }
+
+    public void setReplayFileFormat(String replayFileFormat) {
+        this.replayFileFormat = replayFileFormat;
+    }
+
+    @XmlElement(name = XmlElementNames.REPLAY_KEY_DELIMITER)
+    public String getReplayKeyDelimiter() {
+        return this.replayKeyDelimiter;
+    }
+
+    public void setReplayKeyDelimiter(String replayKeyDelimiter) {
+        this.replayKeyDelimiter = replayKeyDelimiter;
+    }
+
+    @XmlElement(name = XmlElementNames.REPLAY_SPEED)
+    public String getReplaySpeed() {
+        return this.replaySpeed;
+    }
+
+    public void setReplaySpeed(String replaySpeed) {
+        this.replaySpeed = replaySpeed;
+    }
+
+    @XmlElement(name = XmlElementNames.KEY_DISTRIBUTION)
+    public String getKeyDistribution() {
+        return this.keyDistribution;
+    }
+
+    public void setKeyDistribution(String keyDistribution) {
+        this.keyDistribution = keyDistribution;
+    }
+
+    @XmlElement(name = XmlElementNames.KEY_SKEW_PERCENT)
+    public String getKeySkewPercent() {
+        return this.keySkewPercent;
+    }
+
+    public void setKeySkewPercent(String keySkewPercent) {
+        this.keySkewPercent = keySkewPercent;
+    }
+
+    @XmlElement(name = XmlElementNames.TARGET_RATE)
+    public String getTargetRate() {
+        return this.targetRate;
+    }
+
+    public void setTargetRate(String targetRate) {
+        this.targetRate = targetRate;
+    }
+
+    @XmlElement(name = XmlElementNames.TARGET_RATE_UNIT)
+    public String getTargetRateUnit() {
+        return this.targetRateUnit;
+    }
+
+    public void setTargetRateUnit(String targetRateUnit) {
+        this.targetRateUnit = targetRateUnit;
+    }
+
+    @XmlElement(name = XmlElementNames.RUN_DURATION_SECONDS)
+    public String getRunDurationSeconds() {
+        return this.runDurationSeconds;
+    }
+
+    public void setRunDurationSeconds(String runDurationSeconds) {
+        this.runDurationSeconds = runDurationSeconds;
+    }
+
+    @XmlElement(name = XmlElementNames.PRODUCER_TUNING)
+    public ProducerTuningPojo getProducerTuning() {
+        return this.producerTuning;
+    }
+
+    public void setProducerTuning(ProducerTuningPojo producerTuning) {
+        this.producerTuning = producerTuning;
+    }
+
     @XmlElement(name = XmlElementNames.RUN_BEFORE_ALL_MSGS_SCRIPT)
     public String getRunBeforeAllMessagesScript() {
         return runBeforeAllMessagesScript;
@@ -121,6 +291,23 @@ public class SenderConfigPojo implements Copyable<SenderConfigPojo> {
         p.setRunBeforeAllMessagesScript(getRunBeforeAllMessagesScript());
         p.setRunBeforeEachMessageScript(getRunBeforeEachMessageScript());
         p.setRepeatCount(getRepeatCount());
+        p.setMaxInFlightMessages(getMaxInFlightMessages());
+        p.setGeneratorThreadCount(getGeneratorThreadCount());
+        p.setProducerShardCount(getProducerShardCount());
+        p.setSendLoggingMode(getSendLoggingMode());
+        p.setSendLogSampleInterval(getSendLogSampleInterval());
+        p.setDataFilePath(getDataFilePath());
+        p.setDataFileLoopEnabled(isDataFileLoopEnabled());
+        p.setReplayFilePath(getReplayFilePath());
+        p.setReplayFileFormat(getReplayFileFormat());
+        p.setReplayKeyDelimiter(getReplayKeyDelimiter());
+        p.setReplaySpeed(getReplaySpeed());
+        p.setKeyDistribution(getKeyDistribution());
+        p.setKeySkewPercent(getKeySkewPercent());
+        p.setTargetRate(getTargetRate());
+        p.setTargetRateUnit(getTargetRateUnit());
+        p.setRunDurationSeconds(getRunDurationSeconds());
+        p.setProducerTuning(getProducerTuning() == null ? null : getProducerTuning().copyOfMine());
         p.setSendingSimulationModeEnabled(getSendingSimulationModeEnabled());
 
         return p;
@@ -1,10 +1,13 @@
 package application.persistence;
 
+import application.constants.ApplicationConstants;
 import application.logging.LogLevel;
 import application.model.XmlElementNames;
 import jakarta.xml.bind.annotation.XmlElement;
 import jakarta.xml.bind.annotation.XmlRootElement;
+import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
@@ -19,6 +22,12 @@ public class GlobalSettings {
 
     private ObjectProperty<LogLevel> logLevel = new SimpleObjectProperty<>(LogLevel.DEBUG);
     private StringProperty runBeforeFirstMessageSharedScriptContent = new SimpleStringProperty("");
+    private IntegerProperty producerIdleTimeoutSeconds =
+        new SimpleIntegerProperty(ApplicationConstants.DEFAULT_PRODUCER_IDLE_TIMEOUT_SECONDS);
+    private IntegerProperty listenerOutputMaxRecords =
+        new SimpleIntegerProperty(ApplicationConstants.DEFAULT_LISTENER_OUTPUT_MAX_RECORDS);
+    private IntegerProperty listenerOutputMaxMegabytes =
+        new SimpleIntegerProperty(ApplicationConstants.DEFAULT_LISTENER_OUTPUT_MAX_MEGABYTES);
 
     @XmlElement(name = XmlElementNames.GLOBAL_LOG_LEVEL)
     public LogLevel getLogLevel() {
@@ -40,6 +49,52 @@ public class GlobalSettings {
         }
         setLogLevel(other.getLogLevel());
         setRunBeforeFirstMessageSharedScriptContent(other.getRunBeforeFirstMessageSharedScriptContent());
+        setProducerIdleTimeoutSeconds(other.getProducerIdleTimeoutSeconds());
+        setListenerOutputMaxRecords(other.getListenerOutputMaxRecords());
+        setListenerOutputMaxMegabytes(other.getListenerOutputMaxMegabytes());
+    }
+
+    // kafka producers idle for at least this time are closed by pool evictor, which runs every 5 seconds,
+    // so producers can stay open up to 5 seconds longer (also with 0)
+    @XmlElement(name = XmlElementNames.PRODUCER_IDLE_TIMEOUT_SECONDS)
+    public int getProducerIdleTimeoutSeconds() {
+        return producerIdleTimeoutSeconds.get();
+    }
+
+    public IntegerProperty producerIdleTimeoutSecondsProperty() {
+        return producerIdleTimeoutSeconds;
+    }
+
+    public void setProducerIdleTimeoutSeconds(int producerIdleTimeoutSeconds) {
+        this.producerIdleTimeoutSeconds.set(producerIdleTimeoutSeconds);
+    }
+
+    // listener view keeps at most this many received records, the oldest ones are dropped first
+    @XmlElement(name = XmlElementNames.LISTENER_OUTPUT_MAX_RECORDS)
+    public int getListenerOutputMaxRecords() {
+        return listenerOutputMaxRecords.get();
+    }
+
+    public IntegerProperty listenerOutputMaxRecordsProperty() {
+        return listenerOutputMaxRecords;
+    }
+
+    public void setListenerOutputMaxRecords(int listenerOutputMaxRecords) {
+        this.listenerOutputMaxRecords.set(listenerOutputMaxRecords);
+    }
+
+    // limit of estimated memory taken by received records kept by each listener view
+    @XmlElement(name = XmlElementNames.LISTENER_OUTPUT_MAX_MEGABYTES)
+    public int getListenerOutputMaxMegabytes() {
+        return listenerOutputMaxMegabytes.get();
+    }
+
+    public IntegerProperty listenerOutputMaxMegabytesProperty() {
+        return listenerOutputMaxMegabytes;
+    }
+
+    public void setListenerOutputMaxMegabytes(int listenerOutputMaxMegabytes) {
+        this.listenerOutputMaxMegabytes.set(listenerOutputMaxMegabytes);
     }
 
     @XmlElement(name = XmlElementNames.BEFORE_FIST_MESSAGE_SHARED_SCRIPT_CONTENT)
@@ -18,9 +18,8 @@ import jakarta.xml.bind.Unmarshaller;
 
 public class XmlFileConfig implements LoadableSavable {
 
-    private final Path configFileDir = Paths.get(ApplicationConstants.CONFIG_FILE_DIR);
-    private final Path configFilePath =
-            Paths.get(ApplicationConstants.CONFIG_FILE_DIR, ApplicationConstants.CONFIG_FILE_NAME);
+    private final Path configFileDir;
+    private final Path configFilePath;
     private final ModelDataProxy modelDataProxy;
     private final FromPojoConverter converter;
     private final GuiSettings guiSettings;
@@ -33,10 +32,28 @@ public class XmlFileConfig implements LoadableSavable {
         return globalSettings;
     }
 
+    public Path getConfigFilePath() {
+        return configFilePath;
+    }
+
     public XmlFileConfig(ModelDataProxy modelDataProxy,
                          FromPojoConverter converter,
                          GuiSettings guiSettings,
                          GlobalSettings globalSettings) {
+        this(modelDataProxy,
+             converter,
+             guiSettings,
+             globalSettings,
+             Paths.get(ApplicationConstants.CONFIG_FILE_DIR, ApplicationConstants.CONFIG_FILE_NAME));
+    }
+
+    public XmlFileConfig(ModelDataProxy modelDataProxy,
+                         FromPojoConverter converter,
+                         GuiSettings guiSettings,
+                         GlobalSettings globalSettings,
+                         Path configFilePath) {
+        this.configFilePath = configFilePath.toAbsolutePath();
+        this.configFileDir = this.configFilePath.getParent();
         this.modelDataProxy = modelDataProxy;
         this.converter = converter;
         this.guiSettings = guiSettings;
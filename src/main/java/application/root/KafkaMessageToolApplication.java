@@ -1,5 +1,6 @@
 package application.root;
 
+import java.time.Duration;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import javax.swing.JTextArea;
@@ -30,6 +31,8 @@ import application.persistence.DefaultApplicationSettings;
 import application.persistence.GlobalSettings;
 import application.persistence.GuiSettings;
 import application.persistence.XmlFileConfig;
+import application.scripting.CompiledScriptCache;
+import application.scripting.ScriptEvaluationExecutor;
 import application.scripting.codearea.SyntaxHighlightingCodeAreaConfigurator;
 import application.utils.ApplicationVersionProvider;
 import application.utils.GuiUtils;
@@ -50,6 +53,7 @@ public class KafkaMessageToolApplication implements ApplicationRoot {
     private ApplicationSettings applicationSettings;
     private Scene scene;
     private ExecutorService executorService;
+    private ScriptEvaluationExecutor scriptEvaluationExecutor;
     private Main mainApplication;
 
     public KafkaMessageToolApplication(Main mainApplication) {
@@ -76,6 +80,7 @@ public class KafkaMessageToolApplication implements ApplicationRoot {
         KafkaProducers.close();
         Timers.stop();
         executorService.shutdown();
+        scriptEvaluationExecutor.shutdown();
     }
 
     @Override
@@ -139,15 +144,23 @@ public class KafkaMessageToolApplication implements ApplicationRoot {
         applicationSettings = new DefaultApplicationSettings(xmlFileConfig);
         applicationSettings.load();
         Logger.setLogLevel(applicationSettings.appSettings().getLogLevel());
+        final GlobalSettings appSettings = applicationSettings.appSettings();
+        KafkaProducers.setIdleTimeout(Duration.ofSeconds(appSettings.getProducerIdleTimeoutSeconds()));
+        // settings changed while application runs (e.g. reloaded) apply to already pooled producers too
+        appSettings.producerIdleTimeoutSecondsProperty().addListener(
+            (observable, oldValue, newValue) -> KafkaProducers.setIdleTimeout(Duration.ofSeconds(newValue.intValue())));
 
         executorService = Executors.newSingleThreadExecutor();
+        scriptEvaluationExecutor = new ScriptEvaluationExecutor();
         final KafkaClusterProxies kafkaClusterProxies = new KafkaClusterProxies();
         final ControllerRepositoryFactory controllerRepositoryFactory =
             new DefaultControllerRepositoryFactory(new ClusterStatusChecker(busySwitcher, interactor, kafkaClusterProxies),
                                                    new SyntaxHighlightingCodeAreaConfigurator(executorService),
                                                    kafkaClusterProxies,
                                                    applicationSettings,
-                                                   restartables);
+                                                   restartables,
+                                                   new CompiledScriptCache(),
+                                                   scriptEvaluationExecutor);
 
         final DefaultActionHandlerFactory actionHandlerFactory = new DefaultActionHandlerFactory(interactor,
                                                                                                  modelDataProxy,
@@ -0,0 +1,23 @@
+package application.scripting;
+
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptException;
+
+public final class CompiledGroovyScript {
+    private final String text;
+    private final CompiledScript compiledScript;
+
+    CompiledGroovyScript(String text, CompiledScript compiledScript) {
+        this.text = text;
+        this.compiledScript = compiledScript;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    Object eval(ScriptContext ctx) throws ScriptException {
+        return compiledScript.eval(ctx);
+    }
+}
@@ -0,0 +1,62 @@
+package application.scripting;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.codehaus.groovy.control.CompilerConfiguration;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import application.exceptions.KafkaToolError;
+import groovy.lang.GroovyClassLoader;
+
+/**
+ * Groovy script classes compiled from script text (message templates and before-all/before-each scripts).
+ * One instance is shared by all sender configs, so the same text is parsed and compiled only once.
+ * Every script is compiled by its own class loader (a groovy class loader keeps all classes it defined),
+ * so a class evicted from the cache can be unloaded together with its loader and the cache stays bounded.
+ */
+public class CompiledScriptCache {
+    private static final int MAX_CACHED_SCRIPT_CLASSES = 512;
+    private final ClassLoader parentClassLoader = getParentClassLoader();
+    private final CompilerConfiguration compilerConfiguration = new CompilerConfiguration(CompilerConfiguration.DEFAULT);
+    private final Cache<String, Class<?>> scriptClasses;
+    private final AtomicInteger scriptNameCounter = new AtomicInteger();
+
+    public CompiledScriptCache() {
+        this(MAX_CACHED_SCRIPT_CLASSES);
+    }
+
+    public CompiledScriptCache(int maxCachedScriptClasses) {
+        scriptClasses = CacheBuilder.newBuilder()
+            .maximumSize(maxCachedScriptClasses)
+            .build();
+    }
+
+    public Class<?> getScriptClass(String script) throws KafkaToolError {
+        try {
+            return scriptClasses.get(script, () -> compile(script));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw new KafkaToolError(String.format("Could not compile groovy script '%s'", script), e.getCause());
+        }
+    }
+
+    private Class<?> compile(String script) {
+        final GroovyClassLoader classLoader = new GroovyClassLoader(parentClassLoader, compilerConfiguration);
+        return classLoader.parseClass(script, generateScriptName());
+    }
+
+    private String generateScriptName() {
+        return "KmtScript" + scriptNameCounter.incrementAndGet() + ".groovy";
+    }
+
+    private static ClassLoader getParentClassLoader() {
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        if (contextClassLoader != null) {
+            return contextClassLoader;
+        }
+        return CompiledScriptCache.class.getClassLoader();
+    }
+}
@@ -0,0 +1,322 @@
+package application.scripting;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+import application.exceptions.KafkaToolError;
+import application.utils.MappedFileReader;
+import groovy.json.JsonSlurper;
+
+/**
+ * CSV/TSV (with header line) or JSONL data file, whose records are bound one by one to {@value #ROW_VARIABLE_NAME}
+ * variable of message template, e.g. ${row.name}. File is memory mapped and streamed, never loaded as a whole.
+ * One instance is shared by all message generators of a sending run, each generator parses records on its own thread
+ * using its own {@link RecordSource}. Records are read in file order, sources from {@link #newRecordSource()} take them
+ * first come first served. Generators interleaving message indexes use {@link #newInterleavedRecordSources(int)},
+ * so that records follow message indexes regardless of thread timing.
+ */
+public final class DataFile implements AutoCloseable {
+    public static final String ROW_VARIABLE_NAME = "row";
+    private static final char QUOTE = '"';
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+    private static final int MAX_RECORD_TEXT_IN_ERROR = 200;
+
+    public interface RecordSource {
+        // returns null when there are no more records
+        Map<String, Object> next() throws KafkaToolError;
+    }
+
+    private enum Format {
+        CSV(','),
+        TSV('\t'),
+        JSONL('\0');
+
+        private final char delimiter;
+
+        Format(char delimiter) {
+            this.delimiter = delimiter;
+        }
+
+        static Format of(Path path) throws KafkaToolError {
+            final String fileName = path.getFileName().toString().toLowerCase(Locale.ENGLISH);
+            if (fileName.endsWith(".csv")) {
+                return CSV;
+            }
+            if (fileName.endsWith(".tsv")) {
+                return TSV;
+            }
+            if (fileName.endsWith(".jsonl") || fileName.endsWith(".ndjson")) {
+                return JSONL;
+            }
+            throw new KafkaToolError(String.format("Unsupported data file '%s', .csv, .tsv, .jsonl or .ndjson file expected",
+                                                   path));
+        }
+    }
+
+    private final Path path;
+    private final Format format;
+    private final MappedFileReader reader;
+    private final List<String> columnNames;
+    private long recordCount;
+
+    private DataFile(Path path, Format format, MappedFileReader reader, List<String> columnNames) {
+        this.path = path;
+        this.format = format;
+        this.reader = reader;
+        this.columnNames = columnNames;
+    }
+
+    public static DataFile open(String filePath, boolean loop) throws KafkaToolError {
+        final Path path = Paths.get(filePath.trim());
+        final Format format = Format.of(path);
+        if (!Files.isRegularFile(path)) {
+            throw new KafkaToolError(String.format("Data file '%s' does not exist", path));
+        }
+        MappedFileReader reader = null;
+        try {
+            reader = new MappedFileReader(path, loop);
+            List<String> columnNames = Collections.emptyList();
+            if (format != Format.JSONL) {
+                final byte[] header = reader.nextLine();
+                if (header == null) {
+                    throw new KafkaToolError(String.format("Data file '%s' has no header line", path));
+                }
+                columnNames = splitFields(StringUtils.removeStart(new String(header, StandardCharsets.UTF_8),
+                                                                  BYTE_ORDER_MARK),
+                                          format.delimiter);
+                columnNames.replaceAll(String::trim);
+                reader.markLoopStart();
+            }
+            return new DataFile(path, format, reader, columnNames);
+        } catch (IOException e) {
+            closeQuietly(reader);
+            throw new KafkaToolError(String.format("Could not read data file '%s'", path), e);
+        } catch (KafkaToolError e) {
+            closeQuietly(reader);
+            throw e;
+        }
+    }
+
+    // every message generator needs its own source, parsing is not thread safe
+    public RecordSource newRecordSource() {
+        final RecordParser parser = newRecordParser();
+        return () -> parse(parser, nextRecord());
+    }
+
+    // sources take records in turns: n-th record taken by the group goes to source (n % count),
+    // once a source gets no more records, all following turns get none as well
+    public List<RecordSource> newInterleavedRecordSources(int count) {
+        final RecordTurns turns = new RecordTurns(count);
+        final List<RecordSource> sources = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final int source = i;
+            final RecordParser parser = newRecordParser();
+            sources.add(() -> parse(parser, turns.take(source)));
+        }
+        return sources;
+    }
+
+    public synchronized long getRecordCount() {
+        return recordCount;
+    }
+
+    public String describe() {
+        return String.format("'%s' (%s, %d bytes%s)", path, format, reader.getFileSize(),
+                             columnNames.isEmpty() ? "" : ", columns: " + columnNames);
+    }
+
+    @Override
+    public void close() {
+        closeQuietly(reader);
+    }
+
+    // blank lines are skipped, quoted csv fields can span several lines
+    private synchronized byte[] nextRecord() throws KafkaToolError {
+        try {
+            byte[] record;
+            do {
+                record = reader.nextLine();
+            } while (record != null && isBlank(record));
+            if (record == null) {
+                return null;
+            }
+            while (format != Format.JSONL && hasUnclosedQuote(record)) {
+                final byte[] continuation = reader.nextLine();
+                if (continuation == null) {
+                    throw new KafkaToolError(String.format("Quoted field of the last record of data file '%s' is not closed",
+                                                           path));
+                }
+                record = joinLines(record, continuation);
+            }
+            recordCount++;
+            return record;
+        } catch (IOException e) {
+            throw new KafkaToolError(String.format("Could not read data file '%s'", path), e);
+        }
+    }
+
+    private RecordParser newRecordParser() {
+        if (format == Format.JSONL) {
+            final JsonSlurper jsonSlurper = new JsonSlurper();
+            return record -> parseJson(jsonSlurper, record);
+        }
+        return this::parseDelimited;
+    }
+
+    private static Map<String, Object> parse(RecordParser parser, byte[] record) throws KafkaToolError {
+        return record == null ? null : parser.parse(record);
+    }
+
+    private Map<String, Object> parseDelimited(byte[] record) {
+        final List<String> values = splitFields(new String(record, StandardCharsets.UTF_8), format.delimiter);
+        final Map<String, Object> row = new LinkedHashMap<>(columnNames.size() * 2);
+        for (int i = 0; i < columnNames.size(); i++) {
+            row.put(columnNames.get(i), i < values.size() ? values.get(i) : "");
+        }
+        return row;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> parseJson(JsonSlurper jsonSlurper, byte[] record) throws KafkaToolError {
+        final Object parsed;
+        try {
+            parsed = jsonSlurper.parse(record, StandardCharsets.UTF_8.name());
+        } catch (RuntimeException e) {
+            throw new KafkaToolError(String.format("Invalid JSON record %s in data file '%s'", abbreviated(record), path),
+                                     e);
+        }
+        if (!(parsed instanceof Map)) {
+            throw new KafkaToolError(String.format("JSON record %s in data file '%s' is not an object",
+                                                   abbreviated(record), path));
+        }
+        return (Map<String, Object>) parsed;
+    }
+
+    // RFC 4180 quoting, "" inside quoted field is a quote character
+    static List<String> splitFields(String line, char delimiter) {
+        final List<String> fields = new ArrayList<>();
+        if (line.indexOf(QUOTE) < 0) {
+            int start = 0;
+            int end;
+            while ((end = line.indexOf(delimiter, start)) >= 0) {
+                fields.add(line.substring(start, end));
+                start = end + 1;
+            }
+            fields.add(line.substring(start));
+            return fields;
+        }
+        final StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            final char c = line.charAt(i);
+            if (c == QUOTE) {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == QUOTE) {
+                    field.append(QUOTE);
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == delimiter && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // quote byte never appears inside multibyte UTF-8 characters, so bytes can be checked directly
+    private static boolean hasUnclosedQuote(byte[] record) {
+        boolean quoted = false;
+        for (byte b : record) {
+            if (b == QUOTE) {
+                quoted = !quoted;
+            }
+        }
+        return quoted;
+    }
+
+    private static boolean isBlank(byte[] line) {
+        for (byte b : line) {
+            if (b != ' ' && b != '\t' && b != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] joinLines(byte[] first, byte[] second) {
+        final byte[] joined = new byte[first.length + 1 + second.length];
+        System.arraycopy(first, 0, joined, 0, first.length);
+        joined[first.length] = '\n';
+        System.arraycopy(second, 0, joined, first.length + 1, second.length);
+        return joined;
+    }
+
+    private static String abbreviated(byte[] record) {
+        return "'" + StringUtils.abbreviate(new String(record, StandardCharsets.UTF_8), MAX_RECORD_TEXT_IN_ERROR) + "'";
+    }
+
+    private interface RecordParser {
+        Map<String, Object> parse(byte[] record) throws KafkaToolError;
+    }
+
+    private final class RecordTurns {
+        private final int sourceCount;
+        private long turn;
+        private boolean ended;
+
+        RecordTurns(int sourceCount) {
+            this.sourceCount = sourceCount;
+        }
+
+        synchronized byte[] take(int source) throws KafkaToolError {
+            try {
+                while (!ended && turn % sourceCount != source) {
+                    wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new KafkaToolError(String.format("Interrupted while waiting for record of data file '%s'", path),
+                                         e);
+            }
+            if (ended) {
+                return null;
+            }
+            byte[] record = null;
+            try {
+                record = nextRecord();
+                return record;
+            } finally {
+                // after read failure, other sources do not wait for a turn that never comes
+                ended = record == null;
+                turn++;
+                notifyAll();
+            }
+        }
+    }
+
+    private static void closeQuietly(MappedFileReader reader) {
+        if (reader == null) {
+            return;
+        }
+        try {
+            reader.close();
+        } catch (IOException ignored) {
+            // nothing more can be done
+        }
+    }
+}
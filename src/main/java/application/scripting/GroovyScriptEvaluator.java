@@ -1,44 +1,88 @@
 package application.scripting;
 
-import java.util.concurrent.FutureTask;
+import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
-import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
 import javax.script.SimpleScriptContext;
 
+import org.codehaus.groovy.jsr223.GroovyCompiledScript;
+import org.codehaus.groovy.jsr223.GroovyScriptEngineImpl;
+
 import application.exceptions.ExecutionStopRequested;
 import application.exceptions.KafkaToolError;
+import application.kafka.sender.SimulationBenchmark;
 import application.logging.Logger;
+import application.utils.ThreadAllocation;
 
 public class GroovyScriptEvaluator {
 
     private static final String ENGINE_NAME = "groovy";
     private static final int EVALUATE_GROOVY_SCRIPT_TIMEOUT_SEC = 5;
-    private final ScriptEngine engine;
+    private final GroovyScriptEngineImpl engine;
+    private final CompiledScriptCache compiledScriptCache;
+    private final ScriptEvaluationExecutor evaluationExecutor;
+    private final ScriptEvaluationStatistics evaluationStatistics = new ScriptEvaluationStatistics();
     private SimpleScriptContext ctx;
+    private SimulationBenchmark benchmark;
 
-    public GroovyScriptEvaluator() {
-        engine = new ScriptEngineManager().getEngineByName(ENGINE_NAME);
+    public GroovyScriptEvaluator(CompiledScriptCache compiledScriptCache,
+                                 ScriptEvaluationExecutor evaluationExecutor) {
+        this.compiledScriptCache = compiledScriptCache;
+        this.evaluationExecutor = evaluationExecutor;
+        engine = (GroovyScriptEngineImpl) new ScriptEngineManager().getEngineByName(ENGINE_NAME);
         resetScriptContext();
     }
+    public GroovyScriptEvaluator newIsolatedEvaluator() {
+        return new GroovyScriptEvaluator(compiledScriptCache, evaluationExecutor);
+    }
+
     public void resetScriptContext(){
         ctx = new SimpleScriptContext();
         engine.setContext(ctx);
+        evaluationStatistics.reset();
+        benchmark = null;
+    }
+
+    // heap allocated by scripts is recorded to benchmark until script context is reset, null means 'do not measure'
+    public void setSimulationBenchmark(SimulationBenchmark benchmark) {
+        this.benchmark = benchmark;
+    }
+
+    public ScriptEvaluationStatistics getEvaluationStatistics() {
+        return evaluationStatistics;
     }
 
     public Object getBinding(String valueName) {
         return engine.get(valueName);
     }
 
+    public void setBinding(String valueName, Object value) {
+        engine.put(valueName, value);
+    }
+
+    public CompiledGroovyScript compileScript(String script) throws KafkaToolError {
+        return new CompiledGroovyScript(script,
+                                        new GroovyCompiledScript(engine, compiledScriptCache.getScriptClass(script)));
+    }
+
     public void runScript(String script) throws Exception {
-        Logger.trace(String.format("evaluation script: %s", script));
-        final FutureTask<Object> evaluateScriptTask = new FutureTask<>(() -> engine.eval(script, ctx));
-        // todo : consider thread pool, but remember that thead pool must be shutdown before application exit
-        new Thread(evaluateScriptTask, "KMT-Thread-EvaluateGroovyScriptTask").start();
+        runScript(compileScript(script));
+    }
 
+    public void runScript(CompiledGroovyScript script) throws Exception {
+        Logger.trace(String.format("evaluation script: %s", script.getText()));
+        final SimpleScriptContext evaluationContext = ctx;
+        final SimulationBenchmark allocationBenchmark = benchmark;
+        final Callable<Object> evaluation = allocationBenchmark == null
+            ? () -> script.eval(evaluationContext)
+            : () -> evalRecordingAllocation(script, evaluationContext, allocationBenchmark);
+        final long startNanos = System.nanoTime();
         try {
-            final Object result = evaluateScriptTask.get(EVALUATE_GROOVY_SCRIPT_TIMEOUT_SEC, TimeUnit.SECONDS);
+            final Object result = evaluationExecutor.evaluate(evaluation,
+                                                              EVALUATE_GROOVY_SCRIPT_TIMEOUT_SEC,
+                                                              TimeUnit.SECONDS);
+            evaluationStatistics.record(System.nanoTime() - startNanos);
             Logger.trace(String.format("Evaluation result: %s", result));
         } catch (TimeoutException e) {
             throw new KafkaToolError(String.format("EvaluationTimeout. Could not evaluate groovy script within %d seconds.",
@@ -46,11 +90,24 @@ public class GroovyScriptEvaluator {
 
         } catch (InterruptedException e) {
             // this exception can happen if user clicks "stop" button
-            Logger.trace(String.format("Evaluation of script '%s' stopped. InterruptedException", script));
+            Logger.trace(String.format("Evaluation of script '%s' stopped. InterruptedException", script.getText()));
             throw new ExecutionStopRequested(e);
 
         } catch (Exception e) {
-            throw new KafkaToolError(String.format("Could not evaluate groovy script '%s'", script), e);
+            throw new KafkaToolError(String.format("Could not evaluate groovy script '%s'", script.getText()), e);
+        }
+    }
+
+    // scripts are evaluated on executor threads, allocation of calling thread does not include them
+    private static Object evalRecordingAllocation(CompiledGroovyScript script,
+                                                  SimpleScriptContext evaluationContext,
+                                                  SimulationBenchmark allocationBenchmark) throws Exception {
+        final long allocatedBytesAtStart = ThreadAllocation.currentThreadAllocatedBytes();
+        try {
+            return script.eval(evaluationContext);
+        } finally {
+            allocationBenchmark.recordAllocatedBytes(ThreadAllocation.currentThreadAllocatedBytes()
+                                                         - allocatedBytesAtStart);
         }
     }
 }
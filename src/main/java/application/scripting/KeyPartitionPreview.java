@@ -0,0 +1,101 @@
+package application.scripting;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import application.utils.Utf8Buffer;
+import application.utils.kafka.KafkaPartitionUtils;
+import application.utils.kafka.PartitionHistogram;
+
+/**
+ * Evaluates key template for sample message indexes 0..N-1 and counts keys per partition of topic, to show
+ * how keys would spread over partitions before a large run. Keys are evaluated on several threads, each one
+ * with its own isolated script context and histogram (merged at the end). Each thread renders keys into its own
+ * reused {@link Utf8Buffer} and hashes its bytes the same way as default partitioner does, so natively rendered
+ * keys need no String and no byte array per key (groovy evaluated keys still need a String).
+ */
+public final class KeyPartitionPreview {
+    private final GroovyScriptEvaluator scriptEvaluator;
+    private final int threadCount;
+
+    public KeyPartitionPreview(GroovyScriptEvaluator scriptEvaluator, int threadCount) {
+        this.scriptEvaluator = scriptEvaluator;
+        this.threadCount = Math.max(1, threadCount);
+    }
+
+    public PartitionHistogram run(String sharedScriptContent,
+                                  String beforeAllMessagesScript,
+                                  String beforeEachMessageScript,
+                                  String keyTemplate,
+                                  int sampleCount,
+                                  int partitionCount) throws Exception {
+        final int workerCount = Math.max(1, Math.min(threadCount, sampleCount));
+        final AtomicLong sharedCounter = new AtomicLong();
+        final ExecutorService executorService = Executors.newFixedThreadPool(workerCount, createThreadFactory());
+        try {
+            final List<Future<PartitionHistogram>> workers = new ArrayList<>();
+            for (int worker = 0; worker < workerCount; worker++) {
+                final int firstIndex = worker;
+                final MessageContentGenerator generator =
+                    new MessageContentGenerator(scriptEvaluator.newIsolatedEvaluator(),
+                                                new TemplatePlaceholders(sharedCounter));
+                workers.add(executorService.submit(() -> {
+                    generator.prepare(sharedScriptContent, beforeAllMessagesScript, beforeEachMessageScript,
+                                      keyTemplate);
+                    return countKeys(generator, firstIndex, workerCount, sampleCount, partitionCount);
+                }));
+            }
+            final PartitionHistogram histogram = new PartitionHistogram(partitionCount);
+            for (Future<PartitionHistogram> worker : workers) {
+                histogram.merge(resultOf(worker));
+            }
+            return histogram;
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static PartitionHistogram countKeys(MessageContentGenerator generator,
+                                                int firstIndex,
+                                                int step,
+                                                int sampleCount,
+                                                int partitionCount) throws Exception {
+        final PartitionHistogram histogram = new PartitionHistogram(partitionCount);
+        final Utf8Buffer key = new Utf8Buffer();
+        for (int i = firstIndex; i < sampleCount; i += step) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedException();
+            }
+            generator.generateInto(i, key);
+            histogram.add(KafkaPartitionUtils.partition(key.array(), key.length(), partitionCount));
+        }
+        return histogram;
+    }
+
+    private static PartitionHistogram resultOf(Future<PartitionHistogram> worker) throws Exception {
+        try {
+            return worker.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static ThreadFactory createThreadFactory() {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "KMT-Thread-KeyPartitionPreview-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,207 @@
+package application.scripting;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+import application.constants.GroovyStringEscaper;
+import application.exceptions.KafkaToolError;
+import application.kafka.sender.SimulationBenchmark;
+import application.utils.Utf8Buffer;
+
+/**
+ * Generates content of consecutive messages of single sending run, using its own script context.
+ * Content is produced as bytes sent as is by kafka producer. Scripts can provide them directly
+ * by assigning byte[] to {@value #MSG_BYTES_VARIABLE_NAME} variable, then message body template is not evaluated.
+ * With {@link DataFile}, each message takes the next record of the file (before 'before each' script is run).
+ * With {@link SimulationBenchmark} set, time spent in scripts and template rendering is recorded to it,
+ * as well as heap allocated by scripts of consecutive messages on script evaluation threads.
+ * Not thread safe, each generating thread needs its own instance.
+ */
+public final class MessageContentGenerator {
+
+    private static final String MSG_CONTENT_VARIABLE_NAME = "msgContent";
+    public static final String MSG_BYTES_VARIABLE_NAME = "msgBytes";
+    private final GroovyScriptEvaluator scriptEvaluator;
+    private final TemplatePlaceholders placeholders;
+    private final DataFile.RecordSource dataRecords;
+    private CompiledGroovyScript beforeEachMessageScript;
+    private MessageTemplate msgTemplate;
+    private CompiledGroovyScript msgContentScript;
+    private byte[] staticMsgContent;
+    private SimulationBenchmark benchmark;
+    private long phaseStartNanos;
+
+    public MessageContentGenerator(GroovyScriptEvaluator scriptEvaluator, TemplatePlaceholders placeholders) {
+        this(scriptEvaluator, placeholders, null);
+    }
+
+    // dataRecords can be null when no data file is used
+    public MessageContentGenerator(GroovyScriptEvaluator scriptEvaluator,
+                                   TemplatePlaceholders placeholders,
+                                   DataFile.RecordSource dataRecords) {
+        this.scriptEvaluator = scriptEvaluator;
+        this.placeholders = placeholders;
+        this.dataRecords = dataRecords;
+    }
+
+    // null means 'do not measure'
+    public void setSimulationBenchmark(SimulationBenchmark benchmark) {
+        this.benchmark = benchmark;
+    }
+
+    public void prepare(String sharedScriptContent,
+                        String beforeAllMessagesScript,
+                        String beforeEachMessageScript,
+                        String msgContentTemplate) throws Exception {
+        scriptEvaluator.resetScriptContext();
+        scriptEvaluator.setBinding(TemplatePlaceholders.BINDING_NAME, placeholders);
+        long phaseStartNanos = startPhase();
+        scriptEvaluator.runScript(sharedScriptContent);
+        phaseStartNanos = endPhase(SimulationBenchmark.Phase.SHARED_SCRIPT, phaseStartNanos);
+        scriptEvaluator.runScript(beforeAllMessagesScript);
+        endPhase(SimulationBenchmark.Phase.BEFORE_ALL_SCRIPT, phaseStartNanos);
+        this.beforeEachMessageScript = compileScriptIfNotBlank(beforeEachMessageScript);
+        msgTemplate = MessageTemplate.parse(msgContentTemplate);
+        msgContentScript = compileMessageContentTemplate(msgContentTemplate);
+        // one time scripts are not included in allocation per message
+        scriptEvaluator.setSimulationBenchmark(benchmark);
+        // static content is encoded once, all messages share the same array
+        staticMsgContent = msgTemplate.getKind() == MessageTemplate.Kind.STATIC
+            ? msgTemplate.getText().getBytes(StandardCharsets.UTF_8)
+            : null;
+    }
+
+    // returns null when data file has no more records
+    public byte[] generate(int messageIndex) throws Exception {
+        if (!startMessage(messageIndex)) {
+            return null;
+        }
+        final byte[] content = render();
+        endPhase(SimulationBenchmark.Phase.TEMPLATE_RENDERING, phaseStartNanos);
+        return content;
+    }
+
+    // like generate(), but content is written to reused buffer: natively rendered text is encoded into it,
+    // so no String and no byte array is created per message; returns false when data file has no more records
+    public boolean generateInto(int messageIndex, Utf8Buffer buffer) throws Exception {
+        if (!startMessage(messageIndex)) {
+            return false;
+        }
+        renderInto(buffer);
+        endPhase(SimulationBenchmark.Phase.TEMPLATE_RENDERING, phaseStartNanos);
+        return true;
+    }
+
+    public String evaluateMessageContent(String msgContentTemplate) throws Exception {
+        return evaluateMessageContent(compileMessageContentTemplate(msgContentTemplate));
+    }
+
+    public MessageTemplate.Kind getTemplateKind() {
+        return msgTemplate.getKind();
+    }
+
+    public SimulationBenchmark getSimulationBenchmark() {
+        return benchmark;
+    }
+
+    public ScriptEvaluationStatistics getEvaluationStatistics() {
+        return scriptEvaluator.getEvaluationStatistics();
+    }
+
+    // binds data file record and runs 'before each' script, returns false when data file has no more records
+    private boolean startMessage(int messageIndex) throws Exception {
+        placeholders.setMessageIndex(messageIndex);
+        phaseStartNanos = startPhase();
+        if (dataRecords != null) {
+            final Map<String, Object> row = dataRecords.next();
+            if (row == null) {
+                return false;
+            }
+            placeholders.setRow(row);
+            scriptEvaluator.setBinding(DataFile.ROW_VARIABLE_NAME, row);
+            phaseStartNanos = endPhase(SimulationBenchmark.Phase.DATA_FILE_RECORD, phaseStartNanos);
+        }
+        if (beforeEachMessageScript != null) {
+            scriptEvaluator.runScript(beforeEachMessageScript);
+            phaseStartNanos = endPhase(SimulationBenchmark.Phase.BEFORE_EACH_SCRIPT, phaseStartNanos);
+        }
+        return true;
+    }
+
+    private void renderInto(Utf8Buffer buffer) throws Exception {
+        final Object msgBytes = scriptEvaluator.getBinding(MSG_BYTES_VARIABLE_NAME);
+        if (msgBytes != null) {
+            buffer.wrap(asBytes(msgBytes));
+        } else if (staticMsgContent != null) {
+            buffer.wrap(staticMsgContent);
+        } else if (isRenderedNatively()) {
+            msgTemplate.renderTo(buffer.clearedText(), placeholders);
+            buffer.encodeText();
+        } else {
+            buffer.encode(evaluateMessageContent(msgContentScript));
+        }
+    }
+
+    private byte[] render() throws Exception {
+        final Object msgBytes = scriptEvaluator.getBinding(MSG_BYTES_VARIABLE_NAME);
+        if (msgBytes != null) {
+            return asBytes(msgBytes);
+        }
+        if (staticMsgContent != null) {
+            return staticMsgContent;
+        }
+        if (isRenderedNatively()) {
+            return msgTemplate.render(placeholders).getBytes(StandardCharsets.UTF_8);
+        }
+        return evaluateMessageContent(msgContentScript).getBytes(StandardCharsets.UTF_8);
+    }
+
+    // user scripts could have rebound placeholders name to something else, then groovy must be used
+    private boolean isRenderedNatively() {
+        return msgTemplate.isRenderedNatively()
+            && scriptEvaluator.getBinding(TemplatePlaceholders.BINDING_NAME) == placeholders;
+    }
+
+    private long startPhase() {
+        return benchmark == null ? 0L : System.nanoTime();
+    }
+
+    // returns start of the next phase
+    private long endPhase(SimulationBenchmark.Phase phase, long phaseStartNanos) {
+        if (benchmark == null) {
+            return 0L;
+        }
+        final long nowNanos = System.nanoTime();
+        benchmark.record(phase, nowNanos - phaseStartNanos);
+        return nowNanos;
+    }
+
+    private String evaluateMessageContent(CompiledGroovyScript script) throws Exception {
+        scriptEvaluator.runScript(script);
+        final Object evaluatedMsg = scriptEvaluator.getBinding(MSG_CONTENT_VARIABLE_NAME);
+        return String.format("%s", evaluatedMsg);
+    }
+
+    private static byte[] asBytes(Object msgBytes) throws KafkaToolError {
+        if (!(msgBytes instanceof byte[])) {
+            throw new KafkaToolError(String.format("'%s' variable must hold byte[], not %s",
+                                                   MSG_BYTES_VARIABLE_NAME,
+                                                   msgBytes.getClass().getName()));
+        }
+        return (byte[]) msgBytes;
+    }
+
+    private CompiledGroovyScript compileScriptIfNotBlank(String script) throws Exception {
+        if (StringUtils.isBlank(script)) {
+            return null;
+        }
+        return scriptEvaluator.compileScript(script);
+    }
+
+    private CompiledGroovyScript compileMessageContentTemplate(String msgContentTemplate) throws Exception {
+        final String msgContentToResolve = GroovyStringEscaper.escape(MSG_CONTENT_VARIABLE_NAME, msgContentTemplate);
+        return scriptEvaluator.compileScript(msgContentToResolve);
+    }
+}
@@ -0,0 +1,161 @@
+package application.scripting;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Message body template analysed up front, before sending starts.
+ * Static templates and templates using only {@link TemplatePlaceholders} and data file fields (${row.name})
+ * are rendered natively,
+ * all others have to be evaluated by groovy.
+ */
+public final class MessageTemplate {
+
+    public enum Kind {
+        STATIC,
+        BUILT_IN_PLACEHOLDERS,
+        GROOVY
+    }
+
+    private static final String BINDING = Pattern.quote(TemplatePlaceholders.BINDING_NAME);
+    private static final Pattern PROPERTY_PLACEHOLDER =
+        Pattern.compile("\\s*" + BINDING + "\\.(uuid|epochMillis|counter|messageIndex)\\s*");
+    private static final Pattern ROW_PLACEHOLDER =
+        Pattern.compile("\\s*" + Pattern.quote(DataFile.ROW_VARIABLE_NAME) + "\\.([A-Za-z_][A-Za-z0-9_]*)\\s*");
+    private static final Pattern RANDOM_INT_PLACEHOLDER =
+        Pattern.compile("\\s*" + BINDING + "\\.randomInt\\(\\s*(-?\\d+)\\s*,\\s*(-?\\d+)\\s*\\)\\s*");
+    private static final char DOLLAR = '$';
+    private static final char OPENING_BRACE = '{';
+    private static final char CLOSING_BRACE = '}';
+
+    private final Kind kind;
+    private final String text;
+    private final List<Segment> segments;
+    private final int literalsLength;
+
+    private MessageTemplate(Kind kind, String text, List<Segment> segments, int literalsLength) {
+        this.kind = kind;
+        this.text = text;
+        this.segments = segments;
+        this.literalsLength = literalsLength;
+    }
+
+    public static MessageTemplate parse(String template) {
+        // groovy removes carriage returns from multiline strings, native rendering must do the same
+        final String text = template.replace("\r\n", "\n");
+        if (text.indexOf(DOLLAR) < 0) {
+            return new MessageTemplate(Kind.STATIC, text, Collections.emptyList(), text.length());
+        }
+
+        final List<Segment> segments = new ArrayList<>();
+        int literalsLength = 0;
+        int position = 0;
+        while (position < text.length()) {
+            final int dollar = text.indexOf(DOLLAR, position);
+            if (dollar < 0) {
+                segments.add(literal(text.substring(position)));
+                literalsLength += text.length() - position;
+                break;
+            }
+            final int closingBrace = text.indexOf(CLOSING_BRACE, dollar);
+            if (dollar + 1 >= text.length() || text.charAt(dollar + 1) != OPENING_BRACE || closingBrace < 0) {
+                return groovy(template);
+            }
+            final Segment placeholder = parsePlaceholder(text.substring(dollar + 2, closingBrace));
+            if (placeholder == null) {
+                return groovy(template);
+            }
+            if (dollar > position) {
+                segments.add(literal(text.substring(position, dollar)));
+                literalsLength += dollar - position;
+            }
+            segments.add(placeholder);
+            position = closingBrace + 1;
+        }
+        return new MessageTemplate(Kind.BUILT_IN_PLACEHOLDERS, text, segments, literalsLength);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public boolean isRenderedNatively() {
+        return kind != Kind.GROOVY;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String render(TemplatePlaceholders placeholders) {
+        if (kind == Kind.STATIC) {
+            return text;
+        }
+        final StringBuilder sb = new StringBuilder(literalsLength + segments.size() * 16);
+        renderTo(sb, placeholders);
+        return sb.toString();
+    }
+
+    // appends rendered text to given (e.g. reused) builder
+    public void renderTo(StringBuilder sb, TemplatePlaceholders placeholders) {
+        if (kind == Kind.GROOVY) {
+            throw new IllegalStateException("Template containing groovy code cannot be rendered natively");
+        }
+        if (kind == Kind.STATIC) {
+            sb.append(text);
+            return;
+        }
+        for (Segment segment : segments) {
+            segment.appendTo(sb, placeholders);
+        }
+    }
+
+    private static MessageTemplate groovy(String template) {
+        return new MessageTemplate(Kind.GROOVY, template, Collections.emptyList(), template.length());
+    }
+
+    private static Segment literal(String literal) {
+        return (sb, placeholders) -> sb.append(literal);
+    }
+
+    private static Segment parsePlaceholder(String expression) {
+        final Matcher property = PROPERTY_PLACEHOLDER.matcher(expression);
+        if (property.matches()) {
+            switch (property.group(1)) {
+                case "uuid":
+                    return (sb, placeholders) -> sb.append(placeholders.getUuid());
+                case "epochMillis":
+                    return (sb, placeholders) -> sb.append(placeholders.getEpochMillis());
+                case "counter":
+                    return (sb, placeholders) -> sb.append(placeholders.getCounter());
+                case "messageIndex":
+                    return (sb, placeholders) -> sb.append(placeholders.getMessageIndex());
+                default:
+                    return null;
+            }
+        }
+        final Matcher rowField = ROW_PLACEHOLDER.matcher(expression);
+        if (rowField.matches()) {
+            final String fieldName = rowField.group(1);
+            return (sb, placeholders) -> sb.append(placeholders.rowValue(fieldName));
+        }
+        final Matcher randomInt = RANDOM_INT_PLACEHOLDER.matcher(expression);
+        if (randomInt.matches()) {
+            try {
+                final int min = Integer.parseInt(randomInt.group(1));
+                final int max = Integer.parseInt(randomInt.group(2));
+                return (sb, placeholders) -> sb.append(placeholders.randomInt(min, max));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private interface Segment {
+        void appendTo(StringBuilder sb, TemplatePlaceholders placeholders);
+    }
+}
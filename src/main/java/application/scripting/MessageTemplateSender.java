@@ -1,96 +1,686 @@
 package application.scripting;
 
-import application.constants.GroovyStringEscaper;
-import application.customfxwidgets.senderconfig.StatusBarNotifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.kafka.common.header.Header;
+
+import application.constants.ApplicationConstants;
 import application.exceptions.ExecutionStopRequested;
+import application.exceptions.KafkaToolError;
+import application.kafka.sender.InFlightMessagesWindow;
 import application.kafka.sender.KafkaMessageSender;
+import application.kafka.sender.PartitionKeySelector;
+import application.kafka.sender.ReplayClock;
+import application.kafka.sender.ReplayFile;
+import application.kafka.sender.SendLogger;
+import application.kafka.sender.SendProgressNotifier;
+import application.kafka.sender.SendRatePacer;
+import application.kafka.sender.SendStatistics;
+import application.kafka.sender.SimulationBenchmark;
 import application.logging.Logger;
 import application.model.MessageOnTopicDto;
+import application.model.SendLoggingMode;
+import application.model.SendRateUnit;
 import application.model.modelobjects.KafkaSenderConfig;
+import application.model.modelobjects.KafkaTopicConfig;
+import application.utils.ThreadAllocation;
 import application.utils.ThrowableUtils;
+import application.utils.kafka.PartitionHistogram;
+import application.utils.kafka.PartitionKeySet;
 
 public class MessageTemplateSender {
+    private static final long SEND_RATE_DISPLAY_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    private interface MessageContentSource {
+        // returns null when there is nothing more to send
+        byte[] contentOf(int messageIndex) throws Exception;
+
+        // key of the content returned last, null means key of sender config
+        default byte[] keyOfLastContent() {
+            return null;
+        }
+
+        // headers of the content returned last
+        default Iterable<Header> headersOfLastContent() {
+            return Collections.emptyList();
+        }
+    }
+
+    // runs producer shards in parallel and returns when all of them are finished
+    public interface ShardRunner {
+        void runShards(List<Callable<Void>> shards) throws Exception;
+    }
+
+    // needed only for key distribution over partitions, value <= 0 means 'partition count is not known'
+    public interface PartitionCounter {
+        int partitionsForTopic(KafkaTopicConfig topicConfig) throws Exception;
+    }
 
-    private static final String MSG_CONTENT_VARIABLE_NAME = "msgContent";
     private final GroovyScriptEvaluator scriptEvaluator;
     private final KafkaMessageSender kafkaSender;
+    private final PartitionCounter partitionCounter;
 
     public MessageTemplateSender(KafkaMessageSender kafkaSender,
                                  GroovyScriptEvaluator scriptEvaluator) {
+        this(kafkaSender, scriptEvaluator, topicConfig -> -1);
+    }
+
+    public MessageTemplateSender(KafkaMessageSender kafkaSender,
+                                 GroovyScriptEvaluator scriptEvaluator,
+                                 PartitionCounter partitionCounter) {
         this.kafkaSender = kafkaSender;
         this.scriptEvaluator = scriptEvaluator;
+        this.partitionCounter = partitionCounter;
+    }
+
+    public SendStatistics send(KafkaSenderConfig config,
+                               SendProgressNotifier sentMessagesNotifier,
+                               String sharedScriptContent,
+                               boolean isSimulationModeEnabled,
+                               ShardRunner shardRunner) {
+        final SendStatistics statistics = new SendStatistics();
+        send(config, sentMessagesNotifier, sharedScriptContent, isSimulationModeEnabled, shardRunner, statistics);
+        return statistics;
     }
 
+    // statistics are filled while sending, so they can be observed before sending finishes
     public void send(KafkaSenderConfig config,
-                     StatusBarNotifier sentMessagesNotifier,
+                     SendProgressNotifier sentMessagesNotifier,
                      String sharedScriptContent,
-                     boolean isSimulationModeEnabled) {
+                     boolean isSimulationModeEnabled,
+                     ShardRunner shardRunner,
+                     SendStatistics statistics) {
         try {
-            trySend(config, sentMessagesNotifier, sharedScriptContent, isSimulationModeEnabled);
+            trySend(config, sentMessagesNotifier, sharedScriptContent, isSimulationModeEnabled, statistics, shardRunner);
         } catch (ExecutionStopRequested e) {
             Logger.warn("Sending stopped by user.");
         } catch (Exception e) {
+            statistics.markFailed(e);
             Logger.trace(ThrowableUtils.getFullStackTrace(e));
             Logger.error(ThrowableUtils.getMessageWithRootCause(e));
         } finally {
             sentMessagesNotifier.clearMsgSentProgress();
         }
+    }
 
+    // key template is evaluated like message body template (with scripts of sender config) for indexes 0..N-1
+    public PartitionHistogram previewKeyPartitions(KafkaSenderConfig config,
+                                                   String sharedScriptContent,
+                                                   String keyTemplate,
+                                                   int sampleCount) throws Exception {
+        final int partitionCount = getPartitionCount(config.getRelatedConfig(), "key partition preview");
+        return new KeyPartitionPreview(scriptEvaluator, Runtime.getRuntime().availableProcessors())
+            .run(sharedScriptContent,
+                 config.getRunBeforeAllMessagesScript(),
+                 config.getRunBeforeEachMessageScript(),
+                 keyTemplate,
+                 sampleCount,
+                 partitionCount);
     }
 
     public String evaluateMessageContent(String msgContentTemplate) throws Exception {
-        final String msgContentToResolve = GroovyStringEscaper.escape(MSG_CONTENT_VARIABLE_NAME, msgContentTemplate);
-        scriptEvaluator.runScript(msgContentToResolve);
-        return returnEvaluatedMsgContent(MSG_CONTENT_VARIABLE_NAME);
+        return new MessageContentGenerator(scriptEvaluator, new TemplatePlaceholders())
+            .evaluateMessageContent(msgContentTemplate);
     }
 
     private void trySend(KafkaSenderConfig config,
-                         StatusBarNotifier sentMessagesNotifier,
+                         SendProgressNotifier sentMessagesNotifier,
                          String sharedScriptContent,
-                         boolean isSimulationModeEnabled) throws Exception {
-
-        final Integer totalMessageCount = config.getRepeatCount();
-
-        Logger.info(String.format("Sending message [topic '%s', key '%s'], content template '%s', repeat count: %d",
-                                  config.getRelatedConfig().getTopicName(),
-                                  config.getMessageKey(),
-                                  config.getMsgContentTemplate(),
-                                  totalMessageCount
-        ));
-
-        resetScriptEngine();
-        runScript(sharedScriptContent);
-        runScript(config.getRunBeforeAllMessagesScript());
-        kafkaSender.initiateFreshConnection(config.getRelatedConfig().getRelatedConfig().getHostInfo(),
-                                            isSimulationModeEnabled);
-        for (int i = 0; i < totalMessageCount; i++) {
+                         boolean isSimulationModeEnabled,
+                         SendStatistics statistics,
+                         ShardRunner shardRunner) throws Exception {
+
+        final int totalMessageCount = getTotalMessageCount(config);
+        final int shardCount = Math.max(1, Math.min(config.getProducerShardCount(), totalMessageCount));
+        final int generatorThreadCount = Math.max(1, Math.min(config.getGeneratorThreadCount(),
+                                                              totalMessageCount / shardCount));
+
+        if (config.isReplayFileEnabled()) {
+            Logger.info(String.format("Replaying file [topic '%s'], speed: %s, run duration: %d s, max in flight: %d, " +
+                                          "target rate: %d %s, producer shards: %d",
+                                      config.getRelatedConfig().getTopicName(),
+                                      config.getReplayFileFormat().hasTimestamps() ? config.getReplaySpeed() : "max",
+                                      config.getRunDurationSeconds(),
+                                      config.getMaxInFlightMessages(),
+                                      config.getTargetRate(),
+                                      config.getTargetRateUnit(),
+                                      shardCount));
+        } else {
+            Logger.info(String.format("Sending message [topic '%s', key '%s'], content template '%s', repeat count: %d, " +
+                                          "run duration: %d s, max in flight: %d, generator threads: %d, " +
+                                          "target rate: %d %s, producer shards: %d",
+                                      config.getRelatedConfig().getTopicName(),
+                                      config.getMessageKey(),
+                                      config.getMsgContentTemplate(),
+                                      config.getRepeatCount(),
+                                      config.getRunDurationSeconds(),
+                                      config.getMaxInFlightMessages(),
+                                      generatorThreadCount,
+                                      config.getTargetRate(),
+                                      config.getTargetRateUnit(),
+                                      shardCount));
+        }
+
+        // each shard sends its own contiguous range of message indexes using its own producer
+        final List<SendShard> shards = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new SendShard(shardCount == 1 ? "" : "producer shard " + i,
+                                     shardCount == 1 ? kafkaSender : kafkaSender.createShardSender(i),
+                                     (int) ((long) totalMessageCount * i / shardCount),
+                                     (int) ((long) totalMessageCount * (i + 1) / shardCount),
+                                     shardTargetRate(config.getTargetRate(), i, shardCount)));
+        }
+        final AtomicLong placeholdersCounter = new AtomicLong();
+        final SendLogger sendLogger = new SendLogger(sendLoggingModeOf(config, isSimulationModeEnabled),
+                                                     config.getSendLogSampleInterval(),
+                                                     ApplicationConstants.SEND_LOG_SUMMARY_INTERVAL_MS);
+        final SendProgress progress;
+        try (ReplayFile replayFile = openReplayFileIfEnabled(config);
+             DataFile dataFile = openDataFileIfEnabled(config)) {
+            progress = new SendProgress(config, sentMessagesNotifier, totalMessageCount, shards, replayFile,
+                                        statistics);
+            final ReplayClock replayClock = createReplayClockIfTimed(config, replayFile);
+            final PartitionKeySelector keySelector = createKeySelectorIfDistributed(config);
+            statistics.markStart();
+            if (shardCount == 1) {
+                sendShard(config, sharedScriptContent, isSimulationModeEnabled, generatorThreadCount,
+                          shards.get(0), progress, statistics, sendLogger, placeholdersCounter, dataFile, replayFile,
+                          replayClock, keySelector);
+            } else {
+                final List<Callable<Void>> shardTasks = new ArrayList<>();
+                for (SendShard shard : shards) {
+                    shardTasks.add(() -> {
+                        sendShard(config, sharedScriptContent, isSimulationModeEnabled, generatorThreadCount,
+                                  shard, progress, statistics, sendLogger, placeholdersCounter, dataFile, replayFile,
+                                  replayClock, keySelector);
+                        return null;
+                    });
+                }
+                shardRunner.runShards(shardTasks);
+            }
+            if (dataFile != null) {
+                Logger.info(String.format("Data file records read: %d", dataFile.getRecordCount()));
+            }
+            if (replayFile != null) {
+                Logger.info(String.format("Replay file messages read: %d, bytes read: %d/%d",
+                                          replayFile.getRecordCount(),
+                                          replayFile.getBytesRead(),
+                                          replayFile.getFileSize()));
+            }
+            if (replayClock != null) {
+                Logger.info(String.format("Replay timing (%s)", replayClock.lagSummary()));
+            }
+        }
+        statistics.getSimulationBenchmark().markEnd();
+
+        final SendRateUnit rateUnit = config.getTargetRateUnit();
+        progress.displaySendRates();
+        Logger.info(String.format("Achieved send rate: %.1f %s (target: %d %s)",
+                                  progress.getAchievedRate(), rateUnit, config.getTargetRate(), rateUnit));
+        if (shardCount > 1) {
+            for (SendShard shard : shards) {
+                Logger.info(String.format("Achieved send rate [%s]: %.1f %s",
+                                          shard.name, shard.getAchievedRate(), rateUnit));
+            }
+        }
+        sendLogger.logFinalSummary();
+        if (isSimulationModeEnabled) {
+            final SimulationBenchmark benchmark = statistics.getSimulationBenchmark();
+            Logger.info(String.format("Simulation benchmark (%s)", benchmark.summary()));
+            Logger.info(String.format("Simulation time per phase (%s)", benchmark.phasesSummary()));
+        } else {
+            Logger.info(String.format("Send-to-acknowledgement latency (%s)", statistics.latencySummary()));
+        }
+    }
+
+    private void sendShard(KafkaSenderConfig config,
+                           String sharedScriptContent,
+                           boolean isSimulationModeEnabled,
+                           int generatorThreadCount,
+                           SendShard shard,
+                           SendProgress progress,
+                           SendStatistics statistics,
+                           SendLogger sendLogger,
+                           AtomicLong placeholdersCounter,
+                           DataFile dataFile,
+                           ReplayFile replayFile,
+                           ReplayClock replayClock,
+                           PartitionKeySelector keySelector) throws Exception {
+        if (replayFile != null) {
+            sendMessages(config, isSimulationModeEnabled, new ReplayContentSource(replayFile, replayClock), shard,
+                         progress, statistics, sendLogger, keySelector);
+            return;
+        }
+        final String beforeAllMessagesScript = config.getRunBeforeAllMessagesScript();
+        final String beforeEachMessageScript = config.getRunBeforeEachMessageScript();
+        final String msgContentTemplate = config.getMsgContentTemplate();
+        final ParallelMessageContentGenerator.Preparation preparation =
+            generator -> generator.prepare(sharedScriptContent,
+                                           beforeAllMessagesScript,
+                                           beforeEachMessageScript,
+                                           msgContentTemplate);
+
+        if (generatorThreadCount == 1) {
+            // script context of this sender config is not thread safe, other shards need their own ones
+            final GroovyScriptEvaluator evaluator = shard.isFirst()
+                ? scriptEvaluator
+                : scriptEvaluator.newIsolatedEvaluator();
+            final MessageContentGenerator generator =
+                new MessageContentGenerator(evaluator,
+                                            new TemplatePlaceholders(placeholdersCounter),
+                                            newRecordSource(dataFile));
+            generator.setSimulationBenchmark(benchmarkIfSimulated(statistics, isSimulationModeEnabled));
+            preparation.prepare(generator);
+            Logger.info(String.format("Message template kind: %s", generator.getTemplateKind()));
+            sendMessages(config, isSimulationModeEnabled, generator::generate, shard, progress, statistics,
+                         sendLogger, keySelector);
+            logEvaluationStatistics(generator, shard.describe(""));
+            return;
+        }
+
+        try (ParallelMessageContentGenerator parallelGenerator =
+                 new ParallelMessageContentGenerator(createIsolatedGenerators(generatorThreadCount,
+                                                                              placeholdersCounter,
+                                                                              dataFile,
+                                                                              benchmarkIfSimulated(statistics,
+                                                                                                   isSimulationModeEnabled)))) {
+            parallelGenerator.start(preparation, shard.firstMessageIndex, shard.endMessageIndex);
+            sendMessages(config, isSimulationModeEnabled, parallelGenerator::next, shard, progress, statistics,
+                         sendLogger, keySelector);
+            final List<MessageContentGenerator> generators = parallelGenerator.getGenerators();
+            for (int i = 0; i < generators.size(); i++) {
+                logEvaluationStatistics(generators.get(i), shard.describe(String.format("generator thread %d", i)));
+            }
+        }
+    }
+
+    private void sendMessages(KafkaSenderConfig config,
+                              boolean isSimulationModeEnabled,
+                              MessageContentSource contentSource,
+                              SendShard shard,
+                              SendProgress progress,
+                              SendStatistics statistics,
+                              SendLogger sendLogger,
+                              PartitionKeySelector keySelector) throws Exception {
+        shard.kafkaSender.initiateFreshConnection(config.getRelatedConfig().getRelatedConfig().getHostInfo(),
+                                                  config.getProducerTuning(),
+                                                  isSimulationModeEnabled);
+        // with single generator thread, messages are generated on this thread too
+        final long allocatedBytesAtStart = ThreadAllocation.currentThreadAllocatedBytes();
+        try {
+            sendMessagesOverConnection(config, isSimulationModeEnabled, contentSource, shard, progress, statistics,
+                                       sendLogger, keySelector);
+        } finally {
+            if (isSimulationModeEnabled) {
+                statistics.getSimulationBenchmark()
+                    .recordAllocatedBytes(ThreadAllocation.currentThreadAllocatedBytes() - allocatedBytesAtStart);
+            }
+            shard.kafkaSender.releaseConnection();
+        }
+    }
+
+    private void sendMessagesOverConnection(KafkaSenderConfig config,
+                                            boolean isSimulationModeEnabled,
+                                            MessageContentSource contentSource,
+                                            SendShard shard,
+                                            SendProgress progress,
+                                            SendStatistics statistics,
+                                            SendLogger sendLogger,
+                                            PartitionKeySelector keySelector) throws Exception {
+        final int totalMessageCount = getTotalMessageCount(config);
+        final boolean isMessageCountUnknown = isMessageCountUnknown(config);
+        final InFlightMessagesWindow inFlightWindow = new InFlightMessagesWindow(config.getMaxInFlightMessages(),
+                                                                                 statistics,
+                                                                                 sendLogger);
+        final SendRateUnit rateUnit = config.getTargetRateUnit();
+        final byte[] messageKey = config.isMessageKeyEnabled()
+            ? config.getMessageKey().getBytes(StandardCharsets.UTF_8)
+            : null;
+        final KafkaMessageSender sender = shard.kafkaSender;
+        final SendRatePacer pacer = shard.startPacing();
+        long lastRateDisplayNanos = System.nanoTime();
+        for (int i = shard.firstMessageIndex; i < shard.endMessageIndex; i++) {
             if (Thread.currentThread().isInterrupted()) {
                 return;
             }
-            sentMessagesNotifier.setMsgSentProgress(i + 1, totalMessageCount);
-            runScript(config.getRunBeforeEachMessageScript());
-            final String evaluatedMessage = evaluateMessageContent(config.getMsgContentTemplate());
+            final byte[] evaluatedMessage = contentSource.contentOf(i);
+            // data file or replay file has no more records
+            if (evaluatedMessage == null || !progress.onMessageSending()) {
+                break;
+            }
+            final byte[] contentKey = contentSource.keyOfLastContent();
+            final MessageOnTopicDto message = MessageOnTopicDto.from(config,
+                                                                     keyOf(i, contentKey, keySelector, messageKey),
+                                                                     evaluatedMessage,
+                                                                     isSimulationModeEnabled,
+                                                                     i + 1,
+                                                                     isMessageCountUnknown ? 0 : totalMessageCount,
+                                                                     contentSource.headersOfLastContent());
+            pacer.acquire(permitsOf(message, rateUnit));
+            sender.sendMessages(message, inFlightWindow);
+
+            final long nowNanos = System.nanoTime();
+            if (nowNanos - lastRateDisplayNanos >= SEND_RATE_DISPLAY_INTERVAL_NANOS) {
+                lastRateDisplayNanos = nowNanos;
+                progress.displaySendRates();
+            }
+        }
+        sender.awaitPendingMessages(inFlightWindow);
+        if (!isSimulationModeEnabled) {
+            Logger.info(String.format("All messages acknowledged by broker%s (acknowledged: %d, failed: %d)",
+                                      inBrackets(shard.describe("")),
+                                      inFlightWindow.getAcknowledgedCount(),
+                                      inFlightWindow.getFailedCount()));
+        }
+    }
+
+    // when sending for given duration, number of messages is limited only by the duration
+    private static int getTotalMessageCount(KafkaSenderConfig config) {
+        return isMessageCountUnknown(config) ? Integer.MAX_VALUE : config.getRepeatCount();
+    }
 
-            kafkaSender.sendMessages(MessageOnTopicDto.from(config,
-                                                            evaluatedMessage,
-                                                            isSimulationModeEnabled,
-                                                            i + 1,
-                                                            totalMessageCount));
+    // replay file is sent until its end, repeat count is not used
+    private static boolean isMessageCountUnknown(KafkaSenderConfig config) {
+        return config.isRunDurationEnabled() || config.isReplayFileEnabled();
+    }
+
+    // target rate is split between shards, each shard of limited sending gets at least 1 permit per second
+    private static long shardTargetRate(long targetRate, int shardIndex, int shardCount) {
+        if (targetRate <= 0) {
+            return 0;
+        }
+        final long shardRate = targetRate / shardCount + (shardIndex < targetRate % shardCount ? 1 : 0);
+        return Math.max(1, shardRate);
+    }
 
+    // key of replayed message comes first, then key picked for partition, then key of sender config
+    private static byte[] keyOf(int messageIndex,
+                                byte[] contentKey,
+                                PartitionKeySelector keySelector,
+                                byte[] messageKey) {
+        if (contentKey != null) {
+            return contentKey;
         }
+        return keySelector != null ? keySelector.keyFor(messageIndex) : messageKey;
     }
 
-    private void resetScriptEngine() {
-        scriptEvaluator.resetScriptContext();
+    private static long permitsOf(MessageOnTopicDto message, SendRateUnit rateUnit) {
+        if (rateUnit != SendRateUnit.BYTES_PER_SECOND) {
+            return 1;
+        }
+        final byte[] key = message.getMessageKey();
+        return (long) message.getMessage().length + (key != null ? key.length : 0);
     }
 
-    private void runScript(String script) throws Exception {
-        scriptEvaluator.runScript(script);
+    private List<MessageContentGenerator> createIsolatedGenerators(int count,
+                                                                   AtomicLong sharedCounter,
+                                                                   DataFile dataFile,
+                                                                   SimulationBenchmark benchmark) {
+        // generator N takes every N-th record, like it takes every N-th message index
+        final List<DataFile.RecordSource> recordSources = dataFile == null
+            ? Collections.nCopies(count, null)
+            : dataFile.newInterleavedRecordSources(count);
+        final List<MessageContentGenerator> generators = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final MessageContentGenerator generator =
+                new MessageContentGenerator(scriptEvaluator.newIsolatedEvaluator(),
+                                            new TemplatePlaceholders(sharedCounter),
+                                            recordSources.get(i));
+            generator.setSimulationBenchmark(benchmark);
+            generators.add(generator);
+        }
+        return generators;
     }
 
+    // cost of generating messages is measured only in simulation mode, when nothing else is done with them
+    private static SimulationBenchmark benchmarkIfSimulated(SendStatistics statistics,
+                                                            boolean isSimulationModeEnabled) {
+        return isSimulationModeEnabled ? statistics.getSimulationBenchmark() : null;
+    }
 
-    private String returnEvaluatedMsgContent(String var) {
-        final Object evaluatedMsg = scriptEvaluator.getBinding(var);
-        return String.format("%s", evaluatedMsg);
+    // logging of every message would dominate cost measured in simulation mode
+    private static SendLoggingMode sendLoggingModeOf(KafkaSenderConfig config, boolean isSimulationModeEnabled) {
+        if (isSimulationModeEnabled && config.getSendLoggingMode() == SendLoggingMode.PER_MESSAGE) {
+            Logger.info(String.format("Simulation mode: '%s' logging is replaced by '%s', use '%s' logging "
+                                          + "to see simulated messages",
+                                      SendLoggingMode.PER_MESSAGE,
+                                      SendLoggingMode.SUMMARY,
+                                      SendLoggingMode.SAMPLED));
+            return SendLoggingMode.SUMMARY;
+        }
+        return config.getSendLoggingMode();
+    }
+
+    // records are shared by all shards and generator threads of the run, each of them takes the next one
+    private static DataFile openDataFileIfEnabled(KafkaSenderConfig config) throws KafkaToolError {
+        if (!config.isDataFileEnabled() || config.isReplayFileEnabled()) {
+            return null;
+        }
+        final DataFile dataFile = DataFile.open(config.getDataFilePath(), config.isDataFileLoopEnabled());
+        Logger.info(String.format("Data file %s, loop: %s", dataFile.describe(), config.isDataFileLoopEnabled()));
+        return dataFile;
+    }
+
+    private static ReplayFile openReplayFileIfEnabled(KafkaSenderConfig config) throws KafkaToolError {
+        if (!config.isReplayFileEnabled()) {
+            return null;
+        }
+        final ReplayFile replayFile = ReplayFile.open(config.getReplayFilePath(),
+                                                      config.getReplayFileFormat(),
+                                                      config.getReplayKeyDelimiter());
+        Logger.info(String.format("Replay file %s", replayFile.describe()));
+        return replayFile;
+    }
+
+    // null means 'send as fast as possible'
+    private static ReplayClock createReplayClockIfTimed(KafkaSenderConfig config, ReplayFile replayFile) {
+        if (replayFile == null || !replayFile.getFormat().hasTimestamps() || !config.getReplaySpeed().isTimed()) {
+            return null;
+        }
+        return new ReplayClock(config.getReplaySpeed().factor());
+    }
+
+    // keys are computed once per run, message key of sender config is their prefix
+    private PartitionKeySelector createKeySelectorIfDistributed(KafkaSenderConfig config) throws Exception {
+        if (!config.isKeyDistributionOverPartitions()) {
+            return null;
+        }
+        final int partitionCount = getPartitionCount(config.getRelatedConfig(),
+                                                     String.format("key distribution '%s'", config.getKeyDistribution()));
+        final PartitionKeySelector keySelector =
+            PartitionKeySelector.create(config.getKeyDistribution(),
+                                        PartitionKeySet.compute(config.getMessageKey(), partitionCount),
+                                        config.getKeySkewPercent());
+        Logger.info(String.format("Key distribution %s", keySelector.describe()));
+        return keySelector;
+    }
+
+    private int getPartitionCount(KafkaTopicConfig topicConfig, String neededFor) throws Exception {
+        if (topicConfig == null) {
+            throw new KafkaToolError(String.format("Topic config is not set, it is needed for %s", neededFor));
+        }
+        final int partitionCount = partitionCounter.partitionsForTopic(topicConfig);
+        if (partitionCount <= 0) {
+            throw new KafkaToolError(String.format("Partition count of topic '%s' is not known, it is needed for %s "
+                                                       + "(is broker connected and topic created?)",
+                                                   topicConfig.getTopicName(),
+                                                   neededFor));
+        }
+        return partitionCount;
+    }
+
+    private static DataFile.RecordSource newRecordSource(DataFile dataFile) {
+        return dataFile == null ? null : dataFile.newRecordSource();
+    }
+
+    private void logEvaluationStatistics(MessageContentGenerator generator, String generatorName) {
+        Logger.info(String.format("Script evaluation statistics%s (%s)",
+                                  inBrackets(generatorName),
+                                  generator.getEvaluationStatistics().summary()));
+    }
+
+    private static String inBrackets(String name) {
+        return name.isEmpty() ? "" : " [" + name + "]";
+    }
+
+    // messages are taken from replay file shared by all shards, each shard has its own source
+    private static final class ReplayContentSource implements MessageContentSource {
+        private final ReplayFile replayFile;
+        private final ReplayClock replayClock;
+        private byte[] lastKey;
+        private List<Header> lastHeaders = Collections.emptyList();
+
+        ReplayContentSource(ReplayFile replayFile, ReplayClock replayClock) {
+            this.replayFile = replayFile;
+            this.replayClock = replayClock;
+        }
+
+        // waits for the original (scaled) send time of message when replaying with timing
+        @Override
+        public byte[] contentOf(int messageIndex) throws KafkaToolError, ExecutionStopRequested {
+            final ReplayFile.Record record = replayFile.next();
+            if (record == null) {
+                return null;
+            }
+            if (replayClock != null && record.hasTimestamp()) {
+                replayClock.awaitSendTime(record.getTimestamp());
+            }
+            lastKey = record.getKey();
+            lastHeaders = record.getHeaders();
+            return record.getValue();
+        }
+
+        @Override
+        public byte[] keyOfLastContent() {
+            return lastKey;
+        }
+
+        @Override
+        public Iterable<Header> headersOfLastContent() {
+            return lastHeaders;
+        }
+    }
+
+    private static final class SendShard {
+        private final String name;
+        private final KafkaMessageSender kafkaSender;
+        private final int firstMessageIndex;
+        private final int endMessageIndex;
+        private final long targetRate;
+        private volatile SendRatePacer pacer;
+
+        SendShard(String name,
+                  KafkaMessageSender kafkaSender,
+                  int firstMessageIndex,
+                  int endMessageIndex,
+                  long targetRate) {
+            this.name = name;
+            this.kafkaSender = kafkaSender;
+            this.firstMessageIndex = firstMessageIndex;
+            this.endMessageIndex = endMessageIndex;
+            this.targetRate = targetRate;
+        }
+
+        boolean isFirst() {
+            return firstMessageIndex == 0;
+        }
+
+        // pacing starts when producer is connected, so connecting does not lower achieved rate
+        SendRatePacer startPacing() {
+            pacer = new SendRatePacer(targetRate);
+            return pacer;
+        }
+
+        double getAchievedRate() {
+            final SendRatePacer currentPacer = pacer;
+            return currentPacer == null ? 0.0 : currentPacer.getAchievedRate();
+        }
+
+        String describe(String detail) {
+            if (name.isEmpty() || detail.isEmpty()) {
+                return name + detail;
+            }
+            return name + ", " + detail;
+        }
+    }
+
+    // aggregated progress of all shards of a single sending run
+    private static final class SendProgress {
+        private final SendProgressNotifier notifier;
+        private final int totalMessageCount;
+        private final boolean isRunDurationEnabled;
+        private final long runDurationNanos;
+        private final long targetRate;
+        private final SendRateUnit rateUnit;
+        private final List<SendShard> shards;
+        private final ReplayFile replayFile;
+        private final SendStatistics statistics;
+        private final AtomicInteger sentMessageCount = new AtomicInteger();
+        private final long startNanos = System.nanoTime();
+
+        SendProgress(KafkaSenderConfig config,
+                     SendProgressNotifier notifier,
+                     int totalMessageCount,
+                     List<SendShard> shards,
+                     ReplayFile replayFile,
+                     SendStatistics statistics) {
+            this.notifier = notifier;
+            this.totalMessageCount = totalMessageCount;
+            this.shards = Collections.unmodifiableList(shards);
+            this.replayFile = replayFile;
+            this.statistics = statistics;
+            isRunDurationEnabled = config.isRunDurationEnabled();
+            runDurationNanos = TimeUnit.SECONDS.toNanos(config.getRunDurationSeconds());
+            targetRate = config.getTargetRate();
+            rateUnit = config.getTargetRateUnit();
+        }
+
+        // returns false when time given for sending is over
+        boolean onMessageSending() {
+            if (!isRunDurationEnabled) {
+                notifyCountProgress();
+                return true;
+            }
+            final long elapsedNanos = System.nanoTime() - startNanos;
+            if (elapsedNanos >= runDurationNanos) {
+                return false;
+            }
+            if (replayFile != null) {
+                notifyCountProgress();
+                return true;
+            }
+            notifier.setTimedMsgSentProgress(sentMessageCount.incrementAndGet(),
+                                             TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                                             TimeUnit.NANOSECONDS.toMillis(runDurationNanos));
+            return true;
+        }
+
+        private void notifyCountProgress() {
+            if (replayFile != null) {
+                notifier.setReplayProgress(sentMessageCount.incrementAndGet(),
+                                           replayFile.getBytesRead(),
+                                           replayFile.getFileSize());
+            } else {
+                notifier.setMsgSentProgress(sentMessageCount.incrementAndGet(), totalMessageCount);
+            }
+        }
+
+        double getAchievedRate() {
+            return shards.stream().mapToDouble(SendShard::getAchievedRate).sum();
+        }
+
+        void displaySendRates() {
+            notifier.setSendRate(getAchievedRate(), targetRate, rateUnit.value());
+            notifier.setShardSendRates(shards.stream().mapToDouble(SendShard::getAchievedRate).toArray(),
+                                       rateUnit.value());
+            notifier.setFailedCount(statistics.getFailedSendCount());
+        }
     }
 }
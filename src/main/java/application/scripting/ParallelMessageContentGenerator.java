@@ -0,0 +1,171 @@
+package application.scripting;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import application.exceptions.KafkaToolError;
+import application.kafka.sender.SimulationBenchmark;
+import application.utils.ThreadAllocation;
+
+/**
+ * Generates message contents on several threads, each one with its own {@link MessageContentGenerator}.
+ * Worker N generates messages with indexes first + N, first + N + workers count... into its own bounded queue.
+ * Messages are taken in index order, so order of sent messages (thus order of messages with the same key)
+ * is the same as for single threaded generation. With {@link DataFile}, worker N takes every N-th record in the same way
+ * (see {@link DataFile#newInterleavedRecordSources(int)}), so that records are sent in file order too.
+ * Heap allocation of workers is recorded to {@link SimulationBenchmark} of their generators, if set.
+ */
+public final class ParallelMessageContentGenerator implements AutoCloseable {
+
+    public interface Preparation {
+        void prepare(MessageContentGenerator generator) throws Exception;
+    }
+
+    private static final int TOTAL_QUEUE_CAPACITY = 4096;
+    private static final long WORKER_POLL_TIMEOUT_MS = 100;
+    private static final long WORKER_STOP_TIMEOUT_MS = 1000;
+    private final List<MessageContentGenerator> generators;
+    private final List<BlockingQueue<GeneratedMessage>> queues = new ArrayList<>();
+    private final List<Future<?>> workers = new ArrayList<>();
+    private final ExecutorService executorService;
+    private int firstMessageIndex;
+
+    public ParallelMessageContentGenerator(List<MessageContentGenerator> generators) {
+        this.generators = generators;
+        final int queueCapacity = Math.max(1, TOTAL_QUEUE_CAPACITY / generators.size());
+        generators.forEach(g -> queues.add(new ArrayBlockingQueue<>(queueCapacity)));
+        executorService = Executors.newFixedThreadPool(generators.size(), createThreadFactory());
+    }
+
+    public void start(Preparation preparation, int totalMessageCount) {
+        start(preparation, 0, totalMessageCount);
+    }
+
+    // generates messages with indexes from firstMessageIndex (inclusive) to endMessageIndex (exclusive)
+    public void start(Preparation preparation, int firstMessageIndex, int endMessageIndex) {
+        this.firstMessageIndex = firstMessageIndex;
+        final int workersCount = generators.size();
+        for (int worker = 0; worker < workersCount; worker++) {
+            final int firstWorkerMessageIndex = firstMessageIndex + worker;
+            final MessageContentGenerator generator = generators.get(worker);
+            final BlockingQueue<GeneratedMessage> queue = queues.get(worker);
+            workers.add(executorService.submit(() -> {
+                generate(preparation, generator, queue, firstWorkerMessageIndex, workersCount, endMessageIndex);
+                return null;
+            }));
+        }
+    }
+
+    // returns null when data file has no more records
+    public byte[] next(int messageIndex) throws Exception {
+        final int worker = (messageIndex - firstMessageIndex) % queues.size();
+        final BlockingQueue<GeneratedMessage> queue = queues.get(worker);
+        while (true) {
+            GeneratedMessage message = queue.poll(WORKER_POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            if (message == null && workers.get(worker).isDone()) {
+                message = queue.poll();
+                if (message == null) {
+                    throw new KafkaToolError(String.format("Message content generator thread %d stopped unexpectedly",
+                                                           worker));
+                }
+            }
+            if (message != null) {
+                return message.getContent();
+            }
+        }
+    }
+
+    public List<MessageContentGenerator> getGenerators() {
+        return generators;
+    }
+
+    // waits a while for workers to stop, so that their allocation is recorded before benchmark is summarized
+    @Override
+    public void close() {
+        executorService.shutdownNow();
+        try {
+            executorService.awaitTermination(WORKER_STOP_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void generate(Preparation preparation,
+                                 MessageContentGenerator generator,
+                                 BlockingQueue<GeneratedMessage> queue,
+                                 int firstMessageIndex,
+                                 int step,
+                                 int endMessageIndex) throws InterruptedException {
+        long allocatedBytesAtStart = 0L;
+        try {
+            preparation.prepare(generator);
+            allocatedBytesAtStart = ThreadAllocation.currentThreadAllocatedBytes();
+            // index can overflow when end is close to Integer.MAX_VALUE (sending for given duration)
+            for (int i = firstMessageIndex; i < endMessageIndex && i >= firstMessageIndex; i += step) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                final byte[] content = generator.generate(i);
+                queue.put(GeneratedMessage.of(content));
+                // end of data file
+                if (content == null) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            queue.put(GeneratedMessage.failed(e));
+        } finally {
+            recordAllocation(generator.getSimulationBenchmark(), allocatedBytesAtStart);
+        }
+    }
+
+    private static void recordAllocation(SimulationBenchmark benchmark, long allocatedBytesAtStart) {
+        if (benchmark != null && allocatedBytesAtStart > 0L) {
+            benchmark.recordAllocatedBytes(ThreadAllocation.currentThreadAllocatedBytes() - allocatedBytesAtStart);
+        }
+    }
+
+    private static ThreadFactory createThreadFactory() {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "KMT-Thread-MessageContentGenerator-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class GeneratedMessage {
+        private final byte[] content;
+        private final Exception failure;
+
+        private GeneratedMessage(byte[] content, Exception failure) {
+            this.content = content;
+            this.failure = failure;
+        }
+
+        static GeneratedMessage of(byte[] content) {
+            return new GeneratedMessage(content, null);
+        }
+
+        static GeneratedMessage failed(Exception failure) {
+            return new GeneratedMessage(null, failure);
+        }
+
+        byte[] getContent() throws Exception {
+            if (failure != null) {
+                throw failure;
+            }
+            return content;
+        }
+    }
+}
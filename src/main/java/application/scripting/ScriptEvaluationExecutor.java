@@ -0,0 +1,49 @@
+package application.scripting;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs groovy script evaluations on reusable worker threads, so that every evaluation can be bounded by timeout
+ * without creating a new thread for each of them. Must be shut down on application exit.
+ */
+public class ScriptEvaluationExecutor {
+    private static final String THREAD_NAME_PREFIX = "KMT-Thread-EvaluateGroovyScriptTask-";
+    private final ExecutorService executorService;
+
+    public ScriptEvaluationExecutor() {
+        executorService = Executors.newCachedThreadPool(createThreadFactory());
+    }
+
+    public Object evaluate(Callable<Object> evaluationTask, long timeout, TimeUnit unit) throws InterruptedException,
+                                                                                              ExecutionException,
+                                                                                              TimeoutException {
+        final Future<Object> future = executorService.submit(evaluationTask);
+        try {
+            return future.get(timeout, unit);
+        } catch (InterruptedException | TimeoutException e) {
+            future.cancel(true);
+            throw e;
+        }
+    }
+
+    public void shutdown() {
+        executorService.shutdownNow();
+    }
+
+    private static ThreadFactory createThreadFactory() {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
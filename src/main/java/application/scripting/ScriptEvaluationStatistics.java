@@ -0,0 +1,53 @@
+package application.scripting;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class ScriptEvaluationStatistics {
+    private static final double NANOS_IN_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    private final LongAdder evaluationCount = new LongAdder();
+    private final LongAdder totalEvaluationNanos = new LongAdder();
+    private final AtomicLong maxEvaluationNanos = new AtomicLong();
+
+    public void record(long evaluationNanos) {
+        evaluationCount.increment();
+        totalEvaluationNanos.add(evaluationNanos);
+        maxEvaluationNanos.accumulateAndGet(evaluationNanos, Math::max);
+    }
+
+    public void reset() {
+        evaluationCount.reset();
+        totalEvaluationNanos.reset();
+        maxEvaluationNanos.set(0);
+    }
+
+    public long getEvaluationCount() {
+        return evaluationCount.sum();
+    }
+
+    public double getAverageEvaluationMs() {
+        final long count = getEvaluationCount();
+        if (count == 0) {
+            return 0.0;
+        }
+        return totalEvaluationNanos.sum() / NANOS_IN_MILLI / count;
+    }
+
+    public double getMaxEvaluationMs() {
+        return maxEvaluationNanos.get() / NANOS_IN_MILLI;
+    }
+
+    public double getTotalEvaluationMs() {
+        return totalEvaluationNanos.sum() / NANOS_IN_MILLI;
+    }
+
+    public String summary() {
+        return String.format(Locale.ENGLISH, "evaluations: %d, total: %.3f ms, avg: %.3f ms, max: %.3f ms",
+                             getEvaluationCount(),
+                             getTotalEvaluationMs(),
+                             getAverageEvaluationMs(),
+                             getMaxEvaluationMs());
+    }
+}
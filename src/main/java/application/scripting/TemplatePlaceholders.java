@@ -0,0 +1,95 @@
+package application.scripting;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Built-in message template placeholders, bound to script context under name {@value #BINDING_NAME}.
+ * Can be used in message body e.g. ${kmt.uuid}, ${kmt.counter}, ${kmt.randomInt(1, 100)}.
+ * Templates that use only these placeholders are rendered without groovy.
+ */
+public final class TemplatePlaceholders {
+    public static final String BINDING_NAME = "kmt";
+    private final AtomicLong counter;
+    private final Map<String, byte[]> fileContents = new ConcurrentHashMap<>();
+    private volatile int messageIndex;
+    private volatile Map<String, Object> row;
+
+    public TemplatePlaceholders() {
+        this(new AtomicLong());
+    }
+
+    // counter can be shared between placeholders used by parallel message generators
+    public TemplatePlaceholders(AtomicLong counter) {
+        this.counter = counter;
+    }
+
+    // incremented on every use, starts from 1 for each sending run
+    public long getCounter() {
+        return counter.incrementAndGet();
+    }
+
+    // zero based index of currently sent message
+    public int getMessageIndex() {
+        return messageIndex;
+    }
+
+    public void setMessageIndex(int messageIndex) {
+        this.messageIndex = messageIndex;
+    }
+
+    // current record of data file, also bound to script context as 'row' variable
+    public Map<String, Object> getRow() {
+        return row;
+    }
+
+    public void setRow(Map<String, Object> row) {
+        this.row = row;
+    }
+
+    // value of current data file record's field, rendered like groovy does (missing field is null)
+    public Object rowValue(String fieldName) {
+        final Map<String, Object> currentRow = row;
+        if (currentRow == null) {
+            throw new IllegalStateException(String.format("Placeholder '%s.%s' requires data file",
+                                                          DataFile.ROW_VARIABLE_NAME, fieldName));
+        }
+        return currentRow.get(fieldName);
+    }
+
+    public String getUuid() {
+        return UUID.randomUUID().toString();
+    }
+
+    public long getEpochMillis() {
+        return System.currentTimeMillis();
+    }
+
+    // both bounds inclusive
+    public int randomInt(int min, int max) {
+        if (min > max) {
+            throw new IllegalArgumentException(String.format("randomInt: min (%d) is greater than max (%d)", min, max));
+        }
+        return (int) ThreadLocalRandom.current().nextLong(min, (long) max + 1);
+    }
+
+    // whole file content, read once per sending run, e.g. msgBytes = kmt.fileBytes('/tmp/payload.bin')
+    public byte[] fileBytes(String path) {
+        return fileContents.computeIfAbsent(path, TemplatePlaceholders::readFile);
+    }
+
+    private static byte[] readFile(String path) {
+        try {
+            return Files.readAllBytes(Paths.get(path));
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Could not read payload file '%s'", path), e);
+        }
+    }
+}
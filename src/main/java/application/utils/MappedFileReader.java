@@ -0,0 +1,177 @@
+package application.utils;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads lines or length prefixed records of a file through memory mapped windows, so files of any size (tens of GB)
+ * are read without loading them into heap and without copying them through a read buffer.
+ * Lines end with '\n' or "\r\n" (last line may have no line ending), line must fit into a single window.
+ * Length prefixed record is a 4 byte big-endian length followed by that many bytes, it can be of any size.
+ * When looping, reading restarts from the marked position (file start by default) after the last line/record.
+ * Not thread safe.
+ */
+public final class MappedFileReader implements AutoCloseable {
+    public static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+    private static final int LENGTH_PREFIX_SIZE = Integer.BYTES;
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+    private final Path path;
+    private final FileChannel channel;
+    private final long fileSize;
+    private final int windowSize;
+    private final boolean loop;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long position;
+    private long loopStart;
+    private boolean readSinceLoopStart;
+    private long readCount;
+
+    public MappedFileReader(Path path, boolean loop) throws IOException {
+        this(path, loop, DEFAULT_WINDOW_SIZE);
+    }
+
+    public MappedFileReader(Path path, boolean loop, int windowSize) throws IOException {
+        this.path = path;
+        this.loop = loop;
+        this.windowSize = windowSize;
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        fileSize = channel.size();
+    }
+
+    // following loops start from current position, e.g. just after header line
+    public void markLoopStart() {
+        loopStart = position;
+        readSinceLoopStart = false;
+    }
+
+    // returns null at the end of file (never when looping over non-empty part of file)
+    public byte[] nextLine() throws IOException {
+        while (hasMoreData()) {
+            mapWindowAt(position);
+            final int offset = (int) (position - windowStart);
+            final int limit = window.limit();
+            int end = indexOfLineFeed(offset, limit);
+            long nextPosition = windowStart + end + 1;
+            if (end < 0) {
+                if (windowStart + limit < fileSize) {
+                    if (offset == 0) {
+                        throw new IOException(String.format("Line at position %d of file '%s' is longer than %d bytes",
+                                                            position, path, windowSize));
+                    }
+                    // line continues in the next window
+                    mapWindow(position, 0);
+                    continue;
+                }
+                end = limit;
+                nextPosition = fileSize;
+            }
+            final byte[] line = copyLine(offset, end);
+            onRead(nextPosition);
+            return line;
+        }
+        return null;
+    }
+
+    // returns null at the end of file (never when looping over non-empty part of file)
+    public byte[] nextLengthPrefixed() throws IOException {
+        if (!hasMoreData()) {
+            return null;
+        }
+        if (position + LENGTH_PREFIX_SIZE > fileSize) {
+            throw new IOException(String.format("Truncated length prefix at position %d of file '%s'", position, path));
+        }
+        mapWindowAt(position, LENGTH_PREFIX_SIZE);
+        final int length = window.getInt((int) (position - windowStart));
+        final long recordStart = position + LENGTH_PREFIX_SIZE;
+        if (length < 0 || recordStart + length > fileSize) {
+            throw new IOException(String.format("Invalid record length %d at position %d of file '%s' (%d bytes)",
+                                                length, position, path, fileSize));
+        }
+        mapWindowAt(recordStart, length);
+        final byte[] record = new byte[length];
+        window.position((int) (recordStart - windowStart));
+        window.get(record);
+        onRead(recordStart + length);
+        return record;
+    }
+
+    // position in file of the next line/record
+    public long getPosition() {
+        return position;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    // lines/records read so far, including the ones read in previous loops
+    public long getReadCount() {
+        return readCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        // mapped windows are released when garbage collected, they stay valid after channel is closed
+        window = null;
+        channel.close();
+    }
+
+    // when looping, rewinds to the marked position at the end of file
+    private boolean hasMoreData() {
+        if (position < fileSize) {
+            return true;
+        }
+        if (!loop || !readSinceLoopStart) {
+            return false;
+        }
+        position = loopStart;
+        readSinceLoopStart = false;
+        return position < fileSize;
+    }
+
+    private void onRead(long nextPosition) {
+        position = nextPosition;
+        readSinceLoopStart = true;
+        readCount++;
+    }
+
+    private void mapWindowAt(long filePosition) throws IOException {
+        mapWindowAt(filePosition, 1);
+    }
+
+    // makes sure that given range of file is inside current window
+    private void mapWindowAt(long filePosition, int length) throws IOException {
+        if (window == null || filePosition < windowStart || filePosition + length > windowStart + window.limit()) {
+            mapWindow(filePosition, length);
+        }
+    }
+
+    // window is larger than default when it has to contain a larger record
+    private void mapWindow(long filePosition, int minSize) throws IOException {
+        final long size = Math.min(Math.max(windowSize, minSize), fileSize - filePosition);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, filePosition, size);
+        windowStart = filePosition;
+    }
+
+    private int indexOfLineFeed(int from, int limit) {
+        for (int i = from; i < limit; i++) {
+            if (window.get(i) == LF) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private byte[] copyLine(int from, int end) {
+        final int length = end > from && window.get(end - 1) == CR ? end - from - 1 : end - from;
+        final byte[] line = new byte[length];
+        window.position(from);
+        window.get(line);
+        return line;
+    }
+}
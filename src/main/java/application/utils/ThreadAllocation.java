@@ -0,0 +1,45 @@
+package application.utils;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Heap bytes allocated by the current thread, as counted by the JVM (HotSpot thread MX bean).
+ * Counter is cumulative over the lifetime of the thread, callers take difference of two readings made on the same thread.
+ */
+public final class ThreadAllocation {
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = findThreadMXBean();
+
+    private ThreadAllocation() {
+    }
+
+    public static boolean isSupported() {
+        return THREAD_MX_BEAN != null;
+    }
+
+    // always 0 when JVM does not count allocations of threads
+    public static long currentThreadAllocatedBytes() {
+        if (THREAD_MX_BEAN == null) {
+            return 0L;
+        }
+        return THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static com.sun.management.ThreadMXBean findThreadMXBean() {
+        final java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (!(threadMXBean instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        final com.sun.management.ThreadMXBean allocationMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+        try {
+            if (!allocationMXBean.isThreadAllocatedMemorySupported()) {
+                return null;
+            }
+            if (!allocationMXBean.isThreadAllocatedMemoryEnabled()) {
+                allocationMXBean.setThreadAllocatedMemoryEnabled(true);
+            }
+            return allocationMXBean;
+        } catch (UnsupportedOperationException | SecurityException e) {
+            return null;
+        }
+    }
+}
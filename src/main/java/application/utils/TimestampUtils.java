@@ -4,10 +4,13 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 
 public class TimestampUtils {
 
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+    private static final DateTimeFormatter DATE_TIME_SECONDS_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     public static String nowFullTimestamp() {
         return DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").format(LocalDateTime.now());
@@ -22,4 +25,37 @@ public class TimestampUtils {
                 .format((LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMili),
                         ZoneId.systemDefault())));
     }
+
+    public static String timeTimestampFromEpochMili(long epochMili) {
+        return TIME_FORMATTER
+                .format((LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMili),
+                        ZoneId.systemDefault())));
+    }
+
+    // reverse of timestampFromEpochMili()
+    public static long epochMiliFromTimestamp(String timestamp) {
+        return LocalDateTime.parse(timestamp, DATE_TIME_FORMATTER)
+                .atZone(ZoneId.systemDefault())
+                .toInstant()
+                .toEpochMilli();
+    }
+
+    // accepts epoch millis or local date time with or without millis, throws DateTimeParseException otherwise
+    public static long epochMiliFromUserTimestamp(String timestamp) {
+        final String trimmed = timestamp.trim();
+        if (!trimmed.isEmpty() && trimmed.chars().allMatch(Character::isDigit)) {
+            try {
+                return Long.parseLong(trimmed);
+            } catch (NumberFormatException e) {
+                throw new DateTimeParseException("Epoch millis out of range", trimmed, 0);
+            }
+        }
+        final DateTimeFormatter formatter = trimmed.length() > "yyyy-MM-dd HH:mm:ss".length()
+                ? DATE_TIME_FORMATTER
+                : DATE_TIME_SECONDS_FORMATTER;
+        return LocalDateTime.parse(trimmed, formatter)
+                .atZone(ZoneId.systemDefault())
+                .toInstant()
+                .toEpochMilli();
+    }
 }
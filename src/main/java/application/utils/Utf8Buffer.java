@@ -0,0 +1,76 @@
+package application.utils;
+
+/**
+ * Reusable UTF-8 bytes of a text, for hashing many short texts (e.g. message keys) without allocating
+ * a new String and byte array for each of them. Text can be built in {@link #clearedText()} and encoded
+ * by {@link #encodeText()}, or bytes that already exist can be wrapped without copying.
+ * Malformed surrogates are encoded as '?', the same as by {@link String#getBytes(java.nio.charset.Charset)}.
+ * Not thread safe.
+ */
+public final class Utf8Buffer {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final byte REPLACEMENT = '?';
+    private final StringBuilder text = new StringBuilder(INITIAL_CAPACITY);
+    private byte[] encoded = new byte[INITIAL_CAPACITY];
+    private byte[] bytes = encoded;
+    private int length;
+
+    public StringBuilder clearedText() {
+        text.setLength(0);
+        return text;
+    }
+
+    public void encodeText() {
+        encode(text);
+    }
+
+    public void encode(CharSequence chars) {
+        ensureCapacity(chars.length() * 3);
+        int position = 0;
+        for (int i = 0; i < chars.length(); i++) {
+            final char c = chars.charAt(i);
+            if (c < 0x80) {
+                encoded[position++] = (byte) c;
+            } else if (c < 0x800) {
+                encoded[position++] = (byte) (0xc0 | c >> 6);
+                encoded[position++] = (byte) (0x80 | c & 0x3f);
+            } else if (Character.isHighSurrogate(c) && i + 1 < chars.length()
+                && Character.isLowSurrogate(chars.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(c, chars.charAt(++i));
+                encoded[position++] = (byte) (0xf0 | codePoint >> 18);
+                encoded[position++] = (byte) (0x80 | codePoint >> 12 & 0x3f);
+                encoded[position++] = (byte) (0x80 | codePoint >> 6 & 0x3f);
+                encoded[position++] = (byte) (0x80 | codePoint & 0x3f);
+            } else if (Character.isSurrogate(c)) {
+                encoded[position++] = REPLACEMENT;
+            } else {
+                encoded[position++] = (byte) (0xe0 | c >> 12);
+                encoded[position++] = (byte) (0x80 | c >> 6 & 0x3f);
+                encoded[position++] = (byte) (0x80 | c & 0x3f);
+            }
+        }
+        bytes = encoded;
+        length = position;
+    }
+
+    // bytes are not copied, array must not be changed while it is wrapped
+    public void wrap(byte[] bytes) {
+        this.bytes = bytes;
+        length = bytes.length;
+    }
+
+    // only first length() bytes are valid
+    public byte[] array() {
+        return bytes;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (encoded.length < capacity) {
+            encoded = new byte[Math.max(capacity, encoded.length * 2)];
+        }
+    }
+}
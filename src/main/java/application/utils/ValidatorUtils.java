@@ -47,6 +47,18 @@ public class ValidatorUtils {
         }
     }
 
+    public static Boolean isTimestampValid(String value) {
+        if (!isStringIdentifierValid(value)) {
+            return false;
+        }
+        try {
+            TimestampUtils.epochMiliFromUserTimestamp(value);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
     public static Boolean isTimeoutInMsValid(String value) {
         if (!isStringIdentifierValid(value)) {
             return false;
@@ -11,6 +11,53 @@ public class KafkaPartitionUtils {
             return -1;
         }
 
-        return Utils.toPositive(Utils.murmur2(key.getBytes(Charset.defaultCharset()))) % numPartitions;
+        return partition(key.getBytes(Charset.defaultCharset()), numPartitions);
+    }
+
+    // same as default partitioner of producer for record with key
+    public static int partition(byte[] keyBytes, int numPartitions) {
+        return Utils.toPositive(Utils.murmur2(keyBytes)) % numPartitions;
+    }
+
+    // key is the first length bytes of array, e.g. of reused buffer
+    public static int partition(byte[] keyBytes, int length, int numPartitions) {
+        return Utils.toPositive(murmur2(keyBytes, length)) % numPartitions;
+    }
+
+    // Utils.murmur2() hashing only the first length bytes of array
+    private static int murmur2(byte[] data, int length) {
+        final int m = 0x5bd1e995;
+        final int r = 24;
+        int h = 0x9747b28c ^ length;
+        final int length4 = length / 4;
+        for (int i = 0; i < length4; i++) {
+            final int i4 = i * 4;
+            int k = (data[i4] & 0xff) + ((data[i4 + 1] & 0xff) << 8) + ((data[i4 + 2] & 0xff) << 16)
+                + ((data[i4 + 3] & 0xff) << 24);
+            k *= m;
+            k ^= k >>> r;
+            k *= m;
+            h *= m;
+            h ^= k;
+        }
+        final int tail = length & ~3;
+        switch (length % 4) {
+            case 3:
+                h ^= (data[tail + 2] & 0xff) << 16;
+                // fall through
+            case 2:
+                h ^= (data[tail + 1] & 0xff) << 8;
+                // fall through
+            case 1:
+                h ^= data[tail] & 0xff;
+                h *= m;
+                break;
+            default:
+                break;
+        }
+        h ^= h >>> 13;
+        h *= m;
+        h ^= h >>> 15;
+        return h;
     }
 }
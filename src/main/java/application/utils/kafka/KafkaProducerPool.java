@@ -0,0 +1,180 @@
+package application.utils.kafka;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.apache.kafka.clients.producer.Producer;
+
+import application.logging.Logger;
+
+/**
+ * Thread-safe pool of long-lived kafka producers keyed by producer properties (broker address + producer tuning).
+ * Producers stay connected between sending runs, so only the first run pays for connection and metadata fetch.
+ * Producer not leased by anybody for longer than idle timeout is closed by background evictor, which checks
+ * idle producers every {@value #EVICTION_PERIOD_MS} ms. Producer that failed can be invalidated by its lease,
+ * then it is closed and the next run gets a new one.
+ */
+public final class KafkaProducerPool<K, V> {
+    private static final long EVICTION_PERIOD_MS = 5000L;
+    private final Function<Properties, Producer<K, V>> producerFactory;
+    private final Duration closeTimeout;
+    private final Map<Properties, PooledProducer> producers = new HashMap<>();
+    private final ScheduledExecutorService evictor;
+    private volatile long idleTimeoutNanos;
+    private boolean closed;
+
+    public KafkaProducerPool(Function<Properties, Producer<K, V>> producerFactory,
+                             Duration idleTimeout,
+                             Duration closeTimeout) {
+        this.producerFactory = producerFactory;
+        this.closeTimeout = closeTimeout;
+        setIdleTimeout(idleTimeout);
+        evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "KMT-Thread-KafkaProducerPoolEvictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(this::evictIdleProducers,
+                                       EVICTION_PERIOD_MS,
+                                       EVICTION_PERIOD_MS,
+                                       TimeUnit.MILLISECONDS);
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+        idleTimeoutNanos = idleTimeout.toNanos();
+    }
+
+    public synchronized Lease<K, V> acquire(Properties properties) {
+        if (closed) {
+            throw new IllegalStateException("Producer pool is closed");
+        }
+        PooledProducer pooled = producers.get(properties);
+        if (pooled == null) {
+            final Properties key = new Properties();
+            key.putAll(properties);
+            pooled = new PooledProducer(key, producerFactory.apply(key));
+            producers.put(key, pooled);
+        }
+        pooled.leaseCount++;
+        return new Lease<>(this, pooled);
+    }
+
+    public synchronized int size() {
+        return producers.size();
+    }
+
+    public void evictIdleProducers() {
+        final List<Producer<K, V>> evicted = new ArrayList<>();
+        final long nowNanos = System.nanoTime();
+        synchronized (this) {
+            final Iterator<PooledProducer> it = producers.values().iterator();
+            while (it.hasNext()) {
+                final PooledProducer pooled = it.next();
+                if (pooled.leaseCount == 0 && nowNanos - pooled.lastReleasedNanos >= idleTimeoutNanos) {
+                    evicted.add(pooled.producer);
+                    it.remove();
+                }
+            }
+        }
+        if (!evicted.isEmpty()) {
+            Logger.debug(String.format("Closing %d idle kafka producer(s)", evicted.size()));
+        }
+        evicted.forEach(this::closeQuietly);
+    }
+
+    public void close() {
+        evictor.shutdownNow();
+        final List<Producer<K, V>> all;
+        synchronized (this) {
+            closed = true;
+            all = new ArrayList<>();
+            producers.values().forEach(pooled -> all.add(pooled.producer));
+            producers.clear();
+        }
+        all.forEach(this::closeQuietly);
+    }
+
+    private void release(PooledProducer pooled) {
+        final boolean closeNow;
+        synchronized (this) {
+            pooled.leaseCount--;
+            pooled.lastReleasedNanos = System.nanoTime();
+            closeNow = pooled.invalidated && pooled.leaseCount == 0;
+        }
+        if (closeNow) {
+            closeQuietly(pooled.producer);
+        }
+    }
+
+    // producer is not leased any more, it is closed when the last lease of it is released
+    private void invalidate(PooledProducer pooled) {
+        synchronized (this) {
+            if (!pooled.invalidated) {
+                pooled.invalidated = true;
+                producers.remove(pooled.key, pooled);
+            }
+        }
+        release(pooled);
+    }
+
+    private void closeQuietly(Producer<K, V> producer) {
+        try {
+            producer.close(closeTimeout);
+        } catch (Exception e) {
+            Logger.warn("Could not close kafka producer", e);
+        }
+    }
+
+    private final class PooledProducer {
+        private final Properties key;
+        private final Producer<K, V> producer;
+        private int leaseCount;
+        private long lastReleasedNanos = System.nanoTime();
+        private boolean invalidated;
+
+        private PooledProducer(Properties key, Producer<K, V> producer) {
+            this.key = key;
+            this.producer = producer;
+        }
+    }
+
+    public static final class Lease<K, V> implements AutoCloseable {
+        private final KafkaProducerPool<K, V> pool;
+        private final KafkaProducerPool<K, V>.PooledProducer pooled;
+        private boolean released;
+
+        private Lease(KafkaProducerPool<K, V> pool, KafkaProducerPool<K, V>.PooledProducer pooled) {
+            this.pool = pool;
+            this.pooled = pooled;
+        }
+
+        public Producer<K, V> producer() {
+            return pooled.producer;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!released) {
+                released = true;
+                pool.release(pooled);
+            }
+        }
+
+        // releases broken (e.g. failed) producer, so that it is closed and never leased again
+        public synchronized void invalidate() {
+            if (!released) {
+                released = true;
+                pool.invalidate(pooled);
+            }
+        }
+    }
+}
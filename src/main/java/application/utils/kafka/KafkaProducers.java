@@ -1,32 +1,31 @@
 package application.utils.kafka;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.time.Duration;
 import java.util.Properties;
 
 import org.apache.kafka.clients.producer.KafkaProducer;
 
+import application.constants.ApplicationConstants;
+
 public class KafkaProducers {
 
-    private static final Map<Properties, KafkaProducer<String, String>> PRODUCERS_FOR_PROPERTIES = new HashMap<>();
+    private static final KafkaProducerPool<byte[], byte[]> PRODUCER_POOL =
+        new KafkaProducerPool<>(KafkaProducer::new,
+                                Duration.ofSeconds(ApplicationConstants.DEFAULT_PRODUCER_IDLE_TIMEOUT_SECONDS),
+                                Duration.ofMillis(ApplicationConstants.CLOSE_CONNECTION_TIMEOUT_MS));
 
 
-    public static KafkaProducer<String, String> getProducerForProperties(Properties props) {
+    // producer is shared with other senders using same properties, it must be released, not closed
+    public static KafkaProducerPool.Lease<byte[], byte[]> acquireProducerForProperties(Properties props) {
+        return PRODUCER_POOL.acquire(props);
+    }
 
-        if (PRODUCERS_FOR_PROPERTIES.containsKey(props)) {
-            final KafkaProducer<String, String> producer = PRODUCERS_FOR_PROPERTIES.get(props);
-            producer.close();
-        }
-        // create new producer each time
-        final KafkaProducer<String, String> producer = new KafkaProducer<>(props);
-        PRODUCERS_FOR_PROPERTIES.put(props, producer);
-        return producer;
+    public static void setIdleTimeout(Duration idleTimeout) {
+        PRODUCER_POOL.setIdleTimeout(idleTimeout);
     }
 
     public static void close(){
-        PRODUCERS_FOR_PROPERTIES.forEach((key, producer)->{
-            producer.close();
-        });
+        PRODUCER_POOL.close();
     }
 
 }
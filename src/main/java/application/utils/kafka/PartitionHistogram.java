@@ -0,0 +1,106 @@
+package application.utils.kafka;
+
+import java.util.Locale;
+
+/**
+ * Number of keys per partition of a topic with skew statistics. Not thread safe, histograms counted
+ * on different threads are merged.
+ */
+public final class PartitionHistogram {
+    private final long[] counts;
+
+    public PartitionHistogram(int partitionCount) {
+        counts = new long[partitionCount];
+    }
+
+    public void add(int partition) {
+        counts[partition]++;
+    }
+
+    public void merge(PartitionHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+    }
+
+    public int getPartitionCount() {
+        return counts.length;
+    }
+
+    public long getCount(int partition) {
+        return counts[partition];
+    }
+
+    public long getTotalCount() {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    public long getMinCount() {
+        long min = Long.MAX_VALUE;
+        for (long count : counts) {
+            min = Math.min(min, count);
+        }
+        return min;
+    }
+
+    public long getMaxCount() {
+        return counts[getHottestPartition()];
+    }
+
+    // first one of the partitions with most keys
+    public int getHottestPartition() {
+        int hottest = 0;
+        for (int i = 1; i < counts.length; i++) {
+            if (counts[i] > counts[hottest]) {
+                hottest = i;
+            }
+        }
+        return hottest;
+    }
+
+    public int getEmptyPartitionCount() {
+        int empty = 0;
+        for (long count : counts) {
+            if (count == 0) {
+                empty++;
+            }
+        }
+        return empty;
+    }
+
+    public double getMeanCount() {
+        return (double) getTotalCount() / counts.length;
+    }
+
+    // count of hottest partition divided by mean count, 1.0 means perfectly even spread
+    public double getMaxToMeanRatio() {
+        final double mean = getMeanCount();
+        return mean == 0.0 ? 0.0 : getMaxCount() / mean;
+    }
+
+    // standard deviation of counts divided by mean count
+    public double getCoefficientOfVariation() {
+        final double mean = getMeanCount();
+        if (mean == 0.0) {
+            return 0.0;
+        }
+        double sumOfSquares = 0.0;
+        for (long count : counts) {
+            sumOfSquares += (count - mean) * (count - mean);
+        }
+        return Math.sqrt(sumOfSquares / counts.length) / mean;
+    }
+
+    public String summary() {
+        return String.format(Locale.ENGLISH, "keys: %d, partitions: %d, min/mean/max per partition: %d/%.1f/%d, "
+                                 + "hottest partition: %d (%.2fx mean), coefficient of variation: %.3f, "
+                                 + "empty partitions: %d",
+                             getTotalCount(), counts.length, getMinCount(), getMeanCount(), getMaxCount(),
+                             getHottestPartition(), getMaxToMeanRatio(), getCoefficientOfVariation(),
+                             getEmptyPartitionCount());
+    }
+}
@@ -0,0 +1,65 @@
+package application.utils.kafka;
+
+import java.nio.charset.StandardCharsets;
+
+import application.exceptions.KafkaToolError;
+
+/**
+ * One message key for each partition of a topic, such that default partitioner assigns records with that key
+ * to that partition. Keys are found by hashing candidate keys 'prefix + number' (number counting from 0)
+ * until every partition has one, so they are readable and the same for the same prefix and partition count.
+ */
+public final class PartitionKeySet {
+    // about n * ln(n) candidates are needed for n partitions (coupon collector), these limits leave plenty of room
+    private static final long MIN_CANDIDATE_COUNT = 100_000;
+    private static final long CANDIDATES_PER_PARTITION = 64;
+    private final byte[][] keys;
+    private final long candidateCount;
+
+    private PartitionKeySet(byte[][] keys, long candidateCount) {
+        this.keys = keys;
+        this.candidateCount = candidateCount;
+    }
+
+    public static PartitionKeySet compute(String prefix, int partitionCount) throws KafkaToolError {
+        if (partitionCount <= 0) {
+            throw new KafkaToolError(String.format("Could not compute keys for %d partitions", partitionCount));
+        }
+        final byte[][] keys = new byte[partitionCount][];
+        final long maxCandidateCount = Math.max(MIN_CANDIDATE_COUNT, partitionCount * CANDIDATES_PER_PARTITION);
+        int missingCount = partitionCount;
+        long candidate = 0;
+        while (missingCount > 0 && candidate < maxCandidateCount) {
+            final byte[] key = (prefix + candidate).getBytes(StandardCharsets.UTF_8);
+            final int partition = KafkaPartitionUtils.partition(key, partitionCount);
+            if (keys[partition] == null) {
+                keys[partition] = key;
+                missingCount--;
+            }
+            candidate++;
+        }
+        if (missingCount > 0) {
+            throw new KafkaToolError(String.format("Could not find keys for %d of %d partitions with prefix '%s'",
+                                                   missingCount, partitionCount, prefix));
+        }
+        return new PartitionKeySet(keys, candidate);
+    }
+
+    public int getPartitionCount() {
+        return keys.length;
+    }
+
+    // not copied, must not be modified
+    public byte[] keyForPartition(int partition) {
+        return keys[partition];
+    }
+
+    public String keyTextForPartition(int partition) {
+        return new String(keys[partition], StandardCharsets.UTF_8);
+    }
+
+    // number of hashed candidate keys
+    public long getCandidateCount() {
+        return candidateCount;
+    }
+}
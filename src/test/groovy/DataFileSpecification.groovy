@@ -0,0 +1,105 @@
+import application.exceptions.KafkaToolError
+import application.scripting.DataFile
+import org.testng.annotations.Test
+
+import java.nio.file.Files
+
+class DataFileSpecification {
+
+    @Test
+    void shouldReadCsvRecordsWithQuotedFields() {
+        def dataFile = open('orders.csv', '﻿id, name ,note\r\n1,"cat, ""Tom""","multi\nline"\r\n\r\n2,dog\n')
+
+        def records = dataFile.newRecordSource()
+
+        assert records.next() == [id: '1', name: 'cat, "Tom"', note: 'multi\nline']
+        assert records.next() == [id: '2', name: 'dog', note: '']
+        assert records.next() == null
+        assert dataFile.recordCount == 2
+        dataFile.close()
+    }
+
+    @Test
+    void shouldReadTsvRecords() {
+        def dataFile = open('orders.tsv', 'id\tname\n1\tcat, dog\n')
+
+        def records = dataFile.newRecordSource()
+
+        assert records.next() == [id: '1', name: 'cat, dog']
+        assert records.next() == null
+        dataFile.close()
+    }
+
+    @Test
+    void shouldReadJsonLinesRecords() {
+        def dataFile = open('orders.jsonl', '{"id": 1, "tags": ["a"]}\n\n{"id": 2, "name": "ą"}')
+
+        def records = dataFile.newRecordSource()
+
+        assert records.next() == [id: 1, tags: ['a']]
+        assert records.next() == [id: 2, name: 'ą']
+        assert records.next() == null
+        dataFile.close()
+    }
+
+    @Test
+    void shouldStartAgainAfterHeaderWhenLooping() {
+        def dataFile = DataFile.open(write('orders.csv', 'id\n1\n2').toString(), true)
+
+        def records = dataFile.newRecordSource()
+
+        assert (1..5).collect { records.next().id } == ['1', '2', '1', '2', '1']
+        dataFile.close()
+    }
+
+    @Test
+    void shouldShareRecordsBetweenSources() {
+        def dataFile = open('orders.csv', 'id\n1\n2\n')
+
+        def first = dataFile.newRecordSource()
+        def second = dataFile.newRecordSource()
+
+        assert first.next().id == '1'
+        assert second.next().id == '2'
+        assert first.next() == null
+        dataFile.close()
+    }
+
+    @Test(expectedExceptions = KafkaToolError.class)
+    void shouldRejectJsonRecordThatIsNotObject() {
+        def dataFile = open('orders.jsonl', '[1, 2]\n')
+        try {
+            dataFile.newRecordSource().next()
+        } finally {
+            dataFile.close()
+        }
+    }
+
+    @Test(expectedExceptions = KafkaToolError.class)
+    void shouldRejectUnknownFileExtension() {
+        DataFile.open(write('orders.xml', '<a/>').toString(), false)
+    }
+
+    @Test(expectedExceptions = KafkaToolError.class)
+    void shouldRejectJsonDocumentThatIsNotOneRecordPerLine() {
+        DataFile.open(write('orders.json', '[\n  {"id": 1}\n]\n').toString(), false)
+    }
+
+    @Test(expectedExceptions = KafkaToolError.class)
+    void shouldRejectMissingFile() {
+        DataFile.open('/not/existing/orders.csv', false)
+    }
+
+    private static DataFile open(String fileName, String content) {
+        DataFile.open(write(fileName, content).toString(), false)
+    }
+
+    private static write(String fileName, String content) {
+        def dir = Files.createTempDirectory('data-file')
+        def file = dir.resolve(fileName)
+        file.write(content, 'UTF-8')
+        file.toFile().deleteOnExit()
+        dir.toFile().deleteOnExit()
+        file
+    }
+}
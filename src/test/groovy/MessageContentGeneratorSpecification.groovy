@@ -0,0 +1,116 @@
+import application.exceptions.KafkaToolError
+import application.scripting.CompiledScriptCache
+import application.scripting.DataFile
+import application.scripting.GroovyScriptEvaluator
+import application.scripting.MessageContentGenerator
+import application.scripting.ScriptEvaluationExecutor
+import application.scripting.TemplatePlaceholders
+import application.utils.Utf8Buffer
+import org.testng.annotations.Test
+
+import java.nio.file.Files
+
+class MessageContentGeneratorSpecification {
+
+    @Test
+    void shouldReuseOnceEncodedContentOfStaticTemplate() {
+        def generator = createGenerator()
+        generator.prepare('', '', 'x = 1', '{"animal": "cat ą"}')
+
+        def first = generator.generate(0)
+
+        assert new String(first, 'UTF-8') == '{"animal": "cat ą"}'
+        assert generator.generate(1).is(first)
+    }
+
+    @Test
+    void shouldEncodeEvaluatedTemplateAsUtf8() {
+        def generator = createGenerator()
+        generator.prepare('', 'x = 0', 'x++', 'ą${x}')
+
+        assert generator.generate(0) == 'ą1'.getBytes('UTF-8')
+        assert generator.generate(1) == 'ą2'.getBytes('UTF-8')
+    }
+
+    @Test
+    void shouldGenerateIntoReusedBufferTheSameBytesAsGenerate() {
+        def templates = ['key-ą-${kmt.messageIndex}', 'ą${x}', 'static ą']
+        templates.each { template ->
+            def expected = createGenerator()
+            expected.prepare('', 'x = 0', 'x++', template)
+            def generator = createGenerator()
+            generator.prepare('', 'x = 0', 'x++', template)
+            def buffer = new Utf8Buffer()
+
+            (0..<3).each { i ->
+                assert generator.generateInto(i, buffer)
+                assert Arrays.copyOf(buffer.array(), buffer.length()) == expected.generate(i)
+            }
+        }
+    }
+
+    @Test
+    void shouldSendBytesAssignedByScriptInsteadOfTemplate() {
+        def generator = createGenerator()
+        generator.prepare('', '', 'msgBytes = [0, 1, kmt.messageIndex] as byte[]', 'ignored')
+
+        assert generator.generate(7) == [0, 1, 7] as byte[]
+    }
+
+    @Test
+    void shouldLoadPayloadFromBinaryFileOnlyOnce() {
+        def file = Files.createTempFile('payload', '.bin')
+        file.toFile().deleteOnExit()
+        Files.write(file, [-1, 0, 42] as byte[])
+        def generator = createGenerator()
+        generator.prepare('', "msgBytes = kmt.fileBytes('${file.toString().replace('\\', '\\\\')}')", '', 'ignored')
+
+        def first = generator.generate(0)
+
+        assert first == [-1, 0, 42] as byte[]
+        assert generator.generate(1).is(first)
+    }
+
+    @Test(expectedExceptions = KafkaToolError.class)
+    void shouldRejectMsgBytesThatAreNotByteArray() {
+        def generator = createGenerator()
+        generator.prepare('', 'msgBytes = "text"', '', 'ignored')
+
+        generator.generate(0)
+    }
+
+    @Test
+    void shouldBindDataFileRecordsAndStopAtTheEndOfFile() {
+        def file = Files.createTempFile('orders', '.csv')
+        file.toFile().deleteOnExit()
+        file.write('id,name\n1,cat\n2,dog\n', 'UTF-8')
+        def dataFile = DataFile.open(file.toString(), false)
+        def generator = createGenerator(dataFile.newRecordSource())
+        generator.prepare('', '', 'upper = row.name.toUpperCase()', '${row.id}:${upper}')
+
+        assert new String(generator.generate(0), 'UTF-8') == '1:CAT'
+        assert new String(generator.generate(1), 'UTF-8') == '2:DOG'
+        assert generator.generate(2) == null
+        dataFile.close()
+    }
+
+    @Test
+    void shouldRenderRowPlaceholderWithoutScripts() {
+        def file = Files.createTempFile('orders', '.jsonl')
+        file.toFile().deleteOnExit()
+        file.write('{"id": 7, "name": "cat"}\n', 'UTF-8')
+        def dataFile = DataFile.open(file.toString(), true)
+        def generator = createGenerator(dataFile.newRecordSource())
+        generator.prepare('', '', '', '{"id": ${row.id}, "msg": ${kmt.messageIndex}}')
+
+        assert new String(generator.generate(0), 'UTF-8') == '{"id": 7, "msg": 0}'
+        assert new String(generator.generate(1), 'UTF-8') == '{"id": 7, "msg": 1}'
+        dataFile.close()
+    }
+
+    private static MessageContentGenerator createGenerator(DataFile.RecordSource dataRecords = null) {
+        new MessageContentGenerator(new GroovyScriptEvaluator(new CompiledScriptCache(), new ScriptEvaluationExecutor()),
+                                    new TemplatePlaceholders(),
+                                    dataRecords)
+    }
+}
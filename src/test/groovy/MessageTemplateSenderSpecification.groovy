@@ -1,6 +1,8 @@
 import application.kafka.sender.KafkaMessageSender
+import application.scripting.CompiledScriptCache
 import application.scripting.GroovyScriptEvaluator
 import application.scripting.MessageTemplateSender
+import application.scripting.ScriptEvaluationExecutor
 import org.mockito.Mockito
 import org.testng.annotations.Test
 
@@ -10,7 +12,7 @@ class MessageTemplateSenderSpecification {
     void shouldEvaluateStringExpressionAndNotThrowInTheProcess() {
 
         KafkaMessageSender sender = Mockito.mock(KafkaMessageSender.class)
-        def evaluator = new MessageTemplateSender(sender,new GroovyScriptEvaluator());
+        def evaluator = new MessageTemplateSender(sender,new GroovyScriptEvaluator(new CompiledScriptCache(), new ScriptEvaluationExecutor()));
 
         def inputs = ["",
                       '''"''',
@@ -27,4 +29,48 @@ class MessageTemplateSenderSpecification {
         inputs.each { evaluator.evaluateMessageContent(it) }
 
     }
+
+    @Test
+    void shouldEvaluateTemplateUsingVariablesAndMethodsFromPreviouslyRunScripts() {
+        def scriptEvaluator = new GroovyScriptEvaluator(new CompiledScriptCache(), new ScriptEvaluationExecutor())
+        def evaluator = new MessageTemplateSender(Mockito.mock(KafkaMessageSender.class), scriptEvaluator)
+
+        scriptEvaluator.runScript('counter = 41; def next() { counter += 1 }')
+        scriptEvaluator.runScript('next()')
+
+        assert evaluator.evaluateMessageContent('{"id": ${counter}}') == '{"id": 42}'
+    }
+
+    @Test
+    void shouldCompileSameScriptTextOnlyOnce() {
+        def cache = new CompiledScriptCache()
+
+        assert cache.getScriptClass('x = 1').is(cache.getScriptClass('x = 1'))
+        assert !cache.getScriptClass('x = 1').is(cache.getScriptClass('x = 2'))
+    }
+
+    @Test
+    void shouldCompileEveryScriptWithItsOwnClassLoaderSoThatEvictedClassCanBeUnloaded() {
+        def cache = new CompiledScriptCache(1)
+        def evictedClass = cache.getScriptClass('x = 1')
+
+        def cachedClass = cache.getScriptClass('x = 2')
+
+        assert !cachedClass.classLoader.is(evictedClass.classLoader)
+        assert (evictedClass.classLoader as GroovyClassLoader).loadedClasses as List == [evictedClass]
+        assert (cachedClass.classLoader as GroovyClassLoader).loadedClasses as List == [cachedClass]
+        assert !cache.getScriptClass('x = 1').is(evictedClass)
+    }
+
+    @Test
+    void shouldRecordScriptEvaluationStatisticsUntilContextIsReset() {
+        def scriptEvaluator = new GroovyScriptEvaluator(new CompiledScriptCache(), new ScriptEvaluationExecutor())
+
+        scriptEvaluator.runScript('x = 1')
+        scriptEvaluator.runScript('x = 2')
+
+        assert scriptEvaluator.evaluationStatistics.evaluationCount == 2
+        scriptEvaluator.resetScriptContext()
+        assert scriptEvaluator.evaluationStatistics.evaluationCount == 0
+    }
 }
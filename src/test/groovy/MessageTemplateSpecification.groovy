@@ -0,0 +1,65 @@
+import application.kafka.sender.KafkaMessageSender
+import application.scripting.CompiledScriptCache
+import application.scripting.GroovyScriptEvaluator
+import application.scripting.MessageTemplate
+import application.scripting.MessageTemplateSender
+import application.scripting.ScriptEvaluationExecutor
+import application.scripting.TemplatePlaceholders
+import org.mockito.Mockito
+import org.testng.annotations.Test
+
+class MessageTemplateSpecification {
+
+    @Test
+    void shouldRecognizeTemplateKind() {
+        assert MessageTemplate.parse('{"a": "b"}').kind == MessageTemplate.Kind.STATIC
+        assert MessageTemplate.parse('').kind == MessageTemplate.Kind.STATIC
+        assert MessageTemplate.parse('{"id": ${kmt.counter}, "r": ${ kmt.randomInt(1, 5) }}').kind ==
+                MessageTemplate.Kind.BUILT_IN_PLACEHOLDERS
+        assert MessageTemplate.parse('{"id": ${counter}}').kind == MessageTemplate.Kind.GROOVY
+        assert MessageTemplate.parse('{"id": $kmt.counter}').kind == MessageTemplate.Kind.GROOVY
+        assert MessageTemplate.parse('{"id": ${kmt.counter + 1}}').kind == MessageTemplate.Kind.GROOVY
+        assert MessageTemplate.parse('price: 10$').kind == MessageTemplate.Kind.GROOVY
+    }
+
+    @Test
+    void shouldRenderStaticTemplateSameAsGroovy() {
+        def inputs = ['{"a": "b"}',
+                      '''"''',
+                      '''\\"\\n\\t''',
+                      "line1\r\nline2\nline3",
+                      """'''"""]
+
+        inputs.each {
+            assert MessageTemplate.parse(it).render(new TemplatePlaceholders()) == evaluateWithGroovy(it)
+        }
+    }
+
+    @Test
+    void shouldRenderBuiltInPlaceholders() {
+        def placeholders = new TemplatePlaceholders()
+        placeholders.messageIndex = 7
+        def template = MessageTemplate.parse('"\\${kmt.messageIndex}-${kmt.counter}-${kmt.counter}-${kmt.randomInt(3, 3)}"')
+
+        assert template.render(placeholders) == '"\\7-1-2-3"'
+        assert template.render(placeholders) == '"\\7-3-4-3"'
+        assert MessageTemplate.parse('${kmt.uuid}').render(placeholders) ==~ /[0-9a-f-]{36}/
+        assert MessageTemplate.parse('${kmt.epochMillis}').render(placeholders) ==~ /\d+/
+    }
+
+    @Test
+    void shouldRenderBuiltInPlaceholdersSameAsGroovy() {
+        def template = 'a\\b "${kmt.messageIndex}" ${kmt.randomInt(-2, -2)}'
+        def placeholders = new TemplatePlaceholders()
+        placeholders.messageIndex = 3
+
+        assert MessageTemplate.parse(template).render(placeholders) == evaluateWithGroovy(template, placeholders)
+    }
+
+    private static String evaluateWithGroovy(String template,
+                                             TemplatePlaceholders placeholders = new TemplatePlaceholders()) {
+        def scriptEvaluator = new GroovyScriptEvaluator(new CompiledScriptCache(), new ScriptEvaluationExecutor())
+        scriptEvaluator.setBinding(TemplatePlaceholders.BINDING_NAME, placeholders)
+        new MessageTemplateSender(Mockito.mock(KafkaMessageSender.class), scriptEvaluator).evaluateMessageContent(template)
+    }
+}
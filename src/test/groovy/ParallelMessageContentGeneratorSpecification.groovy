@@ -0,0 +1,67 @@
+import application.scripting.CompiledScriptCache
+import application.scripting.DataFile
+import application.scripting.GroovyScriptEvaluator
+import application.scripting.MessageContentGenerator
+import application.scripting.ParallelMessageContentGenerator
+import application.scripting.ScriptEvaluationExecutor
+import application.scripting.TemplatePlaceholders
+import org.testng.annotations.Test
+
+import java.nio.file.Files
+
+class ParallelMessageContentGeneratorSpecification {
+
+    @Test
+    void shouldReturnMessagesInMessageIndexOrder() {
+        def messageCount = 50
+        def parallelGenerator = new ParallelMessageContentGenerator(createGenerators(4))
+
+        parallelGenerator.withCloseable {
+            it.start({ g -> g.prepare('', 'x = 0', 'x++', '${kmt.messageIndex}:${x}') }, messageCount)
+
+            (0..<messageCount).each { i ->
+                assert new String(it.next(i), 'UTF-8').startsWith("${i}:")
+            }
+        }
+    }
+
+    @Test
+    void shouldGiveEveryDataFileRecordToMessageWithItsIndex() {
+        def recordCount = 2000
+        def file = Files.createTempFile('orders', '.csv')
+        file.toFile().deleteOnExit()
+        file.write('id\n' + (0..<recordCount).join('\n') + '\n', 'UTF-8')
+        def dataFile = DataFile.open(file.toString(), false)
+        def evaluator = new GroovyScriptEvaluator(new CompiledScriptCache(), new ScriptEvaluationExecutor())
+        def generators = dataFile.newInterleavedRecordSources(4).collect {
+            new MessageContentGenerator(evaluator.newIsolatedEvaluator(), new TemplatePlaceholders(), it)
+        }
+        def parallelGenerator = new ParallelMessageContentGenerator(generators)
+
+        parallelGenerator.withCloseable {
+            it.start({ g -> g.prepare('', '', '', '${kmt.messageIndex}:${row.id}') }, recordCount + 10)
+
+            (0..<recordCount).each { i ->
+                assert new String(it.next(i), 'UTF-8') == "${i}:${i}"
+            }
+            assert it.next(recordCount) == null
+        }
+        assert dataFile.recordCount == recordCount
+        dataFile.close()
+    }
+
+    @Test(expectedExceptions = application.exceptions.KafkaToolError.class)
+    void shouldPassGenerationFailureToTheCaller() {
+        def parallelGenerator = new ParallelMessageContentGenerator(createGenerators(2))
+
+        parallelGenerator.withCloseable {
+            it.start({ g -> g.prepare('', '', 'throw new IllegalStateException()', 'a') }, 10)
+            it.next(0)
+        }
+    }
+
+    private static List<MessageContentGenerator> createGenerators(int count) {
+        def evaluator = new GroovyScriptEvaluator(new CompiledScriptCache(), new ScriptEvaluationExecutor())
+        (0..<count).collect { new MessageContentGenerator(evaluator.newIsolatedEvaluator(), new TemplatePlaceholders()) }
+    }
+}
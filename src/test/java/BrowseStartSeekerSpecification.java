@@ -0,0 +1,136 @@
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.mockito.Mockito;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import application.exceptions.KafkaToolError;
+import application.kafka.listener.BrowseStartSeeker;
+import application.model.BrowseStartPosition;
+import application.utils.TimestampUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+
+public class BrowseStartSeekerSpecification {
+    private static final String TOPIC = "topic";
+    private static final TopicPartition PARTITION_0 = new TopicPartition(TOPIC, 0);
+    private static final TopicPartition PARTITION_1 = new TopicPartition(TOPIC, 1);
+    private static final String TIMESTAMP = "2022-05-01 10:00:00";
+    private final BrowseStartSeeker seeker = new BrowseStartSeeker(Duration.ofSeconds(1));
+    private MockConsumer<String, String> consumer;
+
+    @BeforeMethod
+    public void setUp() {
+        consumer = new MockConsumer<>(OffsetResetStrategy.NONE);
+        final Node node = new Node(0, "localhost", 9092);
+        final Node[] replicas = {node};
+        consumer.updatePartitions(TOPIC, Arrays.asList(new PartitionInfo(TOPIC, 1, node, replicas, replicas),
+                                                       new PartitionInfo(TOPIC, 0, node, replicas, replicas)));
+        consumer.updateBeginningOffsets(offsets(10L, 0L));
+        consumer.updateEndOffsets(offsets(50L, 5L));
+    }
+
+    @Test
+    public void shouldAssignAllPartitionsWithoutSubscribingAndSeekToEarliestOffsets() throws KafkaToolError {
+        // WHEN
+        final Map<TopicPartition, Long> startOffsets = seeker.assignAndSeek(consumer, TOPIC,
+                                                                            BrowseStartPosition.EARLIEST, 100, "");
+
+        // THEN
+        assertThat(consumer.assignment()).containsExactlyInAnyOrder(PARTITION_0, PARTITION_1);
+        assertThat(consumer.subscription()).isEmpty();
+        assertThat(startOffsets).containsExactly(entry(PARTITION_0, 10L), entry(PARTITION_1, 0L));
+        assertThat(consumer.position(PARTITION_0)).isEqualTo(10L);
+        assertThat(consumer.position(PARTITION_1)).isEqualTo(0L);
+        assertThat(BrowseStartSeeker.describe(startOffsets)).isEqualTo("0: 10, 1: 0");
+    }
+
+    @Test
+    public void shouldSeekToLatestOffsets() throws KafkaToolError {
+        // WHEN
+        seeker.assignAndSeek(consumer, TOPIC, BrowseStartPosition.LATEST, 100, "");
+
+        // THEN
+        assertThat(consumer.position(PARTITION_0)).isEqualTo(50L);
+        assertThat(consumer.position(PARTITION_1)).isEqualTo(5L);
+    }
+
+    @Test
+    public void shouldSeekToLatestNRecordsButNotBeforeBeginningOfPartition() throws KafkaToolError {
+        // WHEN
+        seeker.assignAndSeek(consumer, TOPIC, BrowseStartPosition.LATEST_N, 20, "");
+
+        // THEN
+        assertThat(consumer.position(PARTITION_0)).isEqualTo(30L);
+        assertThat(consumer.position(PARTITION_1)).isEqualTo(0L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldSeekToOffsetsForTimestampOrToEndOfPartitionWithoutNewerRecords() throws KafkaToolError {
+        // GIVEN
+        final MockConsumer<String, String> spiedConsumer = Mockito.spy(consumer);
+        final long timestampMs = TimestampUtils.epochMiliFromUserTimestamp(TIMESTAMP);
+        final Map<TopicPartition, OffsetAndTimestamp> found = new HashMap<>();
+        found.put(PARTITION_0, new OffsetAndTimestamp(42L, timestampMs));
+        found.put(PARTITION_1, null);
+        Mockito.doReturn(found).when(spiedConsumer).offsetsForTimes(anyMap(), any(Duration.class));
+
+        // WHEN
+        seeker.assignAndSeek(spiedConsumer, TOPIC, BrowseStartPosition.TIMESTAMP, 100, TIMESTAMP);
+
+        // THEN
+        Mockito.verify(spiedConsumer).offsetsForTimes(Mockito.eq(timestampsOf(timestampMs)), any(Duration.class));
+        assertThat(spiedConsumer.position(PARTITION_0)).isEqualTo(42L);
+        assertThat(spiedConsumer.position(PARTITION_1)).isEqualTo(5L);
+    }
+
+    @Test
+    public void shouldFailForInvalidTimestampWithoutAssigningPartitions() {
+        // WHEN / THEN
+        assertThatThrownBy(() -> seeker.assignAndSeek(consumer, TOPIC, BrowseStartPosition.TIMESTAMP, 100, "yesterday"))
+            .isInstanceOf(KafkaToolError.class)
+            .hasMessageContaining("yesterday");
+        assertThat(consumer.assignment()).isEmpty();
+    }
+
+    @Test
+    public void shouldFailForTopicWithoutPartitions() {
+        // WHEN / THEN
+        assertThatThrownBy(() -> seeker.assignAndSeek(consumer, "unknown", BrowseStartPosition.EARLIEST, 100, ""))
+            .isInstanceOf(KafkaToolError.class)
+            .hasMessageContaining("'unknown'");
+    }
+
+    @Test
+    public void shouldAcceptEpochMillisAndDateTimesAsUserTimestamps() {
+        // WHEN / THEN
+        assertThat(TimestampUtils.epochMiliFromUserTimestamp(" 1651392000000 ")).isEqualTo(1651392000000L);
+        assertThat(TimestampUtils.epochMiliFromUserTimestamp("2022-05-01 10:00:00.250"))
+            .isEqualTo(TimestampUtils.epochMiliFromUserTimestamp(TIMESTAMP) + 250);
+    }
+
+    private static Map<TopicPartition, Long> offsets(long partition0, long partition1) {
+        final Map<TopicPartition, Long> offsets = new HashMap<>();
+        offsets.put(PARTITION_0, partition0);
+        offsets.put(PARTITION_1, partition1);
+        return offsets;
+    }
+
+    private static Map<TopicPartition, Long> timestampsOf(long timestampMs) {
+        return offsets(timestampMs, timestampMs);
+    }
+}
@@ -0,0 +1,107 @@
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import application.exceptions.KafkaToolError;
+import application.headless.HeadlessConfigResolver;
+import application.headless.HeadlessOptions;
+import application.model.DataModel;
+import application.model.modelobjects.KafkaBrokerConfig;
+import application.model.modelobjects.KafkaListenerConfig;
+import application.model.modelobjects.KafkaSenderConfig;
+import application.model.modelobjects.KafkaTopicConfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class HeadlessConfigResolverSpecification {
+
+    @Test
+    public void shouldResolveSenderAndListenerConfigsByName() throws KafkaToolError {
+        // GIVEN
+        DataModel model = new DataModel();
+        KafkaTopicConfig topic = addTopic(model, "topic", addBroker(model, "broker"));
+        KafkaSenderConfig sender = addSender(model, "sender", topic);
+        KafkaListenerConfig listener = addListener(model, "listener", topic);
+        addSender(model, "other sender", topic);
+        HeadlessOptions options = HeadlessOptions.parse(new String[]{"--send", "sender", "--listen", "listener"});
+
+        // WHEN
+        HeadlessConfigResolver resolver = new HeadlessConfigResolver(model);
+        List<KafkaSenderConfig> senders = resolver.resolveSenderConfigs(options);
+        List<KafkaListenerConfig> listeners = resolver.resolveListenerConfigs(options);
+
+        // THEN
+        assertThat(senders).containsExactly(sender);
+        assertThat(listeners).containsExactly(listener);
+    }
+
+    @Test
+    public void shouldReplaceTopicAndBrokerConfigsGivenOnCommandLine() throws KafkaToolError {
+        // GIVEN
+        DataModel model = new DataModel();
+        KafkaTopicConfig ownTopic = addTopic(model, "own topic", addBroker(model, "own broker"));
+        KafkaBrokerConfig otherBroker = addBroker(model, "other broker");
+        KafkaTopicConfig otherTopic = addTopic(model, "other topic", null);
+        KafkaSenderConfig sender = addSender(model, "sender", ownTopic);
+        HeadlessOptions options = HeadlessOptions.parse(new String[]{"--send", "sender",
+            "--topic", "other topic", "--broker", "other broker"});
+
+        // WHEN
+        new HeadlessConfigResolver(model).resolveSenderConfigs(options);
+
+        // THEN
+        assertThat(sender.getRelatedConfig()).isSameAs(otherTopic);
+        assertThat(otherTopic.getRelatedConfig()).isSameAs(otherBroker);
+    }
+
+    @Test
+    public void shouldRejectUnknownAmbiguousAndIncompleteConfigs() throws KafkaToolError {
+        // GIVEN
+        DataModel model = new DataModel();
+        KafkaTopicConfig topic = addTopic(model, "topic", addBroker(model, "broker"));
+        addSender(model, "twin", topic);
+        addSender(model, "twin", topic);
+        addSender(model, "no topic", null);
+        addListener(model, "no broker", addTopic(model, "topic without broker", null));
+        HeadlessConfigResolver resolver = new HeadlessConfigResolver(model);
+
+        // WHEN/THEN
+        assertThatThrownBy(() -> resolver.resolveSenderConfigs(HeadlessOptions.parse(new String[]{"--send", "missing"})))
+            .isInstanceOf(KafkaToolError.class)
+            .hasMessageContaining("Could not find sender config 'missing'");
+        assertThatThrownBy(() -> resolver.resolveSenderConfigs(HeadlessOptions.parse(new String[]{"--send", "twin"})))
+            .hasMessageContaining("Name of sender config 'twin' is ambiguous");
+        assertThatThrownBy(() -> resolver.resolveSenderConfigs(HeadlessOptions.parse(new String[]{"--send", "no topic"})))
+            .hasMessageContaining("No topic config selected for sender config 'no topic'");
+        assertThatThrownBy(() -> resolver.resolveListenerConfigs(HeadlessOptions.parse(new String[]{"--listen", "no broker"})))
+            .hasMessageContaining("No broker config selected for topic config 'topic without broker'");
+    }
+
+    private static KafkaBrokerConfig addBroker(DataModel model, String name) {
+        KafkaBrokerConfig config = new KafkaBrokerConfig(name);
+        model.getBrokerConfigs().add(config);
+        return config;
+    }
+
+    private static KafkaTopicConfig addTopic(DataModel model, String name, KafkaBrokerConfig broker) {
+        KafkaTopicConfig config = new KafkaTopicConfig(name);
+        config.setRelatedConfig(broker);
+        model.getTopicConfigs().add(config);
+        return config;
+    }
+
+    private static KafkaSenderConfig addSender(DataModel model, String name, KafkaTopicConfig topic) {
+        KafkaSenderConfig config = new KafkaSenderConfig(name);
+        config.setRelatedConfig(topic);
+        model.getSenderConfigs().add(config);
+        return config;
+    }
+
+    private static KafkaListenerConfig addListener(DataModel model, String name, KafkaTopicConfig topic) {
+        KafkaListenerConfig config = new KafkaListenerConfig(name);
+        config.setRelatedConfig(topic);
+        model.getListenerConfigs().add(config);
+        return config;
+    }
+}
@@ -0,0 +1,82 @@
+import java.nio.file.Paths;
+
+import org.testng.annotations.Test;
+
+import application.exceptions.KafkaToolError;
+import application.headless.HeadlessOptions;
+import application.logging.LogLevel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class HeadlessOptionsSpecification {
+
+    @Test
+    public void shouldDetectHeadlessFlag() {
+        assertThat(HeadlessOptions.isHeadlessRequested(new String[]{"--send", "s", "--headless"})).isTrue();
+        assertThat(HeadlessOptions.isHeadlessRequested(new String[]{})).isFalse();
+    }
+
+    @Test
+    public void shouldParseAllOptions() throws KafkaToolError {
+        // GIVEN
+        String[] args = {"--headless", "--config", "some.xml", "--send", "s1", "--send", "s2", "--listen", "l1",
+            "--topic", "t", "--broker", "b", "--duration", "30", "--stats-interval", "5", "--simulate",
+            "--log-level", "warn"};
+
+        // WHEN
+        HeadlessOptions options = HeadlessOptions.parse(args);
+
+        // THEN
+        assertThat(options.getConfigFile()).isEqualTo(Paths.get("some.xml"));
+        assertThat(options.getSenderNames()).containsExactly("s1", "s2");
+        assertThat(options.getListenerNames()).containsExactly("l1");
+        assertThat(options.getTopicConfigName()).isEqualTo("t");
+        assertThat(options.getBrokerConfigName()).isEqualTo("b");
+        assertThat(options.getDurationSeconds()).isEqualTo(30);
+        assertThat(options.getStatsIntervalSeconds()).isEqualTo(5);
+        assertThat(options.isSimulationModeEnabled()).isTrue();
+        assertThat(options.getLogLevel()).isEqualTo(LogLevel.WARN);
+        assertThat(options.isHelpRequested()).isFalse();
+    }
+
+    @Test
+    public void shouldUseDefaultsForOmittedOptions() throws KafkaToolError {
+        // WHEN
+        HeadlessOptions options = HeadlessOptions.parse(new String[]{"--headless", "--listen", "l1"});
+
+        // THEN
+        assertThat(options.getSenderNames()).isEmpty();
+        assertThat(options.getTopicConfigName()).isNull();
+        assertThat(options.getBrokerConfigName()).isNull();
+        assertThat(options.getDurationSeconds()).isZero();
+        assertThat(options.getStatsIntervalSeconds()).isEqualTo(1);
+        assertThat(options.isSimulationModeEnabled()).isFalse();
+        assertThat(options.getLogLevel()).isNull();
+        assertThat(options.getConfigFile().getFileName().toString()).isEqualTo("KafkaMessageToolConfig.xml");
+    }
+
+    @Test
+    public void shouldNotRequireConfigsWhenHelpIsRequested() throws KafkaToolError {
+        assertThat(HeadlessOptions.parse(new String[]{"--headless", "--help"}).isHelpRequested()).isTrue();
+    }
+
+    @Test
+    public void shouldRejectInvalidCommandLines() {
+        assertThatThrownBy(() -> HeadlessOptions.parse(new String[]{"--headless"}))
+            .isInstanceOf(KafkaToolError.class)
+            .hasMessageContaining("Nothing to run");
+        assertThatThrownBy(() -> HeadlessOptions.parse(new String[]{"--send"}))
+            .hasMessageContaining("Missing value of option '--send'");
+        assertThatThrownBy(() -> HeadlessOptions.parse(new String[]{"--send", "--listen", "l"}))
+            .hasMessageContaining("Missing value of option '--send'");
+        assertThatThrownBy(() -> HeadlessOptions.parse(new String[]{"--send", "s", "--duration", "-1"}))
+            .hasMessageContaining("Invalid value '-1' of option '--duration'");
+        assertThatThrownBy(() -> HeadlessOptions.parse(new String[]{"--send", "s", "--stats-interval", "0"}))
+            .hasMessageContaining("Invalid value '0' of option '--stats-interval'");
+        assertThatThrownBy(() -> HeadlessOptions.parse(new String[]{"--send", "s", "--log-level", "loud"}))
+            .hasMessageContaining("Unknown log level 'loud'");
+        assertThatThrownBy(() -> HeadlessOptions.parse(new String[]{"--send", "s", "--unknown"}))
+            .hasMessageContaining("Unknown option '--unknown'");
+    }
+}
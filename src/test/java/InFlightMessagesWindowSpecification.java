@@ -0,0 +1,60 @@
+import org.testng.annotations.Test;
+
+import application.kafka.sender.InFlightMessagesWindow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InFlightMessagesWindowSpecification {
+
+    @Test
+    public void shouldNotAcquireMoreThanMaxInFlightMessages() throws InterruptedException {
+        // GIVEN
+        InFlightMessagesWindow w = new InFlightMessagesWindow(2);
+
+        // WHEN
+        w.tryAcquire(0);
+        w.tryAcquire(0);
+
+        // THEN
+        assertThat(w.tryAcquire(0)).isFalse();
+        assertThat(w.getInFlightCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldCountAcknowledgedAndFailedMessages() throws InterruptedException {
+        // GIVEN
+        InFlightMessagesWindow w = new InFlightMessagesWindow(3);
+        final IllegalStateException failure = new IllegalStateException("first");
+        w.tryAcquire(0);
+        w.tryAcquire(0);
+        w.tryAcquire(0);
+
+        // WHEN
+        w.onCompletion(null);
+        w.onCompletion(failure);
+        w.onCompletion(new IllegalStateException("second"));
+
+        // THEN
+        assertThat(w.getAcknowledgedCount()).isEqualTo(1);
+        assertThat(w.getFailedCount()).isEqualTo(2);
+        assertThat(w.getFirstFailure()).isSameAs(failure);
+        assertThat(w.getInFlightCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldNotCompleteWhileMessagesAreInFlight() throws InterruptedException {
+        // GIVEN
+        InFlightMessagesWindow w = new InFlightMessagesWindow(2);
+        w.tryAcquire(0);
+
+        // WHEN/THEN
+        assertThat(w.awaitCompletion(0)).isFalse();
+        w.onCompletion(null);
+        assertThat(w.awaitCompletion(0)).isTrue();
+    }
+
+    @Test
+    public void shouldUseWindowOfAtLeastOneMessage() {
+        assertThat(new InFlightMessagesWindow(0).getMaxInFlightMessages()).isEqualTo(1);
+    }
+}
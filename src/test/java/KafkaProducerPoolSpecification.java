@@ -0,0 +1,133 @@
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.testng.annotations.Test;
+
+import application.utils.kafka.KafkaProducerPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KafkaProducerPoolSpecification {
+
+    @Test
+    public void shouldReuseProducerForSameProperties() {
+        // GIVEN
+        List<MockProducer<String, String>> createdProducers = new ArrayList<>();
+        KafkaProducerPool<String, String> pool = createPool(createdProducers, Duration.ofMinutes(5));
+
+        // WHEN
+        Producer<String, String> first;
+        try (KafkaProducerPool.Lease<String, String> lease = pool.acquire(properties("host:1"))) {
+            first = lease.producer();
+        }
+        Producer<String, String> second = pool.acquire(properties("host:1")).producer();
+
+        // THEN
+        assertThat(second).isSameAs(first);
+        assertThat(createdProducers).hasSize(1);
+        assertThat(createdProducers.get(0).closed()).isFalse();
+    }
+
+    @Test
+    public void shouldCreateSeparateProducersForDifferentProperties() {
+        // GIVEN
+        List<MockProducer<String, String>> createdProducers = new ArrayList<>();
+        KafkaProducerPool<String, String> pool = createPool(createdProducers, Duration.ofMinutes(5));
+
+        // WHEN
+        pool.acquire(properties("host:1"));
+        pool.acquire(properties("host:2"));
+
+        // THEN
+        assertThat(pool.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldEvictOnlyIdleProducers() {
+        // GIVEN
+        List<MockProducer<String, String>> createdProducers = new ArrayList<>();
+        KafkaProducerPool<String, String> pool = createPool(createdProducers, Duration.ZERO);
+        pool.acquire(properties("host:1")).close();
+        pool.acquire(properties("host:2"));
+
+        // WHEN
+        pool.evictIdleProducers();
+
+        // THEN
+        assertThat(pool.size()).isEqualTo(1);
+        assertThat(createdProducers.get(0).closed()).isTrue();
+        assertThat(createdProducers.get(1).closed()).isFalse();
+    }
+
+    @Test
+    public void shouldCloseInvalidatedProducerAndCreateNewOneForNextLease() {
+        // GIVEN
+        List<MockProducer<String, String>> createdProducers = new ArrayList<>();
+        KafkaProducerPool<String, String> pool = createPool(createdProducers, Duration.ofMinutes(5));
+        KafkaProducerPool.Lease<String, String> lease = pool.acquire(properties("host:1"));
+
+        // WHEN
+        lease.invalidate();
+        Producer<String, String> next = pool.acquire(properties("host:1")).producer();
+
+        // THEN
+        assertThat(createdProducers).hasSize(2);
+        assertThat(createdProducers.get(0).closed()).isTrue();
+        assertThat(next).isSameAs(createdProducers.get(1));
+    }
+
+    @Test
+    public void shouldCloseInvalidatedProducerOnlyWhenItsLastLeaseIsReleased() {
+        // GIVEN
+        List<MockProducer<String, String>> createdProducers = new ArrayList<>();
+        KafkaProducerPool<String, String> pool = createPool(createdProducers, Duration.ofMinutes(5));
+        KafkaProducerPool.Lease<String, String> failed = pool.acquire(properties("host:1"));
+        KafkaProducerPool.Lease<String, String> other = pool.acquire(properties("host:1"));
+
+        // WHEN
+        failed.invalidate();
+
+        // THEN
+        assertThat(pool.size()).isEqualTo(0);
+        assertThat(createdProducers.get(0).closed()).isFalse();
+        other.close();
+        assertThat(createdProducers.get(0).closed()).isTrue();
+    }
+
+    @Test
+    public void shouldCloseAllProducersOnClose() {
+        // GIVEN
+        List<MockProducer<String, String>> createdProducers = new ArrayList<>();
+        KafkaProducerPool<String, String> pool = createPool(createdProducers, Duration.ofMinutes(5));
+        pool.acquire(properties("host:1"));
+        pool.acquire(properties("host:2")).close();
+
+        // WHEN
+        pool.close();
+
+        // THEN
+        assertThat(pool.size()).isEqualTo(0);
+        assertThat(createdProducers).allMatch(MockProducer::closed);
+    }
+
+    private static KafkaProducerPool<String, String> createPool(List<MockProducer<String, String>> createdProducers,
+                                                                Duration idleTimeout) {
+        return new KafkaProducerPool<>(props -> {
+            final MockProducer<String, String> producer =
+                new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+            createdProducers.add(producer);
+            return producer;
+        }, idleTimeout, Duration.ofMillis(100));
+    }
+
+    private static Properties properties(String bootstrapServers) {
+        final Properties properties = new Properties();
+        properties.put("bootstrap.servers", bootstrapServers);
+        return properties;
+    }
+}
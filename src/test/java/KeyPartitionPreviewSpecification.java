@@ -0,0 +1,150 @@
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import application.exceptions.KafkaToolError;
+import application.scripting.CompiledScriptCache;
+import application.scripting.GroovyScriptEvaluator;
+import application.scripting.KeyPartitionPreview;
+import application.scripting.ScriptEvaluationExecutor;
+import application.utils.Utf8Buffer;
+import application.utils.kafka.KafkaPartitionUtils;
+import application.utils.kafka.PartitionHistogram;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class KeyPartitionPreviewSpecification {
+    private ScriptEvaluationExecutor evaluationExecutor;
+    private GroovyScriptEvaluator scriptEvaluator;
+
+    @BeforeMethod
+    public void setUp() {
+        evaluationExecutor = new ScriptEvaluationExecutor();
+        scriptEvaluator = new GroovyScriptEvaluator(new CompiledScriptCache(), evaluationExecutor);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        evaluationExecutor.shutdown();
+    }
+
+    @Test
+    public void shouldCountEvaluatedKeysPerPartitionOnSeveralThreads() throws Exception {
+        // GIVEN
+        final int partitionCount = 8;
+        final int sampleCount = 10_000;
+        final PartitionHistogram expected = new PartitionHistogram(partitionCount);
+        for (int i = 0; i < sampleCount; i++) {
+            expected.add(KafkaPartitionUtils.partition(("user-" + i).getBytes(StandardCharsets.UTF_8), partitionCount));
+        }
+
+        // WHEN
+        final PartitionHistogram histogram = new KeyPartitionPreview(scriptEvaluator, 4)
+            .run("", "", "", "user-${kmt.messageIndex}", sampleCount, partitionCount);
+
+        // THEN
+        assertThat(histogram.getTotalCount()).isEqualTo(sampleCount);
+        for (int partition = 0; partition < partitionCount; partition++) {
+            assertThat(histogram.getCount(partition)).isEqualTo(expected.getCount(partition));
+        }
+    }
+
+    @Test
+    public void shouldEvaluateGroovyKeyTemplateWithScriptVariables() throws Exception {
+        // GIVEN
+        final String beforeAllScript = "tenants = ['a', 'b', 'c']";
+
+        // WHEN
+        final PartitionHistogram histogram = new KeyPartitionPreview(scriptEvaluator, 2)
+            .run("", beforeAllScript, "", "${tenants[kmt.messageIndex % 3]}", 300, 6);
+
+        // THEN
+        assertThat(histogram.getTotalCount()).isEqualTo(300);
+        assertThat(histogram.getEmptyPartitionCount()).isGreaterThanOrEqualTo(3);
+        assertThat(histogram.getMaxCount()).isGreaterThanOrEqualTo(100);
+    }
+
+    @Test
+    public void shouldPutFixedKeyOnSinglePartition() throws Exception {
+        // WHEN
+        final PartitionHistogram histogram = new KeyPartitionPreview(scriptEvaluator, 4)
+            .run("", "", "", "fixed", 1000, 10);
+
+        // THEN
+        final int partition = KafkaPartitionUtils.partition("fixed", 10);
+        assertThat(histogram.getHottestPartition()).isEqualTo(partition);
+        assertThat(histogram.getCount(partition)).isEqualTo(1000);
+        assertThat(histogram.getEmptyPartitionCount()).isEqualTo(9);
+        assertThat(histogram.getMaxToMeanRatio()).isCloseTo(10.0, within(0.001));
+        assertThat(histogram.getCoefficientOfVariation()).isCloseTo(3.0, within(0.001));
+    }
+
+    @Test
+    public void shouldHashKeyPrefixOfBufferLikeWholeKey() {
+        // GIVEN
+        final Random random = new Random(7);
+        final byte[] buffer = new byte[64];
+        random.nextBytes(buffer);
+
+        for (int length = 0; length <= buffer.length; length++) {
+            // WHEN
+            final int partition = KafkaPartitionUtils.partition(buffer, length, Integer.MAX_VALUE);
+
+            // THEN
+            assertThat(partition).isEqualTo(KafkaPartitionUtils.partition(Arrays.copyOf(buffer, length),
+                                                                          Integer.MAX_VALUE));
+        }
+    }
+
+    @Test
+    public void shouldEncodeTextToReusedBufferLikeString() {
+        // GIVEN
+        final Utf8Buffer buffer = new Utf8Buffer();
+        final String longText = String.join("", Collections.nCopies(100, "x"));
+
+        for (String text : Arrays.asList("", "key-1", "zażółć €", "emoji \uD83D\uDE00", "broken \uD800 surrogate",
+                                         "\uDC00", longText)) {
+            // WHEN
+            buffer.encode(text);
+
+            // THEN
+            assertThat(Arrays.copyOf(buffer.array(), buffer.length())).isEqualTo(text.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test(expectedExceptions = KafkaToolError.class)
+    public void shouldFailWhenKeyTemplateCannotBeEvaluated() throws Exception {
+        // WHEN
+        new KeyPartitionPreview(scriptEvaluator, 2).run("", "", "", "${missingVariable}", 10, 4);
+    }
+
+    @Test
+    public void shouldSummarizeSkewOfHistogram() {
+        // GIVEN
+        final PartitionHistogram histogram = new PartitionHistogram(4);
+        final PartitionHistogram other = new PartitionHistogram(4);
+        histogram.add(0);
+        histogram.add(0);
+        histogram.add(1);
+        other.add(0);
+        other.add(2);
+
+        // WHEN
+        histogram.merge(other);
+
+        // THEN
+        assertThat(histogram.getTotalCount()).isEqualTo(5);
+        assertThat(histogram.getCount(0)).isEqualTo(3);
+        assertThat(histogram.getMinCount()).isEqualTo(0);
+        assertThat(histogram.summary())
+            .contains("keys: 5, partitions: 4, min/mean/max per partition: 0/1.3/3")
+            .contains("hottest partition: 0 (2.40x mean)")
+            .contains("empty partitions: 1");
+    }
+}
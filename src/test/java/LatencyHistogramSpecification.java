@@ -0,0 +1,66 @@
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+import application.kafka.sender.LatencyHistogram;
+import application.kafka.sender.SendStatistics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class LatencyHistogramSpecification {
+
+    @Test
+    public void shouldReportPercentilesWithinOnePercent() {
+        // GIVEN
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // WHEN
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(micros));
+        }
+
+        // THEN
+        assertThat(histogram.getCount()).isEqualTo(10_000);
+        assertThat((double) histogram.getValueAtPercentile(50.0)).isCloseTo(5_000_000.0, within(50_000.0));
+        assertThat((double) histogram.getValueAtPercentile(99.0)).isCloseTo(9_900_000.0, within(99_000.0));
+        assertThat((double) histogram.getValueAtPercentile(99.9)).isCloseTo(9_990_000.0, within(99_900.0));
+        assertThat(histogram.getValueAtPercentile(100.0)).isEqualTo(10_000_000L);
+        assertThat(histogram.getMax()).isEqualTo(10_000_000L);
+    }
+
+    @Test
+    public void shouldReportExactSmallValues() {
+        // GIVEN
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // WHEN
+        histogram.record(3);
+        histogram.record(7);
+
+        // THEN
+        assertThat(histogram.getValueAtPercentile(50.0)).isEqualTo(3);
+        assertThat(histogram.getValueAtPercentile(100.0)).isEqualTo(7);
+    }
+
+    @Test
+    public void shouldReturnZeroForEmptyHistogram() {
+        assertThat(new LatencyHistogram().getValueAtPercentile(99.0)).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldExportThroughputInOneSecondBucketsAsCsv() {
+        // GIVEN
+        SendStatistics statistics = new SendStatistics();
+
+        // WHEN
+        statistics.recordAcknowledged(1000);
+        statistics.recordSimulatedSend();
+
+        // THEN
+        assertThat(statistics.getThroughputPerSecond()).containsExactly(2L);
+        assertThat(statistics.throughputToCsv()).isEqualTo("second,messages" + System.lineSeparator()
+                                                            + "0,2" + System.lineSeparator());
+        assertThat(statistics.latencySummary()).startsWith("count: 1, p50: 0.001 ms");
+    }
+}
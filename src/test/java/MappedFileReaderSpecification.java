@@ -0,0 +1,122 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.testng.annotations.Test;
+
+import application.utils.MappedFileReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MappedFileReaderSpecification {
+
+    @Test
+    public void shouldReadLinesAcrossWindows() throws IOException {
+        // GIVEN
+        final Path file = createFile("first\r\nsecond\n\nthird");
+
+        // WHEN
+        try (MappedFileReader reader = new MappedFileReader(file, false, 8)) {
+            // THEN
+            assertThat(text(reader.nextLine())).isEqualTo("first");
+            assertThat(text(reader.nextLine())).isEqualTo("second");
+            assertThat(text(reader.nextLine())).isEqualTo("");
+            assertThat(text(reader.nextLine())).isEqualTo("third");
+            assertThat(reader.nextLine()).isNull();
+            assertThat(reader.getReadCount()).isEqualTo(4);
+            assertThat(reader.getPosition()).isEqualTo(reader.getFileSize());
+        }
+    }
+
+    @Test
+    public void shouldLoopFromMarkedPosition() throws IOException {
+        // GIVEN
+        final Path file = createFile("header\na\nb\n");
+
+        // WHEN
+        try (MappedFileReader reader = new MappedFileReader(file, true, 8)) {
+            reader.nextLine();
+            reader.markLoopStart();
+
+            // THEN
+            assertThat(text(reader.nextLine())).isEqualTo("a");
+            assertThat(text(reader.nextLine())).isEqualTo("b");
+            assertThat(text(reader.nextLine())).isEqualTo("a");
+            assertThat(text(reader.nextLine())).isEqualTo("b");
+        }
+    }
+
+    @Test
+    public void shouldNotLoopWhenNothingFollowsMarkedPosition() throws IOException {
+        // GIVEN
+        final Path file = createFile("header\n");
+
+        // WHEN
+        try (MappedFileReader reader = new MappedFileReader(file, true)) {
+            reader.nextLine();
+            reader.markLoopStart();
+
+            // THEN
+            assertThat(reader.nextLine()).isNull();
+        }
+    }
+
+    @Test
+    public void shouldReadLengthPrefixedRecordsLargerThanWindow() throws IOException {
+        // GIVEN
+        final ByteBuffer content = ByteBuffer.allocate(4 + 10 + 4 + 0 + 4 + 2);
+        content.putInt(10).put("0123456789".getBytes(StandardCharsets.UTF_8));
+        content.putInt(0);
+        content.putInt(2).put(new byte[]{'\n', 0});
+        final Path file = createFile(content.array());
+
+        // WHEN
+        try (MappedFileReader reader = new MappedFileReader(file, false, 8)) {
+            // THEN
+            assertThat(text(reader.nextLengthPrefixed())).isEqualTo("0123456789");
+            assertThat(reader.nextLengthPrefixed()).isEmpty();
+            assertThat(reader.nextLengthPrefixed()).containsExactly('\n', 0);
+            assertThat(reader.nextLengthPrefixed()).isNull();
+            assertThat(reader.getReadCount()).isEqualTo(3);
+        }
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void shouldRejectTruncatedLengthPrefixedRecord() throws IOException {
+        // GIVEN
+        final Path file = createFile(ByteBuffer.allocate(6).putInt(3).put((byte) 1).put((byte) 2).array());
+
+        // WHEN
+        try (MappedFileReader reader = new MappedFileReader(file, false)) {
+            reader.nextLengthPrefixed();
+        }
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void shouldRejectLineLongerThanWindow() throws IOException {
+        // GIVEN
+        final Path file = createFile("0123456789\nshort\n");
+
+        // WHEN
+        try (MappedFileReader reader = new MappedFileReader(file, false, 4)) {
+            reader.nextLine();
+        }
+    }
+
+    private static Path createFile(String content) throws IOException {
+        return createFile(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Path createFile(byte[] content) throws IOException {
+        final Path file = Files.createTempFile("records", ".bin");
+        file.toFile().deleteOnExit();
+        Files.write(file, content);
+        return file;
+    }
+
+    private static String text(byte[] line) {
+        return new String(line, StandardCharsets.UTF_8);
+    }
+}
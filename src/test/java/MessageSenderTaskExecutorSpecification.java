@@ -0,0 +1,62 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+import application.customfxwidgets.senderconfig.MessageSenderTaskExecutor;
+import javafx.beans.property.SimpleBooleanProperty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MessageSenderTaskExecutorSpecification {
+
+    @Test
+    public void shouldRunEachShardOnItsOwnThread() throws Exception {
+        // GIVEN
+        final MessageSenderTaskExecutor executor = createExecutor();
+        final ConcurrentHashMap<String, Boolean> threadNames = new ConcurrentHashMap<>();
+        final CountDownLatch allStarted = new CountDownLatch(3);
+        final Callable<Void> shard = () -> {
+            threadNames.put(Thread.currentThread().getName(), true);
+            allStarted.countDown();
+            // would time out if shards were run one after another
+            assertThat(allStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            return null;
+        };
+
+        // WHEN
+        executor.runShards(Arrays.asList(shard, shard, shard));
+
+        // THEN
+        assertThat(threadNames.keySet()).containsExactlyInAnyOrder("KMT-Thread-MessageSenderShard-0",
+                                                                   "KMT-Thread-MessageSenderShard-1",
+                                                                   "KMT-Thread-MessageSenderShard-2");
+    }
+
+    @Test
+    public void shouldInterruptRemainingShardsAndRethrowFirstFailure() {
+        // GIVEN
+        final MessageSenderTaskExecutor executor = createExecutor();
+        final IllegalStateException failure = new IllegalStateException("shard failed");
+        final Callable<Void> failingShard = () -> {
+            throw failure;
+        };
+        final Callable<Void> longRunningShard = () -> {
+            Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            return null;
+        };
+        final List<Callable<Void>> shards = Arrays.asList(longRunningShard, failingShard);
+
+        // WHEN/THEN
+        assertThatThrownBy(() -> executor.runShards(shards)).isSameAs(failure);
+    }
+
+    private static MessageSenderTaskExecutor createExecutor() {
+        return new MessageSenderTaskExecutor(new SimpleBooleanProperty(), new SimpleBooleanProperty());
+    }
+}
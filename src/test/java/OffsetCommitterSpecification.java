@@ -0,0 +1,181 @@
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.consumer.CommitFailedException;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.mockito.Mockito;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import application.kafka.listener.OffsetCommitter;
+import application.model.ListenerCommitStrategy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+
+public class OffsetCommitterSpecification {
+    private static final String TOPIC = "topic";
+    private static final TopicPartition PARTITION_0 = new TopicPartition(TOPIC, 0);
+    private static final TopicPartition PARTITION_1 = new TopicPartition(TOPIC, 1);
+    private static final long COMMIT_INTERVAL_MS = 1000;
+    private MockConsumer<String, String> consumer;
+
+    @BeforeMethod
+    public void setUp() {
+        consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.assign(Arrays.asList(PARTITION_0, PARTITION_1));
+    }
+
+    @Test
+    public void shouldCommitOffsetsAfterLastReceivedRecordsOncePerPollBatch() {
+        // GIVEN
+        final OffsetCommitter committer = new OffsetCommitter(ListenerCommitStrategy.PER_BATCH_SYNC, COMMIT_INTERVAL_MS, 0);
+        receive(committer, record(0, 0), record(0, 1), record(0, 2), record(1, 5));
+
+        // WHEN
+        committer.onPollBatchReceived(consumer, 0);
+
+        // THEN
+        assertThat(committedOffsets()).containsEntry(PARTITION_0, 3L).containsEntry(PARTITION_1, 6L);
+        assertThat(committer.getCommitCount()).isEqualTo(1);
+        assertThat(committer.summary()).contains("commits: 1, failed: 0")
+                                       .contains("partitions: [0 (commits: 1, avg: ")
+                                       .contains("1 (commits: 1, avg: ");
+    }
+
+    @Test
+    public void shouldCommitAsynchronouslyOncePerPollBatch() {
+        // GIVEN
+        final OffsetCommitter committer = new OffsetCommitter(ListenerCommitStrategy.PER_BATCH_ASYNC, COMMIT_INTERVAL_MS, 0);
+        receive(committer, record(1, 7));
+
+        // WHEN
+        committer.onPollBatchReceived(consumer, 0);
+
+        // THEN
+        assertThat(committedOffsets()).containsEntry(PARTITION_1, 8L).doesNotContainKey(PARTITION_0);
+        assertThat(committer.getCommitCount()).isEqualTo(1);
+        assertThat(committer.getPendingOffset(PARTITION_1)).isEqualTo(-1L);
+    }
+
+    @Test
+    public void shouldCommitPeriodicallyWhenCommitIntervalPassed() {
+        // GIVEN
+        final long startNanos = 1_000L;
+        final OffsetCommitter committer = new OffsetCommitter(ListenerCommitStrategy.PERIODIC, COMMIT_INTERVAL_MS,
+                                                              startNanos);
+        receive(committer, record(0, 0));
+
+        // WHEN
+        committer.onPollBatchReceived(consumer, startNanos + TimeUnit.MILLISECONDS.toNanos(COMMIT_INTERVAL_MS - 1));
+
+        // THEN
+        assertThat(committedOffsets()).isEmpty();
+
+        // WHEN
+        receive(committer, record(0, 1));
+        committer.onPollBatchReceived(consumer, startNanos + TimeUnit.MILLISECONDS.toNanos(COMMIT_INTERVAL_MS));
+
+        // THEN
+        assertThat(committedOffsets()).containsEntry(PARTITION_0, 2L);
+        assertThat(committer.getCommitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldNotCommitExplicitlyWithAutoCommitOrWithoutCommits() {
+        for (ListenerCommitStrategy strategy : Arrays.asList(ListenerCommitStrategy.AUTO, ListenerCommitStrategy.NONE)) {
+            // GIVEN
+            final OffsetCommitter committer = new OffsetCommitter(strategy, COMMIT_INTERVAL_MS, 0);
+            receive(committer, record(0, 0));
+
+            // WHEN
+            committer.onPollBatchReceived(consumer, TimeUnit.HOURS.toNanos(1));
+            committer.commitPendingBeforeClose(consumer);
+
+            // THEN
+            assertThat(committedOffsets()).isEmpty();
+            assertThat(committer.summary()).isEqualTo(String.format("strategy: %s, no explicit commits", strategy));
+        }
+    }
+
+    @Test
+    public void shouldCommitPendingOffsetsOfRevokedPartitionsOnly() {
+        // GIVEN
+        final OffsetCommitter committer = new OffsetCommitter(ListenerCommitStrategy.PERIODIC, COMMIT_INTERVAL_MS, 0);
+        receive(committer, record(0, 3), record(1, 4));
+
+        // WHEN
+        committer.onPartitionsRevoked(consumer, Collections.singletonList(PARTITION_0));
+
+        // THEN
+        assertThat(committedOffsets()).containsEntry(PARTITION_0, 4L).doesNotContainKey(PARTITION_1);
+        assertThat(committer.getPendingOffset(PARTITION_1)).isEqualTo(5L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldKeepPendingOffsetsWhenCommitFails() {
+        // GIVEN
+        final Consumer<String, String> failingConsumer = Mockito.mock(Consumer.class);
+        Mockito.doThrow(new CommitFailedException()).when(failingConsumer).commitSync(anyMap(), any());
+        final OffsetCommitter committer = new OffsetCommitter(ListenerCommitStrategy.PER_BATCH_SYNC, COMMIT_INTERVAL_MS, 0);
+        receive(committer, record(0, 9));
+
+        // WHEN
+        committer.onPollBatchReceived(failingConsumer, 0);
+
+        // THEN
+        assertThat(committer.getFailedCommitCount()).isEqualTo(1);
+        assertThat(committer.getCommitCount()).isZero();
+        assertThat(committer.getPendingOffset(PARTITION_0)).isEqualTo(10L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldNotTreatWakeupAsCommitFailure() {
+        // GIVEN
+        final Consumer<String, String> wokenUpConsumer = Mockito.mock(Consumer.class);
+        Mockito.doThrow(new WakeupException()).when(wokenUpConsumer).commitSync(anyMap(), any());
+        final OffsetCommitter committer = new OffsetCommitter(ListenerCommitStrategy.PER_BATCH_SYNC, COMMIT_INTERVAL_MS, 0);
+        receive(committer, record(1, 0));
+
+        // WHEN / THEN
+        assertThatThrownBy(() -> committer.onPollBatchReceived(wokenUpConsumer, 0)).isInstanceOf(WakeupException.class);
+        assertThat(committer.getFailedCommitCount()).isZero();
+        assertThat(committer.getPendingOffset(PARTITION_1)).isEqualTo(1L);
+    }
+
+    private static void receive(OffsetCommitter committer, ConsumerRecord<?, ?>... records) {
+        for (ConsumerRecord<?, ?> record : records) {
+            committer.recordReceived(record);
+        }
+    }
+
+    private static ConsumerRecord<String, String> record(int partition, long offset) {
+        return new ConsumerRecord<>(TOPIC, partition, offset, "key", "value");
+    }
+
+    private Map<TopicPartition, Long> committedOffsets() {
+        final Map<TopicPartition, OffsetAndMetadata> committed =
+            consumer.committed(new HashSet<>(Arrays.asList(PARTITION_0, PARTITION_1)));
+        final Map<TopicPartition, Long> offsets = new HashMap<>();
+        committed.forEach((partition, offset) -> {
+            if (offset != null) {
+                offsets.put(partition, offset.offset());
+            }
+        });
+        return offsets;
+    }
+}
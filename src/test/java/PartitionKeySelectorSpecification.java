@@ -0,0 +1,132 @@
+import org.testng.annotations.Test;
+
+import application.exceptions.KafkaToolError;
+import application.kafka.sender.PartitionKeySelector;
+import application.model.KeyDistribution;
+import application.utils.kafka.KafkaPartitionUtils;
+import application.utils.kafka.PartitionKeySet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class PartitionKeySelectorSpecification {
+    private static final int SAMPLE_COUNT = 100_000;
+
+    @Test
+    public void shouldComputeKeyAssignedToEachPartition() throws KafkaToolError {
+        // GIVEN
+        final int partitionCount = 64;
+
+        // WHEN
+        final PartitionKeySet keySet = PartitionKeySet.compute("order-", partitionCount);
+
+        // THEN
+        assertThat(keySet.getPartitionCount()).isEqualTo(partitionCount);
+        for (int partition = 0; partition < partitionCount; partition++) {
+            assertThat(KafkaPartitionUtils.partition(keySet.keyForPartition(partition), partitionCount))
+                .isEqualTo(partition);
+            assertThat(KafkaPartitionUtils.partition(keySet.keyTextForPartition(partition), partitionCount))
+                .isEqualTo(partition);
+            assertThat(keySet.keyTextForPartition(partition)).startsWith("order-");
+        }
+    }
+
+    @Test
+    public void shouldComputeSameKeysForSamePrefixAndPartitionCount() throws KafkaToolError {
+        // GIVEN
+        final PartitionKeySet first = PartitionKeySet.compute("k", 12);
+
+        // WHEN
+        final PartitionKeySet second = PartitionKeySet.compute("k", 12);
+
+        // THEN
+        for (int partition = 0; partition < 12; partition++) {
+            assertThat(second.keyTextForPartition(partition)).isEqualTo(first.keyTextForPartition(partition));
+        }
+    }
+
+    @Test(expectedExceptions = KafkaToolError.class)
+    public void shouldRejectUnknownPartitionCount() throws KafkaToolError {
+        // WHEN
+        PartitionKeySet.compute("k", -1);
+    }
+
+    @Test
+    public void shouldSendMessagesToPartitionsInRoundRobin() throws KafkaToolError {
+        // GIVEN
+        final PartitionKeySet keySet = PartitionKeySet.compute("k", 5);
+        final PartitionKeySelector selector = PartitionKeySelector.create(KeyDistribution.ROUND_ROBIN, keySet, 100);
+
+        // WHEN
+        final int[] partitions = new int[7];
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = KafkaPartitionUtils.partition(selector.keyFor(i), 5);
+        }
+
+        // THEN
+        assertThat(partitions).containsExactly(0, 1, 2, 3, 4, 0, 1);
+    }
+
+    @Test
+    public void shouldSpreadMessagesUniformly() throws KafkaToolError {
+        // GIVEN
+        final int partitionCount = 10;
+        final PartitionKeySelector selector =
+            PartitionKeySelector.create(KeyDistribution.UNIFORM, PartitionKeySet.compute("k", partitionCount), 100);
+
+        // WHEN
+        final int[] counts = countsPerPartition(selector, partitionCount);
+
+        // THEN
+        for (int count : counts) {
+            assertThat((double) count / SAMPLE_COUNT).isCloseTo(0.1, within(0.01));
+        }
+    }
+
+    @Test
+    public void shouldSkewMessagesWithZipfDistribution() throws KafkaToolError {
+        // GIVEN
+        final int partitionCount = 10;
+        final PartitionKeySelector selector =
+            PartitionKeySelector.create(KeyDistribution.ZIPF, PartitionKeySet.compute("k", partitionCount), 100);
+
+        // WHEN
+        final int[] counts = countsPerPartition(selector, partitionCount);
+
+        // THEN
+        // 1 / (1 + 1/2 + ... + 1/10)
+        assertThat(selector.probabilityOf(0)).isCloseTo(0.3414, within(0.0001));
+        assertThat(selector.probabilityOf(1)).isCloseTo(selector.probabilityOf(0) / 2, within(0.0001));
+        for (int partition = 0; partition < partitionCount; partition++) {
+            assertThat((double) counts[partition] / SAMPLE_COUNT)
+                .isCloseTo(selector.probabilityOf(partition), within(0.01));
+        }
+        assertThat(selector.describe()).contains("hottest partition share: 34.1 %");
+    }
+
+    @Test
+    public void shouldSpreadMessagesUniformlyWithZeroSkew() throws KafkaToolError {
+        // GIVEN
+        final PartitionKeySelector selector =
+            PartitionKeySelector.create(KeyDistribution.ZIPF, PartitionKeySet.compute("k", 4), 0);
+
+        // THEN
+        for (int partition = 0; partition < 4; partition++) {
+            assertThat(selector.probabilityOf(partition)).isCloseTo(0.25, within(0.0001));
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldRejectFixedKeyDistribution() throws KafkaToolError {
+        // WHEN
+        PartitionKeySelector.create(KeyDistribution.FIXED, PartitionKeySet.compute("k", 4), 100);
+    }
+
+    private static int[] countsPerPartition(PartitionKeySelector selector, int partitionCount) {
+        final int[] counts = new int[partitionCount];
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            counts[KafkaPartitionUtils.partition(selector.keyFor(i), partitionCount)]++;
+        }
+        return counts;
+    }
+}
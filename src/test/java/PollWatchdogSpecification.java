@@ -0,0 +1,113 @@
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import application.kafka.listener.PollWatchdog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PollWatchdogSpecification {
+    private static final long POLL_TIMEOUT_MS = 100;
+    private static final long DEADLINE_MS = POLL_TIMEOUT_MS + PollWatchdog.ADDITIONAL_WAIT_DURATION_BEFORE_WAKEUP_MS;
+    private final AtomicLong nowNanos = new AtomicLong(1_000L);
+    private PollWatchdog watchdog;
+
+    @BeforeMethod
+    public void setUp() {
+        watchdog = new PollWatchdog(nowNanos::get);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        watchdog.close();
+    }
+
+    @Test
+    public void shouldWakeUpOnlyConsumerWhosePollPassedItsDeadline() {
+        // GIVEN
+        final AtomicInteger stuckWakeUps = new AtomicInteger();
+        final AtomicInteger healthyWakeUps = new AtomicInteger();
+        final PollWatchdog.Watch stuck = watchdog.watch("stuck", stuckWakeUps::incrementAndGet);
+        final PollWatchdog.Watch healthy = watchdog.watch("healthy", healthyWakeUps::incrementAndGet);
+        stuck.pollStarted(POLL_TIMEOUT_MS);
+        advanceMs(DEADLINE_MS / 2);
+        healthy.pollStarted(POLL_TIMEOUT_MS);
+
+        // WHEN
+        advanceMs(DEADLINE_MS / 2);
+        watchdog.checkDeadlines();
+
+        // THEN
+        assertThat(stuckWakeUps).hasValue(1);
+        assertThat(healthyWakeUps).hasValue(0);
+        assertThat(stuck.getStuckPollCount()).isEqualTo(1);
+        assertThat(healthy.getStuckPollCount()).isZero();
+    }
+
+    @Test
+    public void shouldWakeUpStuckPollOnlyOnce() {
+        // GIVEN
+        final AtomicInteger wakeUps = new AtomicInteger();
+        final PollWatchdog.Watch watch = watchdog.watch("listener", wakeUps::incrementAndGet);
+        watch.pollStarted(POLL_TIMEOUT_MS);
+        advanceMs(DEADLINE_MS);
+
+        // WHEN
+        watchdog.checkDeadlines();
+        advanceMs(DEADLINE_MS);
+        watchdog.checkDeadlines();
+
+        // THEN
+        assertThat(wakeUps).hasValue(1);
+    }
+
+    @Test
+    public void shouldNotWakeUpFinishedOrClosedPolls() {
+        // GIVEN
+        final AtomicInteger wakeUps = new AtomicInteger();
+        final PollWatchdog.Watch finished = watchdog.watch("finished", wakeUps::incrementAndGet);
+        final PollWatchdog.Watch closed = watchdog.watch("closed", wakeUps::incrementAndGet);
+        finished.pollStarted(POLL_TIMEOUT_MS);
+        closed.pollStarted(POLL_TIMEOUT_MS);
+        finished.pollFinished();
+        closed.close();
+
+        // WHEN
+        advanceMs(DEADLINE_MS);
+        watchdog.checkDeadlines();
+
+        // THEN
+        assertThat(wakeUps).hasValue(0);
+        assertThat(watchdog.getWatchedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldWakeUpStuckPollFromSchedulerThread() throws InterruptedException {
+        // GIVEN
+        final PollWatchdog realTimeWatchdog = new PollWatchdog();
+        final AtomicInteger wakeUps = new AtomicInteger();
+        try {
+            final PollWatchdog.Watch watch = realTimeWatchdog.watch("listener", wakeUps::incrementAndGet);
+
+            // WHEN
+            watch.pollStarted(0);
+            final long deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (wakeUps.get() == 0 && System.nanoTime() < deadlineNanos) {
+                Thread.sleep(50);
+            }
+
+            // THEN
+            assertThat(wakeUps).hasValue(1);
+        } finally {
+            realTimeWatchdog.close();
+        }
+    }
+
+    private void advanceMs(long ms) {
+        nowNanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(ms));
+    }
+}
@@ -0,0 +1,101 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+import application.kafka.listener.ReceivedRecordsQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReceivedRecordsQueueSpecification {
+
+    @Test
+    public void shouldDeliverAllRecordsInOrderIncludingIdenticalOnes() {
+        // GIVEN
+        final ReceivedRecordsQueue<String> queue = new ReceivedRecordsQueue<>(4);
+        queue.attachDrainer();
+        queue.publish(Arrays.asList("a", "a"));
+        queue.publish(Collections.singletonList("a"));
+        queue.publish(Arrays.asList("b", "c"));
+        final List<String> drained = new ArrayList<>();
+
+        // WHEN
+        final int count = queue.drainTo(drained::addAll);
+
+        // THEN
+        assertThat(count).isEqualTo(5);
+        assertThat(drained).containsExactly("a", "a", "a", "b", "c");
+        assertThat(queue.size()).isZero();
+    }
+
+    @Test
+    public void shouldNotQueueRecordsWithoutDrainer() {
+        // GIVEN
+        final ReceivedRecordsQueue<String> queue = new ReceivedRecordsQueue<>(4);
+
+        // WHEN
+        final boolean published = queue.publish(Collections.singletonList("a"));
+
+        // THEN
+        assertThat(published).isFalse();
+        assertThat(queue.size()).isZero();
+    }
+
+    @Test
+    public void shouldRoundCapacityUpToPowerOfTwo() {
+        assertThat(new ReceivedRecordsQueue<>(1).capacity()).isEqualTo(1);
+        assertThat(new ReceivedRecordsQueue<>(3).capacity()).isEqualTo(4);
+        assertThat(new ReceivedRecordsQueue<>().capacity()).isEqualTo(ReceivedRecordsQueue.DEFAULT_CAPACITY);
+    }
+
+    @Test
+    public void shouldMakePublisherWaitForDrainerWhenQueueIsFull() throws InterruptedException {
+        // GIVEN
+        final ReceivedRecordsQueue<String> queue = new ReceivedRecordsQueue<>(2);
+        queue.attachDrainer();
+        queue.publish(Collections.singletonList("1"));
+        queue.publish(Collections.singletonList("2"));
+        final Thread publisher = new Thread(() -> queue.publish(Collections.singletonList("3")));
+
+        // WHEN
+        publisher.start();
+        publisher.join(100);
+
+        // THEN
+        assertThat(publisher.isAlive()).isTrue();
+        final List<String> drained = new ArrayList<>();
+        queue.drainTo(drained::addAll);
+        publisher.join(TimeUnit.SECONDS.toMillis(5));
+        assertThat(publisher.isAlive()).isFalse();
+        queue.drainTo(drained::addAll);
+        assertThat(drained).containsExactly("1", "2", "3");
+    }
+
+    @Test
+    public void shouldCountEveryRecordWhenPublishingAndDrainingConcurrently() throws InterruptedException {
+        // GIVEN
+        final int batchCount = 20_000;
+        final int batchSize = 5;
+        final ReceivedRecordsQueue<String> queue = new ReceivedRecordsQueue<>(16);
+        queue.attachDrainer();
+        final Thread publisher = new Thread(() -> {
+            for (int i = 0; i < batchCount; i++) {
+                queue.publish(Collections.nCopies(batchSize, "record"));
+            }
+        });
+        long drainedCount = 0;
+
+        // WHEN
+        publisher.start();
+        while (publisher.isAlive() || queue.size() > 0) {
+            drainedCount += queue.drainTo(batch -> {
+            });
+        }
+
+        // THEN
+        assertThat(drainedCount).isEqualTo((long) batchCount * batchSize);
+    }
+}
@@ -0,0 +1,160 @@
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.testng.annotations.Test;
+
+import application.customfxwidgets.listenerconfig.ReceivedRecordsRingBuffer;
+import application.kafka.listener.ReceivedRecord;
+import application.utils.TimestampUtils;
+import javafx.collections.ListChangeListener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReceivedRecordsRingBufferSpecification {
+
+    @Test
+    public void shouldKeepNewestRecordsAndReportEvictionAndAdditionAsSingleChange() {
+        // GIVEN
+        final ReceivedRecordsRingBuffer buffer = new ReceivedRecordsRingBuffer(3, Long.MAX_VALUE);
+        buffer.appendAll(records(0, 2));
+        final List<String> changes = new ArrayList<>();
+        final AtomicInteger changeEvents = new AtomicInteger();
+        buffer.addListener((ListChangeListener<ReceivedRecord>) change -> {
+            changeEvents.incrementAndGet();
+            while (change.next()) {
+                changes.add(String.format("removed %s, added [%d, %d)", offsetsOf(change.getRemoved()),
+                                          change.getFrom(), change.getTo()));
+            }
+        });
+
+        // WHEN
+        buffer.appendAll(records(2, 4));
+
+        // THEN
+        assertThat(offsetsOf(buffer)).containsExactly(1L, 2L, 3L);
+        assertThat(changeEvents).hasValue(1);
+        assertThat(changes).containsExactly("removed [0], added [0, 0)", "removed [], added [1, 3)");
+    }
+
+    @Test
+    public void shouldKeepOnlyLastRecordsOfBatchLargerThanCapacity() {
+        // GIVEN
+        final ReceivedRecordsRingBuffer buffer = new ReceivedRecordsRingBuffer(4, Long.MAX_VALUE);
+        buffer.appendAll(records(0, 3));
+
+        // WHEN
+        buffer.appendAll(records(3, 13));
+
+        // THEN
+        assertThat(offsetsOf(buffer)).containsExactly(9L, 10L, 11L, 12L);
+    }
+
+    @Test
+    public void shouldGrowStorageUpToCapacityKeepingOrder() {
+        // GIVEN
+        final int capacity = 5000;
+        final ReceivedRecordsRingBuffer buffer = new ReceivedRecordsRingBuffer(capacity, Long.MAX_VALUE);
+
+        // WHEN
+        for (int i = 0; i < 7; i++) {
+            buffer.appendAll(records(i * 1000L, (i + 1) * 1000L));
+        }
+
+        // THEN
+        assertThat(buffer.size()).isEqualTo(capacity);
+        assertThat(buffer.get(0).getOffset()).isEqualTo(2000L);
+        assertThat(buffer.get(capacity - 1).getOffset()).isEqualTo(6999L);
+        assertThat(offsetsOf(buffer)).isSorted();
+    }
+
+    @Test
+    public void shouldEvictOldestRecordsWhenSizeInBytesIsExceeded() {
+        // GIVEN
+        final long recordBytes = record(0).estimatedSizeInBytes();
+        final ReceivedRecordsRingBuffer buffer = new ReceivedRecordsRingBuffer(100, recordBytes * 3);
+        buffer.appendAll(records(0, 2));
+
+        // WHEN
+        buffer.appendAll(records(2, 4));
+
+        // THEN
+        assertThat(offsetsOf(buffer)).containsExactly(1L, 2L, 3L);
+        assertThat(buffer.sizeInBytes()).isEqualTo(recordBytes * 3);
+    }
+
+    @Test
+    public void shouldKeepNewestRecordEvenIfItExceedsSizeInBytes() {
+        // GIVEN
+        final ReceivedRecordsRingBuffer buffer = new ReceivedRecordsRingBuffer(100, 1000);
+        buffer.appendAll(records(0, 2));
+        final ReceivedRecord largeRecord = new ReceivedRecord(0, 2L, 0L, 0L, null, new byte[2000], null);
+
+        // WHEN
+        buffer.appendAll(Arrays.asList(record(1), largeRecord));
+
+        // THEN
+        assertThat(buffer).containsExactly(largeRecord);
+        assertThat(buffer.sizeInBytes()).isEqualTo(largeRecord.estimatedSizeInBytes());
+    }
+
+    @Test
+    public void shouldClearRecords() {
+        // GIVEN
+        final ReceivedRecordsRingBuffer buffer = new ReceivedRecordsRingBuffer(3, Long.MAX_VALUE);
+        buffer.appendAll(records(0, 3));
+
+        // WHEN
+        buffer.clearRecords();
+        buffer.appendAll(records(3, 4));
+
+        // THEN
+        assertThat(offsetsOf(buffer)).containsExactly(3L);
+        assertThat(buffer.sizeInBytes()).isEqualTo(record(3).estimatedSizeInBytes());
+    }
+
+    @Test
+    public void shouldFormatRawRecordOnlyWhenAsked() {
+        // GIVEN
+        final ConsumerRecord<byte[], byte[]> consumerRecord = new ConsumerRecord<>("topic", 2, 7L,
+                                                                                   bytes("key"), bytes("value"));
+        consumerRecord.headers().add(new RecordHeader("trace", bytes("abc")));
+        final long timestamp = consumerRecord.timestamp();
+
+        // WHEN
+        final ReceivedRecord record = ReceivedRecord.from(consumerRecord, 0L);
+
+        // THEN
+        assertThat(record.getKey()).isEqualTo("key");
+        assertThat(record.getValue()).isEqualTo("value");
+        assertThat(record.format()).isEqualTo(String.format(
+            "[%s] ConsumerRecord: (%s, key=key, partition=2, offset=7, headers=[trace=abc])%nvalue 'value'",
+            TimestampUtils.timeTimestampFromEpochMili(0L),
+            TimestampUtils.timestampFromEpochMili(timestamp)));
+    }
+
+    private static List<ReceivedRecord> records(long fromOffset, long toOffset) {
+        return LongStream.range(fromOffset, toOffset)
+            .mapToObj(ReceivedRecordsRingBufferSpecification::record)
+            .collect(Collectors.toList());
+    }
+
+    // records of the same size as long as offsets have the same number of digits
+    private static ReceivedRecord record(long offset) {
+        return new ReceivedRecord(0, offset, 0L, 0L, null, bytes("v" + offset), null);
+    }
+
+    private static List<Long> offsetsOf(List<? extends ReceivedRecord> records) {
+        return records.stream().map(ReceivedRecord::getOffset).collect(Collectors.toList());
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
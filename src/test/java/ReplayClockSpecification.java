@@ -0,0 +1,49 @@
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+import application.exceptions.ExecutionStopRequested;
+import application.kafka.sender.ReplayClock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReplayClockSpecification {
+
+    @Test
+    public void shouldKeepOriginalRelativeTimingScaledBySpeedFactor() throws ExecutionStopRequested {
+        // GIVEN
+        final ReplayClock clock = new ReplayClock(10.0);
+        final long start = System.nanoTime();
+
+        // WHEN
+        for (int i = 0; i <= 1000; i++) {
+            clock.awaitSendTime(1_000_000L + i);
+        }
+
+        // THEN
+        final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertThat(elapsedMs).isBetween(99L, 1000L);
+        assertThat(clock.lagSummary()).contains("timed messages: 1001");
+    }
+
+    @Test
+    public void shouldSendLateMessagesImmediately() throws ExecutionStopRequested {
+        // GIVEN
+        final ReplayClock clock = new ReplayClock(1.0);
+        clock.awaitSendTime(5_000L);
+        final long start = System.nanoTime();
+
+        // WHEN
+        clock.awaitSendTime(1_000L);
+
+        // THEN
+        final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertThat(elapsedMs).isLessThan(100L);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldRejectZeroSpeedFactor() {
+        // WHEN
+        new ReplayClock(0.0);
+    }
+}
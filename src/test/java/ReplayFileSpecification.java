@@ -0,0 +1,163 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.testng.annotations.Test;
+
+import application.exceptions.KafkaToolError;
+import application.kafka.listener.ReceivedRecord;
+import application.kafka.sender.ReplayFile;
+import application.model.ReplayFileFormat;
+import application.utils.TimestampUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReplayFileSpecification {
+
+    @Test
+    public void shouldSplitKeyAtFirstDelimiter() throws Exception {
+        // GIVEN
+        final Path file = createFile("k1\t{\"a\":\"x\ty\"}\nno key\n");
+
+        // WHEN
+        try (ReplayFile replayFile = ReplayFile.open(file.toString(), ReplayFileFormat.LINES, "\\t")) {
+            final ReplayFile.Record first = replayFile.next();
+            final ReplayFile.Record second = replayFile.next();
+
+            // THEN
+            assertThat(text(first.getKey())).isEqualTo("k1");
+            assertThat(text(first.getValue())).isEqualTo("{\"a\":\"x\ty\"}");
+            assertThat(second.getKey()).isNull();
+            assertThat(text(second.getValue())).isEqualTo("no key");
+            assertThat(replayFile.next()).isNull();
+            assertThat(replayFile.getRecordCount()).isEqualTo(2);
+            assertThat(replayFile.getBytesRead()).isEqualTo(replayFile.getFileSize());
+        }
+    }
+
+    @Test
+    public void shouldSendWholeMessageAsValueWithoutDelimiter() throws Exception {
+        // GIVEN
+        final Path file = createFile("a|b\n");
+
+        // WHEN
+        try (ReplayFile replayFile = ReplayFile.open(file.toString(), ReplayFileFormat.LINES, "")) {
+            final ReplayFile.Record record = replayFile.next();
+
+            // THEN
+            assertThat(record.getKey()).isNull();
+            assertThat(text(record.getValue())).isEqualTo("a|b");
+        }
+    }
+
+    @Test
+    public void shouldReadTimestampedLines() throws Exception {
+        // GIVEN
+        final Path file = createFile("1650000000000\tk1|v1\n1650000000250\tv2\n");
+
+        // WHEN
+        try (ReplayFile replayFile = ReplayFile.open(file.toString(), ReplayFileFormat.TIMESTAMPED_LINES, "|")) {
+            final ReplayFile.Record first = replayFile.next();
+            final ReplayFile.Record second = replayFile.next();
+
+            // THEN
+            assertThat(first.getTimestamp()).isEqualTo(1650000000000L);
+            assertThat(text(first.getKey())).isEqualTo("k1");
+            assertThat(text(first.getValue())).isEqualTo("v1");
+            assertThat(second.getTimestamp()).isEqualTo(1650000000250L);
+            assertThat(second.getKey()).isNull();
+            assertThat(text(second.getValue())).isEqualTo("v2");
+        }
+    }
+
+    @Test(expectedExceptions = KafkaToolError.class)
+    public void shouldRejectTimestampedLineWithoutTimestamp() throws Exception {
+        // GIVEN
+        final Path file = createFile("not a timestamp\tv1\n");
+
+        // WHEN
+        try (ReplayFile replayFile = ReplayFile.open(file.toString(), ReplayFileFormat.TIMESTAMPED_LINES, "")) {
+            replayFile.next();
+        }
+    }
+
+    @Test
+    public void shouldReadRecordsOfOutputSavedFromListener() throws Exception {
+        // GIVEN
+        final String firstTimestamp = TimestampUtils.timestampFromEpochMili(1650000000000L);
+        final String secondTimestamp = TimestampUtils.timestampFromEpochMili(1650000001500L);
+        final Path file = createFile(
+            "[10:00:00.000] ConsumerRecord: (" + firstTimestamp + ", key=k1, partition=0, offset=7)\n"
+                + "value 'first\nline'\n"
+                + "[10:00:01.000] ConsumerRecord: (" + secondTimestamp + ", key=null, partition=1, offset=8)\n"
+                + "value ''\n\n");
+
+        // WHEN
+        try (ReplayFile replayFile = ReplayFile.open(file.toString(), ReplayFileFormat.LISTENER_OUTPUT, "")) {
+            final ReplayFile.Record first = replayFile.next();
+            final ReplayFile.Record second = replayFile.next();
+
+            // THEN
+            assertThat(first.getTimestamp()).isEqualTo(1650000000000L);
+            assertThat(text(first.getKey())).isEqualTo("k1");
+            assertThat(text(first.getValue())).isEqualTo("first\nline");
+            assertThat(second.getTimestamp()).isEqualTo(1650000001500L);
+            assertThat(second.getKey()).isNull();
+            assertThat(second.getValue()).isEmpty();
+            assertThat(replayFile.next()).isNull();
+        }
+    }
+
+    @Test
+    public void shouldReadRecordsFormattedByListenerWithHeaders() throws Exception {
+        // GIVEN
+        final ReceivedRecord withHeaders = new ReceivedRecord(0, 7L, 1650000000000L, 0L, bytes("k1"), bytes("v1"),
+                                                              new Header[]{new RecordHeader("trace", bytes("abc")),
+                                                                  new RecordHeader("empty", null)});
+        final ReceivedRecord withoutHeaders = new ReceivedRecord(1, 8L, 1650000001500L, 0L, null, bytes("v2"), null);
+        final Path file = createFile(withHeaders.format() + System.lineSeparator()
+                                         + withoutHeaders.format() + System.lineSeparator());
+
+        // WHEN
+        try (ReplayFile replayFile = ReplayFile.open(file.toString(), ReplayFileFormat.LISTENER_OUTPUT, "")) {
+            final ReplayFile.Record first = replayFile.next();
+            final ReplayFile.Record second = replayFile.next();
+
+            // THEN
+            assertThat(first.getTimestamp()).isEqualTo(1650000000000L);
+            assertThat(text(first.getKey())).isEqualTo("k1");
+            assertThat(text(first.getValue())).isEqualTo("v1");
+            assertThat(first.getHeaders()).containsExactly(new RecordHeader("trace", bytes("abc")),
+                                                           new RecordHeader("empty", null));
+            assertThat(second.getTimestamp()).isEqualTo(1650000001500L);
+            assertThat(second.getKey()).isNull();
+            assertThat(text(second.getValue())).isEqualTo("v2");
+            assertThat(second.getHeaders()).isEmpty();
+            assertThat(replayFile.next()).isNull();
+        }
+    }
+
+    @Test(expectedExceptions = KafkaToolError.class)
+    public void shouldRejectMissingFile() throws KafkaToolError {
+        // WHEN
+        ReplayFile.open("/not/existing/dump.txt", ReplayFileFormat.LINES, "");
+    }
+
+    private static Path createFile(String content) throws IOException {
+        final Path file = Files.createTempFile("replay", ".txt");
+        file.toFile().deleteOnExit();
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
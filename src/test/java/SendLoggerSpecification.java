@@ -0,0 +1,66 @@
+import org.testng.annotations.Test;
+
+import application.kafka.sender.SendLogger;
+import application.logging.LogLevel;
+import application.logging.Logger;
+import application.model.SendLoggingMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SendLoggerSpecification {
+
+    @Test
+    public void shouldLogFirstAndEveryNthMessageWhenSampling() {
+        // GIVEN
+        Logger.setLogLevel(LogLevel.INFO);
+        SendLogger logger = new SendLogger(SendLoggingMode.SAMPLED, 10, 1000);
+
+        // WHEN/THEN
+        assertThat(logger.shouldLogMessage(1)).isTrue();
+        assertThat(logger.shouldLogMessage(2)).isFalse();
+        assertThat(logger.shouldLogMessage(10)).isFalse();
+        assertThat(logger.shouldLogMessage(11)).isTrue();
+    }
+
+    @Test
+    public void shouldNotLogMessagesWhenInfoLevelIsDisabled() {
+        // GIVEN
+        Logger.setLogLevel(LogLevel.WARN);
+        SendLogger logger = new SendLogger(SendLoggingMode.PER_MESSAGE, 1, 1000);
+
+        // WHEN/THEN
+        assertThat(logger.shouldLogMessage(1)).isFalse();
+        Logger.setLogLevel(LogLevel.INFO);
+    }
+
+    @Test
+    public void shouldNotLogSingleMessagesInSummaryMode() {
+        // GIVEN
+        SendLogger logger = new SendLogger(SendLoggingMode.SUMMARY, 1, 1000);
+
+        // WHEN/THEN
+        assertThat(logger.shouldLogMessage(1)).isFalse();
+    }
+
+    @Test
+    public void shouldSummarizeBytesErrorsAndPartitionDistribution() {
+        // GIVEN
+        SendLogger logger = new SendLogger(SendLoggingMode.SUMMARY, 1, 60_000);
+
+        // WHEN
+        logger.recordSent(10);
+        logger.recordSent(20);
+        logger.recordSent(30);
+        logger.recordAcknowledged(1);
+        logger.recordAcknowledged(0);
+        logger.recordFailed(new IllegalStateException());
+
+        // THEN
+        assertThat(logger.summary())
+            .contains("sent: 3 ")
+            .contains("bytes: 60 ")
+            .contains("acknowledged: 2,")
+            .contains("failed: 1 {IllegalStateException=1}")
+            .contains("partitions: {0=1, 1=1}");
+    }
+}
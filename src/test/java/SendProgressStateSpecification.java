@@ -0,0 +1,122 @@
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+import application.kafka.sender.SendProgressState;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class SendProgressStateSpecification {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void shouldSmoothRateAndEstimateTimeToFinish() {
+        // GIVEN
+        final SendProgressState state = new SendProgressState();
+        state.setMsgSentProgress(0, 10_000);
+        state.takeFrame(0);
+
+        // WHEN
+        SendProgressState.Frame frame = null;
+        for (int second = 1; second <= 20; second++) {
+            state.setMsgSentProgress(second * 100, 10_000);
+            frame = state.takeFrame(second * SECOND);
+        }
+
+        // THEN
+        assertThat(frame.getFraction()).isCloseTo(0.2, within(0.0001));
+        assertThat(frame.getSmoothedRate()).isCloseTo(100.0, within(1.0));
+        assertThat(frame.getEtaSeconds()).isCloseTo(80.0, within(1.0));
+        assertThat(frame.describe()).startsWith("Sent messages: 2000/10000 (20.000)%, ");
+        assertThat(frame.describe()).contains("ETA: 00:01:2").endsWith("errors: 0");
+    }
+
+    @Test
+    public void shouldKeepHighestCountReportedByConcurrentShards() {
+        // GIVEN
+        final SendProgressState state = new SendProgressState();
+
+        // WHEN
+        state.setMsgSentProgress(7, 10);
+        state.setMsgSentProgress(5, 10);
+
+        // THEN
+        assertThat(state.takeFrame(0).describe()).startsWith("Sent messages: 7/10 (70.000)%");
+    }
+
+    @Test
+    public void shouldNotEstimateTimeToFinishBeforeProgressIsMeasured() {
+        // GIVEN
+        final SendProgressState state = new SendProgressState();
+        state.setMsgSentProgress(1, 10);
+
+        // WHEN
+        final SendProgressState.Frame frame = state.takeFrame(0);
+
+        // THEN
+        assertThat(frame.getEtaSeconds()).isNegative();
+        assertThat(frame.describe()).contains("ETA: -");
+    }
+
+    @Test
+    public void shouldTakeTimeToFinishOfTimedRunFromItsDuration() {
+        // GIVEN
+        final SendProgressState state = new SendProgressState();
+
+        // WHEN
+        state.setTimedMsgSentProgress(500, 4_000, 10_000);
+        state.setFailedCount(3);
+
+        // THEN
+        final SendProgressState.Frame frame = state.takeFrame(0);
+        assertThat(frame.getFraction()).isCloseTo(0.4, within(0.0001));
+        assertThat(frame.getEtaSeconds()).isCloseTo(6.0, within(0.0001));
+        assertThat(frame.describe()).isEqualTo("Sent messages: 500 (4/10 s), 0.0 msg/s, ETA: 00:00:06, errors: 3");
+    }
+
+    @Test
+    public void shouldMeasureReplayProgressInBytes() {
+        // GIVEN
+        final SendProgressState state = new SendProgressState();
+        state.setReplayProgress(10, 0, 1000);
+        state.takeFrame(0);
+
+        // WHEN
+        state.setReplayProgress(20, 250, 1000);
+        final SendProgressState.Frame frame = state.takeFrame(SECOND);
+
+        // THEN
+        assertThat(frame.getFraction()).isCloseTo(0.25, within(0.0001));
+        assertThat(frame.getEtaSeconds()).isGreaterThan(0.0);
+        assertThat(frame.describe()).startsWith("Sent messages: 20, replayed bytes: 250/1000 (25.000)%");
+    }
+
+    @Test
+    public void shouldDescribeTargetAndShardRates() {
+        // GIVEN
+        final SendProgressState state = new SendProgressState();
+
+        // WHEN
+        state.setSendRate(150.0, 200, "msg/s");
+        state.setShardSendRates(new double[]{100.0, 50.0}, "msg/s");
+
+        // THEN
+        assertThat(state.takeFrame(0).getRatesText()).isEqualTo("Shards: 100.0 | 50.0 msg/s   Rate: 150.0 / 200 msg/s");
+    }
+
+    @Test
+    public void shouldStartFromZeroAfterClear() {
+        // GIVEN
+        final SendProgressState state = new SendProgressState();
+        state.setMsgSentProgress(9, 10);
+        state.setFailedCount(2);
+
+        // WHEN
+        state.clearMsgSentProgress();
+        state.setMsgSentProgress(1, 10);
+
+        // THEN
+        assertThat(state.takeFrame(0).describe()).startsWith("Sent messages: 1/10").endsWith("errors: 0");
+    }
+}
@@ -0,0 +1,70 @@
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+import application.exceptions.ExecutionStopRequested;
+import application.kafka.sender.SendRatePacer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SendRatePacerSpecification {
+
+    @Test
+    public void shouldNotSendFasterThanTargetRate() throws ExecutionStopRequested {
+        // GIVEN
+        final SendRatePacer pacer = new SendRatePacer(1000);
+        final long start = System.nanoTime();
+
+        // WHEN
+        for (int i = 0; i < 200; i++) {
+            pacer.acquire(1);
+        }
+
+        // THEN
+        final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertThat(elapsedMs).isBetween(195L, 2000L);
+    }
+
+    @Test
+    public void shouldCountBytesAsPermits() throws ExecutionStopRequested {
+        // GIVEN
+        final SendRatePacer pacer = new SendRatePacer(10_000);
+        final long start = System.nanoTime();
+
+        // WHEN
+        for (int i = 0; i < 11; i++) {
+            pacer.acquire(100);
+        }
+
+        // THEN
+        final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertThat(elapsedMs).isGreaterThanOrEqualTo(99L);
+    }
+
+    @Test
+    public void shouldNotWaitWhenRateIsUnlimited() throws ExecutionStopRequested {
+        // GIVEN
+        final SendRatePacer pacer = new SendRatePacer(0);
+        final long start = System.nanoTime();
+
+        // WHEN
+        for (int i = 0; i < 100_000; i++) {
+            pacer.acquire(1);
+        }
+
+        // THEN
+        assertThat(pacer.isLimited()).isFalse();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1000L);
+    }
+
+    @Test(expectedExceptions = ExecutionStopRequested.class)
+    public void shouldStopWaitingWhenInterrupted() throws ExecutionStopRequested {
+        // GIVEN
+        final SendRatePacer pacer = new SendRatePacer(1);
+        pacer.acquire(1);
+
+        // WHEN
+        Thread.currentThread().interrupt();
+        pacer.acquire(1);
+    }
+}
@@ -0,0 +1,169 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.mockito.Mockito;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import application.kafka.sender.DefaultKafkaMessageSender;
+import application.kafka.sender.SendProgressNotifier;
+import application.kafka.sender.SendStatistics;
+import application.kafka.sender.SimulationBenchmark;
+import application.model.modelobjects.KafkaBrokerConfig;
+import application.model.modelobjects.KafkaSenderConfig;
+import application.model.modelobjects.KafkaTopicConfig;
+import application.scripting.CompiledScriptCache;
+import application.scripting.GroovyScriptEvaluator;
+import application.scripting.MessageTemplateSender;
+import application.scripting.ScriptEvaluationExecutor;
+import application.utils.ThreadAllocation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SimulationBenchmarkSpecification {
+    private static final int MESSAGE_COUNT = 1000;
+    private ScriptEvaluationExecutor evaluationExecutor;
+    private MessageTemplateSender templateSender;
+    private KafkaSenderConfig config;
+
+    @BeforeMethod
+    public void setUp() {
+        evaluationExecutor = new ScriptEvaluationExecutor();
+        templateSender = new MessageTemplateSender(new DefaultKafkaMessageSender(),
+                                                   new GroovyScriptEvaluator(new CompiledScriptCache(),
+                                                                             evaluationExecutor));
+        final KafkaTopicConfig topic = new KafkaTopicConfig("topic");
+        topic.setTopicName("simulated");
+        topic.setRelatedConfig(new KafkaBrokerConfig("broker"));
+        config = new KafkaSenderConfig("sender");
+        config.setRelatedConfig(topic);
+        config.setRepeatCount(MESSAGE_COUNT);
+        config.setRunBeforeAllMessagesScript("counter = 0");
+        config.setRunBeforeEachMessageScript("counter++");
+        config.setMsgContentTemplate("message ${counter}");
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        evaluationExecutor.shutdown();
+    }
+
+    @Test
+    public void shouldMeasureEveryPhaseOfSimulatedMessages() {
+        // WHEN
+        final SendStatistics statistics = simulate();
+
+        // THEN
+        final SimulationBenchmark benchmark = statistics.getSimulationBenchmark();
+        assertThat(statistics.isFailed()).isFalse();
+        assertThat(benchmark.getMessageCount()).isEqualTo(MESSAGE_COUNT);
+        assertThat(benchmark.getPhaseNanos(SimulationBenchmark.Phase.BEFORE_ALL_SCRIPT)).isPositive();
+        assertThat(benchmark.getPhaseNanos(SimulationBenchmark.Phase.BEFORE_EACH_SCRIPT)).isPositive();
+        assertThat(benchmark.getPhaseNanos(SimulationBenchmark.Phase.TEMPLATE_RENDERING)).isPositive();
+        assertThat(benchmark.getPhaseNanos(SimulationBenchmark.Phase.SERIALIZATION)).isPositive();
+        assertThat(benchmark.getPhaseNanos(SimulationBenchmark.Phase.BATCHING)).isPositive();
+        assertThat(benchmark.getPhaseNanos(SimulationBenchmark.Phase.DATA_FILE_RECORD)).isZero();
+        assertThat(benchmark.getOpsPerSecond()).isPositive();
+        assertThat(benchmark.summary()).startsWith("messages: 1000, ");
+        assertThat(benchmark.phasesSummary()).doesNotContain("data file record");
+        if (ThreadAllocation.isSupported()) {
+            assertThat(benchmark.getAllocatedBytesPerMessage()).isPositive();
+        }
+    }
+
+    @Test
+    public void shouldMeasureHeapAllocatedByScriptsOfEveryMessage() {
+        // GIVEN
+        final int allocatedBytesPerMessage = 100_000;
+        config.setRunBeforeEachMessageScript(String.format("counter++; buffer = new byte[%d]",
+                                                           allocatedBytesPerMessage));
+
+        // WHEN
+        final SimulationBenchmark benchmark = simulate().getSimulationBenchmark();
+
+        // THEN
+        if (ThreadAllocation.isSupported()) {
+            assertThat(benchmark.getAllocatedBytesPerMessage()).isGreaterThanOrEqualTo(allocatedBytesPerMessage);
+        }
+    }
+
+    @Test
+    public void shouldCloseSimulatedBatchWhenItIsFull() {
+        // GIVEN
+        config.getProducerTuning().setBatchSize(1024);
+
+        // WHEN
+        final SimulationBenchmark benchmark = simulate().getSimulationBenchmark();
+
+        // THEN
+        assertThat(benchmark.getBatchCount()).isBetween(2L, (long) MESSAGE_COUNT / 10);
+    }
+
+    @Test
+    public void shouldMeasureMessagesGeneratedOnSeveralThreads() {
+        // GIVEN
+        config.setGeneratorThreadCount(3);
+
+        // WHEN
+        final SimulationBenchmark benchmark = simulate().getSimulationBenchmark();
+
+        // THEN
+        assertThat(benchmark.getMessageCount()).isEqualTo(MESSAGE_COUNT);
+        assertThat(benchmark.getPhaseNanos(SimulationBenchmark.Phase.BEFORE_EACH_SCRIPT)).isPositive();
+        assertThat(benchmark.getPhaseNanos(SimulationBenchmark.Phase.TEMPLATE_RENDERING)).isPositive();
+    }
+
+    @Test
+    public void shouldSendEveryDataFileRecordOnceWhenGeneratingOnSeveralThreads() throws IOException {
+        // GIVEN
+        final int recordCount = 2000;
+        final Path dataFile = Files.createTempFile("orders", ".csv");
+        dataFile.toFile().deleteOnExit();
+        Files.write(dataFile, IntStream.range(0, recordCount)
+            .mapToObj(Integer::toString)
+            .collect(Collectors.joining("\n", "id\n", "\n"))
+            .getBytes(StandardCharsets.UTF_8));
+        config.setDataFilePath(dataFile.toString());
+        config.setRepeatCount(recordCount * 2);
+        config.setGeneratorThreadCount(4);
+
+        // WHEN
+        final SendStatistics statistics = simulate();
+
+        // THEN
+        assertThat(statistics.isFailed()).isFalse();
+        assertThat(statistics.getSimulationBenchmark().getMessageCount()).isEqualTo(recordCount);
+    }
+
+    @Test
+    public void shouldReportOneTimePhasesAsTotalAndOtherPhasesPerMessage() {
+        // GIVEN
+        final SimulationBenchmark benchmark = new SimulationBenchmark();
+
+        // WHEN
+        benchmark.record(SimulationBenchmark.Phase.SHARED_SCRIPT, 3_000_000);
+        benchmark.record(SimulationBenchmark.Phase.TEMPLATE_RENDERING, 4_000);
+        benchmark.recordMessage(10);
+        benchmark.recordMessage(30);
+
+        // THEN
+        assertThat(benchmark.phasesSummary()).isEqualTo("shared script: 3.000 ms total, "
+                                                            + "template rendering: 2.000 us/msg");
+        assertThat(benchmark.summary()).contains("avg message: 20.0 B");
+    }
+
+    private SendStatistics simulate() {
+        return templateSender.send(config,
+                                   Mockito.mock(SendProgressNotifier.class),
+                                   "",
+                                   true,
+                                   shards -> {
+                                       throw new IllegalStateException("single shard expected");
+                                   });
+    }
+}
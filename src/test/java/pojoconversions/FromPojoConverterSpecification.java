@@ -9,13 +9,23 @@ import org.testng.annotations.Test;
 
 import application.model.FromPojoConverter;
 import application.model.KafkaOffsetResetType;
+import application.model.KeyDistribution;
+import application.model.BrowseStartPosition;
+import application.model.ListenerCommitStrategy;
 import application.model.ModelDataProxy;
+import application.model.ProducerAcks;
+import application.model.ProducerCompressionType;
+import application.model.ReplayFileFormat;
+import application.model.ReplaySpeed;
+import application.model.SendLoggingMode;
+import application.model.SendRateUnit;
 import application.model.modelobjects.KafkaBrokerConfig;
 import application.model.modelobjects.KafkaListenerConfig;
 import application.model.modelobjects.KafkaSenderConfig;
 import application.model.modelobjects.KafkaTopicConfig;
 import application.model.pojos.BrokerConfigPojo;
 import application.model.pojos.ListenerConfigPojo;
+import application.model.pojos.ProducerTuningPojo;
 import application.model.pojos.SenderConfigPojo;
 import application.model.pojos.TopicConfigPojo;
 
@@ -101,6 +111,25 @@ public class FromPojoConverterSpecification {
         assertThat(config.getRunBeforeAllMessagesScript()).isEqualTo("");
         assertThat(config.getRunBeforeEachMessageScript()).isEqualTo("");
         assertThat(config.getSendingSimulationModeEnabled()).isFalse();
+        assertThat(config.getMaxInFlightMessages()).isEqualTo(1000);
+        assertThat(config.getGeneratorThreadCount()).isEqualTo(1);
+        assertThat(config.getProducerShardCount()).isEqualTo(1);
+        assertThat(config.getSendLoggingMode()).isEqualTo(SendLoggingMode.PER_MESSAGE);
+        assertThat(config.getSendLogSampleInterval()).isEqualTo(1000);
+        assertThat(config.getDataFilePath()).isEqualTo("");
+        assertThat(config.isDataFileLoopEnabled()).isFalse();
+        assertThat(config.getReplayFilePath()).isEqualTo("");
+        assertThat(config.getReplayFileFormat()).isEqualTo(ReplayFileFormat.LINES);
+        assertThat(config.getReplayKeyDelimiter()).isEqualTo("");
+        assertThat(config.getReplaySpeed()).isEqualTo(ReplaySpeed.X1);
+        assertThat(config.getKeyDistribution()).isEqualTo(KeyDistribution.FIXED);
+        assertThat(config.getKeySkewPercent()).isEqualTo(100);
+        assertThat(config.getTargetRate()).isEqualTo(0);
+        assertThat(config.getRunDurationSeconds()).isEqualTo(0);
+        assertThat(config.getProducerTuning().getAcks()).isEqualTo(ProducerAcks.ALL);
+        assertThat(config.getProducerTuning().getLingerMs()).isEqualTo(0);
+        assertThat(config.getProducerTuning().isIdempotenceEnabled()).isTrue();
+        assertThat(config.getTargetRateUnit()).isEqualTo(SendRateUnit.MESSAGES_PER_SECOND);
     }
 
     @Test
@@ -146,6 +175,28 @@ public class FromPojoConverterSpecification {
         pojo.setMessageKey("Some_message_key");
         pojo.setConfigName("some_name");
         pojo.setRepeatCount("33");
+        pojo.setMaxInFlightMessages("44");
+        pojo.setGeneratorThreadCount("4");
+        pojo.setProducerShardCount("3");
+        pojo.setSendLoggingMode("sampled");
+        pojo.setSendLogSampleInterval("250");
+        pojo.setDataFilePath("/data/orders.csv");
+        pojo.setDataFileLoopEnabled(true);
+        pojo.setReplayFilePath("/data/dump.bin");
+        pojo.setReplayFileFormat("length_prefixed");
+        pojo.setReplayKeyDelimiter(" ");
+        pojo.setReplaySpeed("x10");
+        pojo.setKeyDistribution("zipf");
+        pojo.setKeySkewPercent("120");
+        pojo.setTargetRate("2500");
+        pojo.setTargetRateUnit("bytes_per_second");
+        pojo.setRunDurationSeconds("60");
+        final ProducerTuningPojo tuningPojo = new ProducerTuningPojo();
+        tuningPojo.setLingerMs("5");
+        tuningPojo.setCompressionType("zstd");
+        tuningPojo.setAcks("invalid");
+        tuningPojo.setIdempotenceEnabled("false");
+        pojo.setProducerTuning(tuningPojo);
         pojo.setRunBeforeAllMessagesScript("zzz");
         pojo.setRunBeforeEachMessageScript("DDD");
         pojo.setTopicConfigUuid(relatedUuid);
@@ -164,6 +215,36 @@ public class FromPojoConverterSpecification {
         assertThat(config.getTopicConfigUuid()).isEqualTo(relatedUuid);
         final int expectedRepeatCount = 33;
         assertThat(config.getRepeatCount()).isEqualTo(expectedRepeatCount);
+        final int expectedMaxInFlightMessages = 44;
+        assertThat(config.getMaxInFlightMessages()).isEqualTo(expectedMaxInFlightMessages);
+        final int expectedGeneratorThreadCount = 4;
+        assertThat(config.getGeneratorThreadCount()).isEqualTo(expectedGeneratorThreadCount);
+        final int expectedProducerShardCount = 3;
+        assertThat(config.getProducerShardCount()).isEqualTo(expectedProducerShardCount);
+        assertThat(config.getSendLoggingMode()).isEqualTo(SendLoggingMode.SAMPLED);
+        final int expectedSendLogSampleInterval = 250;
+        assertThat(config.getSendLogSampleInterval()).isEqualTo(expectedSendLogSampleInterval);
+        assertThat(config.getDataFilePath()).isEqualTo("/data/orders.csv");
+        assertThat(config.isDataFileLoopEnabled()).isTrue();
+        assertThat(config.getReplayFilePath()).isEqualTo("/data/dump.bin");
+        assertThat(config.getReplayFileFormat()).isEqualTo(ReplayFileFormat.LENGTH_PREFIXED);
+        assertThat(config.getReplayKeyDelimiter()).isEqualTo(" ");
+        assertThat(config.getReplaySpeed()).isEqualTo(ReplaySpeed.X10);
+        assertThat(config.getKeyDistribution()).isEqualTo(KeyDistribution.ZIPF);
+        final int expectedKeySkewPercent = 120;
+        assertThat(config.getKeySkewPercent()).isEqualTo(expectedKeySkewPercent);
+        final int expectedTargetRate = 2500;
+        assertThat(config.getTargetRate()).isEqualTo(expectedTargetRate);
+        assertThat(config.getTargetRateUnit()).isEqualTo(SendRateUnit.BYTES_PER_SECOND);
+        final int expectedRunDurationSeconds = 60;
+        assertThat(config.getRunDurationSeconds()).isEqualTo(expectedRunDurationSeconds);
+        final int expectedLingerMs = 5;
+        final int expectedBatchSize = 16_384;
+        assertThat(config.getProducerTuning().getLingerMs()).isEqualTo(expectedLingerMs);
+        assertThat(config.getProducerTuning().getBatchSize()).isEqualTo(expectedBatchSize);
+        assertThat(config.getProducerTuning().getCompressionType()).isEqualTo(ProducerCompressionType.ZSTD);
+        assertThat(config.getProducerTuning().getAcks()).isEqualTo(ProducerAcks.ALL);
+        assertThat(config.getProducerTuning().isIdempotenceEnabled()).isFalse();
         assertThat(config.getName()).isEqualTo("some_name");
         assertThat(config.getRunBeforeAllMessagesScript()).isEqualTo("zzz");
         assertThat(config.getRunBeforeEachMessageScript()).isEqualTo("DDD");
@@ -188,6 +269,12 @@ public class FromPojoConverterSpecification {
         assertThat(config.getUuid()).isNotBlank();
         assertThat(config.getReceivedMsgLimitCount()).isEqualTo("1");
         assertThat(config.getReceivedMsgLimitEnabled()).isFalse();
+        assertThat(config.getCommitStrategy()).isEqualTo(ListenerCommitStrategy.PER_BATCH_SYNC);
+        assertThat(config.getCommitIntervalMs()).isEqualTo("5000");
+        assertThat(config.getBrowseModeEnabled()).isFalse();
+        assertThat(config.getBrowseStartPosition()).isEqualTo(BrowseStartPosition.EARLIEST);
+        assertThat(config.getBrowseLatestCount()).isEqualTo("100");
+        assertThat(config.getBrowseStartTimestamp()).isEmpty();
     }
 
     @Test
@@ -208,6 +295,12 @@ public class FromPojoConverterSpecification {
         pojo.setUuid("some_uuid");
         pojo.setReceivedMsgLimitEnabled(true);
         pojo.setReceivedMsgLimitCount("34");
+        pojo.setCommitStrategy("periodic");
+        pojo.setCommitIntervalMs("1500");
+        pojo.setBrowseModeEnabled(true);
+        pojo.setBrowseStartPosition("latest_n");
+        pojo.setBrowseLatestCount("20");
+        pojo.setBrowseStartTimestamp("2022-05-01 10:00:00");
         // WHEN
         KafkaListenerConfig config = c.fromPojo(pojo);
 
@@ -221,6 +314,12 @@ public class FromPojoConverterSpecification {
         assertThat(config.getUuid()).isNotBlank();
         assertThat(config.getReceivedMsgLimitEnabled()).isTrue();
         assertThat(config.getReceivedMsgLimitCount()).isEqualTo("34");
+        assertThat(config.getCommitStrategy()).isEqualTo(ListenerCommitStrategy.PERIODIC);
+        assertThat(config.getCommitIntervalMs()).isEqualTo("1500");
+        assertThat(config.getBrowseModeEnabled()).isTrue();
+        assertThat(config.getBrowseStartPosition()).isEqualTo(BrowseStartPosition.LATEST_N);
+        assertThat(config.getBrowseLatestCount()).isEqualTo("20");
+        assertThat(config.getBrowseStartTimestamp()).isEqualTo("2022-05-01 10:00:00");
     }
 
     @Test
@@ -230,6 +329,10 @@ public class FromPojoConverterSpecification {
         FromPojoConverter c = getConverter();
         pojo.setPollTimeout("invalid_value");
         pojo.setOffsetResetConfig("invalid_value");
+        pojo.setCommitStrategy("invalid_value");
+        pojo.setCommitIntervalMs("invalid_value");
+        pojo.setBrowseStartPosition("invalid_value");
+        pojo.setBrowseLatestCount("invalid_value");
 
         // WHEN
         KafkaListenerConfig config = c.fromPojo(pojo);
@@ -237,6 +340,10 @@ public class FromPojoConverterSpecification {
         // THEN
         assertThat(config.getPollTimeout()).isEqualTo("2000");
         assertThat(config.getOffsetResetConfig()).isEqualTo(KafkaOffsetResetType.EARLIEST);
+        assertThat(config.getCommitStrategy()).isEqualTo(ListenerCommitStrategy.PER_BATCH_SYNC);
+        assertThat(config.getCommitIntervalMs()).isEqualTo("5000");
+        assertThat(config.getBrowseStartPosition()).isEqualTo(BrowseStartPosition.EARLIEST);
+        assertThat(config.getBrowseLatestCount()).isEqualTo("100");
     }
 
     @Test
@@ -245,6 +352,7 @@ public class FromPojoConverterSpecification {
         SenderConfigPojo pojo = new SenderConfigPojo();
         FromPojoConverter c = getConverter();
         pojo.setRepeatCount("invalid_value");
+        pojo.setMaxInFlightMessages("invalid_value");
 
         // WHEN
         KafkaSenderConfig config = c.fromPojo(pojo);
@@ -252,6 +360,8 @@ public class FromPojoConverterSpecification {
         // THEN
         final int expectedDefaultValue = 1;
         assertThat(config.getRepeatCount()).isEqualTo(expectedDefaultValue);
+        final int expectedDefaultMaxInFlightMessages = 1000;
+        assertThat(config.getMaxInFlightMessages()).isEqualTo(expectedDefaultMaxInFlightMessages);
     }
 
 
@@ -4,6 +4,7 @@ import org.testng.annotations.Test;
 
 import application.model.pojos.BrokerConfigPojo;
 import application.model.pojos.ListenerConfigPojo;
+import application.model.pojos.ProducerTuningPojo;
 import application.model.pojos.SenderConfigPojo;
 import application.model.pojos.TopicConfigPojo;
 import autofixture.publicinterface.Any;
@@ -61,4 +62,16 @@ public class PojoCopyableSpecification {
         assertThat(p2).isEqualTo(p1);
     }
 
+    @Test
+    public void shouldCreateProducerTuningPojoCopy() {
+        // GIVEN
+        ProducerTuningPojo p1 = Any.anonymous(ProducerTuningPojo.class);
+
+        // WHEN
+        ProducerTuningPojo p2 = p1.copyOfMine();
+
+        // THEN
+        assertThat(p2).isEqualTo(p1);
+    }
+
 }
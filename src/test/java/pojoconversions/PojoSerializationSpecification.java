@@ -89,6 +89,31 @@ public class PojoSerializationSpecification {
                         "<Content>pp</Content>" +
                         "<TopicConfigUuid>12</TopicConfigUuid>" +
                         "<RepeatCount>2</RepeatCount>" +
+                        "<MaxInFlightMessages>7</MaxInFlightMessages>" +
+                        "<GeneratorThreadCount>3</GeneratorThreadCount>" +
+                        "<ProducerShardCount>2</ProducerShardCount>" +
+                        "<SendLoggingMode>summary</SendLoggingMode>" +
+                        "<SendLogSampleInterval>10</SendLogSampleInterval>" +
+                        "<DataFilePath>/data/orders.csv</DataFilePath>" +
+                        "<DataFileLoopEnabled>true</DataFileLoopEnabled>" +
+                        "<ReplayFilePath>/data/dump.txt</ReplayFilePath>" +
+                        "<ReplayFileFormat>lines</ReplayFileFormat>" +
+                        "<ReplayKeyDelimiter>|</ReplayKeyDelimiter>" +
+                        "<ReplaySpeed>x100</ReplaySpeed>" +
+                        "<KeyDistribution>uniform</KeyDistribution>" +
+                        "<KeySkewPercent>80</KeySkewPercent>" +
+                        "<TargetRate>500</TargetRate>" +
+                        "<TargetRateUnit>messages_per_second</TargetRateUnit>" +
+                        "<RunDurationSeconds>15</RunDurationSeconds>" +
+                        "<ProducerTuning>" +
+                        "<LingerMs>20</LingerMs>" +
+                        "<BatchSize>262144</BatchSize>" +
+                        "<CompressionType>lz4</CompressionType>" +
+                        "<Acks>leader</Acks>" +
+                        "<BufferMemory>1024</BufferMemory>" +
+                        "<MaxInFlightRequestsPerConnection>2</MaxInFlightRequestsPerConnection>" +
+                        "<IdempotenceEnabled>false</IdempotenceEnabled>" +
+                        "</ProducerTuning>" +
                         "<MessageKeyEnabled>true</MessageKeyEnabled>" +
                         "<RunBeforeAllMessagesScript>aaa</RunBeforeAllMessagesScript>" +
                         "<RunBeforeEachMessageScript>def</RunBeforeEachMessageScript>" +
@@ -107,6 +132,29 @@ public class PojoSerializationSpecification {
         assertThat(pojo.getContent()).isEqualTo("pp");
         assertThat(pojo.isMessageKeyEnabled()).isTrue();
         assertThat(pojo.getRepeatCount()).isEqualTo("2");
+        assertThat(pojo.getMaxInFlightMessages()).isEqualTo("7");
+        assertThat(pojo.getGeneratorThreadCount()).isEqualTo("3");
+        assertThat(pojo.getProducerShardCount()).isEqualTo("2");
+        assertThat(pojo.getSendLoggingMode()).isEqualTo("summary");
+        assertThat(pojo.getSendLogSampleInterval()).isEqualTo("10");
+        assertThat(pojo.getDataFilePath()).isEqualTo("/data/orders.csv");
+        assertThat(pojo.isDataFileLoopEnabled()).isTrue();
+        assertThat(pojo.getReplayFilePath()).isEqualTo("/data/dump.txt");
+        assertThat(pojo.getReplayFileFormat()).isEqualTo("lines");
+        assertThat(pojo.getReplayKeyDelimiter()).isEqualTo("|");
+        assertThat(pojo.getReplaySpeed()).isEqualTo("x100");
+        assertThat(pojo.getKeyDistribution()).isEqualTo("uniform");
+        assertThat(pojo.getKeySkewPercent()).isEqualTo("80");
+        assertThat(pojo.getTargetRate()).isEqualTo("500");
+        assertThat(pojo.getTargetRateUnit()).isEqualTo("messages_per_second");
+        assertThat(pojo.getRunDurationSeconds()).isEqualTo("15");
+        assertThat(pojo.getProducerTuning().getLingerMs()).isEqualTo("20");
+        assertThat(pojo.getProducerTuning().getBatchSize()).isEqualTo("262144");
+        assertThat(pojo.getProducerTuning().getCompressionType()).isEqualTo("lz4");
+        assertThat(pojo.getProducerTuning().getAcks()).isEqualTo("leader");
+        assertThat(pojo.getProducerTuning().getBufferMemory()).isEqualTo("1024");
+        assertThat(pojo.getProducerTuning().getMaxInFlightRequestsPerConnection()).isEqualTo("2");
+        assertThat(pojo.getProducerTuning().getIdempotenceEnabled()).isEqualTo("false");
         assertThat(pojo.getRunBeforeAllMessagesScript()).isEqualTo("aaa");
         assertThat(pojo.getRunBeforeEachMessageScript()).isEqualTo("def");
         assertThat(pojo.getMessageKey()).isEqualTo("abba");
@@ -134,6 +182,12 @@ public class PojoSerializationSpecification {
                         "<OffsetConfigProperty>none</OffsetConfigProperty>" +
                         "<ReceivedMsgLimitEnabled>true</ReceivedMsgLimitEnabled>" +
                         "<ReceivedMsgLimitCount>45</ReceivedMsgLimitCount>" +
+                        "<CommitStrategy>periodic</CommitStrategy>" +
+                        "<CommitIntervalMs>750</CommitIntervalMs>" +
+                        "<BrowseModeEnabled>true</BrowseModeEnabled>" +
+                        "<BrowseStartPosition>latest_n</BrowseStartPosition>" +
+                        "<BrowseLatestCount>50</BrowseLatestCount>" +
+                        "<BrowseStartTimestamp>2022-05-01 10:00:00.000</BrowseStartTimestamp>" +
                         "</ListenerConfig>";
 
         // WHEN (unmarshalling)
@@ -149,6 +203,12 @@ public class PojoSerializationSpecification {
         assertThat(pojo.getOffsetResetConfig()).isEqualTo("none");
         assertThat(pojo.getReceivedMsgLimitEnabled()).isTrue();
         assertThat(pojo.getReceivedMsgLimitCount()).isEqualTo("45");
+        assertThat(pojo.getCommitStrategy()).isEqualTo("periodic");
+        assertThat(pojo.getCommitIntervalMs()).isEqualTo("750");
+        assertThat(pojo.getBrowseModeEnabled()).isTrue();
+        assertThat(pojo.getBrowseStartPosition()).isEqualTo("latest_n");
+        assertThat(pojo.getBrowseLatestCount()).isEqualTo("50");
+        assertThat(pojo.getBrowseStartTimestamp()).isEqualTo("2022-05-01 10:00:00.000");
 
 
         // WHEN (marshalling)
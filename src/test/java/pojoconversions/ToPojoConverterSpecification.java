@@ -3,6 +3,14 @@ package pojoconversions;
 import org.testng.annotations.Test;
 
 import application.model.KafkaOffsetResetType;
+import application.model.KeyDistribution;
+import application.model.BrowseStartPosition;
+import application.model.ListenerCommitStrategy;
+import application.model.ProducerTuningPreset;
+import application.model.ReplayFileFormat;
+import application.model.ReplaySpeed;
+import application.model.SendLoggingMode;
+import application.model.SendRateUnit;
 import application.model.ToPojoConverter;
 import application.model.modelobjects.KafkaBrokerConfig;
 import application.model.modelobjects.KafkaListenerConfig;
@@ -73,6 +81,23 @@ public class ToPojoConverterSpecification {
         config.setMessageKey("message_key");
         config.setMsgContentTemplate("content");
         config.setRepeatCount(2);
+        config.setMaxInFlightMessages(3);
+        config.setGeneratorThreadCount(5);
+        config.setProducerShardCount(4);
+        config.setSendLoggingMode(SendLoggingMode.SUMMARY);
+        config.setSendLogSampleInterval(7);
+        config.setDataFilePath("/data/orders.jsonl");
+        config.setDataFileLoopEnabled(true);
+        config.setReplayFilePath("/data/dump.txt");
+        config.setReplayFileFormat(ReplayFileFormat.LENGTH_PREFIXED);
+        config.setReplayKeyDelimiter("\\t");
+        config.setReplaySpeed(ReplaySpeed.MAX);
+        config.setKeyDistribution(KeyDistribution.ROUND_ROBIN);
+        config.setKeySkewPercent(150);
+        config.setTargetRate(100);
+        config.setTargetRateUnit(SendRateUnit.BYTES_PER_SECOND);
+        config.setRunDurationSeconds(30);
+        ProducerTuningPreset.THROUGHPUT.applyTo(config.getProducerTuning());
         config.setRunBeforeAllMessagesScript("abc");
         config.setRunBeforeEachMessageScript("bcd");
         config.setSendingSimulationModeEnabled(true);
@@ -90,6 +115,29 @@ public class ToPojoConverterSpecification {
         assertThat(pojo.getMessageKey()).isEqualTo("message_key");
         assertThat(pojo.isMessageKeyEnabled()).isTrue();
         assertThat(pojo.getRepeatCount()).isEqualTo("2");
+        assertThat(pojo.getMaxInFlightMessages()).isEqualTo("3");
+        assertThat(pojo.getGeneratorThreadCount()).isEqualTo("5");
+        assertThat(pojo.getProducerShardCount()).isEqualTo("4");
+        assertThat(pojo.getSendLoggingMode()).isEqualTo("summary");
+        assertThat(pojo.getSendLogSampleInterval()).isEqualTo("7");
+        assertThat(pojo.getDataFilePath()).isEqualTo("/data/orders.jsonl");
+        assertThat(pojo.isDataFileLoopEnabled()).isTrue();
+        assertThat(pojo.getReplayFilePath()).isEqualTo("/data/dump.txt");
+        assertThat(pojo.getReplayFileFormat()).isEqualTo("length_prefixed");
+        assertThat(pojo.getReplayKeyDelimiter()).isEqualTo("\\t");
+        assertThat(pojo.getReplaySpeed()).isEqualTo("max");
+        assertThat(pojo.getKeyDistribution()).isEqualTo("round_robin");
+        assertThat(pojo.getKeySkewPercent()).isEqualTo("150");
+        assertThat(pojo.getTargetRate()).isEqualTo("100");
+        assertThat(pojo.getTargetRateUnit()).isEqualTo("bytes_per_second");
+        assertThat(pojo.getRunDurationSeconds()).isEqualTo("30");
+        assertThat(pojo.getProducerTuning().getLingerMs()).isEqualTo("20");
+        assertThat(pojo.getProducerTuning().getBatchSize()).isEqualTo("262144");
+        assertThat(pojo.getProducerTuning().getCompressionType()).isEqualTo("lz4");
+        assertThat(pojo.getProducerTuning().getAcks()).isEqualTo("leader");
+        assertThat(pojo.getProducerTuning().getBufferMemory()).isEqualTo("67108864");
+        assertThat(pojo.getProducerTuning().getMaxInFlightRequestsPerConnection()).isEqualTo("5");
+        assertThat(pojo.getProducerTuning().getIdempotenceEnabled()).isEqualTo("false");
         assertThat(pojo.getRunBeforeAllMessagesScript()).isEqualTo("abc");
         assertThat(pojo.getRunBeforeEachMessageScript()).isEqualTo("bcd");
         assertThat(pojo.getTopicConfigUuid()).isEqualTo("related_uuid");
@@ -109,6 +157,12 @@ public class ToPojoConverterSpecification {
         config.setConsumerGroup("ConsumerGroup");
         config.setReceivedMsgLimitCount("678");
         config.setReceivedMsgLimitEnabled(true);
+        config.setCommitStrategy(ListenerCommitStrategy.PER_BATCH_ASYNC);
+        config.setCommitIntervalMs("2500");
+        config.setBrowseModeEnabled(true);
+        config.setBrowseStartPosition(BrowseStartPosition.TIMESTAMP);
+        config.setBrowseLatestCount("15");
+        config.setBrowseStartTimestamp("1651392000000");
 
         relatedConfig.setUuid("related_uuid");
         config.setRelatedConfig(relatedConfig);
@@ -126,6 +180,12 @@ public class ToPojoConverterSpecification {
         assertThat(pojo.getOffsetResetConfig()).isEqualTo("none");
         assertThat(pojo.getReceivedMsgLimitCount()).isEqualTo("678");
         assertThat(pojo.getReceivedMsgLimitEnabled()).isTrue();
+        assertThat(pojo.getCommitStrategy()).isEqualTo("per_batch_async");
+        assertThat(pojo.getCommitIntervalMs()).isEqualTo("2500");
+        assertThat(pojo.getBrowseModeEnabled()).isTrue();
+        assertThat(pojo.getBrowseStartPosition()).isEqualTo("timestamp");
+        assertThat(pojo.getBrowseLatestCount()).isEqualTo("15");
+        assertThat(pojo.getBrowseStartTimestamp()).isEqualTo("1651392000000");
 
 
     }